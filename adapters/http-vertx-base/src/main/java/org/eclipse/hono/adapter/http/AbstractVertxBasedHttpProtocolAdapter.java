@@ -269,6 +269,7 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
 
         HttpServerOptions options = new HttpServerOptions();
         options.setHost(getConfig().getBindAddress()).setPort(getConfig().getPort(getPortDefaultValue())).setMaxChunkSize(4096);
+        getConfig().addNetworkOptions(options);
         addTlsKeyCertOptions(options);
         addTlsTrustOptions(options);
         return options;
@@ -288,6 +289,7 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
 
         HttpServerOptions options = new HttpServerOptions();
         options.setHost(getConfig().getInsecurePortBindAddress()).setPort(getConfig().getInsecurePort(getInsecurePortDefaultValue())).setMaxChunkSize(4096);
+        getConfig().addNetworkOptions(options);
         return options;
     }
 
@@ -666,8 +668,12 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
             badRequest(ctx.response(), "missing body");
             metrics.incrementUndeliverableHttpMessages(endpointName,tenant);
         } else {
-            
-            final Future<String> tokenTracker = getRegistrationAssertionHeader(ctx, tenant, deviceId);
+
+            final long startNanos = System.nanoTime();
+            final Future<String> tokenTracker = getRegistrationAssertionHeader(ctx, tenant, deviceId).map(token -> {
+                metrics.updateAssertionTime(endpointName, tenant, startNanos);
+                return token;
+            });
 
             CompositeFuture.all(tokenTracker, senderTracker).setHandler(s -> {
                 if (s.failed()) {
@@ -680,7 +686,7 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
                     metrics.incrementUndeliverableHttpMessages(endpointName,tenant);
                 } else {
                     sendToHono(ctx.response(), deviceId, payload, contentType, tokenTracker.result(),
-                            senderTracker.result(), tenant, endpointName);
+                            senderTracker.result(), tenant, endpointName, startNanos);
                 }
             });
         }
@@ -688,12 +694,13 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
 
     private void sendToHono(final HttpServerResponse response, final String deviceId, final Buffer payload,
             final String contentType, final String token, final MessageSender sender, final String tenant,
-            final String endpointName) {
+            final String endpointName, final long startNanos) {
 
         boolean accepted = sender.send(deviceId, payload.getBytes(), contentType, token);
         if (accepted) {
             response.setStatusCode(HTTP_ACCEPTED).end();
             metrics.incrementProcessedHttpMessages(endpointName,tenant);
+            metrics.updateUploadTime(endpointName, tenant, startNanos);
         } else {
             serviceUnavailable(response, 2,
                     "resource limit exceeded, please try again later",
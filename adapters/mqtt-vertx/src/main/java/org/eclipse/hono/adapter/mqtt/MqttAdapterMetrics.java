@@ -12,9 +12,14 @@
 
 package org.eclipse.hono.adapter.mqtt;
 
+import org.eclipse.hono.service.metric.MetricHandles;
 import org.eclipse.hono.service.metric.Metrics;
+import org.eclipse.hono.service.metric.StageTimer;
 import org.springframework.stereotype.Component;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+
 /**
  * Metrics for the MQTT adapter
  */
@@ -23,17 +28,39 @@ public class MqttAdapterMetrics extends Metrics {
 
     private static final String SERVICE_PREFIX = "hono.mqtt";
 
+    private final MetricHandles<MetricHandles<Meter>> processedMessages = new MetricHandles<>(
+            resourceId -> new MetricHandles<>(
+                    tenantId -> meter(SERVICE_PREFIX + MESSAGES + mergeAsMetric(resourceId, tenantId) + PROCESSED)));
+    private final MetricHandles<MetricHandles<Counter>> undeliverableMessages = new MetricHandles<>(
+            resourceId -> new MetricHandles<>(
+                    tenantId -> counter(SERVICE_PREFIX + MESSAGES + mergeAsMetric(resourceId, tenantId) + UNDELIVERABLE)));
+    private final StageTimer uploadTimer = stageTimer(STAGE_UPLOAD);
+    private final StageTimer assertionTimer = stageTimer(STAGE_ASSERTION);
+    private final StageTimer deliveryTimer = stageTimer(STAGE_DELIVERY);
+
     @Override
     protected String getPrefix() {
         return SERVICE_PREFIX;
     }
 
     void incrementProcessedMqttMessages(final String resourceId, final String tenantId) {
-        counterService.increment(METER_PREFIX + SERVICE_PREFIX + MESSAGES + mergeAsMetric(resourceId,tenantId) + PROCESSED);
+        processedMessages.get(resourceId).get(tenantId).mark();
     }
 
     void incrementUndeliverableMqttMessages(final String resourceId, final String tenantId) {
-        counterService.increment(SERVICE_PREFIX + MESSAGES + mergeAsMetric(resourceId,tenantId) + UNDELIVERABLE);
+        undeliverableMessages.get(resourceId).get(tenantId).inc();
+    }
+
+    void updateUploadTime(final String resourceId, final String tenantId, final long startNanos) {
+        uploadTimer.update(resourceId, tenantId, startNanos);
+    }
+
+    void updateAssertionTime(final String resourceId, final String tenantId, final long startNanos) {
+        assertionTimer.update(resourceId, tenantId, startNanos);
+    }
+
+    void updateDeliveryTime(final String resourceId, final String tenantId, final long startNanos) {
+        deliveryTimer.update(resourceId, tenantId, startNanos);
     }
 
 }
@@ -13,6 +13,7 @@
 package org.eclipse.hono.adapter.mqtt;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -22,6 +23,7 @@ import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.AbstractProtocolAdapterBase;
 import org.eclipse.hono.service.auth.device.Device;
 import org.eclipse.hono.service.auth.device.DeviceCredentials;
+import org.eclipse.hono.service.auth.device.PasswordHasher;
 import org.eclipse.hono.service.auth.device.UsernamePasswordCredentials;
 import org.eclipse.hono.service.registration.RegistrationAssertionHelperImpl;
 import org.eclipse.hono.util.Constants;
@@ -58,6 +60,7 @@ public class VertxBasedMqttProtocolAdapter extends AbstractProtocolAdapterBase<P
     private MqttServer insecureServer;
     private Map<MqttEndpoint, String> registrationAssertions = new HashMap<>();
     private MqttAdapterMetrics metrics;
+    private List<PasswordHasher> passwordHashers;
 
     /**
      * Sets the metrics for this service
@@ -127,6 +130,7 @@ public class VertxBasedMqttProtocolAdapter extends AbstractProtocolAdapterBase<P
                 .setHost(getConfig().getBindAddress())
                 .setPort(determineSecurePort())
                 .setMaxMessageSize(getConfig().getMaxPayloadSize());
+            getConfig().addNetworkOptions(options);
             addTlsKeyCertOptions(options);
             addTlsTrustOptions(options);
 
@@ -149,6 +153,7 @@ public class VertxBasedMqttProtocolAdapter extends AbstractProtocolAdapterBase<P
                 .setHost(getConfig().getInsecurePortBindAddress())
                 .setPort(determineInsecurePort())
                 .setMaxMessageSize(getConfig().getMaxPayloadSize());
+            getConfig().addNetworkOptions(options);
 
             Future<MqttServer> result = Future.future();
             result.setHandler(mqttServerAsyncResult -> {
@@ -285,7 +290,7 @@ public class VertxBasedMqttProtocolAdapter extends AbstractProtocolAdapterBase<P
         }
 
         UsernamePasswordCredentials credentials = UsernamePasswordCredentials.create(endpoint.auth().userName(),
-                endpoint.auth().password(), getConfig().isSingleTenant());
+                endpoint.auth().password(), getConfig().isSingleTenant(), getPasswordHashers());
 
         if (credentials == null) {
             endpoint.reject(MqttConnectReturnCode.CONNECTION_REFUSED_BAD_USER_NAME_OR_PASSWORD);
@@ -347,6 +352,7 @@ public class VertxBasedMqttProtocolAdapter extends AbstractProtocolAdapterBase<P
                 tenantId, deviceId, message.topicName(), message.qosLevel());
 
         try {
+            final long startNanos = System.nanoTime();
             Future<Void> messageTracker = Future.future();
             messageTracker.setHandler(s -> {
                 if (s.failed()) {
@@ -360,15 +366,27 @@ public class VertxBasedMqttProtocolAdapter extends AbstractProtocolAdapterBase<P
                             tenantId, deviceId,
                             resource, message.qosLevel());
                     metrics.incrementProcessedMqttMessages(resource.getEndpoint(), tenantId);
+                    metrics.updateUploadTime(resource.getEndpoint(), tenantId, startNanos);
                 }
             });
 
-            Future<String> assertionTracker = getRegistrationAssertion(endpoint, tenantId, deviceId);
+            Future<String> assertionTracker = getRegistrationAssertion(endpoint, tenantId, deviceId).map(token -> {
+                metrics.updateAssertionTime(resource.getEndpoint(), tenantId, startNanos);
+                return token;
+            });
             Future<MessageSender> senderTracker = getSenderTracker(message, resource, tenantId);
 
             CompositeFuture.all(assertionTracker, senderTracker).compose(ok -> {
+                final long sendNanos = System.nanoTime();
+                final Future<Void> deliveryTracker = Future.future();
+                deliveryTracker.setHandler(delivery -> {
+                    if (delivery.succeeded()) {
+                        metrics.updateDeliveryTime(resource.getEndpoint(), tenantId, sendNanos);
+                    }
+                    messageTracker.handle(delivery);
+                });
                 doUploadMessage(deviceId, assertionTracker.result(), endpoint, message,
-                        senderTracker.result(), messageTracker);
+                        senderTracker.result(), deliveryTracker);
             }, messageTracker);
 
         } catch (IllegalArgumentException e) {
@@ -458,4 +476,11 @@ public class VertxBasedMqttProtocolAdapter extends AbstractProtocolAdapterBase<P
             uploadHandler.fail("no credit available for sending message");
         }
     }
+
+    private List<PasswordHasher> getPasswordHashers() {
+        if (passwordHashers == null) {
+            passwordHashers = UsernamePasswordCredentials.createPasswordHashers(getConfig());
+        }
+        return passwordHashers;
+    }
 }
@@ -17,7 +17,11 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 
+import java.util.Collections;
+
 import org.eclipse.hono.client.HonoClient;
+import org.eclipse.hono.client.MessageSender;
+import org.eclipse.hono.client.RegistrationClient;
 import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.auth.device.Device;
 import org.eclipse.hono.service.auth.device.DeviceCredentials;
@@ -35,6 +39,8 @@ import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.ext.healthchecks.HealthCheckHandler;
+import io.vertx.ext.healthchecks.Status;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -106,6 +112,67 @@ public class VertxBasedMqttProtocolAdapterTest {
         verify(registrationClient).connect(any(ProtonClientOptions.class), any(Handler.class), any(Handler.class));
     }
 
+    /**
+     * Verifies that the adapter opens the senders and clients for the configured warm-up tenants
+     * once it is connected and does not report itself as being ready before.
+     * 
+     * @param ctx The helper to use for running async tests on vertx.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testStartupOpensClientsForWarmUpTenants(final TestContext ctx) {
+
+        // GIVEN an adapter configured to warm up tenant "tenant"
+        config.setWarmUpTenants(Collections.singletonList("tenant"));
+        final Future<MessageSender> telemetrySender = Future.future();
+        when(messagingClient.getOrCreateTelemetrySender(eq("tenant"), any(Handler.class))).then(invocation -> {
+            telemetrySender.setHandler(invocation.getArgumentAt(1, Handler.class));
+            return messagingClient;
+        });
+        when(messagingClient.getOrCreateEventSender(eq("tenant"), any(Handler.class))).then(invocation -> {
+            invocation.getArgumentAt(1, Handler.class).handle(Future.succeededFuture(mock(MessageSender.class)));
+            return messagingClient;
+        });
+        when(registrationClient.getOrCreateRegistrationClient(eq("tenant"), any(Handler.class))).then(invocation -> {
+            invocation.getArgumentAt(1, Handler.class).handle(Future.succeededFuture(mock(RegistrationClient.class)));
+            return registrationClient;
+        });
+        doAnswer(invocation -> {
+            invocation.getArgumentAt(1, Handler.class).handle(Future.failedFuture("not connected"));
+            return null;
+        }).when(credentialsAuthProvider).warmUp(eq("tenant"), any(Handler.class));
+        forceClientMocksToConnected();
+        final VertxBasedMqttProtocolAdapter adapter = getAdapter(getMqttServer(false));
+        final HealthCheckHandler readinessHandler = mock(HealthCheckHandler.class);
+        final ArgumentCaptor<Handler> readinessCheck = ArgumentCaptor.forClass(Handler.class);
+        adapter.registerReadinessChecks(readinessHandler);
+        verify(readinessHandler).register(eq("connection-to-services"), readinessCheck.capture());
+
+        // WHEN starting the adapter
+        final Async startup = ctx.async();
+        final Future<Void> startupTracker = Future.future();
+        startupTracker.setHandler(ctx.asyncAssertSuccess(s -> startup.complete()));
+        adapter.start(startupTracker);
+        startup.await(1000);
+
+        // THEN the clients for the tenant are being opened
+        verify(messagingClient).getOrCreateTelemetrySender(eq("tenant"), any(Handler.class));
+        verify(messagingClient).getOrCreateEventSender(eq("tenant"), any(Handler.class));
+        verify(registrationClient).getOrCreateRegistrationClient(eq("tenant"), any(Handler.class));
+        verify(credentialsAuthProvider).warmUp(eq("tenant"), any(Handler.class));
+
+        // and the adapter is not ready before all of them have been opened
+        final Future<Status> notReady = Future.future();
+        readinessCheck.getValue().handle(notReady);
+        assertThat(notReady.result().isOk(), is(false));
+
+        // but is ready afterwards, even if some of them could not be opened
+        telemetrySender.complete(mock(MessageSender.class));
+        final Future<Status> ready = Future.future();
+        readinessCheck.getValue().handle(ready);
+        assertThat(ready.result().isOk(), is(true));
+    }
+
     // TODO: startup fail test
 
     /**
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.auth.Activity;
+import org.eclipse.hono.auth.AuthoritiesImpl;
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures authorization checks for a user with a given number of granted tenants,
+ * as done for every link being attached to Hono Messaging or the Device Registry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthoritiesBenchmark {
+
+    /**
+     * The number of tenants the user has been granted access to.
+     */
+    @Param({ "1", "100", "10000" })
+    public int tenants;
+
+    private AuthoritiesImpl authorities;
+    private ResourceIdentifier grantedResource;
+    private ResourceIdentifier deniedResource;
+    private ResourceIdentifier grantedOperationResource;
+
+    /**
+     * Creates the authorities to check.
+     */
+    @Setup
+    public void setUp() {
+        authorities = new AuthoritiesImpl();
+        for (int i = 0; i < tenants; i++) {
+            authorities.addResource("telemetry", "tenant" + i, Activity.WRITE);
+            authorities.addOperation("registration", "tenant" + i, "assert");
+        }
+        grantedResource = ResourceIdentifier.fromString("telemetry/tenant" + (tenants - 1));
+        deniedResource = ResourceIdentifier.fromString("event/tenant" + (tenants - 1));
+        grantedOperationResource = ResourceIdentifier.fromString("registration/tenant" + (tenants - 1));
+    }
+
+    /**
+     * Checks an activity that has been granted.
+     *
+     * @return {@code true}.
+     */
+    @Benchmark
+    public boolean isAuthorizedForGrantedActivity() {
+        return authorities.isAuthorized(grantedResource, Activity.WRITE);
+    }
+
+    /**
+     * Checks an activity that has not been granted.
+     *
+     * @return {@code false}.
+     */
+    @Benchmark
+    public boolean isAuthorizedForDeniedActivity() {
+        return authorities.isAuthorized(deniedResource, Activity.WRITE);
+    }
+
+    /**
+     * Checks an operation that has been granted.
+     *
+     * @return {@code true}.
+     */
+    @Benchmark
+    public boolean isAuthorizedForGrantedOperation() {
+        return authorities.isAuthorized(grantedOperationResource, "assert");
+    }
+}
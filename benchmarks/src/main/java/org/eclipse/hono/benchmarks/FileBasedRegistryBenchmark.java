@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.deviceregistry.FileBasedCredentialsConfigProperties;
+import org.eclipse.hono.deviceregistry.FileBasedCredentialsService;
+import org.eclipse.hono.deviceregistry.FileBasedRegistrationConfigProperties;
+import org.eclipse.hono.deviceregistry.FileBasedRegistrationService;
+import org.eclipse.hono.util.CredentialsConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Measures look ups of registration data and credentials in the file based
+ * Device Registry implementations holding a given number of devices.
+ * <p>
+ * The largest data sets require several GB of heap, see the {@code @Fork} annotation.
+ * Use e.g. {@code -p devices=1000,100000} for running the benchmark with smaller data sets only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class FileBasedRegistryBenchmark {
+
+    private static final String TENANT = "DEFAULT_TENANT";
+    private static final int LOOKUP_KEYS = 1024;
+
+    /**
+     * The number of registered devices.
+     */
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int devices;
+
+    private final String[] deviceIds = new String[LOOKUP_KEYS];
+    private FileBasedRegistrationService registrationService;
+    private FileBasedCredentialsService credentialsService;
+    private int next;
+    private Object lastResult;
+
+    /**
+     * Registers the devices and their credentials.
+     */
+    @Setup
+    public void setUp() {
+
+        final FileBasedRegistrationConfigProperties registrationConfig = new FileBasedRegistrationConfigProperties();
+        registrationConfig.setMaxDevicesPerTenant(Integer.MAX_VALUE);
+        registrationConfig.setSaveToFile(false);
+        registrationService = new FileBasedRegistrationService();
+        registrationService.setConfig(registrationConfig);
+
+        final FileBasedCredentialsConfigProperties credentialsConfig = new FileBasedCredentialsConfigProperties();
+        credentialsConfig.setSaveToFile(false);
+        credentialsService = new FileBasedCredentialsService();
+        credentialsService.setConfig(credentialsConfig);
+
+        final JsonObject data = new JsonObject().put("enabled", Boolean.TRUE);
+        for (int i = 0; i < devices; i++) {
+            final String deviceId = "device-" + i;
+            registrationService.addDevice(TENANT, deviceId, data);
+            credentialsService.add(TENANT, new JsonObject()
+                    .put(CredentialsConstants.FIELD_DEVICE_ID, deviceId)
+                    .put(CredentialsConstants.FIELD_TYPE, CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD)
+                    .put(CredentialsConstants.FIELD_AUTH_ID, deviceId), added -> {});
+        }
+        for (int i = 0; i < LOOKUP_KEYS; i++) {
+            deviceIds[i] = "device-" + ThreadLocalRandom.current().nextInt(devices);
+        }
+    }
+
+    /**
+     * Looks up the registration data of a device.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public Object getDevice() {
+        registrationService.getDevice(TENANT, nextDeviceId(), this::setResult);
+        return lastResult;
+    }
+
+    /**
+     * Looks up the credentials of a device.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public Object getCredentials() {
+        credentialsService.get(TENANT, CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD, nextDeviceId(), this::setResult);
+        return lastResult;
+    }
+
+    private String nextDeviceId() {
+        next = (next + 1) & (LOOKUP_KEYS - 1);
+        return deviceIds[next];
+    }
+
+    private void setResult(final AsyncResult<?> result) {
+        lastResult = result.result();
+    }
+}
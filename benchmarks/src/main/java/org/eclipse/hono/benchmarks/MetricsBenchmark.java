@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.service.metric.MetricHandles;
+import org.eclipse.hono.service.metric.Metrics;
+import org.eclipse.hono.service.metric.StageTimer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.codahale.metrics.Meter;
+
+/**
+ * Measures updating the per endpoint and tenant metrics reported by protocol adapters
+ * and Hono Messaging for every message.
+ * <p>
+ * Compares looking up metrics by a name built for every message with looking up
+ * handles that have been resolved once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    private static final String ENDPOINT = "telemetry";
+    private static final String TENANT = "DEFAULT_TENANT";
+
+    private final BenchmarkMetrics metrics = new BenchmarkMetrics();
+
+    /**
+     * Marks a meter looked up by a name built from endpoint and tenant.
+     */
+    @Benchmark
+    public void markMeterByName() {
+        metrics.meterByName(ENDPOINT, TENANT).mark();
+    }
+
+    /**
+     * Marks a meter looked up from resolved handles.
+     */
+    @Benchmark
+    public void markMeterByHandle() {
+        metrics.meterByHandle(ENDPOINT, TENANT).mark();
+    }
+
+    /**
+     * Updates the per endpoint and per tenant timers of a processing stage.
+     */
+    @Benchmark
+    public void updateStageTimer() {
+        metrics.updateDeliveryTime(ENDPOINT, TENANT, System.nanoTime());
+    }
+
+    /**
+     * Metrics using the same naming scheme as the protocol adapters.
+     */
+    static final class BenchmarkMetrics extends Metrics {
+
+        private static final String SERVICE_PREFIX = "hono.benchmark";
+
+        private final MetricHandles<MetricHandles<Meter>> processedMessages = new MetricHandles<>(
+                resourceId -> new MetricHandles<>(tenantId -> meterByName(resourceId, tenantId)));
+        private final StageTimer deliveryTimer = stageTimer(STAGE_DELIVERY);
+
+        @Override
+        protected String getPrefix() {
+            return SERVICE_PREFIX;
+        }
+
+        Meter meterByName(final String resourceId, final String tenantId) {
+            return meter(SERVICE_PREFIX + MESSAGES + mergeAsMetric(resourceId, tenantId) + PROCESSED);
+        }
+
+        Meter meterByHandle(final String resourceId, final String tenantId) {
+            return processedMessages.get(resourceId).get(tenantId);
+        }
+
+        void updateDeliveryTime(final String resourceId, final String tenantId, final long startNanos) {
+            deliveryTimer.update(resourceId, tenantId, startNanos);
+        }
+    }
+}
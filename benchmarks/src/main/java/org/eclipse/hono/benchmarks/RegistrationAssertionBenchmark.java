@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.config.SignatureSupportingConfigProperties;
+import org.eclipse.hono.service.registration.RegistrationAssertionHelper;
+import org.eclipse.hono.service.registration.RegistrationAssertionHelperImpl;
+import org.eclipse.hono.util.JwtHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.Vertx;
+
+/**
+ * Measures creation and validation of registration assertions as done by the Device Registry
+ * and Hono Messaging for every message published by a device.
+ * <p>
+ * The RS256 variants use the demo keys which are unpacked to <em>target/certs</em> during the build.
+ * Use the <em>certsDir</em> parameter if the benchmarks are not run from the module's folder.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistrationAssertionBenchmark {
+
+    private static final String TENANT = "DEFAULT_TENANT";
+    private static final String DEVICE = "4711";
+
+    /**
+     * The signature algorithm.
+     */
+    @Param({ "HS256", "RS256" })
+    public String algorithm;
+
+    /**
+     * The folder containing the demo keys and certificates.
+     */
+    @Param("target/certs")
+    public String certsDir;
+
+    private Vertx vertx;
+    private RegistrationAssertionHelper signingHelper;
+    private RegistrationAssertionHelper validatingHelper;
+    private String assertion;
+
+    /**
+     * Creates the helpers and an assertion to validate.
+     */
+    @Setup
+    public void setUp() {
+
+        vertx = Vertx.vertx();
+        final SignatureSupportingConfigProperties config = new SignatureSupportingConfigProperties();
+        config.setTokenExpiration(3600);
+        if ("HS256".equals(algorithm)) {
+            config.setSharedSecret("sdfhvbdsfvbsdjhfvbsdjfvbsdjfvbsdfjhvbsdfjvhbds");
+        } else {
+            config.setKeyPath(certsDir + "/device-registry-key.pem");
+            config.setCertPath(certsDir + "/device-registry-cert.pem");
+        }
+        signingHelper = RegistrationAssertionHelperImpl.forSigning(vertx, config);
+        validatingHelper = RegistrationAssertionHelperImpl.forValidating(vertx, config);
+        assertion = signingHelper.getAssertion(TENANT, DEVICE);
+    }
+
+    /**
+     * Releases the Vert.x instance.
+     */
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    /**
+     * Creates a signed assertion.
+     *
+     * @return The assertion.
+     */
+    @Benchmark
+    public String getAssertion() {
+        return signingHelper.getAssertion(TENANT, DEVICE);
+    }
+
+    /**
+     * Validates an assertion including its signature.
+     *
+     * @return {@code true}.
+     */
+    @Benchmark
+    public boolean isValid() {
+        return validatingHelper.isValid(assertion, TENANT, DEVICE);
+    }
+
+    /**
+     * Extracts the expiration time from an assertion without validating its signature.
+     *
+     * @return The expiration time.
+     */
+    @Benchmark
+    public Date getExpiration() {
+        return JwtHelper.getExpiration(assertion);
+    }
+}
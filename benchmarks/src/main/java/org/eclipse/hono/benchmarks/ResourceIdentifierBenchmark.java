@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing of resource identifiers as done for every link attached
+ * and every message received by Hono's AMQP endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceIdentifierBenchmark {
+
+    /**
+     * The address to parse.
+     */
+    @Param({ "telemetry/DEFAULT_TENANT", "telemetry/DEFAULT_TENANT/4711" })
+    public String address;
+
+    /**
+     * Parses an address including the tenant.
+     *
+     * @return The identifier.
+     */
+    @Benchmark
+    public ResourceIdentifier fromString() {
+        return ResourceIdentifier.fromString(address);
+    }
+
+    /**
+     * Parses an address and accesses all of its components.
+     *
+     * @return The number of characters of all components.
+     */
+    @Benchmark
+    public int fromStringAndGetComponents() {
+        final ResourceIdentifier id = ResourceIdentifier.fromString(address);
+        return id.getEndpoint().length() + id.getTenantId().length()
+                + (id.getResourceId() == null ? 0 : id.getResourceId().length());
+    }
+}
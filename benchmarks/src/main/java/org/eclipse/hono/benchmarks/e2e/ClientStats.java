@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.benchmarks.e2e;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.hono.jmeter.client.LatencyHistogram;
+
+/**
+ * Statistics recorded by all clients of a protocol during a measurement interval.
+ */
+final class ClientStats {
+
+    final LongAdder sent = new LongAdder();
+    final LongAdder delivered = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final LongAdder timedOut = new LongAdder();
+    /**
+     * The time from sending a message until it has been acknowledged by the adapter.
+     */
+    final LatencyHistogram acknowledgement = new LatencyHistogram();
+    /**
+     * The time from sending a message until it has been received by the sink.
+     */
+    final LatencyHistogram endToEnd = new LatencyHistogram();
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Gets the time that has elapsed since these statistics have been created.
+     *
+     * @return The number of nanoseconds.
+     */
+    long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.benchmarks.e2e;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * A client sending messages on behalf of a set of devices to a protocol adapter.
+ * <p>
+ * The client keeps a configurable number of messages in flight. It sends its next message
+ * once one of the messages in flight has been received by the sink or has timed out.
+ * The first bytes of each payload contain the time the message has been sent at, the index
+ * of the sending client and a sequence number so that the sink can correlate the message
+ * using {@link #parsePayload(ByteBuffer, List)}.
+ * <p>
+ * All state of a client is maintained on its own Vert.x context.
+ */
+abstract class DeviceClient {
+
+    protected final Vertx vertx;
+    protected final Context context;
+    protected final String tenantId;
+    private final int index;
+    private final List<String> deviceIds;
+    private final EndToEndBenchmarkConfig config;
+    // all of the following are confined to the context
+    private final Map<Long, Long> inFlight = new HashMap<>();
+    private long nextSequence;
+    private int nextDevice;
+    private boolean running;
+    private boolean retryScheduled;
+    private long timeoutCheck;
+
+    private volatile ClientStats stats;
+
+    /**
+     * Creates a new client.
+     *
+     * @param vertx The Vert.x instance to run on.
+     * @param index The index of the client among all clients.
+     * @param tenantId The tenant that the devices belong to.
+     * @param deviceIds The devices to send messages for.
+     * @param config The benchmark configuration.
+     * @param stats The statistics to record to.
+     */
+    DeviceClient(final Vertx vertx, final int index, final String tenantId, final List<String> deviceIds,
+            final EndToEndBenchmarkConfig config, final ClientStats stats) {
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.context = vertx.getOrCreateContext();
+        this.index = index;
+        this.tenantId = Objects.requireNonNull(tenantId);
+        this.deviceIds = Objects.requireNonNull(deviceIds);
+        this.config = Objects.requireNonNull(config);
+        this.stats = Objects.requireNonNull(stats);
+    }
+
+    /**
+     * Sets the statistics to record to.
+     *
+     * @param stats The statistics.
+     */
+    final void setStats(final ClientStats stats) {
+        this.stats = Objects.requireNonNull(stats);
+    }
+
+    /**
+     * Starts sending messages.
+     */
+    final void start() {
+        context.runOnContext(go -> {
+            running = true;
+            timeoutCheck = vertx.setPeriodic(Math.max(1, config.getMessageTimeoutMillis() / 4), check -> expireMessages());
+            connect(this::onConnected);
+        });
+    }
+
+    /**
+     * Stops sending messages.
+     */
+    final void stop() {
+        context.runOnContext(stop -> {
+            running = false;
+            vertx.cancelTimer(timeoutCheck);
+            disconnect();
+        });
+    }
+
+    /**
+     * Establishes the connection to the adapter.
+     *
+     * @param connectHandler The handler to invoke with the outcome.
+     */
+    protected abstract void connect(Handler<AsyncResult<Void>> connectHandler);
+
+    /**
+     * Closes the connection to the adapter.
+     */
+    protected abstract void disconnect();
+
+    /**
+     * Checks if the client is connected to the adapter.
+     *
+     * @return {@code true} if messages can be sent.
+     */
+    protected abstract boolean isConnected();
+
+    /**
+     * Sends a message to the adapter.
+     *
+     * @param deviceId The device to send the message for.
+     * @param event {@code true} if the message should be sent as an event.
+     * @param payload The payload.
+     * @param acknowledgementHandler The handler to invoke once the adapter has acknowledged
+     *                               the message or has failed to process it. Implementations
+     *                               must not invoke the handler with a succeeded result for
+     *                               messages that the adapter does not acknowledge.
+     */
+    protected abstract void send(String deviceId, boolean event, Buffer payload, Handler<AsyncResult<Void>> acknowledgementHandler);
+
+    /**
+     * Invoked when the connection to the adapter has been lost.
+     * <p>
+     * Tries to reconnect after one second.
+     */
+    protected final void onConnectionLost() {
+        if (running) {
+            vertx.setTimer(1000, reconnect -> {
+                if (running) {
+                    connect(this::onConnected);
+                }
+            });
+        }
+    }
+
+    private void onConnected(final AsyncResult<Void> connectAttempt) {
+        if (connectAttempt.succeeded()) {
+            sendMessages();
+        } else {
+            onConnectionLost();
+        }
+    }
+
+    /**
+     * Records the reception of a message by the sink.
+     * <p>
+     * This method may be invoked on any thread.
+     *
+     * @param sequence The sequence number of the message.
+     * @param latency The number of nanoseconds the message has taken to the sink.
+     */
+    final void onDelivered(final long sequence, final long latency) {
+        context.runOnContext(delivered -> {
+            if (inFlight.remove(sequence) != null) {
+                final ClientStats currentStats = stats;
+                currentStats.delivered.increment();
+                currentStats.endToEnd.record(latency);
+                sendMessages();
+            }
+        });
+    }
+
+    private void sendMessages() {
+        while (running && !retryScheduled && isConnected() && inFlight.size() < config.getInFlight()) {
+            sendMessage();
+        }
+    }
+
+    private void sendMessage() {
+
+        final long sequence = nextSequence++;
+        final String deviceId = deviceIds.get(nextDevice);
+        nextDevice = (nextDevice + 1) % deviceIds.size();
+        final boolean event = config.getEventRatio() > 0 && ThreadLocalRandom.current().nextDouble() < config.getEventRatio();
+        final ClientStats currentStats = stats;
+
+        final long sendNanos = System.nanoTime();
+        final Buffer payload = Buffer.buffer(config.getPayloadSize())
+                .appendLong(sendNanos)
+                .appendInt(index)
+                .appendLong(sequence);
+        while (payload.length() < config.getPayloadSize()) {
+            payload.appendByte((byte) 'x');
+        }
+        inFlight.put(sequence, sendNanos);
+        currentStats.sent.increment();
+
+        send(deviceId, event, payload, acknowledgement -> {
+            if (acknowledgement.succeeded()) {
+                currentStats.acknowledgement.record(System.nanoTime() - sendNanos);
+            } else if (inFlight.remove(sequence) != null) {
+                currentStats.failed.increment();
+                // back off for a moment, e.g. while the adapter is not connected to Hono Messaging yet
+                retryScheduled = true;
+                vertx.setTimer(100, retry -> {
+                    retryScheduled = false;
+                    sendMessages();
+                });
+            }
+        });
+    }
+
+    private void expireMessages() {
+
+        final long now = System.nanoTime();
+        final long timeout = TimeUnit.MILLISECONDS.toNanos(config.getMessageTimeoutMillis());
+        final Iterator<Long> sendTimes = inFlight.values().iterator();
+        boolean expired = false;
+        while (sendTimes.hasNext()) {
+            if (now - sendTimes.next() > timeout) {
+                sendTimes.remove();
+                stats.timedOut.increment();
+                expired = true;
+            }
+        }
+        if (expired) {
+            sendMessages();
+        }
+    }
+
+    /**
+     * Correlates a payload received by the sink with the client that has sent it.
+     *
+     * @param payload The payload.
+     * @param clients The clients indexed by their index.
+     * @return {@code true} if the payload has been sent by one of the clients.
+     */
+    static boolean parsePayload(final ByteBuffer payload, final List<DeviceClient> clients) {
+
+        final long receivedNanos = System.nanoTime();
+        if (payload.remaining() < EndToEndBenchmarkConfig.MIN_PAYLOAD_SIZE) {
+            return false;
+        }
+        final long sendNanos = payload.getLong();
+        final int clientIndex = payload.getInt();
+        final long sequence = payload.getLong();
+        if (clientIndex < 0 || clientIndex >= clients.size()) {
+            return false;
+        }
+        clients.get(clientIndex).onDelivered(sequence, receivedNanos - sendNanos);
+        return true;
+    }
+}
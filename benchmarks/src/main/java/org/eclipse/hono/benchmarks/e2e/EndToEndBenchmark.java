@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.benchmarks.e2e;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.messaging.Data;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.jmeter.client.LatencyHistogram;
+import org.eclipse.hono.util.Constants;
+
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+import io.vertx.core.Vertx;
+
+/**
+ * Measures the throughput and latency of Hono's telemetry and event path without any external infrastructure.
+ * <p>
+ * The benchmark starts all of Hono's components {@linkplain InProcessHono in the current JVM}
+ * and sends messages from simulated devices to the HTTP and MQTT adapters. After the warmup period
+ * it measures for the configured duration and reports for each protocol
+ * <ul>
+ * <li>the number of messages that have been received by the sink per second,</li>
+ * <li>the latency percentiles of the acknowledgements sent by the adapter to the device
+ * (only for messages being acknowledged by the adapter),</li>
+ * <li>the latency percentiles of the messages' way from the device to the sink,</li>
+ * <li>the latency percentiles of the processing stages recorded by the adapters and Hono Messaging
+ * (since start up).</li>
+ * </ul>
+ * <p>
+ * The benchmark is configured using system properties, see {@link EndToEndBenchmarkConfig}.
+ */
+public final class EndToEndBenchmark {
+
+    private static final String TIMER_PREFIX = "timer.";
+    private static final String LATENCY = ".latency.";
+
+    private final EndToEndBenchmarkConfig config;
+    private final Vertx vertx;
+    private final InProcessHono hono;
+    private final List<DeviceClient> clients = new ArrayList<>();
+    private final Map<String, List<DeviceClient>> clientsPerProtocol = new HashMap<>();
+
+    /**
+     * Creates a new benchmark.
+     *
+     * @param vertx The Vert.x instance to run on.
+     * @param config The configuration.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public EndToEndBenchmark(final Vertx vertx, final EndToEndBenchmarkConfig config) {
+        this.vertx = Objects.requireNonNull(vertx);
+        this.config = Objects.requireNonNull(config);
+        this.hono = new InProcessHono(vertx, config.getDevices());
+    }
+
+    /**
+     * Runs the benchmark using the configuration from the system properties.
+     *
+     * @param args Not used.
+     * @throws Exception if the benchmark fails.
+     */
+    public static void main(final String[] args) throws Exception {
+
+        final EndToEndBenchmarkConfig config = EndToEndBenchmarkConfig.fromSystemProperties();
+        final Vertx vertx = Vertx.vertx();
+        int status = 0;
+        try {
+            new EndToEndBenchmark(vertx, config).run(System.out);
+        } catch (final Exception e) {
+            e.printStackTrace();
+            status = 1;
+        } finally {
+            vertx.close();
+        }
+        // the adapters' clients may keep non-daemon threads alive
+        System.exit(status);
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param out The stream to write the report to.
+     * @throws Exception if the benchmark fails.
+     */
+    public void run(final PrintStream out) throws Exception {
+
+        out.printf("running end-to-end benchmark [%s]%n", config);
+        final List<String> deviceIds = new ArrayList<>(config.getDevices());
+        for (int i = 0; i < config.getDevices(); i++) {
+            final String deviceId = "device-" + i;
+            deviceIds.add(deviceId);
+            hono.registerDevice(Constants.DEFAULT_TENANT, deviceId);
+        }
+        hono.setSink(this::onMessage);
+
+        final CompletableFuture<Void> startup = new CompletableFuture<>();
+        hono.start().setHandler(attempt -> {
+            if (attempt.succeeded()) {
+                startup.complete(null);
+            } else {
+                startup.completeExceptionally(attempt.cause());
+            }
+        });
+        startup.get(30, TimeUnit.SECONDS);
+
+        final Map<String, ClientStats> warmupStats = new HashMap<>();
+        for (String protocol : config.getProtocols()) {
+            final ClientStats stats = new ClientStats();
+            warmupStats.put(protocol, stats);
+            clientsPerProtocol.put(protocol, createClients(protocol, deviceIds, stats));
+        }
+        clients.forEach(DeviceClient::start);
+        TimeUnit.SECONDS.sleep(config.getWarmupSeconds());
+
+        final Map<String, ClientStats> measurementStats = new HashMap<>();
+        clientsPerProtocol.forEach((protocol, protocolClients) -> {
+            final ClientStats stats = new ClientStats();
+            measurementStats.put(protocol, stats);
+            protocolClients.forEach(client -> client.setStats(stats));
+        });
+        TimeUnit.SECONDS.sleep(config.getDurationSeconds());
+        clients.forEach(DeviceClient::stop);
+
+        out.println();
+        out.printf("%-6s %12s %10s %10s %10s %12s%n", "", "msgs/s", "sent", "failed", "timed out", "warmup msgs");
+        for (String protocol : config.getProtocols()) {
+            final ClientStats stats = measurementStats.get(protocol);
+            out.printf("%-6s %12.1f %10d %10d %10d %12d%n", protocol,
+                    stats.delivered.sum() * 1e9 / stats.getElapsedNanos(), stats.sent.sum(),
+                    stats.failed.sum(), stats.timedOut.sum(), warmupStats.get(protocol).delivered.sum());
+        }
+        out.println();
+        out.printf("%-40s %10s %10s %10s %10s %10s%n", "latency [ms]", "count", "p50", "p99", "p999", "max");
+        for (String protocol : config.getProtocols()) {
+            final ClientStats stats = measurementStats.get(protocol);
+            printHistogram(out, protocol + " device -> adapter ack", stats.acknowledgement);
+            printHistogram(out, protocol + " device -> sink", stats.endToEnd);
+        }
+        final SortedMap<String, Timer> timers = hono.getMetricRegistry().getTimers();
+        timers.forEach((name, timer) -> {
+            final int stageIndex = name.indexOf(LATENCY);
+            // only report per endpoint timers, i.e. ${prefix}.latency.${endpoint}.${stage}
+            if (timer.getCount() > 0 && stageIndex > 0 && name.indexOf('.', stageIndex + LATENCY.length()) == name.lastIndexOf('.')) {
+                printTimer(out, name.substring(TIMER_PREFIX.length(), stageIndex) + " " + name.substring(stageIndex + LATENCY.length()), timer);
+            }
+        });
+    }
+
+    private List<DeviceClient> createClients(final String protocol, final List<String> deviceIds, final ClientStats stats) {
+
+        final List<DeviceClient> result = new ArrayList<>();
+        for (int i = 0; i < config.getClients(); i++) {
+            // distribute the devices evenly among the clients
+            final List<String> clientDevices = new ArrayList<>();
+            for (int d = i; d < deviceIds.size(); d += config.getClients()) {
+                clientDevices.add(deviceIds.get(d));
+            }
+            if (clientDevices.isEmpty()) {
+                clientDevices.add(deviceIds.get(i % deviceIds.size()));
+            }
+            final DeviceClient client;
+            if (EndToEndBenchmarkConfig.PROTOCOL_HTTP.equals(protocol)) {
+                client = new HttpDeviceClient(vertx, clients.size(), Constants.DEFAULT_TENANT, clientDevices, config, stats, hono.getHttpPort());
+            } else {
+                client = new MqttDeviceClient(vertx, clients.size(), Constants.DEFAULT_TENANT, clientDevices, config, stats, hono.getMqttPort());
+            }
+            clients.add(client);
+            result.add(client);
+        }
+        return result;
+    }
+
+    private void onMessage(final Message message) {
+
+        if (message.getBody() instanceof Data) {
+            final Binary body = ((Data) message.getBody()).getValue();
+            DeviceClient.parsePayload(ByteBuffer.wrap(body.getArray(), body.getArrayOffset(), body.getLength()), clients);
+        }
+    }
+
+    private static void printHistogram(final PrintStream out, final String name, final LatencyHistogram histogram) {
+        out.printf("%-40s %10d %10.3f %10.3f %10.3f %10.3f%n", name, histogram.getCount(),
+                histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6, histogram.getMax() / 1e6);
+    }
+
+    private static void printTimer(final PrintStream out, final String name, final Timer timer) {
+        final Snapshot snapshot = timer.getSnapshot();
+        out.printf("%-40s %10d %10.3f %10.3f %10.3f %10.3f%n", name, timer.getCount(),
+                snapshot.getMedian() / 1e6, snapshot.get99thPercentile() / 1e6,
+                snapshot.get999thPercentile() / 1e6, snapshot.getMax() / 1e6);
+    }
+}
@@ -0,0 +1,316 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.benchmarks.e2e;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Configuration properties of the {@link EndToEndBenchmark}.
+ * <p>
+ * All properties can be set using system properties prefixed with <em>hono.benchmark.</em>,
+ * e.g. {@code -Dhono.benchmark.devices=10000}.
+ */
+public final class EndToEndBenchmarkConfig {
+
+    /**
+     * The name of the HTTP protocol.
+     */
+    public static final String PROTOCOL_HTTP = "http";
+    /**
+     * The name of the MQTT protocol.
+     */
+    public static final String PROTOCOL_MQTT = "mqtt";
+
+    private static final String PREFIX = "hono.benchmark.";
+    /**
+     * The number of bytes of a payload that are used for correlating messages.
+     */
+    static final int MIN_PAYLOAD_SIZE = 20;
+
+    private List<String> protocols = Arrays.asList(PROTOCOL_HTTP, PROTOCOL_MQTT);
+    private int devices = 1000;
+    private int clients = 8;
+    private int inFlight = 4;
+    private int payloadSize = 128;
+    private double eventRatio = 0.0;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 30;
+    private long messageTimeoutMillis = 5000;
+
+    /**
+     * Creates a configuration from system properties.
+     * <p>
+     * Properties that are not set retain their default values.
+     *
+     * @return The configuration.
+     * @throws IllegalArgumentException if any of the properties is invalid.
+     */
+    public static EndToEndBenchmarkConfig fromSystemProperties() {
+
+        final EndToEndBenchmarkConfig config = new EndToEndBenchmarkConfig();
+        final String protocolList = System.getProperty(PREFIX + "protocols");
+        if (protocolList != null) {
+            config.setProtocols(Arrays.asList(protocolList.split(",")));
+        }
+        config.setDevices(Integer.getInteger(PREFIX + "devices", config.getDevices()));
+        config.setClients(Integer.getInteger(PREFIX + "clients", config.getClients()));
+        config.setInFlight(Integer.getInteger(PREFIX + "inFlight", config.getInFlight()));
+        config.setPayloadSize(Integer.getInteger(PREFIX + "payloadSize", config.getPayloadSize()));
+        config.setEventRatio(Double.parseDouble(System.getProperty(PREFIX + "eventRatio", String.valueOf(config.getEventRatio()))));
+        config.setWarmupSeconds(Integer.getInteger(PREFIX + "warmupSeconds", config.getWarmupSeconds()));
+        config.setDurationSeconds(Integer.getInteger(PREFIX + "durationSeconds", config.getDurationSeconds()));
+        config.setMessageTimeoutMillis(Long.getLong(PREFIX + "messageTimeoutMillis", config.getMessageTimeoutMillis()));
+        return config;
+    }
+
+    /**
+     * Gets the protocols to send messages with.
+     *
+     * @return The protocol names.
+     */
+    public List<String> getProtocols() {
+        return protocols;
+    }
+
+    /**
+     * Sets the protocols to send messages with.
+     * <p>
+     * The default value of this property contains both {@value #PROTOCOL_HTTP} and {@value #PROTOCOL_MQTT}.
+     * The configured number of clients is created for each protocol.
+     *
+     * @param protocols The protocol names.
+     * @throws NullPointerException if protocols is {@code null}.
+     * @throws IllegalArgumentException if any of the protocols is not supported.
+     */
+    public void setProtocols(final List<String> protocols) {
+        Objects.requireNonNull(protocols);
+        for (String protocol : protocols) {
+            if (!PROTOCOL_HTTP.equals(protocol) && !PROTOCOL_MQTT.equals(protocol)) {
+                throw new IllegalArgumentException("unsupported protocol: " + protocol);
+            }
+        }
+        this.protocols = Collections.unmodifiableList(protocols);
+    }
+
+    /**
+     * Gets the number of devices registered and sent messages for.
+     *
+     * @return The number of devices.
+     */
+    public int getDevices() {
+        return devices;
+    }
+
+    /**
+     * Sets the number of devices registered and sent messages for.
+     * <p>
+     * The devices are distributed evenly among the clients.
+     * <p>
+     * The default value of this property is 1000.
+     *
+     * @param devices The number of devices.
+     * @throws IllegalArgumentException if devices is &lt; 1.
+     */
+    public void setDevices(final int devices) {
+        if (devices < 1) {
+            throw new IllegalArgumentException("number of devices must be > 0");
+        }
+        this.devices = devices;
+    }
+
+    /**
+     * Gets the number of clients per protocol.
+     *
+     * @return The number of clients.
+     */
+    public int getClients() {
+        return clients;
+    }
+
+    /**
+     * Sets the number of clients per protocol.
+     * <p>
+     * Each client runs on its own Vert.x context and sends messages on behalf of
+     * its share of the devices.
+     * <p>
+     * The default value of this property is 8.
+     *
+     * @param clients The number of clients.
+     * @throws IllegalArgumentException if clients is &lt; 1.
+     */
+    public void setClients(final int clients) {
+        if (clients < 1) {
+            throw new IllegalArgumentException("number of clients must be > 0");
+        }
+        this.clients = clients;
+    }
+
+    /**
+     * Gets the maximum number of messages per client that have not reached the sink yet.
+     *
+     * @return The number of messages.
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Sets the maximum number of messages per client that have not reached the sink yet.
+     * <p>
+     * A client sends its next message as soon as one of its messages has been received
+     * by the sink. HTTP clients use one connection per message in flight.
+     * <p>
+     * The default value of this property is 4.
+     *
+     * @param inFlight The number of messages.
+     * @throws IllegalArgumentException if inFlight is &lt; 1.
+     */
+    public void setInFlight(final int inFlight) {
+        if (inFlight < 1) {
+            throw new IllegalArgumentException("number of messages in flight must be > 0");
+        }
+        this.inFlight = inFlight;
+    }
+
+    /**
+     * Gets the size of the messages' payload.
+     *
+     * @return The number of bytes.
+     */
+    public int getPayloadSize() {
+        return payloadSize;
+    }
+
+    /**
+     * Sets the size of the messages' payload.
+     * <p>
+     * The default value of this property is 128.
+     *
+     * @param payloadSize The number of bytes.
+     * @throws IllegalArgumentException if payloadSize is &lt; 20.
+     */
+    public void setPayloadSize(final int payloadSize) {
+        if (payloadSize < MIN_PAYLOAD_SIZE) {
+            throw new IllegalArgumentException("payload size must be >= " + MIN_PAYLOAD_SIZE);
+        }
+        this.payloadSize = payloadSize;
+    }
+
+    /**
+     * Gets the share of messages sent as events.
+     *
+     * @return The share as a value within [0, 1].
+     */
+    public double getEventRatio() {
+        return eventRatio;
+    }
+
+    /**
+     * Sets the share of messages sent as events.
+     * <p>
+     * All other messages are sent as telemetry data. MQTT clients publish events
+     * using QoS 1 and telemetry data using QoS 0.
+     * <p>
+     * The default value of this property is 0.
+     *
+     * @param eventRatio The share as a value within [0, 1].
+     * @throws IllegalArgumentException if the share is not within [0, 1].
+     */
+    public void setEventRatio(final double eventRatio) {
+        if (eventRatio < 0 || eventRatio > 1) {
+            throw new IllegalArgumentException("event ratio must be within [0, 1]");
+        }
+        this.eventRatio = eventRatio;
+    }
+
+    /**
+     * Gets the time to send messages for before measuring.
+     *
+     * @return The number of seconds.
+     */
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    /**
+     * Sets the time to send messages for before measuring.
+     * <p>
+     * The default value of this property is 10.
+     *
+     * @param warmupSeconds The number of seconds.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public void setWarmupSeconds(final int warmupSeconds) {
+        if (warmupSeconds < 0) {
+            throw new IllegalArgumentException("warmup must not be negative");
+        }
+        this.warmupSeconds = warmupSeconds;
+    }
+
+    /**
+     * Gets the time to measure for.
+     *
+     * @return The number of seconds.
+     */
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * Sets the time to measure for.
+     * <p>
+     * The default value of this property is 30.
+     *
+     * @param durationSeconds The number of seconds.
+     * @throws IllegalArgumentException if durationSeconds is &lt; 1.
+     */
+    public void setDurationSeconds(final int durationSeconds) {
+        if (durationSeconds < 1) {
+            throw new IllegalArgumentException("duration must be > 0");
+        }
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * Gets the time after which a message that has not reached the sink is considered lost.
+     *
+     * @return The number of milliseconds.
+     */
+    public long getMessageTimeoutMillis() {
+        return messageTimeoutMillis;
+    }
+
+    /**
+     * Sets the time after which a message that has not reached the sink is considered lost.
+     * <p>
+     * The default value of this property is 5000.
+     *
+     * @param messageTimeoutMillis The number of milliseconds.
+     * @throws IllegalArgumentException if messageTimeoutMillis is &lt; 1.
+     */
+    public void setMessageTimeoutMillis(final long messageTimeoutMillis) {
+        if (messageTimeoutMillis < 1) {
+            throw new IllegalArgumentException("message timeout must be > 0");
+        }
+        this.messageTimeoutMillis = messageTimeoutMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "protocols: %s, devices: %d, clients: %d, in-flight: %d, payload size: %d, event ratio: %.2f, warmup: %ds, duration: %ds",
+                protocols, devices, clients, inFlight, payloadSize, eventRatio, warmupSeconds, durationSeconds);
+    }
+}
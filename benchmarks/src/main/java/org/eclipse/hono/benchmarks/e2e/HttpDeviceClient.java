@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.benchmarks.e2e;
+
+import java.util.List;
+
+import org.eclipse.hono.util.EventConstants;
+import org.eclipse.hono.util.TelemetryConstants;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpHeaders;
+
+/**
+ * A client uploading messages to the HTTP adapter.
+ * <p>
+ * The client uses a pool of persistent connections with one connection per message in flight.
+ */
+final class HttpDeviceClient extends DeviceClient {
+
+    private static final String CONTENT_TYPE_OCTET_STREAM = "application/octet-stream";
+
+    private final HttpClientOptions options;
+    private HttpClient client;
+
+    HttpDeviceClient(final Vertx vertx, final int index, final String tenantId, final List<String> deviceIds,
+            final EndToEndBenchmarkConfig config, final ClientStats stats, final int port) {
+
+        super(vertx, index, tenantId, deviceIds, config, stats);
+        this.options = new HttpClientOptions()
+                .setDefaultHost("127.0.0.1")
+                .setDefaultPort(port)
+                .setKeepAlive(true)
+                .setMaxPoolSize(config.getInFlight());
+    }
+
+    @Override
+    protected void connect(final Handler<AsyncResult<Void>> connectHandler) {
+        client = vertx.createHttpClient(options);
+        connectHandler.handle(Future.succeededFuture());
+    }
+
+    @Override
+    protected void disconnect() {
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+
+    @Override
+    protected boolean isConnected() {
+        return client != null;
+    }
+
+    @Override
+    protected void send(final String deviceId, final boolean event, final Buffer payload,
+            final Handler<AsyncResult<Void>> acknowledgementHandler) {
+
+        final String endpoint = event ? EventConstants.EVENT_ENDPOINT : TelemetryConstants.TELEMETRY_ENDPOINT;
+        final HttpClientRequest request = client.put(String.format("/%s/%s/%s", endpoint, tenantId, deviceId), response -> {
+            if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                acknowledgementHandler.handle(Future.succeededFuture());
+            } else {
+                acknowledgementHandler.handle(Future.failedFuture("adapter returned status " + response.statusCode()));
+            }
+        });
+        request.exceptionHandler(t -> acknowledgementHandler.handle(Future.failedFuture(t)));
+        request.putHeader(HttpHeaders.CONTENT_TYPE, CONTENT_TYPE_OCTET_STREAM);
+        request.end(payload);
+    }
+}
@@ -0,0 +1,289 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.benchmarks.e2e;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.adapter.http.HttpAdapterMetrics;
+import org.eclipse.hono.adapter.http.HttpProtocolAdapterProperties;
+import org.eclipse.hono.adapter.mqtt.MqttAdapterMetrics;
+import org.eclipse.hono.adapter.mqtt.VertxBasedMqttProtocolAdapter;
+import org.eclipse.hono.adapter.rest.VertxBasedRestProtocolAdapter;
+import org.eclipse.hono.auth.Activity;
+import org.eclipse.hono.auth.Authorities;
+import org.eclipse.hono.auth.AuthoritiesImpl;
+import org.eclipse.hono.auth.HonoUser;
+import org.eclipse.hono.client.HonoClient;
+import org.eclipse.hono.client.impl.HonoClientImpl;
+import org.eclipse.hono.config.ProtocolAdapterProperties;
+import org.eclipse.hono.config.ServiceConfigProperties;
+import org.eclipse.hono.connection.ConnectionFactoryImpl.ConnectionFactoryBuilder;
+import org.eclipse.hono.deviceregistry.DeviceRegistryAmqpServer;
+import org.eclipse.hono.deviceregistry.FileBasedRegistrationConfigProperties;
+import org.eclipse.hono.deviceregistry.FileBasedRegistrationService;
+import org.eclipse.hono.event.impl.EventEndpoint;
+import org.eclipse.hono.messaging.HonoMessaging;
+import org.eclipse.hono.messaging.HonoMessagingConfigProperties;
+import org.eclipse.hono.messaging.MessageDiscardingDownstreamAdapter;
+import org.eclipse.hono.messaging.MessagingMetrics;
+import org.eclipse.hono.service.AbstractServiceBase;
+import org.eclipse.hono.service.auth.AuthenticationService;
+import org.eclipse.hono.service.auth.HonoSaslAuthenticatorFactory;
+import org.eclipse.hono.service.auth.device.UsernamePasswordAuthProvider;
+import org.eclipse.hono.service.registration.RegistrationAmqpEndpoint;
+import org.eclipse.hono.service.registration.RegistrationAssertionHelper;
+import org.eclipse.hono.service.registration.RegistrationAssertionHelperImpl;
+import org.eclipse.hono.telemetry.impl.TelemetryEndpoint;
+import org.eclipse.hono.util.EventConstants;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.TelemetryConstants;
+
+import com.codahale.metrics.MetricRegistry;
+
+import io.vertx.core.Future;
+import io.vertx.core.Verticle;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Runs Hono Messaging, the Device Registry and the HTTP and MQTT adapters in the current JVM.
+ * <p>
+ * All components listen on insecure ports bound to the loopback device. Hono Messaging
+ * forwards all messages to a {@link MessageDiscardingDownstreamAdapter} which passes them
+ * on to the configured sink instead of an AMQP Messaging Network. Devices are not
+ * authenticated by the adapters. The components authenticate each other using a
+ * user that is authorized to access all endpoints.
+ * <p>
+ * All metrics of the components are recorded in the {@linkplain #getMetricRegistry() same registry}.
+ */
+public final class InProcessHono {
+
+    private static final String USER = "benchmark";
+    private static final String PASSWORD = "benchmark-secret";
+
+    private final Vertx vertx;
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final RegistrationAssertionHelper assertionHelper = RegistrationAssertionHelperImpl.forSharedSecret(
+            UUID.randomUUID().toString() + UUID.randomUUID().toString(), 3600);
+    private final FileBasedRegistrationService registrationService = new FileBasedRegistrationService();
+    private final DeviceRegistryAmqpServer deviceRegistry = new DeviceRegistryAmqpServer();
+    private final HonoMessaging messaging = new HonoMessaging();
+    private final VertxBasedRestProtocolAdapter httpAdapter = new VertxBasedRestProtocolAdapter();
+    private final VertxBasedMqttProtocolAdapter mqttAdapter = new VertxBasedMqttProtocolAdapter();
+    private Consumer<Message> sink;
+    private int mqttPort;
+
+    /**
+     * Creates the components.
+     *
+     * @param vertx The Vert.x instance to run the components on.
+     * @param maxDevicesPerTenant The number of devices that can be registered per tenant.
+     * @throws NullPointerException if vertx is {@code null}.
+     */
+    public InProcessHono(final Vertx vertx, final int maxDevicesPerTenant) {
+
+        this.vertx = Objects.requireNonNull(vertx);
+
+        final FileBasedRegistrationConfigProperties registrationConfig = new FileBasedRegistrationConfigProperties();
+        registrationConfig.setFilename(null);
+        registrationConfig.setMaxDevicesPerTenant(maxDevicesPerTenant);
+        registrationService.setConfig(registrationConfig);
+        registrationService.setRegistrationAssertionFactory(assertionHelper);
+    }
+
+    /**
+     * Sets the consumer of the messages that Hono Messaging forwards downstream.
+     * <p>
+     * The consumer is invoked on the event loop threads of Hono Messaging.
+     *
+     * @param sink The consumer.
+     */
+    public void setSink(final Consumer<Message> sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Registers a device.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The identifier of the device.
+     */
+    public void registerDevice(final String tenantId, final String deviceId) {
+        registrationService.addDevice(tenantId, deviceId, new JsonObject());
+    }
+
+    /**
+     * Gets the registry that all components record their metrics in.
+     *
+     * @return The registry.
+     */
+    public MetricRegistry getMetricRegistry() {
+        return metricRegistry;
+    }
+
+    /**
+     * Gets the port the HTTP adapter is listening on.
+     *
+     * @return The port number.
+     */
+    public int getHttpPort() {
+        return httpAdapter.getInsecurePort();
+    }
+
+    /**
+     * Gets the port the MQTT adapter is listening on.
+     *
+     * @return The port number.
+     */
+    public int getMqttPort() {
+        return mqttPort;
+    }
+
+    /**
+     * Starts all components.
+     *
+     * @return A future indicating the outcome of the start up.
+     */
+    public Future<Void> start() {
+
+        final HonoSaslAuthenticatorFactory authenticatorFactory = new HonoSaslAuthenticatorFactory(vertx, createAuthenticationService());
+
+        deviceRegistry.setConfig(createServerConfig());
+        deviceRegistry.setSaslAuthenticatorFactory(authenticatorFactory);
+        deviceRegistry.addEndpoint(new RegistrationAmqpEndpoint(vertx));
+
+        final MessageDiscardingDownstreamAdapter downstreamAdapter = new MessageDiscardingDownstreamAdapter(vertx, msg -> {
+            if (sink != null) {
+                sink.accept(msg);
+            }
+        });
+        final MessagingMetrics messagingMetrics = new MessagingMetrics();
+        messagingMetrics.setMetricRegistry(metricRegistry);
+        final TelemetryEndpoint telemetryEndpoint = new TelemetryEndpoint(vertx);
+        telemetryEndpoint.setMetrics(messagingMetrics);
+        telemetryEndpoint.setTelemetryAdapter(downstreamAdapter);
+        telemetryEndpoint.setRegistrationAssertionValidator(assertionHelper);
+        final EventEndpoint eventEndpoint = new EventEndpoint(vertx);
+        eventEndpoint.setMetrics(messagingMetrics);
+        eventEndpoint.setEventAdapter(downstreamAdapter);
+        eventEndpoint.setRegistrationAssertionValidator(assertionHelper);
+        final HonoMessagingConfigProperties messagingConfig = new HonoMessagingConfigProperties();
+        messagingConfig.setInsecurePort(0);
+        messaging.setConfig(messagingConfig);
+        messaging.setSaslAuthenticatorFactory(authenticatorFactory);
+        messaging.addEndpoint(telemetryEndpoint);
+        messaging.addEndpoint(eventEndpoint);
+
+        final HttpProtocolAdapterProperties httpConfig = new HttpProtocolAdapterProperties();
+        httpConfig.setInsecurePort(0);
+        httpConfig.setAuthenticationRequired(false);
+        httpConfig.setMaxPayloadSize(Math.max(httpConfig.getMaxPayloadSize(), 64 * 1024));
+        final HttpAdapterMetrics httpMetrics = new HttpAdapterMetrics();
+        httpMetrics.setMetricRegistry(metricRegistry);
+        httpAdapter.setConfig(httpConfig);
+        httpAdapter.setMetrics(httpMetrics);
+        httpAdapter.setCredentialsAuthProvider(new UsernamePasswordAuthProvider(vertx, httpConfig));
+
+        // the MQTT server does not report the actual port it is bound to if an arbitrary port is requested
+        mqttPort = getFreePort();
+        final ProtocolAdapterProperties mqttConfig = new ProtocolAdapterProperties();
+        mqttConfig.setInsecurePort(mqttPort);
+        mqttConfig.setAuthenticationRequired(false);
+        mqttConfig.setMaxPayloadSize(Math.max(mqttConfig.getMaxPayloadSize(), 64 * 1024));
+        final MqttAdapterMetrics mqttMetrics = new MqttAdapterMetrics();
+        mqttMetrics.setMetricRegistry(metricRegistry);
+        mqttAdapter.setConfig(mqttConfig);
+        mqttAdapter.setMetrics(mqttMetrics);
+        mqttAdapter.setCredentialsAuthProvider(new UsernamePasswordAuthProvider(vertx, mqttConfig));
+
+        return deploy(registrationService)
+                .compose(ok -> deploy(deviceRegistry))
+                .compose(ok -> deploy(messaging))
+                .compose(ok -> {
+                    httpAdapter.setHonoMessagingClient(createClient("http-adapter", messaging));
+                    httpAdapter.setRegistrationServiceClient(createClient("http-adapter", deviceRegistry));
+                    mqttAdapter.setHonoMessagingClient(createClient("mqtt-adapter", messaging));
+                    mqttAdapter.setRegistrationServiceClient(createClient("mqtt-adapter", deviceRegistry));
+                    return deploy(httpAdapter);
+                })
+                .compose(ok -> deploy(mqttAdapter));
+    }
+
+    private Future<Void> deploy(final Verticle verticle) {
+        final Future<String> result = Future.future();
+        vertx.deployVerticle(verticle, result.completer());
+        return result.map(id -> null);
+    }
+
+    private static int getFreePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ServiceConfigProperties createServerConfig() {
+        final ServiceConfigProperties config = new ServiceConfigProperties();
+        config.setInsecurePort(0);
+        return config;
+    }
+
+    private HonoClient createClient(final String name, final AbstractServiceBase<?> server) {
+        return new HonoClientImpl(vertx, ConnectionFactoryBuilder.newBuilder()
+                .vertx(vertx)
+                .name(name)
+                .host(server.getInsecurePortBindAddress())
+                .port(server.getInsecurePort())
+                .user(USER)
+                .password(PASSWORD)
+                .build());
+    }
+
+    private static AuthenticationService createAuthenticationService() {
+
+        final Authorities authorities = new AuthoritiesImpl()
+                .addResource(TelemetryConstants.TELEMETRY_ENDPOINT, "*", Activity.READ, Activity.WRITE)
+                .addResource(EventConstants.EVENT_ENDPOINT, "*", Activity.READ, Activity.WRITE)
+                .addResource(RegistrationConstants.REGISTRATION_ENDPOINT, "*", Activity.READ, Activity.WRITE)
+                .addOperation(RegistrationConstants.REGISTRATION_ENDPOINT, "*", "*");
+        final HonoUser user = new HonoUser() {
+
+            @Override
+            public String getName() {
+                return USER;
+            }
+
+            @Override
+            public Authorities getAuthorities() {
+                return authorities;
+            }
+
+            @Override
+            public String getToken() {
+                return null;
+            }
+
+            @Override
+            public boolean isExpired() {
+                return false;
+            }
+        };
+        return (authRequest, resultHandler) -> resultHandler.handle(Future.succeededFuture(user));
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.benchmarks.e2e;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.hono.util.EventConstants;
+import org.eclipse.hono.util.TelemetryConstants;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetClientOptions;
+import io.vertx.core.net.NetSocket;
+
+/**
+ * A client publishing messages to the MQTT adapter.
+ * <p>
+ * The client opens one connection per device, like real devices do. It implements the minimal
+ * subset of MQTT 3.1.1 required for publishing: it connects with a clean session and without
+ * keep alive, publishes telemetry data using QoS 0 and events using QoS 1 and processes the
+ * CONNACK and PUBACK packets sent by the adapter.
+ */
+final class MqttDeviceClient extends DeviceClient {
+
+    private static final int CONNECT = 0x10;
+    private static final int CONNACK = 0x20;
+    private static final int PUBLISH = 0x30;
+    private static final int PUBACK = 0x40;
+    private static final int QOS_AT_LEAST_ONCE = 1;
+
+    private final int port;
+    private final List<String> deviceIds;
+    private final Map<String, Connection> connections = new HashMap<>();
+    private NetClient client;
+    private boolean connected;
+
+    MqttDeviceClient(final Vertx vertx, final int index, final String tenantId, final List<String> deviceIds,
+            final EndToEndBenchmarkConfig config, final ClientStats stats, final int port) {
+
+        super(vertx, index, tenantId, deviceIds, config, stats);
+        this.port = port;
+        this.deviceIds = deviceIds;
+    }
+
+    @Override
+    protected void connect(final Handler<AsyncResult<Void>> connectHandler) {
+
+        if (client == null) {
+            client = vertx.createNetClient(new NetClientOptions().setTcpNoDelay(true));
+        }
+        @SuppressWarnings("rawtypes")
+        final List<Future> attempts = new ArrayList<>();
+        for (String deviceId : deviceIds) {
+            final Connection connection = new Connection(deviceId);
+            connections.put(deviceId, connection);
+            attempts.add(connection.connect());
+        }
+        CompositeFuture.all(attempts).setHandler(attempt -> {
+            if (attempt.succeeded()) {
+                connected = true;
+                connectHandler.handle(Future.succeededFuture());
+            } else {
+                closeConnections();
+                connectHandler.handle(Future.failedFuture(attempt.cause()));
+            }
+        });
+    }
+
+    @Override
+    protected void disconnect() {
+        closeConnections();
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+
+    @Override
+    protected boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    protected void send(final String deviceId, final boolean event, final Buffer payload,
+            final Handler<AsyncResult<Void>> acknowledgementHandler) {
+        connections.get(deviceId).publish(event, payload, acknowledgementHandler);
+    }
+
+    private void closeConnections() {
+        final List<Connection> toClose = new ArrayList<>(connections.values());
+        connections.clear();
+        toClose.forEach(Connection::close);
+    }
+
+    private void onConnectionClosed() {
+        // the adapter closes the connection if it cannot process a message
+        if (connected) {
+            connected = false;
+            closeConnections();
+            onConnectionLost();
+        }
+    }
+
+    private static void appendRemainingLength(final Buffer packet, final int length) {
+
+        int remaining = length;
+        do {
+            int digit = remaining % 128;
+            remaining = remaining / 128;
+            if (remaining > 0) {
+                digit |= 0x80;
+            }
+            packet.appendByte((byte) digit);
+        } while (remaining > 0);
+    }
+
+    /**
+     * The connection of a single device.
+     */
+    private final class Connection {
+
+        private final String deviceId;
+        private final Map<Integer, Handler<AsyncResult<Void>>> unacknowledged = new HashMap<>();
+        private final Future<Void> connackReceived = Future.future();
+        private NetSocket socket;
+        private Buffer received = Buffer.buffer();
+        private int nextPacketId = 1;
+
+        Connection(final String deviceId) {
+            this.deviceId = deviceId;
+        }
+
+        Future<Void> connect() {
+
+            client.connect(port, "127.0.0.1", attempt -> {
+                if (attempt.failed()) {
+                    connackReceived.tryFail(attempt.cause());
+                } else {
+                    socket = attempt.result();
+                    socket.handler(this::onData);
+                    socket.closeHandler(closed -> onClose());
+                    socket.write(encodeConnect());
+                }
+            });
+            return connackReceived;
+        }
+
+        void close() {
+            if (socket != null) {
+                socket.close();
+            }
+        }
+
+        void publish(final boolean event, final Buffer payload, final Handler<AsyncResult<Void>> acknowledgementHandler) {
+
+            final String endpoint = event ? EventConstants.EVENT_ENDPOINT : TelemetryConstants.TELEMETRY_ENDPOINT;
+            final byte[] topic = String.format("%s/%s/%s", endpoint, tenantId, deviceId).getBytes(StandardCharsets.UTF_8);
+            final int qos = event ? QOS_AT_LEAST_ONCE : 0;
+            final Buffer packet = Buffer.buffer(payload.length() + topic.length + 10);
+
+            packet.appendByte((byte) (PUBLISH | qos << 1));
+            appendRemainingLength(packet, 2 + topic.length + (qos > 0 ? 2 : 0) + payload.length());
+            packet.appendUnsignedShort(topic.length).appendBytes(topic);
+            if (qos > 0) {
+                final int packetId = nextPacketId;
+                nextPacketId = nextPacketId == 0xFFFF ? 1 : nextPacketId + 1;
+                packet.appendUnsignedShort(packetId);
+                unacknowledged.put(packetId, acknowledgementHandler);
+            }
+            packet.appendBuffer(payload);
+            socket.write(packet);
+        }
+
+        private void onData(final Buffer data) {
+
+            received.appendBuffer(data);
+            int pos = 0;
+            while (received.length() - pos >= 2) {
+                final int type = received.getUnsignedByte(pos) & 0xF0;
+                // the adapter only sends CONNACK and PUBACK packets, both having a remaining length of 2
+                final int remainingLength = received.getUnsignedByte(pos + 1);
+                if (received.length() - pos < 2 + remainingLength) {
+                    break;
+                }
+                if (type == CONNACK) {
+                    final int returnCode = received.getUnsignedByte(pos + 3);
+                    if (returnCode == 0) {
+                        connackReceived.tryComplete();
+                    } else {
+                        connackReceived.tryFail("connection refused [return code: " + returnCode + "]");
+                        socket.close();
+                    }
+                } else if (type == PUBACK) {
+                    final Handler<AsyncResult<Void>> handler = unacknowledged.remove(received.getUnsignedShort(pos + 2));
+                    if (handler != null) {
+                        handler.handle(Future.succeededFuture());
+                    }
+                }
+                pos += 2 + remainingLength;
+            }
+            received = received.getBuffer(pos, received.length());
+        }
+
+        private void onClose() {
+
+            socket = null;
+            connackReceived.tryFail("connection closed");
+            unacknowledged.values().forEach(handler -> handler.handle(Future.failedFuture("connection closed")));
+            unacknowledged.clear();
+            onConnectionClosed();
+        }
+
+        private Buffer encodeConnect() {
+
+            final byte[] id = deviceId.getBytes(StandardCharsets.UTF_8);
+            final Buffer packet = Buffer.buffer();
+            packet.appendByte((byte) CONNECT);
+            appendRemainingLength(packet, 10 + 2 + id.length);
+            packet.appendUnsignedShort(4).appendString("MQTT")
+                .appendByte((byte) 4) // protocol level 3.1.1
+                .appendByte((byte) 0x02) // clean session
+                .appendUnsignedShort(0) // no keep alive
+                .appendUnsignedShort(id.length).appendBytes(id);
+            return packet;
+        }
+    }
+}
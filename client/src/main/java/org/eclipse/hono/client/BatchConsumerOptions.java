@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.client;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Options for a consumer delivering messages in batches.
+ * <p>
+ * A batch is passed to the application once it contains {@linkplain #setMaxBatchSize(int) a maximum
+ * number of messages} or once {@linkplain #setMaxBatchDelay(long) a maximum time} has passed since
+ * its first message has been received, whatever comes first.
+ * <p>
+ * The consumer adapts the credit it grants to the sender to the rate at which the application
+ * acknowledges batches: it grants enough credit to cover the messages that the application
+ * processes within the {@linkplain #setCreditWindow(long) credit window}, bounded by
+ * {@linkplain #setMinCredit(int) a minimum} and {@linkplain #setMaxCredit(int) a maximum}.
+ * Messages which have been received but not yet acknowledged count against the credit.
+ * <p>
+ * By default batches are passed to the application on the consumer's event loop thread. If an
+ * {@linkplain #setExecutor(Executor) executor} is set, each batch is split by device into a number
+ * of {@linkplain #setLanes(int) lanes} instead and the resulting batches are processed using the
+ * executor. All messages of a device are processed in the order they have been received.
+ */
+public final class BatchConsumerOptions {
+
+    /**
+     * The default maximum number of messages in a batch.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    /**
+     * The default maximum time to wait for a batch to fill up.
+     */
+    public static final long DEFAULT_MAX_BATCH_DELAY_MILLIS = 50;
+    /**
+     * The default time span that the granted credit should cover.
+     */
+    public static final long DEFAULT_CREDIT_WINDOW_MILLIS = 1000;
+    /**
+     * The default maximum credit.
+     */
+    public static final int DEFAULT_MAX_CREDIT = 5000;
+
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private long maxBatchDelayMillis = DEFAULT_MAX_BATCH_DELAY_MILLIS;
+    private long creditWindowMillis = DEFAULT_CREDIT_WINDOW_MILLIS;
+    private int minCredit = DEFAULT_MAX_BATCH_SIZE;
+    private int maxCredit = DEFAULT_MAX_CREDIT;
+    private Executor executor;
+    private int lanes = 1;
+
+    /**
+     * Gets the maximum number of messages in a batch.
+     *
+     * @return The number of messages.
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of messages in a batch.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_BATCH_SIZE}.
+     *
+     * @param maxBatchSize The number of messages.
+     * @return These options for command chaining.
+     * @throws IllegalArgumentException if the number is smaller than one.
+     */
+    public BatchConsumerOptions setMaxBatchSize(final int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("batch size must be at least 1");
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * Gets the maximum time to wait for a batch to fill up.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getMaxBatchDelay() {
+        return maxBatchDelayMillis;
+    }
+
+    /**
+     * Sets the maximum time to wait for a batch to fill up.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_BATCH_DELAY_MILLIS}.
+     *
+     * @param maxBatchDelayMillis The time in milliseconds.
+     * @return These options for command chaining.
+     * @throws IllegalArgumentException if the time is smaller than one.
+     */
+    public BatchConsumerOptions setMaxBatchDelay(final long maxBatchDelayMillis) {
+        if (maxBatchDelayMillis < 1) {
+            throw new IllegalArgumentException("batch delay must be at least 1 ms");
+        }
+        this.maxBatchDelayMillis = maxBatchDelayMillis;
+        return this;
+    }
+
+    /**
+     * Gets the time span of processing that the granted credit should cover.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getCreditWindow() {
+        return creditWindowMillis;
+    }
+
+    /**
+     * Sets the time span of processing that the granted credit should cover.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_CREDIT_WINDOW_MILLIS}.
+     *
+     * @param creditWindowMillis The time in milliseconds.
+     * @return These options for command chaining.
+     * @throws IllegalArgumentException if the time is smaller than one.
+     */
+    public BatchConsumerOptions setCreditWindow(final long creditWindowMillis) {
+        if (creditWindowMillis < 1) {
+            throw new IllegalArgumentException("credit window must be at least 1 ms");
+        }
+        this.creditWindowMillis = creditWindowMillis;
+        return this;
+    }
+
+    /**
+     * Gets the minimum credit to grant.
+     *
+     * @return The credit.
+     */
+    public int getMinCredit() {
+        return minCredit;
+    }
+
+    /**
+     * Sets the minimum credit to grant.
+     * <p>
+     * This is also the credit granted initially. The default value of this property
+     * is {@link #DEFAULT_MAX_BATCH_SIZE}.
+     *
+     * @param minCredit The credit.
+     * @return These options for command chaining.
+     * @throws IllegalArgumentException if the credit is smaller than one.
+     */
+    public BatchConsumerOptions setMinCredit(final int minCredit) {
+        if (minCredit < 1) {
+            throw new IllegalArgumentException("minimum credit must be at least 1");
+        }
+        this.minCredit = minCredit;
+        return this;
+    }
+
+    /**
+     * Gets the maximum credit to grant.
+     *
+     * @return The credit.
+     */
+    public int getMaxCredit() {
+        return maxCredit;
+    }
+
+    /**
+     * Sets the maximum credit to grant.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_CREDIT}.
+     *
+     * @param maxCredit The credit.
+     * @return These options for command chaining.
+     * @throws IllegalArgumentException if the credit is smaller than one.
+     */
+    public BatchConsumerOptions setMaxCredit(final int maxCredit) {
+        if (maxCredit < 1) {
+            throw new IllegalArgumentException("maximum credit must be at least 1");
+        }
+        this.maxCredit = maxCredit;
+        return this;
+    }
+
+    /**
+     * Gets the executor to process batches with.
+     *
+     * @return The executor or {@code null} if batches are processed on the event loop.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the executor to process batches with.
+     * <p>
+     * By default, batches are processed on the consumer's event loop thread.
+     *
+     * @param executor The executor or {@code null} if batches should be processed on the event loop.
+     * @return These options for command chaining.
+     */
+    public BatchConsumerOptions setExecutor(final Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Gets the number of lanes that batches are split into when being processed using an executor.
+     *
+     * @return The number of lanes.
+     */
+    public int getLanes() {
+        return lanes;
+    }
+
+    /**
+     * Sets the number of lanes that batches are split into when being processed using an executor.
+     * <p>
+     * Batches of different lanes may be processed concurrently while batches of the same lane
+     * are processed one after the other. This should usually be set to the number of threads
+     * of the executor. The default value of this property is 1.
+     *
+     * @param lanes The number of lanes.
+     * @return These options for command chaining.
+     * @throws IllegalArgumentException if the number is smaller than one.
+     */
+    public BatchConsumerOptions setLanes(final int lanes) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("number of lanes must be at least 1");
+        }
+        this.lanes = lanes;
+        return this;
+    }
+}
@@ -240,6 +240,47 @@ public interface HonoClient {
             BiConsumer<ProtonDelivery, Message> eventConsumer,
             Handler<AsyncResult<MessageConsumer>> creationHandler);
 
+    /**
+     * Creates a new consumer of telemetry data for a tenant which delivers messages in batches.
+     * <p>
+     * The consumer grants credit based on the rate at which the application acknowledges
+     * the batches, see {@link BatchConsumerOptions} for details.
+     *
+     * @param tenantId The tenant to consume data for.
+     * @param options The options controlling batching, credit and the threads processing the batches.
+     * @param batchConsumer The handler to invoke with every batch of messages received. The handler
+     *                      must acknowledge each batch, see {@link MessageBatch}.
+     * @param creationHandler The handler to invoke with the outcome of the operation.
+     * @return This client for command chaining.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    HonoClient createTelemetryBatchConsumer(
+            String tenantId,
+            BatchConsumerOptions options,
+            Consumer<MessageBatch> batchConsumer,
+            Handler<AsyncResult<MessageConsumer>> creationHandler);
+
+    /**
+     * Creates a new consumer of events for a tenant which delivers events in batches.
+     * <p>
+     * The consumer grants credit based on the rate at which the application acknowledges
+     * the batches, see {@link BatchConsumerOptions} for details. Events are settled
+     * when their batch is acknowledged.
+     *
+     * @param tenantId The tenant to consume events for.
+     * @param options The options controlling batching, credit and the threads processing the batches.
+     * @param batchConsumer The handler to invoke with every batch of events received. The handler
+     *                      must acknowledge each batch, see {@link MessageBatch}.
+     * @param creationHandler The handler to invoke with the outcome of the operation.
+     * @return This client for command chaining.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    HonoClient createEventBatchConsumer(
+            String tenantId,
+            BatchConsumerOptions options,
+            Consumer<MessageBatch> batchConsumer,
+            Handler<AsyncResult<MessageConsumer>> creationHandler);
+
     /**
      * Gets a client for interacting with Hono's <em>Registration</em> API.
      * 
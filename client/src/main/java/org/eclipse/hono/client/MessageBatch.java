@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.client;
+
+import java.util.List;
+
+import org.apache.qpid.proton.message.Message;
+
+/**
+ * A batch of messages received by a batch consumer.
+ * <p>
+ * The consumer grants new credit to the sender only for messages whose batch has
+ * been acknowledged, i.e. the application needs to invoke either {@link #accept()}
+ * or {@link #release()} on each batch once it has processed the batch's messages.
+ * Both methods may be invoked from any thread.
+ */
+public interface MessageBatch {
+
+    /**
+     * Gets the messages contained in this batch.
+     *
+     * @return The messages in the order they have been received.
+     */
+    List<Message> getMessages();
+
+    /**
+     * Gets the number of messages contained in this batch.
+     *
+     * @return The number of messages.
+     */
+    int size();
+
+    /**
+     * Marks all messages of this batch as having been processed successfully.
+     * <p>
+     * Messages that have been received unsettled are settled with the <em>accepted</em> outcome.
+     * Invoking this method on a batch that has already been acknowledged has no effect.
+     */
+    void accept();
+
+    /**
+     * Marks all messages of this batch as not having been processed.
+     * <p>
+     * Messages that have been received unsettled are settled with the <em>released</em> outcome
+     * so that they can be delivered again. Invoking this method on a batch that has already been
+     * acknowledged has no effect.
+     */
+    void release();
+}
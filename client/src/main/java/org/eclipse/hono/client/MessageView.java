@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.client;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.messaging.AmqpValue;
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.apache.qpid.proton.amqp.messaging.Data;
+import org.apache.qpid.proton.amqp.messaging.Section;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.util.MessageHelper;
+
+/**
+ * A read-only view on a message received from a Hono server.
+ * <p>
+ * The view provides access to the information that most applications need for processing
+ * telemetry data and events, i.e. the device identifier, the content type and the raw payload,
+ * without copying any of the message's content. In particular, the payload is exposed as a
+ * read-only {@code ByteBuffer} sharing the bytes of the message's <em>Data</em> section instead of
+ * being decoded into a {@code String}. Application properties are only looked up on demand.
+ * <p>
+ * A view can be used with the existing consumer factory methods of {@link HonoClient} by means of
+ * {@link #consumer(Consumer)}, e.g.
+ * <pre>
+ * client.createTelemetryConsumer("tenant", MessageView.consumer(view -&gt; {
+ *     process(view.getDeviceId(), view.getContentType(), view.getPayload());
+ * }), creationHandler);
+ * </pre>
+ */
+public final class MessageView {
+
+    private final Message message;
+
+    private MessageView(final Message message) {
+        this.message = message;
+    }
+
+    /**
+     * Creates a view on a message.
+     *
+     * @param message The message.
+     * @return The view.
+     * @throws NullPointerException if the message is {@code null}.
+     */
+    public static MessageView of(final Message message) {
+        return new MessageView(Objects.requireNonNull(message));
+    }
+
+    /**
+     * Adapts a consumer of views to a consumer of messages.
+     *
+     * @param viewConsumer The consumer to invoke with a view on each message.
+     * @return The message consumer.
+     * @throws NullPointerException if the consumer is {@code null}.
+     */
+    public static Consumer<Message> consumer(final Consumer<MessageView> viewConsumer) {
+        Objects.requireNonNull(viewConsumer);
+        return message -> viewConsumer.accept(new MessageView(message));
+    }
+
+    /**
+     * Gets the identifier of the device that the message originates from.
+     *
+     * @return The identifier or {@code null} if the message does not contain a device identifier.
+     */
+    public String getDeviceId() {
+        return getProperty(MessageHelper.APP_PROPERTY_DEVICE_ID, String.class);
+    }
+
+    /**
+     * Gets the identifier of the tenant that the device belongs to.
+     *
+     * @return The identifier or {@code null} if the message does not contain a tenant identifier.
+     */
+    public String getTenantId() {
+        return getProperty(MessageHelper.APP_PROPERTY_TENANT_ID, String.class);
+    }
+
+    /**
+     * Gets the content type of the message's payload.
+     *
+     * @return The content type or {@code null} if not set.
+     */
+    public String getContentType() {
+        return message.getContentType();
+    }
+
+    /**
+     * Gets the value of one of the message's application properties.
+     *
+     * @param name The name of the property.
+     * @param type The expected type of the property's value.
+     * @param <T> The expected type of the property's value.
+     * @return The value or {@code null} if the message has no such property or if the
+     *         value is not of the expected type.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public <T> T getProperty(final String name, final Class<T> type) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(type);
+        return MessageHelper.getApplicationProperty(message.getApplicationProperties(), name, type);
+    }
+
+    /**
+     * Checks if the message has an application property.
+     *
+     * @param name The name of the property.
+     * @return {@code true} if the message has a property of the given name.
+     * @throws NullPointerException if the name is {@code null}.
+     */
+    public boolean hasProperty(final String name) {
+        Objects.requireNonNull(name);
+        final ApplicationProperties props = message.getApplicationProperties();
+        if (props == null) {
+            return false;
+        }
+        @SuppressWarnings("rawtypes")
+        final Map values = props.getValue();
+        return values != null && values.containsKey(name);
+    }
+
+    /**
+     * Gets the message's payload.
+     * <p>
+     * The returned buffer shares its content with the underlying message, i.e. the payload
+     * is not copied if the message's body is a <em>Data</em> section or an <em>AmqpValue</em>
+     * section containing binary data. Only an <em>AmqpValue</em> section containing a string
+     * is encoded into a new buffer using UTF-8.
+     *
+     * @return A read-only buffer positioned at the start of the payload or {@code null} if the
+     *         message has no body of a supported type.
+     */
+    public ByteBuffer getPayload() {
+
+        final Section body = message.getBody();
+        if (body instanceof Data) {
+            return asByteBuffer(((Data) body).getValue());
+        } else if (body instanceof AmqpValue) {
+            final Object value = ((AmqpValue) body).getValue();
+            if (value instanceof Binary) {
+                return asByteBuffer((Binary) value);
+            } else if (value instanceof String) {
+                return ByteBuffer.wrap(((String) value).getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the size of the message's payload.
+     *
+     * @return The number of bytes or -1 if the message has no body of a supported type.
+     */
+    public int getPayloadSize() {
+
+        final Section body = message.getBody();
+        if (body instanceof Data) {
+            final Binary value = ((Data) body).getValue();
+            return value == null ? 0 : value.getLength();
+        }
+        final ByteBuffer payload = getPayload();
+        return payload == null ? -1 : payload.remaining();
+    }
+
+    /**
+     * Gets the underlying message.
+     * <p>
+     * The message must not be modified.
+     *
+     * @return The message.
+     */
+    public Message getMessage() {
+        return message;
+    }
+
+    private static ByteBuffer asByteBuffer(final Binary binary) {
+        if (binary == null) {
+            return ByteBuffer.allocate(0).asReadOnlyBuffer();
+        } else {
+            return ByteBuffer.wrap(binary.getArray(), binary.getArrayOffset(), binary.getLength()).slice().asReadOnlyBuffer();
+        }
+    }
+}
@@ -13,6 +13,8 @@
 package org.eclipse.hono.client;
 
 import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.hono.util.RegistrationResult;
 
@@ -44,6 +46,23 @@ public interface RegistrationClient extends RequestResponseClient {
      */
     void assertRegistration(String deviceId, Handler<AsyncResult<RegistrationResult>> resultHandler);
 
+    /**
+     * Asserts the registration status of multiple devices by means of a single request.
+     * <p>
+     * This is more efficient than invoking {@link #assertRegistration(String, Handler)}
+     * for each device individually, e.g. for a gateway that needs to get assertions for all of its
+     * connected devices.
+     *
+     * @param deviceIds The IDs of the devices to get assertions for.
+     * @param resultHandler The handler to invoke with the result of the operation. The map contains
+     *         the outcome of the assertion for each of the given devices, keyed by device ID, using the
+     *         same status codes and payload as {@link #assertRegistration(String, Handler)}.
+     *         If the request as a whole could not be processed, each of the devices
+     *         is mapped to a result having the status code returned by the service.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    void assertRegistrations(List<String> deviceIds, Handler<AsyncResult<Map<String, RegistrationResult>>> resultHandler);
+
     /**
      * Checks whether a given device is registered.
      *
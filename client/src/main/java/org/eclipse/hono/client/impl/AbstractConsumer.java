@@ -47,12 +47,26 @@ abstract class AbstractConsumer extends AbstractHonoClient implements MessageCon
             final int prefetch,
             final BiConsumer<ProtonDelivery, Message> consumer) {
 
+        return createConsumer(context, con, tenantId, pathSeparator, address, qos, prefetch, true, consumer);
+    }
+
+    static Future<ProtonReceiver> createConsumer(
+            final Context context,
+            final ProtonConnection con,
+            final String tenantId,
+            final String pathSeparator,
+            final String address,
+            final ProtonQoS qos,
+            final int prefetch,
+            final boolean autoAccept,
+            final BiConsumer<ProtonDelivery, Message> consumer) {
+
         Future<ProtonReceiver> result = Future.future();
         final String targetAddress = String.format(address, pathSeparator, tenantId);
 
         context.runOnContext(open -> {
             final ProtonReceiver receiver = con.createReceiver(targetAddress);
-            receiver.setAutoAccept(true);
+            receiver.setAutoAccept(autoAccept);
             receiver.setPrefetch(prefetch);
             receiver.setQoS(qos);
             receiver.handler((delivery, message) -> {
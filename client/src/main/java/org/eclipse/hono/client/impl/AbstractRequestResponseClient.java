@@ -18,6 +18,8 @@ import io.vertx.core.Handler;
 import io.vertx.core.json.JsonObject;
 import io.vertx.proton.*;
 import org.apache.qpid.proton.amqp.messaging.AmqpValue;
+import org.apache.qpid.proton.amqp.messaging.Rejected;
+import org.apache.qpid.proton.amqp.transport.ErrorCondition;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.RequestResponseClient;
 import org.eclipse.hono.util.MessageHelper;
@@ -189,6 +191,9 @@ public abstract class AbstractRequestResponseClient<C extends RequestResponseCli
 
     /**
      * Send the Proton message to the endpoint link and call the resultHandler later with the result object.
+     * <p>
+     * The result handler is failed if the service rejects the request, e.g. because the client is not
+     * authorized to perform the requested operation.
      *
      * @param request The Proton message that was fully prepared for sending.
      * @param resultHandler The result handler to be called with the response and the status of the request.
@@ -198,7 +203,18 @@ public abstract class AbstractRequestResponseClient<C extends RequestResponseCli
 
         context.runOnContext(req -> {
             replyMap.put((String) request.getMessageId(), resultHandler);
-            sender.send(request);
+            sender.send(request, delivery -> {
+                if (delivery.getRemoteState() instanceof Rejected) {
+                    // no response will be sent for a rejected request
+                    final Handler<AsyncResult<R>> handler = replyMap.remove(request.getMessageId());
+                    if (handler != null) {
+                        final ErrorCondition error = ((Rejected) delivery.getRemoteState()).getError();
+                        LOG.debug("service has rejected request [message ID: {}, error: {}]", request.getMessageId(), error);
+                        handler.handle(Future.failedFuture(error == null || error.getDescription() == null
+                                ? "request rejected" : error.getDescription()));
+                    }
+                }
+            });
         });
     }
 
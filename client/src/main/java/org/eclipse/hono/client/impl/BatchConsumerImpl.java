@@ -0,0 +1,404 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.client.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.client.BatchConsumerOptions;
+import org.eclipse.hono.client.MessageBatch;
+import org.eclipse.hono.client.MessageConsumer;
+import org.eclipse.hono.util.MessageHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonQoS;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * A Vertx-Proton based client for consuming telemetry data or events from a Hono server in batches.
+ * <p>
+ * The consumer manages the credit of its link itself, see {@link BatchConsumerOptions} for details.
+ */
+public final class BatchConsumerImpl extends AbstractConsumer implements MessageConsumer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchConsumerImpl.class);
+    private static final String TELEMETRY_ADDRESS_TEMPLATE = "telemetry%s%s";
+    private static final String EVENT_ADDRESS_TEMPLATE = "event%s%s";
+    private static final long RATE_SAMPLE_INTERVAL_NANOS = 100_000_000L;
+
+    private final BatchConsumerOptions options;
+    private final Consumer<MessageBatch> batchConsumer;
+    private final Lane[] lanes;
+    // all of the following are confined to the context
+    private List<ProtonDelivery> deliveries = new ArrayList<>();
+    private List<Message> messages = new ArrayList<>();
+    private long batchTimerId = -1;
+    private int unacknowledged;
+    private int creditWindow;
+    private double processingRate = -1;
+    private long rateSampleStart = System.nanoTime();
+    private int acknowledgedInSample;
+    private boolean closed;
+
+    private BatchConsumerImpl(final Context context, final ProtonReceiver receiver, final BatchConsumerOptions options,
+            final Consumer<MessageBatch> batchConsumer) {
+
+        super(context, receiver);
+        this.options = options;
+        this.batchConsumer = batchConsumer;
+        this.creditWindow = Math.min(options.getMinCredit(), options.getMaxCredit());
+        if (options.getExecutor() == null) {
+            this.lanes = null;
+        } else {
+            this.lanes = new Lane[options.getLanes()];
+            for (int i = 0; i < lanes.length; i++) {
+                lanes[i] = new Lane(options.getExecutor());
+            }
+        }
+    }
+
+    /**
+     * Creates a new batch consumer of telemetry data for a tenant.
+     *
+     * @param context The vert.x context to run all interactions with the server on.
+     * @param con The AMQP connection to the server.
+     * @param tenantId The tenant to consume data for.
+     * @param pathSeparator The address path separator character used by the server.
+     * @param options The options controlling batching and credit.
+     * @param batchConsumer The consumer to invoke with each batch of messages received.
+     * @param creationHandler The handler to invoke with the outcome of the creation attempt.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static void createTelemetryConsumer(
+            final Context context,
+            final ProtonConnection con,
+            final String tenantId,
+            final String pathSeparator,
+            final BatchConsumerOptions options,
+            final Consumer<MessageBatch> batchConsumer,
+            final Handler<AsyncResult<MessageConsumer>> creationHandler) {
+
+        create(context, con, tenantId, pathSeparator, TELEMETRY_ADDRESS_TEMPLATE, ProtonQoS.AT_MOST_ONCE, options,
+                batchConsumer, creationHandler);
+    }
+
+    /**
+     * Creates a new batch consumer of events for a tenant.
+     *
+     * @param context The vert.x context to run all interactions with the server on.
+     * @param con The AMQP connection to the server.
+     * @param tenantId The tenant to consume events for.
+     * @param pathSeparator The address path separator character used by the server.
+     * @param options The options controlling batching and credit.
+     * @param batchConsumer The consumer to invoke with each batch of events received.
+     * @param creationHandler The handler to invoke with the outcome of the creation attempt.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static void createEventConsumer(
+            final Context context,
+            final ProtonConnection con,
+            final String tenantId,
+            final String pathSeparator,
+            final BatchConsumerOptions options,
+            final Consumer<MessageBatch> batchConsumer,
+            final Handler<AsyncResult<MessageConsumer>> creationHandler) {
+
+        create(context, con, tenantId, pathSeparator, EVENT_ADDRESS_TEMPLATE, ProtonQoS.AT_LEAST_ONCE, options,
+                batchConsumer, creationHandler);
+    }
+
+    private static void create(
+            final Context context,
+            final ProtonConnection con,
+            final String tenantId,
+            final String pathSeparator,
+            final String address,
+            final ProtonQoS qos,
+            final BatchConsumerOptions options,
+            final Consumer<MessageBatch> batchConsumer,
+            final Handler<AsyncResult<MessageConsumer>> creationHandler) {
+
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(con);
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(pathSeparator);
+        Objects.requireNonNull(options);
+        Objects.requireNonNull(batchConsumer);
+        Objects.requireNonNull(creationHandler);
+
+        // no credit is granted before the consumer has been created
+        // so that no messages can arrive before the consumer exists
+        final AtomicReference<BatchConsumerImpl> consumer = new AtomicReference<>();
+        createConsumer(context, con, tenantId, pathSeparator, address, qos, 0, false,
+                (delivery, message) -> consumer.get().handleMessage(delivery, message)).setHandler(created -> {
+                    if (created.succeeded()) {
+                        final BatchConsumerImpl batchConsumerImpl = new BatchConsumerImpl(context, created.result(), options, batchConsumer);
+                        consumer.set(batchConsumerImpl);
+                        batchConsumerImpl.replenishCredit();
+                        creationHandler.handle(Future.succeededFuture(batchConsumerImpl));
+                    } else {
+                        creationHandler.handle(Future.failedFuture(created.cause()));
+                    }
+                });
+    }
+
+    /**
+     * Not supported, the consumer manages credit itself.
+     *
+     * @param credits Not used.
+     * @throws IllegalStateException always.
+     */
+    @Override
+    public void flow(final int credits) throws IllegalStateException {
+        throw new IllegalStateException("credit is managed by the batch consumer");
+    }
+
+    @Override
+    public void close(final Handler<AsyncResult<Void>> closeHandler) {
+        context.runOnContext(close -> {
+            closed = true;
+            cancelBatchTimer();
+        });
+        super.close(closeHandler);
+    }
+
+    /**
+     * Gets the credit that the consumer currently aims to keep outstanding.
+     * <p>
+     * The outstanding credit is the sum of the remaining credit of the link and the
+     * number of messages that have been received but not yet been acknowledged.
+     *
+     * @return The credit.
+     */
+    int getCreditWindow() {
+        return creditWindow;
+    }
+
+    private void handleMessage(final ProtonDelivery delivery, final Message message) {
+
+        deliveries.add(delivery);
+        messages.add(message);
+        unacknowledged++;
+        if (messages.size() >= options.getMaxBatchSize()) {
+            dispatchBatch();
+        } else if (batchTimerId == -1) {
+            batchTimerId = context.owner().setTimer(options.getMaxBatchDelay(), expired -> {
+                batchTimerId = -1;
+                dispatchBatch();
+            });
+        }
+    }
+
+    private void cancelBatchTimer() {
+        if (batchTimerId != -1) {
+            context.owner().cancelTimer(batchTimerId);
+            batchTimerId = -1;
+        }
+    }
+
+    private void dispatchBatch() {
+
+        cancelBatchTimer();
+        if (messages.isEmpty()) {
+            return;
+        }
+        final List<ProtonDelivery> batchDeliveries = deliveries;
+        final List<Message> batchMessages = messages;
+        deliveries = new ArrayList<>(options.getMaxBatchSize());
+        messages = new ArrayList<>(options.getMaxBatchSize());
+
+        if (lanes == null) {
+            deliver(new Batch(batchDeliveries, batchMessages));
+        } else if (lanes.length == 1) {
+            final Batch batch = new Batch(batchDeliveries, batchMessages);
+            lanes[0].execute(() -> deliver(batch));
+        } else {
+            dispatchToLanes(batchDeliveries, batchMessages);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatchToLanes(final List<ProtonDelivery> batchDeliveries, final List<Message> batchMessages) {
+
+        // all messages of a device end up in the same lane, keeping their order
+        final List<ProtonDelivery>[] laneDeliveries = new List[lanes.length];
+        final List<Message>[] laneMessages = new List[lanes.length];
+        for (int i = 0; i < batchMessages.size(); i++) {
+            final Message message = batchMessages.get(i);
+            final int lane = getLane(MessageHelper.getDeviceId(message));
+            if (laneMessages[lane] == null) {
+                laneDeliveries[lane] = new ArrayList<>();
+                laneMessages[lane] = new ArrayList<>();
+            }
+            laneDeliveries[lane].add(batchDeliveries.get(i));
+            laneMessages[lane].add(message);
+        }
+        for (int lane = 0; lane < lanes.length; lane++) {
+            if (laneMessages[lane] != null) {
+                final Batch batch = new Batch(laneDeliveries[lane], laneMessages[lane]);
+                lanes[lane].execute(() -> deliver(batch));
+            }
+        }
+    }
+
+    private int getLane(final String deviceId) {
+        return deviceId == null ? 0 : Math.floorMod(deviceId.hashCode(), lanes.length);
+    }
+
+    private void deliver(final Batch batch) {
+        try {
+            batchConsumer.accept(batch);
+        } catch (final RuntimeException e) {
+            LOG.debug("batch consumer failed to process batch, releasing messages", e);
+            batch.release();
+        }
+    }
+
+    private void onAcknowledged(final int count) {
+
+        unacknowledged -= count;
+        acknowledgedInSample += count;
+        final long now = System.nanoTime();
+        final long elapsed = now - rateSampleStart;
+        if (elapsed >= RATE_SAMPLE_INTERVAL_NANOS) {
+            final double rate = acknowledgedInSample * 1e9 / elapsed;
+            processingRate = processingRate < 0 ? rate : (processingRate + rate) / 2;
+            rateSampleStart = now;
+            acknowledgedInSample = 0;
+            final long window = (long) Math.ceil(processingRate * options.getCreditWindow() / 1000);
+            creditWindow = (int) Math.max(options.getMinCredit(), Math.min(options.getMaxCredit(), window));
+            LOG.trace("processing rate: {} msgs/s, credit window: {}", processingRate, creditWindow);
+        }
+        replenishCredit();
+    }
+
+    private void replenishCredit() {
+
+        if (closed || !receiver.isOpen()) {
+            return;
+        }
+        final int outstanding = receiver.getCredit() + unacknowledged;
+        final int grant = creditWindow - outstanding;
+        // avoid sending a flow frame for every single message
+        if (grant > 0 && (grant >= creditWindow / 4 || outstanding == 0)) {
+            receiver.flow(grant);
+        }
+    }
+
+    /**
+     * A batch of messages which settles its deliveries on the consumer's context.
+     */
+    private final class Batch implements MessageBatch {
+
+        private final List<ProtonDelivery> batchDeliveries;
+        private final List<Message> batchMessages;
+        private final AtomicBoolean acknowledged = new AtomicBoolean();
+
+        Batch(final List<ProtonDelivery> deliveries, final List<Message> messages) {
+            this.batchDeliveries = deliveries;
+            this.batchMessages = Collections.unmodifiableList(messages);
+        }
+
+        @Override
+        public List<Message> getMessages() {
+            return batchMessages;
+        }
+
+        @Override
+        public int size() {
+            return batchMessages.size();
+        }
+
+        @Override
+        public void accept() {
+            settle(true);
+        }
+
+        @Override
+        public void release() {
+            settle(false);
+        }
+
+        private void settle(final boolean accepted) {
+            if (acknowledged.compareAndSet(false, true)) {
+                context.runOnContext(settle -> {
+                    for (ProtonDelivery delivery : batchDeliveries) {
+                        if (delivery.remotelySettled()) {
+                            delivery.settle();
+                        } else if (accepted) {
+                            ProtonHelper.accepted(delivery, true);
+                        } else {
+                            ProtonHelper.released(delivery, true);
+                        }
+                    }
+                    onAcknowledged(batchDeliveries.size());
+                });
+            }
+        }
+    }
+
+    /**
+     * A queue of tasks which are run one after the other using an executor.
+     */
+    private static final class Lane implements Runnable {
+
+        private final Executor executor;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Lane(final Executor executor) {
+            this.executor = executor;
+        }
+
+        void execute(final Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+            scheduled.set(false);
+            // a task may have been added after the queue has been found empty
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
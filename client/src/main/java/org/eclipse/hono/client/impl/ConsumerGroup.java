@@ -0,0 +1,465 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.client.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.client.HonoClient;
+import org.eclipse.hono.client.MessageConsumer;
+import org.eclipse.hono.connection.ConnectionFactory;
+import org.eclipse.hono.connection.ReconnectPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.proton.ProtonClientOptions;
+import io.vertx.proton.ProtonConnection;
+
+/**
+ * A group of competing consumers of a tenant's telemetry data or events spread over multiple connections.
+ * <p>
+ * The group opens a number of connections to the Hono server, each one being managed by a
+ * {@link HonoClientImpl} running on its own Vert.x event loop, and distributes a number of
+ * receiver links for the tenant's address evenly among the connections. The message consumer
+ * may thus be invoked concurrently from multiple threads.
+ * <p>
+ * If a connection is lost, its links are re-opened on the remaining connections while the
+ * connection is being re-established. Once re-established, the links are distributed evenly again.
+ */
+public final class ConsumerGroup {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConsumerGroup.class);
+
+    private final Vertx vertx;
+    private final ConnectionFactory connectionFactory;
+    private final String tenantId;
+    private final boolean events;
+    private final int links;
+    private final int prefetch;
+    private final Consumer<Message> messageConsumer;
+    private final List<Member> members = new ArrayList<>();
+    private final List<String> deploymentIds = new ArrayList<>();
+    private Supplier<ReconnectPolicy> reconnectPolicyFactory = ReconnectPolicy::new;
+    private Context context;
+    private boolean started;
+    private volatile boolean closed;
+
+    private ConsumerGroup(final Vertx vertx, final ConnectionFactory connectionFactory, final String tenantId,
+            final boolean events, final int connections, final int links, final int prefetch,
+            final Consumer<Message> messageConsumer) {
+
+        if (connections < 1) {
+            throw new IllegalArgumentException("number of connections must be at least 1");
+        } else if (links < connections) {
+            throw new IllegalArgumentException("number of links must be at least the number of connections");
+        }
+        this.vertx = Objects.requireNonNull(vertx);
+        this.connectionFactory = Objects.requireNonNull(connectionFactory);
+        this.tenantId = Objects.requireNonNull(tenantId);
+        this.events = events;
+        this.links = links;
+        this.prefetch = prefetch;
+        this.messageConsumer = Objects.requireNonNull(messageConsumer);
+        for (int i = 0; i < connections; i++) {
+            members.add(new Member(i));
+        }
+    }
+
+    /**
+     * Creates a group of consumers of telemetry data.
+     *
+     * @param vertx The Vert.x instance to run on.
+     * @param connectionFactory The factory to use for creating the connections to the Hono server.
+     * @param tenantId The tenant to consume data for.
+     * @param connections The number of connections to open.
+     * @param links The overall number of links to open.
+     * @param prefetch The number of credits each link grants and replenishes automatically.
+     * @param telemetryConsumer The handler to invoke with every message received on any of the links.
+     * @return The group. The group needs to be started in order to open the connections.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     * @throws IllegalArgumentException if there are no connections or less links than connections.
+     */
+    public static ConsumerGroup forTelemetry(final Vertx vertx, final ConnectionFactory connectionFactory,
+            final String tenantId, final int connections, final int links, final int prefetch,
+            final Consumer<Message> telemetryConsumer) {
+
+        return new ConsumerGroup(vertx, connectionFactory, tenantId, false, connections, links, prefetch, telemetryConsumer);
+    }
+
+    /**
+     * Creates a group of consumers of events.
+     * <p>
+     * The events are settled automatically if the consumer does not throw an exception.
+     *
+     * @param vertx The Vert.x instance to run on.
+     * @param connectionFactory The factory to use for creating the connections to the Hono server.
+     * @param tenantId The tenant to consume events for.
+     * @param connections The number of connections to open.
+     * @param links The overall number of links to open.
+     * @param prefetch The number of credits each link grants and replenishes automatically.
+     * @param eventConsumer The handler to invoke with every event received on any of the links.
+     * @return The group. The group needs to be started in order to open the connections.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     * @throws IllegalArgumentException if there are no connections or less links than connections.
+     */
+    public static ConsumerGroup forEvents(final Vertx vertx, final ConnectionFactory connectionFactory,
+            final String tenantId, final int connections, final int links, final int prefetch,
+            final Consumer<Message> eventConsumer) {
+
+        return new ConsumerGroup(vertx, connectionFactory, tenantId, true, connections, links, prefetch, eventConsumer);
+    }
+
+    /**
+     * Sets the factory for the policies that space out attempts to re-establish lost connections.
+     * <p>
+     * Each connection uses its own policy. If not set, policies using default values are used.
+     *
+     * @param factory The factory.
+     * @throws NullPointerException if the factory is {@code null}.
+     * @throws IllegalStateException if the group has already been started.
+     */
+    public void setReconnectPolicyFactory(final Supplier<ReconnectPolicy> factory) {
+        if (context != null) {
+            throw new IllegalStateException("group has already been started");
+        }
+        this.reconnectPolicyFactory = Objects.requireNonNull(factory);
+    }
+
+    /**
+     * Opens the connections and links.
+     * <p>
+     * The start handler is invoked once each connection has been tried to establish once.
+     * The start succeeds if at least one of the connections could be established. In this case
+     * all links have been distributed among the established connections and the remaining
+     * connections are re-tried in the background. Otherwise the group is closed.
+     *
+     * @param options The options to use for connecting to the Hono server or {@code null}
+     *                if default options should be used. The options should not define any
+     *                reconnect attempts because the group re-establishes connections itself.
+     * @param startHandler The handler to invoke with the outcome.
+     * @throws NullPointerException if the handler is {@code null}.
+     */
+    public void start(final ProtonClientOptions options, final Handler<AsyncResult<Void>> startHandler) {
+
+        Objects.requireNonNull(startHandler);
+        context = vertx.getOrCreateContext();
+        context.runOnContext(go -> {
+            @SuppressWarnings("rawtypes")
+            final List<Future> connectAttempts = new ArrayList<>();
+            for (Member member : members) {
+                final Future<String> deployment = Future.future();
+                connectAttempts.add(deployment.compose(id -> {
+                    deploymentIds.add(id);
+                    return member.firstConnectAttempt;
+                }));
+                member.clientOptions = options == null ? new ProtonClientOptions() : options;
+                member.reconnectPolicy = reconnectPolicyFactory.get();
+                // each verticle instance runs on its own event loop
+                vertx.deployVerticle(member, deployment.completer());
+            }
+            // collect all outcomes, including failed ones
+            CompositeFuture.join(connectAttempts).setHandler(attempts -> {
+                if (getConnectedMembers() == 0) {
+                    LOG.info("could not connect any member of consumer group for [{}]", tenantId);
+                    close(closeAttempt -> startHandler.handle(Future.failedFuture("could not connect to server")));
+                } else {
+                    started = true;
+                    rebalance(rebalanced -> startHandler.handle(Future.succeededFuture()));
+                }
+            });
+        });
+    }
+
+    /**
+     * Closes all links and connections.
+     *
+     * @param closeHandler The handler to invoke once all connections have been closed.
+     * @throws NullPointerException if the handler is {@code null}.
+     */
+    public void close(final Handler<AsyncResult<Void>> closeHandler) {
+
+        Objects.requireNonNull(closeHandler);
+        closed = true;
+        if (context == null) {
+            // not started
+            closeHandler.handle(Future.succeededFuture());
+        } else {
+            context.runOnContext(go -> undeployMembers(closeHandler));
+        }
+    }
+
+    private void undeployMembers(final Handler<AsyncResult<Void>> closeHandler) {
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> undeployments = new ArrayList<>();
+        for (String deploymentId : deploymentIds) {
+            final Future<Void> undeployment = Future.future();
+            vertx.undeploy(deploymentId, undeployment.completer());
+            undeployments.add(undeployment);
+        }
+        deploymentIds.clear();
+        CompositeFuture.join(undeployments).setHandler(undeployed -> {
+            closeHandler.handle(Future.succeededFuture());
+        });
+    }
+
+    /**
+     * Gets the number of messages received by all links of this group.
+     *
+     * @return The number of messages.
+     */
+    public long getMessagesReceived() {
+        long result = 0;
+        for (Member member : members) {
+            result += member.messagesReceived.sum();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of links currently open.
+     *
+     * @return The number of links.
+     */
+    public int getOpenLinks() {
+        int result = 0;
+        for (Member member : members) {
+            result += member.openLinks;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of connections currently established.
+     *
+     * @return The number of connections.
+     */
+    public int getConnectedMembers() {
+        int result = 0;
+        for (Member member : members) {
+            if (member.connected) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the status of this group and of its connections.
+     *
+     * @return The status.
+     */
+    public JsonObject getStatus() {
+
+        final JsonArray connections = new JsonArray();
+        for (Member member : members) {
+            connections.add(new JsonObject()
+                    .put("connected", member.connected)
+                    .put("reconnect", member.reconnectPolicy == null ? null : member.reconnectPolicy.getStatus())
+                    .put("links", member.openLinks)
+                    .put("messages", member.messagesReceived.sum()));
+        }
+        return new JsonObject()
+                .put("tenant", tenantId)
+                .put("address", events ? "event" : "telemetry")
+                .put("links", getOpenLinks())
+                .put("messages", getMessagesReceived())
+                .put("connections", connections);
+    }
+
+    private void onMemberStatusChanged() {
+        context.runOnContext(changed -> {
+            if (started && !closed) {
+                rebalance(null);
+            }
+        });
+    }
+
+    /**
+     * Distributes the links evenly among the connected members.
+     * <p>
+     * Must be invoked on the group's context.
+     */
+    private void rebalance(final Handler<Void> doneHandler) {
+
+        final List<Member> connected = new ArrayList<>();
+        for (Member member : members) {
+            if (member.connected) {
+                connected.add(member);
+            }
+        }
+        final AtomicInteger pending = new AtomicInteger(members.size());
+        final Handler<Void> memberDone = done -> {
+            if (pending.decrementAndGet() == 0 && doneHandler != null) {
+                context.runOnContext(go -> doneHandler.handle(null));
+            }
+        };
+        for (Member member : members) {
+            final int index = connected.indexOf(member);
+            final int target = index < 0 ? 0 : links / connected.size() + (index < links % connected.size() ? 1 : 0);
+            member.adjust(target, memberDone);
+        }
+        LOG.debug("distributed {} links among {} connections for [{}]", links, connected.size(), tenantId);
+    }
+
+    /**
+     * A connection of the group along with the links opened on it.
+     * <p>
+     * All state except for the metrics is confined to the verticle's context.
+     */
+    private final class Member extends AbstractVerticle {
+
+        private final int index;
+        private final LongAdder messagesReceived = new LongAdder();
+        private final List<MessageConsumer> consumers = new ArrayList<>();
+        private final Future<Void> firstConnectAttempt = Future.future();
+        private ProtonClientOptions clientOptions;
+        private ReconnectPolicy reconnectPolicy;
+        private HonoClientImpl client;
+        private int target;
+        private int opening;
+        private long reconnectTimerId = -1;
+        private volatile boolean connected;
+        private volatile int openLinks;
+
+        Member(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void start() {
+            client = new HonoClientImpl(vertx, connectionFactory);
+            connect();
+        }
+
+        @Override
+        public void stop(final Future<Void> stopFuture) {
+            connected = false;
+            if (reconnectTimerId != -1) {
+                vertx.cancelTimer(reconnectTimerId);
+            }
+            client.shutdown(stopFuture.completer());
+        }
+
+        private void connect() {
+            reconnectTimerId = -1;
+            client.connect(clientOptions, attempt -> {
+                if (attempt.succeeded()) {
+                    LOG.debug("consumer group member {} connected", index);
+                    reconnectPolicy.succeeded();
+                    connected = true;
+                    onMemberStatusChanged();
+                } else {
+                    LOG.debug("consumer group member {} failed to connect", index, attempt.cause());
+                    reconnectPolicy.failed();
+                    scheduleReconnect();
+                }
+                firstConnectAttempt.tryComplete();
+            }, this::onDisconnect);
+        }
+
+        private void onDisconnect(final ProtonConnection con) {
+            LOG.info("consumer group member {} lost connection", index);
+            connected = false;
+            // the links are gone along with the connection
+            consumers.clear();
+            openLinks = 0;
+            onMemberStatusChanged();
+            scheduleReconnect();
+        }
+
+        private void scheduleReconnect() {
+            if (!closed) {
+                reconnectTimerId = reconnectPolicy.schedule(vertx, retry -> connect());
+            }
+        }
+
+        void adjust(final int newTarget, final Handler<Void> doneHandler) {
+            if (context == null) {
+                // not deployed (yet)
+                doneHandler.handle(null);
+                return;
+            }
+            context.runOnContext(go -> {
+                target = newTarget;
+                reconcile(doneHandler);
+            });
+        }
+
+        private void reconcile(final Handler<Void> doneHandler) {
+
+            if (!connected) {
+                doneHandler.handle(null);
+                return;
+            }
+            while (consumers.size() > target) {
+                consumers.remove(consumers.size() - 1).close(closeAttempt -> {});
+            }
+            openLinks = consumers.size();
+            final int missing = target - consumers.size() - opening;
+            if (missing <= 0) {
+                doneHandler.handle(null);
+                return;
+            }
+            final AtomicInteger pending = new AtomicInteger(missing);
+            for (int i = 0; i < missing; i++) {
+                opening++;
+                openLink(created -> {
+                    opening--;
+                    if (created.succeeded()) {
+                        if (connected && consumers.size() < target) {
+                            consumers.add(created.result());
+                        } else {
+                            created.result().close(closeAttempt -> {});
+                        }
+                    } else {
+                        LOG.debug("consumer group member {} failed to open link", index, created.cause());
+                    }
+                    openLinks = consumers.size();
+                    if (pending.decrementAndGet() == 0) {
+                        doneHandler.handle(null);
+                    }
+                });
+            }
+        }
+
+        private void openLink(final Handler<AsyncResult<MessageConsumer>> creationHandler) {
+
+            final Consumer<Message> countingConsumer = message -> {
+                messagesReceived.increment();
+                messageConsumer.accept(message);
+            };
+            final HonoClient honoClient = client;
+            if (events) {
+                honoClient.createEventConsumer(tenantId, prefetch, countingConsumer, creationHandler);
+            } else {
+                honoClient.createTelemetryConsumer(tenantId, prefetch, countingConsumer, creationHandler);
+            }
+        }
+    }
+}
@@ -23,7 +23,7 @@ import java.util.function.Consumer;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.*;
 import org.eclipse.hono.connection.ConnectionFactory;
-import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.connection.ReconnectPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,7 +43,7 @@ public final class HonoClientImpl implements HonoClient {
     private final Map<String, MessageSender> activeSenders = new ConcurrentHashMap<>();
     private final Map<String, RegistrationClient> activeRegClients = new ConcurrentHashMap<>();
     private final Map<String, CredentialsClient> activeCredClients = new ConcurrentHashMap<>();
-    private final Map<String, Boolean> senderCreationLocks = new ConcurrentHashMap<>();
+    private final Map<String, List<Handler<AsyncResult<MessageSender>>>> pendingSenderRequests = new ConcurrentHashMap<>();
     private final List<Handler<Void>> creationRequests = new ArrayList<>();
     private final AtomicBoolean connecting = new AtomicBoolean(false);
     private ProtonClientOptions clientOptions;
@@ -51,6 +51,7 @@ public final class HonoClientImpl implements HonoClient {
     private Vertx vertx;
     private Context context;
     private ConnectionFactory connectionFactory;
+    private ReconnectPolicy reconnectPolicy = new ReconnectPolicy();
 
     /**
      * Creates a new client for a set of configuration properties.
@@ -67,6 +68,18 @@ public final class HonoClientImpl implements HonoClient {
         this.connectionFactory = connectionFactory;
     }
 
+    /**
+     * Sets the policy for spacing out attempts to re-establish the connection to the server.
+     * <p>
+     * If not set, a policy using default values is used.
+     * 
+     * @param reconnectPolicy The policy.
+     * @throws NullPointerException if the policy is {@code null}.
+     */
+    public void setReconnectPolicy(final ReconnectPolicy reconnectPolicy) {
+        this.reconnectPolicy = Objects.requireNonNull(reconnectPolicy);
+    }
+
     /**
      * Sets the connection to the Hono server.
      * <p>
@@ -108,6 +121,7 @@ public final class HonoClientImpl implements HonoClient {
         result.put("connected", isConnected());
         result.put("server", String.format("%s:%d", connectionFactory.getHost(), connectionFactory.getPort()));
         result.put("#regClients", activeRegClients.size());
+        result.put("reconnect", reconnectPolicy.getStatus());
         result.put("senders", getSenderStatus());
         return result;
     }
@@ -162,8 +176,10 @@ public final class HonoClientImpl implements HonoClient {
                     conAttempt -> {
                         connecting.compareAndSet(true, false);
                         if (conAttempt.failed()) {
+                            reconnectPolicy.failed();
                             reconnect(connectionHandler, disconnectHandler);
                         } else {
+                            reconnectPolicy.succeeded();
                             setConnection(conAttempt.result());
                             setContext(Vertx.currentContext());
                             connectionHandler.handle(Future.succeededFuture(this));
@@ -181,8 +197,8 @@ public final class HonoClientImpl implements HonoClient {
             connectionHandler.handle(Future.failedFuture("failed to connect"));
         } else {
             LOG.trace("scheduling re-connect attempt ...");
-            // give Vert.x some time to clean up NetClient
-            vertx.setTimer(Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS, tid -> {
+            // give Vert.x some time to clean up NetClient and spread attempts of multiple clients
+            reconnectPolicy.schedule(vertx, tid -> {
                 LOG.debug("attempting to re-connect to server [{}:{}]", connectionFactory.getHost(), connectionFactory.getPort());
                 connect(clientOptions, connectionHandler, disconnectHandler);
             });
@@ -281,36 +297,61 @@ public final class HonoClientImpl implements HonoClient {
         if (sender != null && sender.isOpen()) {
             LOG.debug("reusing existing message sender [target: {}, credit: {}]", key, sender.getCredit());
             resultHandler.handle(Future.succeededFuture(sender));
-        } else if (!senderCreationLocks.computeIfAbsent(key, k -> Boolean.FALSE)) {
+            return;
+        }
 
-            // register a handler to be notified if the underlying connection to the server fails
-            // so that we can fail the result handler passed in
-            final Handler<Void> connectionFailureHandler = connectionLost -> {
-                // remove lock so that next attempt to open a sender doesn't fail
-                senderCreationLocks.remove(key);
-                resultHandler.handle(Future.failedFuture("connection to server lost"));
-            };
-            creationRequests.add(connectionFailureHandler);
-            senderCreationLocks.put(key, Boolean.TRUE);
-            LOG.debug("creating new message sender for {}", key);
+        // the waiters are only ever modified in compute functions so that a request cannot be
+        // added to a list that is concurrently being completed by the creation attempt
+        final List<Handler<AsyncResult<MessageSender>>> newWaiters = new ArrayList<>();
+        final List<Handler<AsyncResult<MessageSender>>> waiters = pendingSenderRequests.compute(key, (k, existingWaiters) -> {
+            final List<Handler<AsyncResult<MessageSender>>> result = existingWaiters == null ? newWaiters : existingWaiters;
+            result.add(resultHandler);
+            return result;
+        });
+        if (waiters != newWaiters) {
+            LOG.debug("already trying to create a message sender for {}, queueing request", key);
+            return;
+        }
 
-            newSenderSupplier.accept(creationAttempt -> {
-                if (creationAttempt.succeeded()) {
-                    MessageSender newSender = creationAttempt.result();
-                    LOG.debug("successfully created new message sender for {}", key);
-                    activeSenders.put(key, newSender);
-                } else {
-                    LOG.debug("failed to create new message sender for {}", key, creationAttempt.cause());
-                    activeSenders.remove(key);
-                }
-                senderCreationLocks.remove(key);
-                creationRequests.remove(connectionFailureHandler);
-                resultHandler.handle(creationAttempt);
-            });
+        // register a handler to be notified if the underlying connection to the server fails
+        // so that we can fail the result handlers of all queued requests
+        final Handler<Void> connectionFailureHandler = connectionLost -> {
+            completeSenderRequests(key, newWaiters, Future.failedFuture("connection to server lost"));
+        };
+        creationRequests.add(connectionFailureHandler);
+        LOG.debug("creating new message sender for {}", key);
 
-        } else {
-            LOG.debug("already trying to create a message sender for {}", key);
-            resultHandler.handle(Future.failedFuture("sender link not established yet"));
+        newSenderSupplier.accept(creationAttempt -> {
+            if (creationAttempt.succeeded()) {
+                MessageSender newSender = creationAttempt.result();
+                LOG.debug("successfully created new message sender for {}", key);
+                activeSenders.put(key, newSender);
+            } else {
+                LOG.debug("failed to create new message sender for {}", key, creationAttempt.cause());
+                activeSenders.remove(key);
+            }
+            creationRequests.remove(connectionFailureHandler);
+            completeSenderRequests(key, newWaiters, creationAttempt);
+        });
+    }
+
+    private void completeSenderRequests(
+            final String key,
+            final List<Handler<AsyncResult<MessageSender>>> waiters,
+            final AsyncResult<MessageSender> outcome) {
+
+        // the requests may already have been failed because of a lost connection
+        final List<Handler<AsyncResult<MessageSender>>> waitersToComplete = new ArrayList<>();
+        pendingSenderRequests.computeIfPresent(key, (k, currentWaiters) -> {
+            if (currentWaiters == waiters) {
+                waitersToComplete.addAll(currentWaiters);
+                return null;
+            } else {
+                return currentWaiters;
+            }
+        });
+        for (Handler<AsyncResult<MessageSender>> waiter : waitersToComplete) {
+            waiter.handle(outcome);
         }
     }
 
@@ -442,6 +483,49 @@ public final class HonoClientImpl implements HonoClient {
         return this;
     }
 
+    @Override
+    public HonoClient createTelemetryBatchConsumer(
+            final String tenantId,
+            final BatchConsumerOptions options,
+            final Consumer<MessageBatch> batchConsumer,
+            final Handler<AsyncResult<MessageConsumer>> creationHandler) {
+
+        createBatchConsumer(creationHandler, consumerTracker -> BatchConsumerImpl.createTelemetryConsumer(context,
+                connection, tenantId, connectionFactory.getPathSeparator(), options, batchConsumer, consumerTracker.completer()));
+        return this;
+    }
+
+    @Override
+    public HonoClient createEventBatchConsumer(
+            final String tenantId,
+            final BatchConsumerOptions options,
+            final Consumer<MessageBatch> batchConsumer,
+            final Handler<AsyncResult<MessageConsumer>> creationHandler) {
+
+        createBatchConsumer(creationHandler, consumerTracker -> BatchConsumerImpl.createEventConsumer(context,
+                connection, tenantId, connectionFactory.getPathSeparator(), options, batchConsumer, consumerTracker.completer()));
+        return this;
+    }
+
+    private void createBatchConsumer(
+            final Handler<AsyncResult<MessageConsumer>> creationHandler,
+            final Handler<Future<MessageConsumer>> consumerFactory) {
+
+        // register a handler to be notified if the underlying connection to the server fails
+        // so that we can fail the result handler passed in
+        final Handler<Void> connectionFailureHandler = connectionLost -> {
+            creationHandler.handle(Future.failedFuture("connection to server lost"));
+        };
+        creationRequests.add(connectionFailureHandler);
+
+        Future<MessageConsumer> consumerTracker = Future.future();
+        consumerTracker.setHandler(attempt -> {
+            creationRequests.remove(connectionFailureHandler);
+            creationHandler.handle(attempt);
+        });
+        checkConnection().compose(connected -> consumerFactory.handle(consumerTracker), consumerTracker);
+    }
+
     private HonoClient createEventSender(
             final String tenantId,
             final String deviceId,
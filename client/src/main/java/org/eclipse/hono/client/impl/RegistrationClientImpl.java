@@ -14,7 +14,11 @@ package org.eclipse.hono.client.impl;
 
 import static org.eclipse.hono.util.RegistrationConstants.*;
 
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -27,7 +31,9 @@ import org.slf4j.LoggerFactory;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonConnection;
 
@@ -119,4 +125,42 @@ public final class RegistrationClientImpl extends AbstractRequestResponseClient<
 
         createAndSendRequest(ACTION_ASSERT, createDeviceIdProperties(deviceId), null, resultHandler);
     }
+
+    @Override
+    public void assertRegistrations(final List<String> deviceIds,
+            final Handler<AsyncResult<Map<String, RegistrationResult>>> resultHandler) {
+
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(resultHandler);
+        final JsonObject payload = new JsonObject().put(FIELD_DEVICES, new JsonArray(new ArrayList<>(deviceIds)));
+        createAndSendRequest(ACTION_ASSERT_BULK, payload, response -> {
+            if (response.failed()) {
+                resultHandler.handle(Future.failedFuture(response.cause()));
+            } else {
+                resultHandler.handle(Future.succeededFuture(getBulkAssertionResults(deviceIds, response.result())));
+            }
+        });
+    }
+
+    private static Map<String, RegistrationResult> getBulkAssertionResults(final List<String> deviceIds,
+            final RegistrationResult response) {
+
+        final Map<String, RegistrationResult> results = new LinkedHashMap<>(deviceIds.size());
+        final JsonArray entries = response.getPayload() == null ? null
+                : response.getPayload().getJsonArray(FIELD_RESULTS);
+        if (response.getStatus() != HttpURLConnection.HTTP_OK || entries == null) {
+            LOG.debug("bulk assertion request failed [status: {}]", response.getStatus());
+            for (final String deviceId : deviceIds) {
+                results.put(deviceId, RegistrationResult.from(response.getStatus()));
+            }
+        } else {
+            for (int i = 0; i < entries.size(); i++) {
+                final JsonObject entry = entries.getJsonObject(i);
+                results.put(
+                        entry.getString(FIELD_DEVICE_ID),
+                        RegistrationResult.from(entry.getInteger(FIELD_STATUS), entry.getJsonObject(FIELD_PAYLOAD)));
+            }
+        }
+        return results;
+    }
 }
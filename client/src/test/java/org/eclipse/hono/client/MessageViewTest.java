@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.client;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.messaging.AmqpValue;
+import org.apache.qpid.proton.amqp.messaging.Data;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.util.MessageHelper;
+import org.junit.Test;
+
+import io.vertx.proton.ProtonHelper;
+
+/**
+ * Tests verifying behavior of {@link MessageView}.
+ *
+ */
+public class MessageViewTest {
+
+    /**
+     * Verifies that the payload of a <em>Data</em> section is exposed without copying it.
+     */
+    @Test
+    public void testGetPayloadSharesDataSection() {
+
+        final byte[] bytes = "xxhelloxx".getBytes(StandardCharsets.UTF_8);
+        final Message message = ProtonHelper.message();
+        message.setBody(new Data(new Binary(bytes, 2, 5)));
+
+        final ByteBuffer payload = MessageView.of(message).getPayload();
+        assertThat(payload.remaining(), is(5));
+        assertThat(payload.get(0), is((byte) 'h'));
+        assertThat(MessageView.of(message).getPayloadSize(), is(5));
+
+        // changes to the message's bytes are visible through the view
+        bytes[2] = 'j';
+        assertThat(payload.get(0), is((byte) 'j'));
+    }
+
+    /**
+     * Verifies that the payload cannot be modified using the view.
+     */
+    @Test(expected = ReadOnlyBufferException.class)
+    public void testGetPayloadIsReadOnly() {
+
+        final Message message = ProtonHelper.message();
+        message.setBody(new Data(new Binary(new byte[] { 1, 2, 3 })));
+        MessageView.of(message).getPayload().put((byte) 0);
+    }
+
+    /**
+     * Verifies that a string contained in an <em>AmqpValue</em> section is exposed as UTF-8 bytes.
+     */
+    @Test
+    public void testGetPayloadEncodesAmqpValueString() {
+
+        final Message message = ProtonHelper.message("grüße");
+        final ByteBuffer payload = MessageView.of(message).getPayload();
+        final byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        assertThat(new String(bytes, StandardCharsets.UTF_8), is("grüße"));
+    }
+
+    /**
+     * Verifies that the view provides access to a message's properties.
+     */
+    @Test
+    public void testPropertiesAreExposed() {
+
+        final Message message = ProtonHelper.message();
+        message.setBody(new AmqpValue(new Binary(new byte[0])));
+        message.setContentType("application/json");
+        MessageHelper.addDeviceId(message, "4711");
+        MessageHelper.addProperty(message, "count", 5);
+
+        final MessageView view = MessageView.of(message);
+        assertThat(view.getDeviceId(), is("4711"));
+        assertNull(view.getTenantId());
+        assertThat(view.getContentType(), is("application/json"));
+        assertThat(view.getProperty("count", Integer.class), is(5));
+        assertNull(view.getProperty("count", String.class));
+        assertTrue(view.hasProperty("count"));
+        assertFalse(view.hasProperty("unknown"));
+        assertThat(view.getPayloadSize(), is(0));
+    }
+}
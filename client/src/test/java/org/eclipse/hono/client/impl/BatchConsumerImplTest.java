@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.client.impl;
+
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.apache.qpid.proton.amqp.messaging.Accepted;
+import org.apache.qpid.proton.amqp.transport.Source;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.client.BatchConsumerOptions;
+import org.eclipse.hono.client.MessageBatch;
+import org.eclipse.hono.util.MessageHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonMessageHandler;
+import io.vertx.proton.ProtonQoS;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Test cases verifying the behavior of {@link BatchConsumerImpl}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class BatchConsumerImplTest {
+
+    private Vertx vertx;
+    private Context context;
+    private ProtonReceiver receiver;
+    private ProtonConnection con;
+
+    /**
+     * Initializes fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        context = vertx.getOrCreateContext();
+        Source source = mock(Source.class);
+        when(source.toString()).thenReturn("event/tenant");
+        receiver = mock(ProtonReceiver.class);
+        when(receiver.getRemoteSource()).thenReturn(source);
+        when(receiver.getRemoteQoS()).thenReturn(ProtonQoS.AT_LEAST_ONCE);
+        when(receiver.isOpen()).thenReturn(Boolean.TRUE);
+        when(receiver.openHandler(any(Handler.class))).thenAnswer(invocation -> {
+            invocation.getArgumentAt(0, Handler.class).handle(Future.succeededFuture(receiver));
+            return receiver;
+        });
+        con = mock(ProtonConnection.class);
+        when(con.createReceiver(anyString())).thenReturn(receiver);
+    }
+
+    /**
+     * Cleans up fixture.
+     */
+    @After
+    public void shutDown() {
+        vertx.close();
+    }
+
+    /**
+     * Verifies that messages are passed to the consumer once the maximum batch size has been reached.
+     *
+     * @param ctx The test context.
+     */
+    @Test
+    public void testBatchIsDeliveredWhenFull(final TestContext ctx) {
+
+        // GIVEN a consumer using a batch size of 3 and a long batch delay
+        final Async batchReceived = ctx.async();
+        final BatchConsumerOptions options = new BatchConsumerOptions().setMaxBatchSize(3).setMaxBatchDelay(100000);
+        final ProtonMessageHandler messageHandler = createConsumer(ctx, options, batch -> {
+            // THEN all messages are delivered in a single batch
+            ctx.assertEquals(3, batch.size());
+            batchReceived.complete();
+        });
+
+        // WHEN three messages are received
+        context.runOnContext(go -> {
+            for (int i = 0; i < 3; i++) {
+                messageHandler.handle(mock(ProtonDelivery.class), newMessage("device"));
+            }
+        });
+        batchReceived.await(2000);
+    }
+
+    /**
+     * Verifies that an incomplete batch is passed to the consumer after the maximum batch delay.
+     *
+     * @param ctx The test context.
+     */
+    @Test
+    public void testBatchIsDeliveredAfterDelay(final TestContext ctx) {
+
+        // GIVEN a consumer using a large batch size and a short batch delay
+        final Async batchReceived = ctx.async();
+        final BatchConsumerOptions options = new BatchConsumerOptions().setMaxBatchSize(100).setMaxBatchDelay(10);
+        final ProtonMessageHandler messageHandler = createConsumer(ctx, options, batch -> {
+            // THEN the batch is delivered although it is not full
+            ctx.assertEquals(2, batch.size());
+            batchReceived.complete();
+        });
+
+        // WHEN two messages are received
+        context.runOnContext(go -> {
+            messageHandler.handle(mock(ProtonDelivery.class), newMessage("device"));
+            messageHandler.handle(mock(ProtonDelivery.class), newMessage("device"));
+        });
+        batchReceived.await(2000);
+    }
+
+    /**
+     * Verifies that credit is only replenished once the application has acknowledged a batch
+     * and that the batch's deliveries are accepted.
+     *
+     * @param ctx The test context.
+     */
+    @Test
+    public void testCreditIsReplenishedOnAcknowledgement(final TestContext ctx) {
+
+        // GIVEN a consumer granting a fixed credit of 4
+        final List<MessageBatch> batches = Collections.synchronizedList(new ArrayList<>());
+        final Async batchReceived = ctx.async();
+        final BatchConsumerOptions options = new BatchConsumerOptions()
+                .setMaxBatchSize(4).setMinCredit(4).setMaxCredit(4);
+        final ProtonMessageHandler messageHandler = createConsumer(ctx, options, batch -> {
+            batches.add(batch);
+            batchReceived.complete();
+        });
+        verify(receiver).flow(4);
+
+        // WHEN all credit has been used up
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        context.runOnContext(go -> {
+            for (int i = 0; i < 4; i++) {
+                messageHandler.handle(delivery, newMessage("device"));
+            }
+        });
+        batchReceived.await(2000);
+
+        // THEN no more credit is granted before the batch has been acknowledged
+        verify(receiver, times(1)).flow(anyInt());
+
+        // and credit is replenished once the batch has been acknowledged
+        final Async replenished = ctx.async();
+        batches.get(0).accept();
+        context.runOnContext(check -> {
+            verify(delivery, times(4)).disposition(any(Accepted.class), eq(Boolean.TRUE));
+            verify(receiver, times(2)).flow(4);
+            replenished.complete();
+        });
+        replenished.await(2000);
+    }
+
+    /**
+     * Verifies that batches processed using an executor preserve the order of each device's messages.
+     *
+     * @param ctx The test context.
+     */
+    @Test
+    public void testExecutorPreservesOrderPerDevice(final TestContext ctx) {
+
+        // GIVEN a consumer processing small batches in four lanes
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final int messagesPerDevice = 200;
+        final int devices = 8;
+        final Map<String, List<Integer>> received = new HashMap<>();
+        final Async allReceived = ctx.async(devices * messagesPerDevice);
+        final BatchConsumerOptions options = new BatchConsumerOptions()
+                .setMaxBatchSize(5).setExecutor(executor).setLanes(4);
+        final ProtonMessageHandler messageHandler = createConsumer(ctx, options, batch -> {
+            for (Message message : batch.getMessages()) {
+                synchronized (received) {
+                    received.computeIfAbsent(MessageHelper.getDeviceId(message), id -> new ArrayList<>())
+                        .add((Integer) message.getApplicationProperties().getValue().get("seq"));
+                }
+                allReceived.countDown();
+            }
+            batch.accept();
+        });
+
+        // WHEN messages of multiple devices are received interleaved
+        context.runOnContext(go -> {
+            for (int seq = 0; seq < messagesPerDevice; seq++) {
+                for (int device = 0; device < devices; device++) {
+                    final Message message = newMessage("device" + device);
+                    MessageHelper.addProperty(message, "seq", seq);
+                    messageHandler.handle(mock(ProtonDelivery.class), message);
+                }
+            }
+        });
+        allReceived.await(5000);
+        executor.shutdown();
+
+        // THEN the messages of each device have been processed in order
+        ctx.assertEquals(devices, received.size());
+        for (List<Integer> sequence : received.values()) {
+            for (int i = 0; i < messagesPerDevice; i++) {
+                ctx.assertEquals(i, sequence.get(i));
+            }
+        }
+    }
+
+    private ProtonMessageHandler createConsumer(final TestContext ctx, final BatchConsumerOptions options,
+            final Consumer<MessageBatch> batchConsumer) {
+
+        final Async consumerCreation = ctx.async();
+        context.runOnContext(go -> {
+            BatchConsumerImpl.createEventConsumer(context, con, "tenant", "/", options, batchConsumer,
+                    ctx.asyncAssertSuccess(consumer -> consumerCreation.complete()));
+        });
+        consumerCreation.await(1000);
+        final ArgumentCaptor<ProtonMessageHandler> messageHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        verify(receiver).handler(messageHandler.capture());
+        return messageHandler.getValue();
+    }
+
+    private static Message newMessage(final String deviceId) {
+        final Message message = ProtonHelper.message("payload");
+        MessageHelper.addDeviceId(message, deviceId);
+        return message;
+    }
+}
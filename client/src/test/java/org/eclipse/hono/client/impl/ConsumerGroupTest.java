@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.client.impl;
+
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.apache.qpid.proton.amqp.transport.Source;
+import org.eclipse.hono.connection.ConnectionFactory;
+import org.eclipse.hono.connection.ReconnectPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.proton.ProtonClientOptions;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonQoS;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Test cases verifying the behavior of {@link ConsumerGroup}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class ConsumerGroupTest {
+
+    private Vertx vertx;
+    private ConnectionFactory connectionFactory;
+    private final AtomicBoolean serverAvailable = new AtomicBoolean(true);
+    private final List<Context> connectionContexts = new CopyOnWriteArrayList<>();
+    private final List<Handler<ProtonConnection>> disconnectHandlers = new CopyOnWriteArrayList<>();
+    private final List<ProtonConnection> connections = new CopyOnWriteArrayList<>();
+
+    /**
+     * Sets up a connection factory creating mock connections.
+     */
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        connectionFactory = mock(ConnectionFactory.class);
+        doAnswer(invocation -> {
+            final Handler<AsyncResult<ProtonConnection>> resultHandler = invocation.getArgumentAt(3, Handler.class);
+            if (serverAvailable.get()) {
+                final ProtonConnection con = newConnection();
+                connections.add(con);
+                connectionContexts.add(Vertx.currentContext());
+                disconnectHandlers.add(invocation.getArgumentAt(2, Handler.class));
+                resultHandler.handle(Future.succeededFuture(con));
+            } else {
+                resultHandler.handle(Future.failedFuture("server not available"));
+            }
+            return null;
+        }).when(connectionFactory).connect(any(ProtonClientOptions.class), any(Handler.class), any(Handler.class), any(Handler.class));
+        when(connectionFactory.getPathSeparator()).thenReturn("/");
+    }
+
+    /**
+     * Cleans up after test execution.
+     *
+     * @param ctx The helper to use for running async tests.
+     */
+    @After
+    public void shutdown(final TestContext ctx) {
+        vertx.close(ctx.asyncAssertSuccess());
+    }
+
+    /**
+     * Verifies that the links are distributed evenly among the connections, each of them
+     * running on its own context.
+     *
+     * @param ctx The helper to use for running async tests.
+     */
+    @Test
+    public void testStartDistributesLinksAmongConnections(final TestContext ctx) {
+
+        // GIVEN a group of 2 connections with 5 links
+        final ConsumerGroup group = ConsumerGroup.forTelemetry(vertx, connectionFactory, "tenant", 2, 5, 10, msg -> {});
+
+        // WHEN starting the group
+        final Async started = ctx.async();
+        group.start(null, ctx.asyncAssertSuccess(ok -> started.complete()));
+        started.await(2000);
+
+        // THEN all links have been opened on two connections using different contexts
+        ctx.assertEquals(2, group.getConnectedMembers());
+        ctx.assertEquals(5, group.getOpenLinks());
+        ctx.assertNotEquals(connectionContexts.get(0), connectionContexts.get(1));
+        final JsonArray status = group.getStatus().getJsonArray("connections");
+        ctx.assertEquals(5, status.getJsonObject(0).getInteger("links") + status.getJsonObject(1).getInteger("links"));
+        ctx.assertTrue(Math.abs(status.getJsonObject(0).getInteger("links") - status.getJsonObject(1).getInteger("links")) <= 1);
+    }
+
+    /**
+     * Verifies that the links of a lost connection are re-opened on the remaining connection
+     * and that they are distributed again once the connection has been re-established.
+     *
+     * @param ctx The helper to use for running async tests.
+     */
+    @Test
+    public void testLinksAreRebalancedOnConnectionLoss(final TestContext ctx) {
+
+        // GIVEN a started group of 2 connections with 4 links
+        final ConsumerGroup group = ConsumerGroup.forEvents(vertx, connectionFactory, "tenant", 2, 4, 10, msg -> {});
+        group.setReconnectPolicyFactory(() -> new ReconnectPolicy().setMinDelay(50).setMaxDelay(200));
+        final Async started = ctx.async();
+        group.start(null, ctx.asyncAssertSuccess(ok -> started.complete()));
+        started.await(2000);
+
+        // WHEN the first connection is lost and cannot be re-established
+        serverAvailable.set(false);
+        connectionContexts.get(0).runOnContext(go -> disconnectHandlers.get(0).handle(connections.get(0)));
+
+        // THEN all links are opened on the remaining connection
+        awaitCondition(ctx, () -> group.getConnectedMembers() == 1 && group.getOpenLinks() == 4);
+
+        // and are distributed evenly again once the connection has been re-established
+        serverAvailable.set(true);
+        awaitCondition(ctx, () -> {
+            final JsonArray status = group.getStatus().getJsonArray("connections");
+            return group.getConnectedMembers() == 2 && status.getJsonObject(0).getInteger("links") == 2
+                    && status.getJsonObject(1).getInteger("links") == 2;
+        });
+    }
+
+    private void awaitCondition(final TestContext ctx, final BooleanSupplier condition) {
+        final Async fulfilled = ctx.async();
+        vertx.setPeriodic(20, check -> {
+            if (condition.getAsBoolean()) {
+                vertx.cancelTimer(check);
+                fulfilled.complete();
+            }
+        });
+        fulfilled.await(3000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ProtonConnection newConnection() {
+
+        final ProtonConnection con = mock(ProtonConnection.class);
+        when(con.createReceiver(anyString())).thenAnswer(invocation -> {
+            final Source source = mock(Source.class);
+            final ProtonReceiver receiver = mock(ProtonReceiver.class);
+            when(receiver.getRemoteSource()).thenReturn(source);
+            when(receiver.getRemoteQoS()).thenReturn(ProtonQoS.AT_LEAST_ONCE);
+            when(receiver.openHandler(any(Handler.class))).thenAnswer(open -> {
+                open.getArgumentAt(0, Handler.class).handle(Future.succeededFuture(receiver));
+                return receiver;
+            });
+            return receiver;
+        });
+        when(con.closeHandler(any(Handler.class))).thenAnswer(invocation -> {
+            final Handler<AsyncResult<ProtonConnection>> closeHandler = invocation.getArgumentAt(0, Handler.class);
+            final ProtonConnection closingCon = (ProtonConnection) invocation.getMock();
+            doAnswer(close -> {
+                closeHandler.handle(Future.succeededFuture(closingCon));
+                return closingCon;
+            }).when(closingCon).close();
+            return closingCon;
+        });
+        return con;
+    }
+}
@@ -18,9 +18,11 @@ import static org.mockito.Mockito.when;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.hono.client.MessageSender;
 import org.eclipse.hono.connection.ConnectionFactory;
+import org.eclipse.hono.connection.ReconnectPolicy;
 import org.eclipse.hono.util.Constants;
 import org.junit.After;
 import org.junit.Before;
@@ -67,37 +69,81 @@ public class HonoClientImplTest {
     }
 
     /**
-     * Verifies that a concurrent request to create a sender fails the given future for tracking the attempt.
+     * Verifies that a concurrent request to create a sender is completed with the sender created by the first request.
      * 
      * @param ctx The helper to use for running async tests.
      */
     @Test
-    public void testGetOrCreateTelemetrySenderFailsIfInvokedConcurrently(final TestContext ctx) {
+    public void testGetOrCreateTelemetrySenderQueuesConcurrentRequests(final TestContext ctx) {
 
         // GIVEN a client that already tries to create a telemetry sender for "tenant"
         ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
         HonoClientImpl client = new HonoClientImpl(vertx, connectionFactory);
         final Future<MessageSender> firstSenderTracker = Future.future();
+        final MessageSender sender = mock(MessageSender.class);
+        final Async firstCreation = ctx.async();
         client.getOrCreateSender("telemetry/tenant", handler -> {
             firstSenderTracker.setHandler(creationAttempt -> {
                 handler.handle(creationAttempt);
             });
-        }, result -> {});
+        }, ctx.asyncAssertSuccess(s -> {
+            ctx.assertEquals(sender, s);
+            firstCreation.complete();
+        }));
 
         // WHEN an additional, concurrent attempt is made to create a telemetry sender for "tenant"
-        final Async creationFailure = ctx.async();
+        final Async secondCreation = ctx.async();
         client.getOrCreateSender("telemetry/tenant", handler -> {
-            handler.handle(Future.succeededFuture(mock(MessageSender.class)));
-        }, creationAttempt -> {
-            ctx.assertFalse(creationAttempt.succeeded());
-            creationFailure.complete();
+            ctx.fail("should not try to create another sender");
+        }, ctx.asyncAssertSuccess(s -> {
+            ctx.assertEquals(sender, s);
+            secondCreation.complete();
+        }));
+        ctx.assertFalse(secondCreation.isCompleted());
+
+        // THEN the concurrent attempt succeeds with the same sender once the first attempt succeeds
+        firstSenderTracker.complete(sender);
+        firstCreation.await(2000);
+        secondCreation.await(2000);
+    }
+
+    /**
+     * Verifies that requests to create a sender that are queued from another thread while the
+     * first request is being completed are all completed.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting for the requests to complete.
+     */
+    @Test
+    public void testGetOrCreateSenderCompletesRequestsQueuedConcurrentlyWithCompletion() throws InterruptedException {
+
+        // GIVEN a client that already tries to create a telemetry sender for "tenant"
+        final int concurrentRequests = 10000;
+        final HonoClientImpl client = new HonoClientImpl(vertx, mock(ConnectionFactory.class));
+        final MessageSender sender = mock(MessageSender.class);
+        when(sender.isOpen()).thenReturn(Boolean.TRUE);
+        final CountDownLatch completedRequests = new CountDownLatch(concurrentRequests + 1);
+        final AtomicReference<Handler<AsyncResult<MessageSender>>> creationHandler = new AtomicReference<>();
+        client.getOrCreateSender("telemetry/tenant", creationHandler::set, s -> completedRequests.countDown());
+
+        // WHEN another thread keeps requesting the sender
+        final CountDownLatch requestsStarted = new CountDownLatch(1);
+        final Thread requester = new Thread(() -> {
+            for (int i = 0; i < concurrentRequests; i++) {
+                client.getOrCreateSender("telemetry/tenant",
+                        handler -> handler.handle(Future.succeededFuture(sender)),
+                        s -> completedRequests.countDown());
+                requestsStarted.countDown();
+            }
         });
+        requester.start();
 
-        // THEN the concurrent attempt fails immediately without any attempt being made to create another sender
-        creationFailure.await(2000);
+        // while the first creation attempt completes
+        assertTrue(requestsStarted.await(1, TimeUnit.SECONDS));
+        creationHandler.get().handle(Future.succeededFuture(sender));
+        requester.join(5000);
 
-        // succeed first creation attempt, thus invoking result handler
-        firstSenderTracker.complete(mock(MessageSender.class));
+        // THEN all requests are completed
+        assertTrue(completedRequests.await(1, TimeUnit.SECONDS));
     }
 
     /**
@@ -207,6 +253,7 @@ public class HonoClientImplTest {
         // GIVEN a client connected to a server
         final Async connected = ctx.async();
         HonoClientImpl client = new HonoClientImpl(vertx, connectionFactory);
+        client.setReconnectPolicy(new ReconnectPolicy().setMaxDelay(Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS));
         client.connect(new ProtonClientOptions().setReconnectAttempts(1), ctx.asyncAssertSuccess(ok -> connected.complete()));
         connected.await(200);
 
@@ -248,6 +295,7 @@ public class HonoClientImplTest {
         // GIVEN an client connected to a server
         final Async connected = ctx.async();
         HonoClientImpl client = new HonoClientImpl(vertx, connectionFactory);
+        client.setReconnectPolicy(new ReconnectPolicy().setMaxDelay(Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS));
         client.connect(new ProtonClientOptions().setReconnectAttempts(1), ctx.asyncAssertSuccess(ok -> connected.complete()));
         connected.await(200);
 
@@ -271,6 +319,7 @@ public class HonoClientImplTest {
         // expect the connection factory to fail twice and succeed on third connect attempt
         DisconnectHandlerProvidingConnectionFactory connectionFactory = new DisconnectHandlerProvidingConnectionFactory(con, 1, 2);
         HonoClientImpl client = new HonoClientImpl(vertx, connectionFactory);
+        client.setReconnectPolicy(new ReconnectPolicy().setMaxDelay(Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS));
 
         // WHEN trying to connect
         Async disconnectHandlerInvocation = ctx.async();
@@ -301,6 +350,7 @@ public class HonoClientImplTest {
         ProtonConnection con = mock(ProtonConnection.class);
         DisconnectHandlerProvidingConnectionFactory connectionFactory = new DisconnectHandlerProvidingConnectionFactory(con, 2);
         HonoClientImpl client = new HonoClientImpl(vertx, connectionFactory);
+        client.setReconnectPolicy(new ReconnectPolicy().setMaxDelay(Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS));
         Async disconnectHandlerInvocation = ctx.async();
         Handler<ProtonConnection> disconnectHandler = failedCon -> disconnectHandlerInvocation.complete();
         client.connect(new ProtonClientOptions().setReconnectAttempts(1), attempt -> {}, disconnectHandler);
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.client.impl;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+
+import org.apache.qpid.proton.amqp.messaging.Rejected;
+import org.apache.qpid.proton.amqp.transport.AmqpError;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.client.RegistrationClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonQoS;
+import io.vertx.proton.ProtonReceiver;
+import io.vertx.proton.ProtonSender;
+
+/**
+ * Tests verifying behavior of {@link RegistrationClientImpl}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class RegistrationClientImplTest {
+
+    private ProtonSender sender;
+    private RegistrationClient client;
+
+    /**
+     * Sets up the fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+
+        final Context context = mock(Context.class);
+        doAnswer(invocation -> {
+            invocation.getArgumentAt(0, Handler.class).handle(null);
+            return null;
+        }).when(context).runOnContext(any(Handler.class));
+
+        final ProtonReceiver receiver = mock(ProtonReceiver.class);
+        when(receiver.setAutoAccept(anyBoolean())).thenReturn(receiver);
+        when(receiver.setPrefetch(anyInt())).thenReturn(receiver);
+        when(receiver.handler(any())).thenReturn(receiver);
+        when(receiver.openHandler(any(Handler.class))).thenAnswer(invocation -> {
+            invocation.getArgumentAt(0, Handler.class).handle(Future.succeededFuture(receiver));
+            return receiver;
+        });
+        sender = mock(ProtonSender.class);
+        when(sender.setQoS(any(ProtonQoS.class))).thenReturn(sender);
+        when(sender.openHandler(any(Handler.class))).thenAnswer(invocation -> {
+            invocation.getArgumentAt(0, Handler.class).handle(Future.succeededFuture(sender));
+            return sender;
+        });
+        final ProtonConnection con = mock(ProtonConnection.class);
+        when(con.createReceiver(anyString())).thenReturn(receiver);
+        when(con.createSender(anyString())).thenReturn(sender);
+
+        RegistrationClientImpl.create(context, con, "tenant", creationAttempt -> client = creationAttempt.result());
+    }
+
+    /**
+     * Verifies that a bulk assertion request fails if the service rejects the request,
+     * e.g. because the client is not authorized to perform the operation.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAssertRegistrationsFailsIfRequestIsRejected(final TestContext ctx) {
+
+        // WHEN asserting the registration status of devices
+        client.assertRegistrations(Arrays.asList("4711", "4712"), ctx.asyncAssertFailure());
+
+        // and the service rejects the request
+        final ArgumentCaptor<Handler> dispositionHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(sender).send(any(Message.class), dispositionHandler.capture());
+        final Rejected rejected = new Rejected();
+        rejected.setError(ProtonHelper.condition(AmqpError.UNAUTHORIZED_ACCESS, "unauthorized"));
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        when(delivery.getRemoteState()).thenReturn(rejected);
+        dispositionHandler.getValue().handle(delivery);
+
+        // THEN the result handler is failed
+    }
+}
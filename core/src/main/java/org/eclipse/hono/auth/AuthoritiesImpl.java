@@ -13,8 +13,10 @@
 package org.eclipse.hono.auth;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.eclipse.hono.util.ResourceIdentifier;
 import org.slf4j.Logger;
@@ -24,15 +26,26 @@ import io.jsonwebtoken.Claims;
 
 /**
  * A map backed implementation of authorities on resources and operations.
- *
+ * <p>
+ * In addition to the claims, each instance maintains an index of the activities and
+ * operations granted per resource path which is updated whenever authorities are added.
+ * Checking an authority therefore only requires a few map lookups using the path segments
+ * of the resource and does not create any intermediary objects.
  */
 public final class AuthoritiesImpl implements Authorities {
 
     private static final Logger LOG = LoggerFactory.getLogger(AuthoritiesImpl.class);
     private static final String opTemplate = "o:%s:%s";
     private static final String resTemplate = "r:%s";
+    private static final String WILDCARD = "*";
     // holds mapping resources -> activities
     private final Map<String, String> authorities = new HashMap<>();
+    // grants on endpoints, e.g. "telemetry" or "*"
+    private final Map<String, Grants> endpointGrants = new HashMap<>();
+    // grants on tenants of an endpoint, e.g. "telemetry/DEFAULT_TENANT" or "telemetry/*"
+    private final Map<String, Map<String, Grants>> tenantGrants = new HashMap<>();
+    // grants on resources below tenant level, e.g. "registration/DEFAULT_TENANT/4711"
+    private final Map<String, Grants> resourceGrants = new HashMap<>();
 
     /**
      * Creates empty authorities.
@@ -53,7 +66,7 @@ public final class AuthoritiesImpl implements Authorities {
         claims.forEach((key, value) -> {
             if ((key.startsWith("o:") || key.startsWith("r:")) && value instanceof String) {
                 LOG.trace("adding claim [key: {}, value: {}]", key, value);
-                result.authorities.put(key, (String) value);
+                result.put(key, (String) value);
             } else {
                 LOG.trace("ignoring unsupported claim [key: {}]", key);
             }
@@ -97,7 +110,7 @@ public final class AuthoritiesImpl implements Authorities {
      * @return This instance for command chaining.
      */
     public AuthoritiesImpl addOperation(final String endpoint, final String tenant, final String operation) {
-        authorities.put(getOperationKey(endpoint, tenant, operation), String.valueOf(Activity.EXECUTE.getCode()));
+        put(getOperationKey(endpoint, tenant, operation), String.valueOf(Activity.EXECUTE.getCode()));
         return this;
     }
 
@@ -125,7 +138,7 @@ public final class AuthoritiesImpl implements Authorities {
         for (Activity a : activities) {
             b.append(a.getCode());
         }
-        authorities.put(getResourceKey(endpoint, tenant), b.toString());
+        put(getResourceKey(endpoint, tenant), b.toString());
         return this;
     }
 
@@ -141,7 +154,7 @@ public final class AuthoritiesImpl implements Authorities {
             .forEach(entry -> {
                 String value = (String) entry.getValue();
                 LOG.trace("adding authority [key: {}, activities: {}]", entry.getKey(), value);
-                authorities.put(entry.getKey(), value);
+                put(entry.getKey(), value);
             });
         return this;
     }
@@ -149,17 +162,22 @@ public final class AuthoritiesImpl implements Authorities {
     @Override
     public boolean isAuthorized(final ResourceIdentifier resource, final Activity intent) {
 
+        final int intentMask = mask(intent);
         boolean allowed = false;
         if (resource.getResourceId() != null) {
-            allowed = isAuthorized(String.format(resTemplate, resource.toString()), intent);
+            allowed = grantsActivity(resourceGrants.get(resource.toString()), intentMask);
         }
         if (!allowed && resource.getTenantId() != null) {
-            allowed = isAuthorized(String.format(resTemplate, resource.getEndpoint() + "/" + resource.getTenantId()), intent) ||
-                    isAuthorized(String.format(resTemplate, resource.getEndpoint() + "/*"), intent);
+            final Map<String, Grants> tenants = tenantGrants.get(resource.getEndpoint());
+            allowed = tenants != null && (grantsActivity(tenants.get(resource.getTenantId()), intentMask) ||
+                    grantsActivity(tenants.get(WILDCARD), intentMask));
         }
         if (!allowed) {
-            allowed = isAuthorized(String.format(resTemplate, resource.getEndpoint()), intent) ||
-                    isAuthorized(String.format(resTemplate, "*"), intent);
+            allowed = grantsActivity(endpointGrants.get(resource.getEndpoint()), intentMask) ||
+                    grantsActivity(endpointGrants.get(WILDCARD), intentMask);
+        }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("{}authorized to perform activity [{}] on resource [{}]", allowed ? "" : "not ", intent, resource);
         }
         return allowed;
     }
@@ -169,24 +187,31 @@ public final class AuthoritiesImpl implements Authorities {
 
         boolean allowed = false;
         if (resource.getResourceId() != null) {
-            allowed = isAuthorized(String.format(opTemplate, resource.toString(), operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(opTemplate, resource.toString(), "*"), Activity.EXECUTE);
+            allowed = grantsOperation(resourceGrants.get(resource.toString()), operation);
         }
         if (!allowed && resource.getTenantId() != null) {
-            allowed = isAuthorized(String.format(opTemplate, resource.getEndpoint() + "/" + resource.getTenantId(), operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(opTemplate, resource.getEndpoint() + "/" + resource.getTenantId(), "*"), Activity.EXECUTE) ||
-                    isAuthorized(String.format(opTemplate, resource.getEndpoint() + "/*", operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(opTemplate, resource.getEndpoint() + "/*", "*"), Activity.EXECUTE);
+            final Map<String, Grants> tenants = tenantGrants.get(resource.getEndpoint());
+            allowed = tenants != null && (grantsOperation(tenants.get(resource.getTenantId()), operation) ||
+                    grantsOperation(tenants.get(WILDCARD), operation));
         }
         if (!allowed) {
-            allowed = isAuthorized(String.format(opTemplate, resource.getEndpoint(), operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(opTemplate, resource.getEndpoint(), "*"), Activity.EXECUTE) ||
-                    isAuthorized(String.format(opTemplate, "*", operation), Activity.EXECUTE) ||
-                    isAuthorized(String.format(opTemplate, "*", "*"), Activity.EXECUTE);
+            allowed = grantsOperation(endpointGrants.get(resource.getEndpoint()), operation) ||
+                    grantsOperation(endpointGrants.get(WILDCARD), operation);
+        }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("{}authorized to execute operation [{}] on resource [{}]", allowed ? "" : "not ", operation, resource);
         }
         return allowed;
     }
 
+    private static boolean grantsActivity(final Grants grants, final int intentMask) {
+        return grants != null && (grants.activities & intentMask) != 0;
+    }
+
+    private static boolean grantsOperation(final Grants grants, final String operation) {
+        return grants != null && (grants.allOperations || grants.operations.contains(operation));
+    }
+
     @Override
     public Map<String, Object> asMap() {
         Map<String, Object> result = new HashMap<>();
@@ -194,16 +219,60 @@ public final class AuthoritiesImpl implements Authorities {
         return result;
     }
 
-    boolean isAuthorized(final String key, final Activity intent) {
-        boolean result = false;
-        String grantedActivities = authorities.get(key);
-        if (grantedActivities == null) {
-            LOG.trace("no claim for key [{}]", key);
+    private void put(final String key, final String activities) {
+        authorities.put(key, activities);
+        if (key.startsWith("r:")) {
+            getGrants(key.substring(2)).activities = mask(activities);
+        } else {
+            final int idx = key.lastIndexOf(':');
+            if (idx > 1) {
+                final Grants grants = getGrants(key.substring(2, idx));
+                final String operation = key.substring(idx + 1);
+                final boolean granted = (mask(activities) & mask(Activity.EXECUTE)) != 0;
+                if (WILDCARD.equals(operation)) {
+                    grants.allOperations = granted;
+                } else if (granted) {
+                    grants.operations.add(operation);
+                } else {
+                    grants.operations.remove(operation);
+                }
+            }
+        }
+    }
+
+    private Grants getGrants(final String path) {
+        final int idx = path.indexOf('/');
+        if (idx < 0) {
+            return endpointGrants.computeIfAbsent(path, k -> new Grants());
+        } else if (path.indexOf('/', idx + 1) < 0) {
+            return tenantGrants.computeIfAbsent(path.substring(0, idx), k -> new HashMap<>())
+                    .computeIfAbsent(path.substring(idx + 1), k -> new Grants());
         } else {
-            result = grantedActivities.contains(String.valueOf(intent.getCode())) ||
-                    grantedActivities.equals("*");
-            LOG.trace("found claim [key: {}, activities: {}] {}matching intent [{}]", key, grantedActivities, result ? "" : "not ", intent.name());
+            return resourceGrants.computeIfAbsent(path, k -> new Grants());
+        }
+    }
+
+    private static int mask(final Activity activity) {
+        return 1 << activity.ordinal();
+    }
+
+    private static int mask(final String activities) {
+        int result = 0;
+        for (Activity activity : Activity.values()) {
+            if (WILDCARD.equals(activities) || activities.indexOf(activity.getCode()) >= 0) {
+                result |= mask(activity);
+            }
         }
         return result;
     }
+
+    /**
+     * The activities and operations granted on a resource path.
+     */
+    private static final class Grants {
+
+        private final Set<String> operations = new HashSet<>();
+        private int activities;
+        private boolean allOperations;
+    }
 }
\ No newline at end of file
@@ -12,6 +12,9 @@
 
 package org.eclipse.hono.config;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.regex.Pattern;
 
@@ -22,9 +25,12 @@ import org.slf4j.LoggerFactory;
 
 import io.vertx.core.net.JksOptions;
 import io.vertx.core.net.KeyCertOptions;
+import io.vertx.core.net.NetServerOptions;
+import io.vertx.core.net.OpenSSLEngineOptions;
 import io.vertx.core.net.PemKeyCertOptions;
 import io.vertx.core.net.PemTrustOptions;
 import io.vertx.core.net.PfxOptions;
+import io.vertx.core.net.TCPSSLOptions;
 import io.vertx.core.net.TrustOptions;
 
 /**
@@ -47,6 +53,16 @@ public abstract class AbstractConfig {
     private char[] keyStorePassword;
     private String certPath;
     private String keyPath;
+    private boolean nativeTlsPreferred = true;
+    private boolean tlsSessionCacheEnabled = true;
+    private List<String> secureProtocols = Collections.emptyList();
+    private List<String> supportedCipherSuites = Collections.emptyList();
+    private boolean tcpNoDelay = true;
+    private boolean tcpKeepAlive = false;
+    private int sendBufferSize = -1;
+    private int receiveBufferSize = -1;
+    private int idleTimeout = 0;
+    private int acceptBacklog = -1;
 
     /**
      * Checks if a given port number is valid.
@@ -287,6 +303,297 @@ public abstract class AbstractConfig {
         this.keyPath = keyPath;
     }
 
+    /**
+     * Checks if the OpenSSL engine should be used for TLS if it is available.
+     * <p>
+     * The OpenSSL engine is available if <em>netty-tcnative</em> is on the class path.
+     * It usually requires considerably less CPU for TLS handshakes than the JDK's engine.
+     * <p>
+     * The default value of this property is {@code true}.
+     * 
+     * @return {@code true} if the OpenSSL engine should be used if available.
+     */
+    public final boolean isNativeTlsPreferred() {
+        return nativeTlsPreferred;
+    }
+
+    /**
+     * Sets whether the OpenSSL engine should be used for TLS if it is available.
+     * <p>
+     * The default value of this property is {@code true}.
+     * 
+     * @param nativeTlsPreferred {@code true} if the OpenSSL engine should be used if available.
+     */
+    public final void setNativeTlsPreferred(final boolean nativeTlsPreferred) {
+        this.nativeTlsPreferred = nativeTlsPreferred;
+    }
+
+    /**
+     * Checks if the OpenSSL engine should cache TLS sessions so that peers can resume them.
+     * <p>
+     * The JDK's engine always caches sessions.
+     * <p>
+     * The default value of this property is {@code true}.
+     * 
+     * @return {@code true} if sessions should be cached.
+     */
+    public final boolean isTlsSessionCacheEnabled() {
+        return tlsSessionCacheEnabled;
+    }
+
+    /**
+     * Sets whether the OpenSSL engine should cache TLS sessions so that peers can resume them.
+     * <p>
+     * The default value of this property is {@code true}.
+     * 
+     * @param tlsSessionCacheEnabled {@code true} if sessions should be cached.
+     */
+    public final void setTlsSessionCacheEnabled(final boolean tlsSessionCacheEnabled) {
+        this.tlsSessionCacheEnabled = tlsSessionCacheEnabled;
+    }
+
+    /**
+     * Gets the secure protocols that are enabled for TLS, e.g. <em>TLSv1.2</em>.
+     * 
+     * @return The protocols. An empty list indicates that the engine's default protocols are enabled.
+     */
+    public final List<String> getSecureProtocols() {
+        return secureProtocols;
+    }
+
+    /**
+     * Sets the secure protocols that are enabled for TLS, e.g. <em>TLSv1.2</em>.
+     * <p>
+     * By default, the TLS engine's default protocols are enabled.
+     * 
+     * @param secureProtocols The protocols.
+     * @throws NullPointerException if protocols is {@code null}.
+     */
+    public final void setSecureProtocols(final List<String> secureProtocols) {
+        this.secureProtocols = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(secureProtocols)));
+    }
+
+    /**
+     * Gets the names of the cipher suites that are enabled for TLS.
+     * 
+     * @return The cipher suites. An empty list indicates that the engine's default cipher suites are enabled.
+     */
+    public final List<String> getSupportedCipherSuites() {
+        return supportedCipherSuites;
+    }
+
+    /**
+     * Sets the names of the cipher suites that are enabled for TLS.
+     * <p>
+     * Restricting the cipher suites to ones based on elliptic curves (ECDHE/ECDSA)
+     * reduces the CPU required for TLS handshakes.
+     * <p>
+     * By default, the TLS engine's default cipher suites are enabled.
+     * 
+     * @param cipherSuites The cipher suites in order of preference.
+     * @throws NullPointerException if cipher suites is {@code null}.
+     */
+    public final void setSupportedCipherSuites(final List<String> cipherSuites) {
+        this.supportedCipherSuites = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(cipherSuites)));
+    }
+
+    /**
+     * Checks if Nagle's algorithm is disabled on sockets (TCP_NODELAY).
+     * <p>
+     * The default value of this property is {@code true}.
+     * 
+     * @return {@code true} if small packets are sent without delay.
+     */
+    public final boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * Sets whether Nagle's algorithm should be disabled on sockets (TCP_NODELAY).
+     * <p>
+     * The default value of this property is {@code true}.
+     * 
+     * @param tcpNoDelay {@code true} if small packets should be sent without delay.
+     */
+    public final void setTcpNoDelay(final boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    /**
+     * Checks if TCP keep-alive probes are sent on idle sockets (SO_KEEPALIVE).
+     * <p>
+     * The default value of this property is {@code false}.
+     * 
+     * @return {@code true} if keep-alive probes are sent.
+     */
+    public final boolean isTcpKeepAlive() {
+        return tcpKeepAlive;
+    }
+
+    /**
+     * Sets whether TCP keep-alive probes should be sent on idle sockets (SO_KEEPALIVE).
+     * <p>
+     * The default value of this property is {@code false}.
+     * 
+     * @param tcpKeepAlive {@code true} if keep-alive probes should be sent.
+     */
+    public final void setTcpKeepAlive(final boolean tcpKeepAlive) {
+        this.tcpKeepAlive = tcpKeepAlive;
+    }
+
+    /**
+     * Gets the size of the sockets' send buffers (SO_SNDBUF).
+     * 
+     * @return The number of bytes or -1 if the operating system's default is used.
+     */
+    public final int getSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    /**
+     * Sets the size of the sockets' send buffers (SO_SNDBUF).
+     * <p>
+     * The default value of this property is -1 which means that the component's default is used.
+     * 
+     * @param bytes The number of bytes.
+     * @throws IllegalArgumentException if bytes is neither -1 nor positive.
+     */
+    public final void setSendBufferSize(final int bytes) {
+        if (bytes < 1 && bytes != -1) {
+            throw new IllegalArgumentException("send buffer size must be -1 or > 0");
+        }
+        this.sendBufferSize = bytes;
+    }
+
+    /**
+     * Gets the size of the sockets' receive buffers (SO_RCVBUF).
+     * 
+     * @return The number of bytes or -1 if the operating system's default is used.
+     */
+    public final int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    /**
+     * Sets the size of the sockets' receive buffers (SO_RCVBUF).
+     * <p>
+     * The default value of this property is -1 which means that the component's default is used.
+     * 
+     * @param bytes The number of bytes.
+     * @throws IllegalArgumentException if bytes is neither -1 nor positive.
+     */
+    public final void setReceiveBufferSize(final int bytes) {
+        if (bytes < 1 && bytes != -1) {
+            throw new IllegalArgumentException("receive buffer size must be -1 or > 0");
+        }
+        this.receiveBufferSize = bytes;
+    }
+
+    /**
+     * Gets the period of time after which idle connections are closed.
+     * 
+     * @return The number of seconds or 0 if idle connections are not closed.
+     */
+    public final int getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Sets the period of time after which connections that have neither sent nor
+     * received any data are closed.
+     * <p>
+     * The default value of this property is 0 which means that idle connections are not closed.
+     * 
+     * @param seconds The number of seconds.
+     * @throws IllegalArgumentException if seconds is negative.
+     */
+    public final void setIdleTimeout(final int seconds) {
+        if (seconds < 0) {
+            throw new IllegalArgumentException("idle timeout must not be negative");
+        }
+        this.idleTimeout = seconds;
+    }
+
+    /**
+     * Gets the maximum number of connection requests that a server socket queues
+     * while they have not been accepted yet.
+     * 
+     * @return The number of requests or -1 if the default backlog is used.
+     */
+    public final int getAcceptBacklog() {
+        return acceptBacklog;
+    }
+
+    /**
+     * Sets the maximum number of connection requests that a server socket queues
+     * while they have not been accepted yet.
+     * <p>
+     * A larger backlog helps to absorb bursts of connection attempts, e.g. when many
+     * devices reconnect at the same time. The property is ignored for client connections.
+     * <p>
+     * The default value of this property is -1 which means that the default backlog is used.
+     * 
+     * @param backlog The number of requests.
+     * @throws IllegalArgumentException if backlog is neither -1 nor positive.
+     */
+    public final void setAcceptBacklog(final int backlog) {
+        if (backlog < 1 && backlog != -1) {
+            throw new IllegalArgumentException("accept backlog must be -1 or > 0");
+        }
+        this.acceptBacklog = backlog;
+    }
+
+    /**
+     * Copies the socket configuration to a given set of options.
+     * <p>
+     * Apart from TCP_NODELAY, properties are copied only if they have been set explicitly,
+     * thus retaining any values already set on the options.
+     * 
+     * @param options The options to add configuration to.
+     * @throws NullPointerException if options is {@code null}.
+     */
+    public final void addNetworkOptions(final TCPSSLOptions options) {
+
+        Objects.requireNonNull(options);
+        options.setTcpNoDelay(tcpNoDelay);
+        if (tcpKeepAlive) {
+            options.setTcpKeepAlive(true);
+        }
+        if (idleTimeout > 0) {
+            options.setIdleTimeout(idleTimeout);
+        }
+        if (sendBufferSize > 0) {
+            options.setSendBufferSize(sendBufferSize);
+        }
+        if (receiveBufferSize > 0) {
+            options.setReceiveBufferSize(receiveBufferSize);
+        }
+        if (acceptBacklog > 0 && options instanceof NetServerOptions) {
+            ((NetServerOptions) options).setAcceptBacklog(acceptBacklog);
+        }
+    }
+
+    /**
+     * Copies the TLS engine, protocol and cipher suite configuration to a given set of options.
+     * <p>
+     * The configuration is added only if the <em>ssl</em> flag is set on the given options.
+     * 
+     * @param options The options to add configuration to.
+     * @throws NullPointerException if options is {@code null}.
+     */
+    public final void addTlsEngineOptions(final TCPSSLOptions options) {
+
+        Objects.requireNonNull(options);
+        if (options.isSsl()) {
+            if (nativeTlsPreferred && OpenSSLEngineOptions.isAvailable()) {
+                LOG.debug("using OpenSSL engine for TLS [session cache enabled: {}]", tlsSessionCacheEnabled);
+                options.setOpenSslEngineOptions(new OpenSSLEngineOptions().setSessionCacheEnabled(tlsSessionCacheEnabled));
+            }
+            secureProtocols.forEach(options::addEnabledSecureTransportProtocol);
+            supportedCipherSuites.forEach(options::addEnabledCipherSuite);
+        }
+    }
+
     private static String fromChars(final char[] chars) {
         if (chars == null) {
             return null;
@@ -26,6 +26,7 @@ public class ApplicationConfigProperties {
 
     private int maxInstances = 0;
     private int startupTimeout = 20;
+    private int servicePartitions = 1;
 
     private int healthCheckPort = Constants.PORT_UNCONFIGURED;
     private String healthCheckBindAddress = Constants.LOOPBACK_DEVICE_ADDRESS;
@@ -88,6 +89,34 @@ public class ApplicationConfigProperties {
         this.maxInstances = maxVerticleInstances;
     }
 
+    /**
+     * Gets the number of partitions that the data managed by the application's services is split into.
+     * <p>
+     * A service instance is deployed for each partition which is responsible for the requests
+     * regarding the tenants assigned to that partition only. This property is currently only
+     * supported by the Device Registry.
+     *
+     * @return The number of partitions.
+     */
+    public final int getServicePartitions() {
+        return servicePartitions;
+    }
+
+    /**
+     * Sets the number of partitions that the data managed by the application's services is split into.
+     * <p>
+     * The default value of this property is 1, i.e. a single service instance processes all requests.
+     *
+     * @param partitions The number of partitions.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setServicePartitions(final int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("servicePartitions must be > 0");
+        }
+        this.servicePartitions = partitions;
+    }
+
     /**
      * Gets the port that the HTTP server hosting the health check resource is configured to listen on.
      *
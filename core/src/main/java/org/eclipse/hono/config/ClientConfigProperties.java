@@ -12,6 +12,9 @@
 
 package org.eclipse.hono.config;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 import org.eclipse.hono.util.Constants;
@@ -21,12 +24,32 @@ import org.eclipse.hono.util.Constants;
  */
 public class ClientConfigProperties extends AbstractConfig {
 
+    /**
+     * Selects endpoints in turn.
+     */
+    public static final String ENDPOINT_SELECTION_ROUND_ROBIN = "round-robin";
+    /**
+     * Selects the endpoint with the smallest number of open connections.
+     */
+    public static final String ENDPOINT_SELECTION_LEAST_CONNECTIONS = "least-connections";
+    /**
+     * Selects the endpoint with the smallest average time for establishing a connection.
+     */
+    public static final String ENDPOINT_SELECTION_LATENCY = "latency";
+    /**
+     * The default time period during which an endpoint is not selected after a failed connection attempt.
+     */
+    public static final long DEFAULT_ENDPOINT_QUARANTINE_PERIOD_MILLIS = 5000;
+
     private String name;
     private String host = "localhost";
     private int port = Constants.PORT_AMQPS;
     private String username;
     private char[] password;
     private String amqpHostname;
+    private List<String> endpoints = Collections.emptyList();
+    private String endpointSelection = ENDPOINT_SELECTION_ROUND_ROBIN;
+    private long endpointQuarantinePeriod = DEFAULT_ENDPOINT_QUARANTINE_PERIOD_MILLIS;
 
     /**
      * Gets the name or literal IP address of the host that the client is configured to connect to.
@@ -157,4 +180,95 @@ public class ClientConfigProperties extends AbstractConfig {
     public final void setAmqpHostname(String amqpHostname) {
         this.amqpHostname = amqpHostname;
     }
+
+    /**
+     * Gets the endpoints of the servers that the client is configured to connect to.
+     * 
+     * @return The endpoints in <em>host:port</em> notation. An empty list indicates that the
+     *         client connects to the server identified by the <em>host</em> and <em>port</em>
+     *         properties.
+     */
+    public final List<String> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Sets the endpoints of the servers that the client should connect to.
+     * <p>
+     * If set, the client distributes its connections among the endpoints according to the
+     * {@linkplain #setEndpointSelection(String) endpoint selection strategy} and tries the
+     * remaining endpoints if a connection attempt fails. The <em>host</em> and <em>port</em>
+     * properties are ignored in this case. An endpoint without a port uses the value of the
+     * <em>port</em> property. IPv6 addresses need to be enclosed in square brackets, e.g.
+     * {@code [::1]:5671}.
+     * 
+     * @param endpoints The endpoints in <em>host:port</em> notation.
+     * @throws NullPointerException if endpoints is {@code null}.
+     */
+    public final void setEndpoints(final List<String> endpoints) {
+        final List<String> result = new ArrayList<>();
+        for (String endpoint : Objects.requireNonNull(endpoints)) {
+            if (endpoint != null && !endpoint.trim().isEmpty()) {
+                result.add(endpoint.trim());
+            }
+        }
+        this.endpoints = Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Gets the strategy for selecting the endpoint to connect to.
+     * 
+     * @return The strategy.
+     */
+    public final String getEndpointSelection() {
+        return endpointSelection;
+    }
+
+    /**
+     * Sets the strategy for selecting the endpoint to connect to.
+     * <p>
+     * Supported values are {@link #ENDPOINT_SELECTION_ROUND_ROBIN},
+     * {@link #ENDPOINT_SELECTION_LEAST_CONNECTIONS} and {@link #ENDPOINT_SELECTION_LATENCY}.
+     * The default value of this property is {@link #ENDPOINT_SELECTION_ROUND_ROBIN}.
+     * 
+     * @param endpointSelection The strategy.
+     * @throws NullPointerException if the strategy is {@code null}.
+     * @throws IllegalArgumentException if the strategy is not supported.
+     */
+    public final void setEndpointSelection(final String endpointSelection) {
+        switch (Objects.requireNonNull(endpointSelection)) {
+        case ENDPOINT_SELECTION_ROUND_ROBIN:
+        case ENDPOINT_SELECTION_LEAST_CONNECTIONS:
+        case ENDPOINT_SELECTION_LATENCY:
+            this.endpointSelection = endpointSelection;
+            break;
+        default:
+            throw new IllegalArgumentException("unsupported endpoint selection strategy: " + endpointSelection);
+        }
+    }
+
+    /**
+     * Gets the time period during which an endpoint is not selected after a failed connection attempt.
+     * 
+     * @return The period in milliseconds.
+     */
+    public final long getEndpointQuarantinePeriod() {
+        return endpointQuarantinePeriod;
+    }
+
+    /**
+     * Sets the time period during which an endpoint is not selected after a failed connection attempt.
+     * <p>
+     * Endpoints in quarantine are only tried if none of the other endpoints can be connected to.
+     * The default value of this property is {@link #DEFAULT_ENDPOINT_QUARANTINE_PERIOD_MILLIS}.
+     * 
+     * @param period The period in milliseconds.
+     * @throws IllegalArgumentException if the period is negative.
+     */
+    public final void setEndpointQuarantinePeriod(final long period) {
+        if (period < 0) {
+            throw new IllegalArgumentException("quarantine period must not be negative");
+        }
+        this.endpointQuarantinePeriod = period;
+    }
 }
@@ -12,13 +12,36 @@
 
 package org.eclipse.hono.config;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Common configuration properties for protocol adapters of Hono.
  *
  */
 public class ProtocolAdapterProperties extends ServiceConfigProperties {
 
+    /**
+     * The default maximum time to wait for the warm-up to complete.
+     */
+    public static final long DEFAULT_WARM_UP_TIMEOUT_MILLIS = 10000;
+    /**
+     * The default maximum number of verified passwords to cache.
+     */
+    public static final int DEFAULT_PASSWORD_CACHE_MAX_SIZE = 10000;
+    /**
+     * The default time after which cached verified passwords expire.
+     */
+    public static final long DEFAULT_PASSWORD_CACHE_TIME_TO_LIVE_SECONDS = 600;
+
     private boolean authenticationRequired = true;
+    private List<String> warmUpTenants = Collections.emptyList();
+    private long warmUpTimeout = DEFAULT_WARM_UP_TIMEOUT_MILLIS;
+    private boolean passwordCacheEnabled = true;
+    private int passwordCacheMaxSize = DEFAULT_PASSWORD_CACHE_MAX_SIZE;
+    private long passwordCacheTimeToLive = DEFAULT_PASSWORD_CACHE_TIME_TO_LIVE_SECONDS;
 
     /**
      * Checks whether the protocol adapter always authenticates devices using their provided credentials as defined
@@ -49,4 +72,144 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
     public final void setAuthenticationRequired(final boolean authenticationRequired) {
         this.authenticationRequired = authenticationRequired;
     }
+
+    /**
+     * Gets the tenants for which the protocol adapter opens clients during startup.
+     * 
+     * @return The identifiers of the tenants. An empty list indicates that no clients are
+     *         opened during startup.
+     */
+    public final List<String> getWarmUpTenants() {
+        return warmUpTenants;
+    }
+
+    /**
+     * Sets the tenants for which the protocol adapter opens clients during startup.
+     * <p>
+     * For each of these tenants the adapter opens the telemetry and event senders and the
+     * clients for the Device Registration and Credentials services once it has connected to the
+     * services, so that the first messages published by devices do not have to wait for the links
+     * being established. The adapter does not report itself as being ready before the clients have
+     * been opened or the {@linkplain #setWarmUpTimeout(long) warm-up timeout} has expired.
+     * <p>
+     * The default value of this property is an empty list.
+     * 
+     * @param warmUpTenants The identifiers of the tenants.
+     * @throws NullPointerException if tenants is {@code null}.
+     */
+    public final void setWarmUpTenants(final List<String> warmUpTenants) {
+        final List<String> result = new ArrayList<>();
+        for (String tenant : Objects.requireNonNull(warmUpTenants)) {
+            if (tenant != null && !tenant.trim().isEmpty()) {
+                result.add(tenant.trim());
+            }
+        }
+        this.warmUpTenants = Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Gets the maximum time to wait for the clients of the warm-up tenants to be opened.
+     * 
+     * @return The timeout in milliseconds.
+     */
+    public final long getWarmUpTimeout() {
+        return warmUpTimeout;
+    }
+
+    /**
+     * Sets the maximum time to wait for the clients of the {@linkplain #setWarmUpTenants(List) warm-up tenants}
+     * to be opened.
+     * <p>
+     * Once the timeout has expired the adapter reports itself as being ready, regardless of the clients
+     * that could not be opened.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_WARM_UP_TIMEOUT_MILLIS}.
+     * 
+     * @param warmUpTimeout The timeout in milliseconds.
+     * @throws IllegalArgumentException if the timeout is negative.
+     */
+    public final void setWarmUpTimeout(final long warmUpTimeout) {
+        if (warmUpTimeout < 0) {
+            throw new IllegalArgumentException("timeout must not be negative");
+        }
+        this.warmUpTimeout = warmUpTimeout;
+    }
+
+    /**
+     * Checks whether passwords that have been verified successfully against a hash
+     * using an expensive key derivation function (e.g. PBKDF2) are cached.
+     *
+     * @return {@code true} if verified passwords are cached.
+     */
+    public final boolean isPasswordCacheEnabled() {
+        return passwordCacheEnabled;
+    }
+
+    /**
+     * Sets whether passwords that have been verified successfully against a hash
+     * using an expensive key derivation function (e.g. PBKDF2) are cached.
+     * <p>
+     * Caching avoids repeating the key derivation when a device authenticates again
+     * using the same credentials. However, an attacker who is able to read the adapter's
+     * memory can then check password guesses against the cache at the cost of a single HMAC.
+     * <p>
+     * The default value of this property is {@code true}.
+     *
+     * @param enabled {@code true} if verified passwords should be cached.
+     */
+    public final void setPasswordCacheEnabled(final boolean enabled) {
+        this.passwordCacheEnabled = enabled;
+    }
+
+    /**
+     * Gets the maximum number of verified passwords to cache.
+     *
+     * @return The number of passwords.
+     */
+    public final int getPasswordCacheMaxSize() {
+        return passwordCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of verified passwords to cache.
+     * <p>
+     * The cache is cleared once the maximum size has been reached.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_PASSWORD_CACHE_MAX_SIZE}.
+     *
+     * @param maxSize The number of passwords.
+     * @throws IllegalArgumentException if the size is smaller than one.
+     */
+    public final void setPasswordCacheMaxSize(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("max size must be > 0");
+        }
+        this.passwordCacheMaxSize = maxSize;
+    }
+
+    /**
+     * Gets the time after which cached verified passwords expire.
+     *
+     * @return The time to live in seconds.
+     */
+    public final long getPasswordCacheTimeToLive() {
+        return passwordCacheTimeToLive;
+    }
+
+    /**
+     * Sets the time after which cached verified passwords expire.
+     * <p>
+     * An expired password is verified using the key derivation function again.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_PASSWORD_CACHE_TIME_TO_LIVE_SECONDS}.
+     *
+     * @param timeToLive The time to live in seconds.
+     * @throws IllegalArgumentException if the time to live is smaller than one.
+     */
+    public final void setPasswordCacheTimeToLive(final long timeToLive) {
+        if (timeToLive < 1) {
+            throw new IllegalArgumentException("time to live must be > 0");
+        }
+        this.passwordCacheTimeToLive = timeToLive;
+    }
 }
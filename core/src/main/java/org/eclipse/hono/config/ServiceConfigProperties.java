@@ -36,6 +36,10 @@ public class ServiceConfigProperties extends AbstractConfig {
     private String insecurePortBindAddress = LOOPBACK_DEVICE_ADDRESS;
     private int insecurePort = Constants.PORT_UNCONFIGURED;
     private int maxPayloadSize = 2048;
+    private int maxConnections = 0;
+    private int maxConnectionsPerAddress = 0;
+    private int maxConnectionsPerSecond = 0;
+    private int maxLinksPerSecond = 0;
 
     /**
      * Gets the host name or literal IP address of the network interface that this server's secure port is
@@ -206,6 +210,123 @@ public class ServiceConfigProperties extends AbstractConfig {
         return maxPayloadSize;
     }
 
+    /**
+     * Gets the maximum number of concurrent connections this server accepts.
+     *
+     * @return The number of connections or 0 if the number is not limited.
+     */
+    public final int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the maximum number of concurrent connections this server accepts.
+     * <p>
+     * Clients trying to connect while the limit is reached are rejected before being authenticated.
+     * <p>
+     * The default value of this property is 0 which means that the number is not limited.
+     *
+     * @param maxConnections The number of connections.
+     * @return This instance for setter chaining.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public final ServiceConfigProperties setMaxConnections(final int maxConnections) {
+        if (maxConnections < 0) {
+            throw new IllegalArgumentException("max connections must not be negative");
+        }
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of concurrent connections this server accepts from a single remote host.
+     *
+     * @return The number of connections or 0 if the number is not limited.
+     */
+    public final int getMaxConnectionsPerAddress() {
+        return maxConnectionsPerAddress;
+    }
+
+    /**
+     * Sets the maximum number of concurrent connections this server accepts from a single remote host.
+     * <p>
+     * Clients trying to connect from a host that has already reached the limit are rejected before
+     * being authenticated. This prevents a single misbehaving host from using up all of the
+     * connections permitted by {@link #setMaxConnections(int)}.
+     * <p>
+     * The default value of this property is 0 which means that the number is not limited.
+     *
+     * @param maxConnectionsPerAddress The number of connections.
+     * @return This instance for setter chaining.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public final ServiceConfigProperties setMaxConnectionsPerAddress(final int maxConnectionsPerAddress) {
+        if (maxConnectionsPerAddress < 0) {
+            throw new IllegalArgumentException("max connections per address must not be negative");
+        }
+        this.maxConnectionsPerAddress = maxConnectionsPerAddress;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of new connections this server accepts per second.
+     *
+     * @return The number of connections or 0 if the rate is not limited.
+     */
+    public final int getMaxConnectionsPerSecond() {
+        return maxConnectionsPerSecond;
+    }
+
+    /**
+     * Sets the maximum number of new connections this server accepts per second.
+     * <p>
+     * Bursts of up to the given number of connections are accepted at once. Clients exceeding
+     * the rate are rejected before being authenticated.
+     * <p>
+     * The default value of this property is 0 which means that the rate is not limited.
+     *
+     * @param maxConnectionsPerSecond The number of connections.
+     * @return This instance for setter chaining.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public final ServiceConfigProperties setMaxConnectionsPerSecond(final int maxConnectionsPerSecond) {
+        if (maxConnectionsPerSecond < 0) {
+            throw new IllegalArgumentException("max connections per second must not be negative");
+        }
+        this.maxConnectionsPerSecond = maxConnectionsPerSecond;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of links a single client may open per second.
+     *
+     * @return The number of links or 0 if the rate is not limited.
+     */
+    public final int getMaxLinksPerSecond() {
+        return maxLinksPerSecond;
+    }
+
+    /**
+     * Sets the maximum number of links a single client may open per second.
+     * <p>
+     * The limit applies to all links opened by the same authenticated principal, regardless
+     * of the number of connections they are opened on. Links exceeding the rate are closed
+     * with an error condition.
+     * <p>
+     * The default value of this property is 0 which means that the rate is not limited.
+     *
+     * @param maxLinksPerSecond The number of links.
+     * @return This instance for setter chaining.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public final ServiceConfigProperties setMaxLinksPerSecond(final int maxLinksPerSecond) {
+        if (maxLinksPerSecond < 0) {
+            throw new IllegalArgumentException("max links per second must not be negative");
+        }
+        this.maxLinksPerSecond = maxLinksPerSecond;
+        return this;
+    }
+
     /**
      * Checks whether the server is configured to run in single-tenant mode.
      * <p>
@@ -12,8 +12,14 @@
 
 package org.eclipse.hono.connection;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.sasl.SaslException;
 
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.slf4j.Logger;
@@ -34,13 +40,21 @@ import io.vertx.proton.sasl.impl.ProtonSaslPlainImpl;
 
 /**
  * A <em>vertx-proton</em> based connection factory.
+ * <p>
+ * The factory connects to either a single server identified by the configuration's <em>host</em>
+ * and <em>port</em> properties or to one of the servers listed in the configuration's
+ * <em>endpoints</em> property. In the latter case the connections are spread among the endpoints
+ * and connection attempts fail over to the remaining endpoints if an endpoint is unavailable.
  */
 public final class ConnectionFactoryImpl implements ConnectionFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(ConnectionFactoryImpl.class);
     private final Vertx vertx;
     private final ClientConfigProperties config;
+    private final List<Endpoint> endpoints;
+    private EndpointSelector endpointSelector;
     private ProtonClient protonClient;
+    private volatile Endpoint currentEndpoint;
 
     /**
      * Constructor with the Vert.x instance to use and the configuration 
@@ -52,10 +66,22 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
      * @param vertx The Vert.x instance.
      * @param config The configuration parameters.
      * @throws NullPointerException if the parameters are {@code null}.
+     * @throws IllegalArgumentException if any of the configured endpoints is invalid.
      */
     public ConnectionFactoryImpl(final Vertx vertx, final ClientConfigProperties config) {
         this.vertx = Objects.requireNonNull(vertx);
         this.config = Objects.requireNonNull(config);
+        final List<Endpoint> configuredEndpoints = new ArrayList<>();
+        if (config.getEndpoints().isEmpty()) {
+            configuredEndpoints.add(new Endpoint(config.getHost(), config.getPort()));
+        } else {
+            for (String endpoint : config.getEndpoints()) {
+                configuredEndpoints.add(Endpoint.fromString(endpoint, config.getPort()));
+            }
+        }
+        this.endpoints = Collections.unmodifiableList(configuredEndpoints);
+        this.endpointSelector = EndpointSelector.forStrategy(config.getEndpointSelection());
+        this.currentEndpoint = endpoints.get(0);
     }
 
     /**
@@ -71,19 +97,53 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
         this.protonClient = Objects.requireNonNull(protonClient);
     }
 
+    /**
+     * Sets the strategy for selecting the endpoint to connect to.
+     * <p>
+     * If not set, the strategy defined by the configuration's <em>endpointSelection</em>
+     * property is used.
+     * 
+     * @param selector The strategy.
+     * @throws NullPointerException if the selector is {@code null}.
+     */
+    public void setEndpointSelector(final EndpointSelector selector) {
+        this.endpointSelector = Objects.requireNonNull(selector);
+    }
+
+    /**
+     * Gets the endpoints that this factory connects to.
+     * 
+     * @return The endpoints along with their health status.
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
     @Override
     public String getName() {
         return config.getName();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If multiple endpoints are configured, this is the host of the endpoint that
+     * the most recent connection has been established to.
+     */
     @Override
     public String getHost() {
-        return config.getHost();
+        return currentEndpoint.getHost();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If multiple endpoints are configured, this is the port of the endpoint that
+     * the most recent connection has been established to.
+     */
     @Override
     public int getPort() {
-        return config.getPort();
+        return currentEndpoint.getPort();
     }
 
     @Override
@@ -100,6 +160,17 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
         connect(options, null, null, closeHandler, disconnectHandler, connectionResultHandler);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If multiple endpoints are configured, the endpoint to connect to is chosen by the
+     * {@link EndpointSelector} among the endpoints not in quarantine. If the connection
+     * cannot be established, the endpoint is put into quarantine and the remaining endpoints
+     * are tried immediately. The attempt fails only if none of the endpoints can be connected to.
+     * <p>
+     * An attempt that fails because the server rejects the credentials is not retried
+     * on any of the other endpoints.
+     */
     @Override
     public void connect(
             final ProtonClientOptions options,
@@ -122,53 +193,119 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
         addOptions(clientOptions, effectiveUsername, effectivePassword);
 
         final ProtonClient client = protonClient != null ? protonClient : ProtonClient.create(vertx);
-        logger.debug("connecting to AMQP 1.0 container [{}://{}:{}]", clientOptions.isSsl() ? "amqps" : "amqp",
-                config.getHost(), config.getPort());
-        client.connect(
-                clientOptions,
-                config.getHost(),
-                config.getPort(),
-                effectiveUsername,
-                effectivePassword,
-                conAttempt -> handleConnectionAttemptResult(conAttempt, clientOptions, closeHandler, disconnectHandler, connectionResultHandler));
+        connect(client, new ArrayList<>(endpoints), clientOptions, effectiveUsername, effectivePassword,
+                closeHandler, disconnectHandler, connectionResultHandler);
     }
 
-    private void handleConnectionAttemptResult(
-            final AsyncResult<ProtonConnection> conAttempt,
+    private void connect(
+            final ProtonClient client,
+            final List<Endpoint> untriedEndpoints,
             final ProtonClientOptions clientOptions,
+            final String username,
+            final String password,
             final Handler<AsyncResult<ProtonConnection>> closeHandler,
             final Handler<ProtonConnection> disconnectHandler,
             final Handler<AsyncResult<ProtonConnection>> connectionResultHandler) {
 
-        if (conAttempt.failed()) {
+        final Endpoint endpoint = selectEndpoint(untriedEndpoints);
+        untriedEndpoints.remove(endpoint);
+        logger.debug("connecting to AMQP 1.0 container [{}://{}]", clientOptions.isSsl() ? "amqps" : "amqp", endpoint);
+        endpoint.connecting();
+        final long startTime = System.nanoTime();
+        client.connect(
+                clientOptions,
+                endpoint.getHost(),
+                endpoint.getPort(),
+                username,
+                password,
+                conAttempt -> {
+                    if (conAttempt.failed() && isAuthenticationFailure(conAttempt.cause())) {
+                        // the endpoint is healthy, other endpoints would reject the credentials as well
+                        endpoint.aborted();
+                        logger.debug("authentication to AMQP 1.0 container [{}://{}] failed: {}", clientOptions.isSsl() ? "amqps" : "amqp",
+                                endpoint, conAttempt.cause().getMessage());
+                        connectionResultHandler.handle(Future.failedFuture(conAttempt.cause()));
+                    } else if (conAttempt.failed()) {
+                        endpoint.failed(System.currentTimeMillis(), config.getEndpointQuarantinePeriod());
+                        logger.debug("can't connect to AMQP 1.0 container [{}://{}]: {}", clientOptions.isSsl() ? "amqps" : "amqp",
+                                endpoint, conAttempt.cause().getMessage());
+                        if (untriedEndpoints.isEmpty()) {
+                            connectionResultHandler.handle(Future.failedFuture(conAttempt.cause()));
+                        } else {
+                            // fail over to the next endpoint right away
+                            connect(client, untriedEndpoints, clientOptions, username, password,
+                                    closeHandler, disconnectHandler, connectionResultHandler);
+                        }
+                    } else {
+                        handleConnectionAttemptResult(conAttempt.result(), endpoint, startTime, clientOptions,
+                                closeHandler, disconnectHandler, connectionResultHandler);
+                    }
+                });
+    }
 
-            logger.debug("can't connect to AMQP 1.0 container [{}://{}:{}]: {}", clientOptions.isSsl() ? "amqps" : "amqp",
-                    config.getHost(), config.getPort(), conAttempt.cause().getMessage());
-            connectionResultHandler.handle(Future.failedFuture(conAttempt.cause()));
+    private static boolean isAuthenticationFailure(final Throwable cause) {
+        // vertx-proton reports a SASL outcome other than OK as a SecurityException
+        // and problems during the SASL exchange as a SaslException
+        return cause instanceof SecurityException || cause instanceof SaslException;
+    }
 
-        } else {
+    private Endpoint selectEndpoint(final List<Endpoint> untriedEndpoints) {
 
-            // at this point the SASL exchange has completed successfully
-            logger.debug("connected to AMQP 1.0 container [{}://{}:{}], opening connection ...",
-                    clientOptions.isSsl() ? "amqps" : "amqp", config.getHost(), config.getPort());
-            ProtonConnection downstreamConnection = conAttempt.result();
-            downstreamConnection
-                    .setContainer(String.format("%s-%s", config.getName(), UUID.randomUUID()))
-                    .setHostname(config.getAmqpHostname())
-                    .openHandler(openCon -> {
-                        if (openCon.succeeded()) {
-                            logger.debug("connection to container [{}] at [{}://{}:{}] open", downstreamConnection.getRemoteContainer(),
-                                    clientOptions.isSsl() ? "amqps" : "amqp", config.getHost(), config.getPort());
-                            downstreamConnection.disconnectHandler(disconnectHandler);
-                            downstreamConnection.closeHandler(closeHandler);
-                            connectionResultHandler.handle(Future.succeededFuture(downstreamConnection));
-                        } else {
-                            logger.warn("can't open connection to container [{}] at [{}://{}:{}]", downstreamConnection.getRemoteContainer(),
-                                    clientOptions.isSsl() ? "amqps" : "amqp", config.getHost(), config.getPort(), openCon.cause());
-                            connectionResultHandler.handle(Future.failedFuture(openCon.cause()));
-                        }
-                    }).open();
+        if (untriedEndpoints.size() == 1) {
+            return untriedEndpoints.get(0);
+        }
+        final long now = System.currentTimeMillis();
+        final List<Endpoint> available = new ArrayList<>(untriedEndpoints.size());
+        for (Endpoint endpoint : untriedEndpoints) {
+            if (endpoint.isAvailable(now)) {
+                available.add(endpoint);
+            }
         }
+        // try endpoints in quarantine only as a last resort
+        return endpointSelector.select(available.isEmpty() ? untriedEndpoints : available);
+    }
+
+    private void handleConnectionAttemptResult(
+            final ProtonConnection downstreamConnection,
+            final Endpoint endpoint,
+            final long startTime,
+            final ProtonClientOptions clientOptions,
+            final Handler<AsyncResult<ProtonConnection>> closeHandler,
+            final Handler<ProtonConnection> disconnectHandler,
+            final Handler<AsyncResult<ProtonConnection>> connectionResultHandler) {
+
+        // at this point the SASL exchange has completed successfully
+        logger.debug("connected to AMQP 1.0 container [{}://{}], opening connection ...",
+                clientOptions.isSsl() ? "amqps" : "amqp", endpoint);
+        downstreamConnection
+                .setContainer(String.format("%s-%s", config.getName(), UUID.randomUUID()))
+                .setHostname(config.getAmqpHostname())
+                .openHandler(openCon -> {
+                    if (openCon.succeeded()) {
+                        logger.debug("connection to container [{}] at [{}://{}] open", downstreamConnection.getRemoteContainer(),
+                                clientOptions.isSsl() ? "amqps" : "amqp", endpoint);
+                        endpoint.succeeded(downstreamConnection, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+                        currentEndpoint = endpoint;
+                        downstreamConnection.disconnectHandler(con -> {
+                            endpoint.closed(con);
+                            if (disconnectHandler != null) {
+                                disconnectHandler.handle(con);
+                            }
+                        });
+                        downstreamConnection.closeHandler(remoteClose -> {
+                            endpoint.closed(downstreamConnection);
+                            if (closeHandler != null) {
+                                closeHandler.handle(remoteClose);
+                            }
+                        });
+                        connectionResultHandler.handle(Future.succeededFuture(downstreamConnection));
+                    } else {
+                        logger.warn("can't open connection to container [{}] at [{}://{}]", downstreamConnection.getRemoteContainer(),
+                                clientOptions.isSsl() ? "amqps" : "amqp", endpoint, openCon.cause());
+                        endpoint.aborted();
+                        connectionResultHandler.handle(Future.failedFuture(openCon.cause()));
+                    }
+                }).open();
     }
 
     private void addOptions(final ProtonClientOptions clientOptions, final String username, final String password) {
@@ -179,6 +316,8 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
         } else {
             addTlsKeyCertOptions(clientOptions);
         }
+        config.addTlsEngineOptions(clientOptions);
+        config.addNetworkOptions(clientOptions);
     }
 
     private void addTlsTrustOptions(final ProtonClientOptions clientOptions) {
@@ -279,6 +418,30 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
             return this;
         }
 
+        /**
+         * Sets the endpoints of the servers to connect to.
+         * 
+         * @param endpoints The endpoints in <em>host:port</em> notation.
+         * @return This builder for command chaining.
+         * @see ClientConfigProperties#setEndpoints(List)
+         */
+        public ConnectionFactoryBuilder endpoints(final List<String> endpoints) {
+            this.properties.setEndpoints(endpoints);
+            return this;
+        }
+
+        /**
+         * Sets the strategy for selecting the endpoint to connect to.
+         * 
+         * @param strategy The strategy.
+         * @return This builder for command chaining.
+         * @see ClientConfigProperties#setEndpointSelection(String)
+         */
+        public ConnectionFactoryBuilder endpointSelection(final String strategy) {
+            this.properties.setEndpointSelection(strategy);
+            return this;
+        }
+
         /**
          * @param user username used to authenticate
          * @return This builder for command chaining.
@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.connection;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hono.util.PortConfigurationHelper;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.proton.ProtonConnection;
+
+/**
+ * A server endpoint that a {@link ConnectionFactoryImpl} connects to, along with its health status.
+ * <p>
+ * An endpoint keeps track of the connections established to it, of the average time it takes to
+ * establish a connection and of failed connection attempts. An endpoint that could not be connected
+ * to is put into quarantine for a configurable period of time.
+ * <p>
+ * Instances are thread safe.
+ */
+public final class Endpoint {
+
+    // weight of the most recent sample in the connect time average
+    private static final double SMOOTHING_FACTOR = 0.3;
+
+    private final String host;
+    private final int port;
+    private final Set<ProtonConnection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pendingAttempts = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong connectTimeMicros = new AtomicLong();
+    private volatile long quarantinedUntil;
+
+    /**
+     * Creates a new endpoint.
+     *
+     * @param host The name or literal IP address of the host.
+     * @param port The port.
+     * @throws NullPointerException if host is {@code null}.
+     * @throws IllegalArgumentException if the port is invalid.
+     */
+    public Endpoint(final String host, final int port) {
+        if (!PortConfigurationHelper.isValidPort(port)) {
+            throw new IllegalArgumentException("invalid port number: " + port);
+        }
+        this.host = Objects.requireNonNull(host);
+        this.port = port;
+    }
+
+    /**
+     * Creates an endpoint from its <em>host:port</em> representation.
+     *
+     * @param endpoint The endpoint. IPv6 addresses need to be enclosed in square brackets.
+     * @param defaultPort The port to use if the endpoint does not contain a port.
+     * @return The endpoint.
+     * @throws NullPointerException if endpoint is {@code null}.
+     * @throws IllegalArgumentException if the endpoint cannot be parsed.
+     */
+    public static Endpoint fromString(final String endpoint, final int defaultPort) {
+
+        Objects.requireNonNull(endpoint);
+        final int closingBracket = endpoint.lastIndexOf(']');
+        final int colon = endpoint.lastIndexOf(':');
+        String host = endpoint;
+        int port = defaultPort;
+        if (colon > closingBracket && (closingBracket >= 0 || endpoint.indexOf(':') == colon)) {
+            host = endpoint.substring(0, colon);
+            try {
+                port = Integer.parseInt(endpoint.substring(colon + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid endpoint: " + endpoint);
+            }
+        }
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        if (host.isEmpty()) {
+            throw new IllegalArgumentException("invalid endpoint: " + endpoint);
+        }
+        return new Endpoint(host, port);
+    }
+
+    /**
+     * Gets the name or literal IP address of the host.
+     *
+     * @return The host.
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Gets the port.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Checks if this endpoint is available for new connections.
+     *
+     * @param now The current time in milliseconds.
+     * @return {@code false} if this endpoint is in quarantine.
+     */
+    public boolean isAvailable(final long now) {
+        return now >= quarantinedUntil;
+    }
+
+    /**
+     * Gets the number of connections to this endpoint that are currently established
+     * or being established.
+     *
+     * @return The number of connections.
+     */
+    public int getOpenConnections() {
+        removeDisconnected();
+        return connections.size() + pendingAttempts.get();
+    }
+
+    private void removeDisconnected() {
+        final Iterator<ProtonConnection> it = connections.iterator();
+        while (it.hasNext()) {
+            if (it.next().isDisconnected()) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the average time it has taken to establish a connection to this endpoint.
+     *
+     * @return The time in microseconds or 0 if no connection has been established yet.
+     */
+    public long getAverageConnectTime() {
+        return connectTimeMicros.get();
+    }
+
+    /**
+     * Gets the number of connection attempts that have failed since the last successful attempt.
+     *
+     * @return The number of attempts.
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    /**
+     * Records the start of a connection attempt.
+     */
+    void connecting() {
+        pendingAttempts.incrementAndGet();
+    }
+
+    /**
+     * Records a successfully established connection.
+     *
+     * @param connection The connection.
+     * @param connectTimeMicros The time it has taken to establish the connection.
+     */
+    void succeeded(final ProtonConnection connection, final long connectTimeMicros) {
+        // connections whose close handlers have been replaced by their owner are not reported
+        // as being closed, so make sure that they do not pile up
+        removeDisconnected();
+        connections.add(connection);
+        pendingAttempts.decrementAndGet();
+        consecutiveFailures.set(0);
+        quarantinedUntil = 0;
+        this.connectTimeMicros.accumulateAndGet(connectTimeMicros, (average, sample) -> average == 0 ? sample
+                : (long) (SMOOTHING_FACTOR * sample + (1 - SMOOTHING_FACTOR) * average));
+    }
+
+    /**
+     * Records the closing of a connection.
+     *
+     * @param connection The connection.
+     */
+    void closed(final ProtonConnection connection) {
+        connections.remove(connection);
+    }
+
+    /**
+     * Records a failed connection attempt and puts this endpoint into quarantine.
+     *
+     * @param now The current time in milliseconds.
+     * @param quarantinePeriod The time period during which this endpoint should not be selected.
+     */
+    void failed(final long now, final long quarantinePeriod) {
+        pendingAttempts.decrementAndGet();
+        consecutiveFailures.incrementAndGet();
+        quarantinedUntil = now + quarantinePeriod;
+    }
+
+    /**
+     * Records a connection attempt that has failed for reasons not related to the
+     * endpoint's health.
+     */
+    void aborted() {
+        pendingAttempts.decrementAndGet();
+    }
+
+    /**
+     * Gets the status of this endpoint.
+     *
+     * @param now The current time in milliseconds.
+     * @return The status.
+     */
+    public JsonObject getStatus(final long now) {
+        return new JsonObject()
+                .put("endpoint", toString())
+                .put("available", isAvailable(now))
+                .put("connections", getOpenConnections())
+                .put("connectTimeMicros", getAverageConnectTime())
+                .put("failures", getConsecutiveFailures());
+    }
+
+    @Override
+    public String toString() {
+        return host.indexOf(':') >= 0 ? "[" + host + "]:" + port : host + ":" + port;
+    }
+}
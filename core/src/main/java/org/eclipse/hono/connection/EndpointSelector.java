@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.hono.config.ClientConfigProperties;
+
+/**
+ * A strategy for selecting the endpoint to connect to.
+ */
+@FunctionalInterface
+public interface EndpointSelector {
+
+    /**
+     * Selects one of a list of endpoints.
+     *
+     * @param candidates The endpoints to choose from. The list is never empty.
+     * @return The selected endpoint.
+     */
+    Endpoint select(List<Endpoint> candidates);
+
+    /**
+     * Creates a selector which selects the endpoints in turn.
+     *
+     * @return The selector.
+     */
+    static EndpointSelector roundRobin() {
+        final AtomicInteger next = new AtomicInteger();
+        return candidates -> candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Creates a selector which selects the endpoint with the smallest number of open connections.
+     *
+     * @return The selector.
+     */
+    static EndpointSelector leastConnections() {
+        final EndpointSelector tieBreaker = roundRobin();
+        return candidates -> {
+            final List<Endpoint> leastUsed = new ArrayList<>();
+            int min = Integer.MAX_VALUE;
+            for (Endpoint endpoint : candidates) {
+                final int openConnections = endpoint.getOpenConnections();
+                if (openConnections < min) {
+                    min = openConnections;
+                    leastUsed.clear();
+                }
+                if (openConnections == min) {
+                    leastUsed.add(endpoint);
+                }
+            }
+            return tieBreaker.select(leastUsed);
+        };
+    }
+
+    /**
+     * Creates a selector which selects the endpoint with the smallest average time for
+     * establishing a connection.
+     * <p>
+     * Endpoints which have not been connected to yet are preferred in order to measure them.
+     *
+     * @return The selector.
+     */
+    static EndpointSelector latencyAware() {
+        return candidates -> {
+            Endpoint result = candidates.get(0);
+            for (Endpoint endpoint : candidates) {
+                if (endpoint.getAverageConnectTime() < result.getAverageConnectTime()) {
+                    result = endpoint;
+                }
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Creates the selector for a strategy.
+     *
+     * @param strategy The name of the strategy as defined by {@link ClientConfigProperties#setEndpointSelection(String)}.
+     * @return The selector.
+     * @throws IllegalArgumentException if the strategy is not supported.
+     */
+    static EndpointSelector forStrategy(final String strategy) {
+        switch (strategy) {
+        case ClientConfigProperties.ENDPOINT_SELECTION_ROUND_ROBIN:
+            return roundRobin();
+        case ClientConfigProperties.ENDPOINT_SELECTION_LEAST_CONNECTIONS:
+            return leastConnections();
+        case ClientConfigProperties.ENDPOINT_SELECTION_LATENCY:
+            return latencyAware();
+        default:
+            throw new IllegalArgumentException("unsupported endpoint selection strategy: " + strategy);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.connection;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.hono.util.Constants;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A policy for spacing out attempts to re-establish a connection.
+ * <p>
+ * The delay before each attempt is determined using exponential backoff with <em>decorrelated jitter</em>:
+ * each delay is chosen randomly between the {@linkplain #setMinDelay(long) minimum delay} and three times
+ * the previous delay, capped at the {@linkplain #setMaxDelay(long) maximum delay}. Clients that lost
+ * their connection at the same time therefore do not try to reconnect in lockstep.
+ * <p>
+ * The policy also works as a circuit breaker. It is <em>closed</em> while connection attempts succeed.
+ * After a {@linkplain #setFailureThreshold(int) number of consecutive failures} it <em>opens</em>,
+ * and attempts are only made after a random delay between half of the maximum delay and the maximum
+ * delay. Such an attempt puts the breaker into <em>half-open</em> state. Its outcome either closes the
+ * breaker again or re-opens it.
+ * <p>
+ * Each connection should use its own policy instance. All methods are thread safe, so that the
+ * policy's metrics can be read from any thread.
+ */
+public final class ReconnectPolicy {
+
+    /**
+     * The state of the circuit breaker.
+     */
+    public enum State {
+        /**
+         * Connection attempts succeed or have not failed often enough to open the breaker.
+         */
+        CLOSED,
+        /**
+         * Connection attempts have failed repeatedly and are made at the maximum delay only.
+         */
+        OPEN,
+        /**
+         * A connection attempt is being made after the breaker had been open.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * The default maximum delay before a connection attempt.
+     */
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 30000;
+    /**
+     * The default number of consecutive failures after which the breaker opens.
+     */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 10;
+
+    private long minDelay = Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS;
+    private long maxDelay = DEFAULT_MAX_DELAY_MILLIS;
+    private int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+
+    private State state = State.CLOSED;
+    private long previousDelay;
+    private int consecutiveFailures;
+    private long attempts;
+    private long failures;
+    private long successes;
+
+    /**
+     * Sets the minimum delay before a connection attempt.
+     * <p>
+     * The default value of this property is {@link Constants#DEFAULT_RECONNECT_INTERVAL_MILLIS}.
+     *
+     * @param minDelay The delay in milliseconds.
+     * @return This policy for command chaining.
+     * @throws IllegalArgumentException if the delay is smaller than one.
+     */
+    public synchronized ReconnectPolicy setMinDelay(final long minDelay) {
+        if (minDelay < 1) {
+            throw new IllegalArgumentException("minimum delay must be at least 1 ms");
+        }
+        this.minDelay = minDelay;
+        return this;
+    }
+
+    /**
+     * Sets the maximum delay before a connection attempt.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_DELAY_MILLIS}.
+     *
+     * @param maxDelay The delay in milliseconds.
+     * @return This policy for command chaining.
+     * @throws IllegalArgumentException if the delay is smaller than one.
+     */
+    public synchronized ReconnectPolicy setMaxDelay(final long maxDelay) {
+        if (maxDelay < 1) {
+            throw new IllegalArgumentException("maximum delay must be at least 1 ms");
+        }
+        this.maxDelay = maxDelay;
+        return this;
+    }
+
+    /**
+     * Sets the number of consecutive failed connection attempts after which the breaker opens.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_FAILURE_THRESHOLD}.
+     *
+     * @param failureThreshold The number of attempts.
+     * @return This policy for command chaining.
+     * @throws IllegalArgumentException if the number is smaller than one.
+     */
+    public synchronized ReconnectPolicy setFailureThreshold(final int failureThreshold) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failure threshold must be at least 1");
+        }
+        this.failureThreshold = failureThreshold;
+        return this;
+    }
+
+    /**
+     * Determines the delay before the next connection attempt.
+     *
+     * @return The delay in milliseconds.
+     */
+    public synchronized long nextDelay() {
+
+        attempts++;
+        final long cap = Math.max(minDelay, maxDelay);
+        final long delay;
+        if (state == State.OPEN) {
+            state = State.HALF_OPEN;
+            delay = random(cap / 2, cap);
+        } else {
+            delay = Math.min(cap, random(minDelay, Math.max(minDelay, previousDelay) * 3));
+        }
+        previousDelay = delay;
+        return delay;
+    }
+
+    /**
+     * Schedules a connection attempt after the {@linkplain #nextDelay() next delay}.
+     *
+     * @param vertx The Vert.x instance to use for scheduling the attempt.
+     * @param attempt The handler to invoke for making the attempt.
+     * @return The identifier of the timer.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public long schedule(final Vertx vertx, final Handler<Long> attempt) {
+        Objects.requireNonNull(vertx);
+        Objects.requireNonNull(attempt);
+        return vertx.setTimer(nextDelay(), attempt);
+    }
+
+    /**
+     * Records a successful connection attempt.
+     * <p>
+     * This closes the breaker and resets the backoff, i.e. the next delay will be
+     * between the minimum delay and three times the minimum delay.
+     */
+    public synchronized void succeeded() {
+        successes++;
+        consecutiveFailures = 0;
+        previousDelay = 0;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Records a failed connection attempt.
+     * <p>
+     * This opens the breaker if it is half-open or if the failure threshold has been reached.
+     */
+    public synchronized void failed() {
+        failures++;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+        }
+    }
+
+    /**
+     * Gets the state of the circuit breaker.
+     *
+     * @return The state.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Gets the number of connection attempts that have failed since the last successful attempt.
+     *
+     * @return The number of attempts.
+     */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Gets the overall number of scheduled connection attempts.
+     *
+     * @return The number of attempts.
+     */
+    public synchronized long getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Gets the overall number of failed connection attempts.
+     *
+     * @return The number of attempts.
+     */
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets the overall number of successful connection attempts.
+     *
+     * @return The number of attempts.
+     */
+    public synchronized long getSuccesses() {
+        return successes;
+    }
+
+    /**
+     * Gets the metrics of this policy.
+     *
+     * @return The state of the breaker, the most recent delay and the number of attempts,
+     *         failures and successes.
+     */
+    public synchronized JsonObject getStatus() {
+        return new JsonObject()
+                .put("state", state.name())
+                .put("delay", previousDelay)
+                .put("consecutiveFailures", consecutiveFailures)
+                .put("attempts", attempts)
+                .put("failures", failures)
+                .put("successes", successes);
+    }
+
+    private static long random(final long lower, final long upper) {
+        return upper <= lower ? lower : ThreadLocalRandom.current().nextLong(lower, upper + 1);
+    }
+}
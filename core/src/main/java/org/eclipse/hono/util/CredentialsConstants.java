@@ -39,6 +39,7 @@ public final class CredentialsConstants extends RequestResponseApiConstants {
     public static final String FIELD_SECRETS_PWD_HASH            = "pwd-hash";
     public static final String FIELD_SECRETS_SALT                = "salt";
     public static final String FIELD_SECRETS_HASH_FUNCTION       = "hash-function";
+    public static final String FIELD_SECRETS_ITERATIONS          = "iterations";
     public static final String FIELD_SECRETS_KEY                 = "key";
     public static final String FIELD_SECRETS_NOT_BEFORE          = "not-before";
     public static final String FIELD_SECRETS_NOT_AFTER           = "not-after";
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A codec for sending JSON objects via the Vert.x event bus without copying them.
+ * <p>
+ * Vert.x' default codec for {@code JsonObject} creates a deep copy of the object for every message
+ * delivered to a consumer running in the same JVM. This codec instead passes the object
+ * to the consumer by reference. Senders using this codec therefore hand over ownership of the
+ * object, i.e. they must neither modify nor retain it after sending. Consumers must
+ * treat nested objects as read-only because they may be shared with the sender.
+ * <p>
+ * Messages sent to consumers in other cluster nodes are encoded as JSON.
+ */
+public final class JsonObjectReferenceCodec implements MessageCodec<JsonObject, JsonObject> {
+
+    /**
+     * The name that this codec is registered under.
+     */
+    public static final String NAME = "hono-json-by-reference";
+
+    private static final JsonObjectReferenceCodec INSTANCE = new JsonObjectReferenceCodec();
+
+    private JsonObjectReferenceCodec() {
+        // use static methods
+    }
+
+    /**
+     * Registers this codec with an event bus.
+     * <p>
+     * This method does nothing if the codec has already been registered.
+     *
+     * @param eventBus The event bus.
+     * @throws NullPointerException if event bus is {@code null}.
+     */
+    public static void register(final EventBus eventBus) {
+        Objects.requireNonNull(eventBus);
+        try {
+            eventBus.registerCodec(INSTANCE);
+        } catch (IllegalStateException e) {
+            // codec has already been registered by another verticle
+        }
+    }
+
+    /**
+     * Gets options for sending a JSON object using this codec.
+     *
+     * @return The options.
+     */
+    public static DeliveryOptions deliveryOptions() {
+        return new DeliveryOptions().setCodecName(NAME);
+    }
+
+    @Override
+    public void encodeToWire(final Buffer buffer, final JsonObject jsonObject) {
+        final byte[] encoded = jsonObject.encode().getBytes(StandardCharsets.UTF_8);
+        buffer.appendInt(encoded.length);
+        buffer.appendBytes(encoded);
+    }
+
+    @Override
+    public JsonObject decodeFromWire(final int pos, final Buffer buffer) {
+        final int length = buffer.getInt(pos);
+        final int start = pos + 4;
+        return new JsonObject(new String(buffer.getBytes(start, start + length), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public JsonObject transform(final JsonObject jsonObject) {
+        return jsonObject;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+}
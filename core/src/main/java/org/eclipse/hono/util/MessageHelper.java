@@ -203,8 +203,8 @@ public final class MessageHelper {
         }
 
         if (msg.getBody() instanceof Data) {
-            Data body = (Data) msg.getBody();
-            return new String(body.getValue().getArray(), StandardCharsets.UTF_8);
+            final Binary value = ((Data) msg.getBody()).getValue();
+            return new String(value.getArray(), value.getArrayOffset(), value.getLength(), StandardCharsets.UTF_8);
         } else if (msg.getBody() instanceof AmqpValue) {
             AmqpValue body = (AmqpValue) msg.getBody();
             if (body.getValue() instanceof String) {
@@ -28,24 +28,28 @@ import io.vertx.core.json.JsonObject;
 public final class RegistrationConstants extends RequestResponseApiConstants {
 
     /* registration actions */
-    public static final String ACTION_ASSERT     = "assert";
-    public static final String ACTION_REGISTER   = "register";
-    public static final String ACTION_GET        = "get";
-    public static final String ACTION_ENABLED    = "enabled";
-    public static final String ACTION_DEREGISTER = "deregister";
-    public static final String ACTION_UPDATE     = "update";
+    public static final String ACTION_ASSERT      = "assert";
+    public static final String ACTION_ASSERT_BULK = "assert-bulk";
+    public static final String ACTION_REGISTER    = "register";
+    public static final String ACTION_GET         = "get";
+    public static final String ACTION_ENABLED     = "enabled";
+    public static final String ACTION_DEREGISTER  = "deregister";
+    public static final String ACTION_UPDATE      = "update";
 
 
     /* JSON field names */
     public static final String FIELD_ASSERTION                   = "assertion";
     public static final String FIELD_DATA                        = "data";
+    public static final String FIELD_DEVICES                     = "devices";
+    public static final String FIELD_RESULTS                     = "results";
+    public static final String FIELD_STATUS                      = "status";
 
 
     public static final String REGISTRATION_ENDPOINT             = "registration";
     public static final String PATH_SEPARATOR                    = "/";
     public static final String NODE_ADDRESS_REGISTRATION_PREFIX  = REGISTRATION_ENDPOINT + PATH_SEPARATOR;
 
-    private static final List<String> ACTIONS     = Arrays.asList(ACTION_ASSERT, ACTION_REGISTER,
+    private static final List<String> ACTIONS     = Arrays.asList(ACTION_ASSERT, ACTION_ASSERT_BULK, ACTION_REGISTER,
             ACTION_GET, ACTION_DEREGISTER, ACTION_UPDATE, ACTION_ENABLED);
 
     /**
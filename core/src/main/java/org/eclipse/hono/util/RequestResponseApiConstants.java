@@ -39,6 +39,64 @@ public class RequestResponseApiConstants {
     /* message property names */
     public static final String APP_PROPERTY_KEY                  = "key";
 
+    /* verticle configuration keys used for deploying partitioned service instances */
+    public static final String CONFIG_KEY_PARTITION              = "partition";
+    public static final String CONFIG_KEY_PARTITIONS             = "partitions";
+
+    /**
+     * Gets the partition that a tenant is assigned to.
+     * <p>
+     * Tenants are assigned to partitions based on the hash code of their identifier.
+     * All requests regarding a particular tenant are therefore processed by the same
+     * service instance.
+     *
+     * @param tenantId The tenant (may be {@code null}).
+     * @param partitions The total number of partitions.
+     * @return The index of the partition (starting at 0). Requests that do not contain a tenant
+     *         are always assigned to partition 0.
+     * @throws IllegalArgumentException if partitions is &lt; 1.
+     */
+    public static final int getPartition(final String tenantId, final int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("number of partitions must be > 0");
+        } else if (partitions == 1 || tenantId == null) {
+            return 0;
+        } else {
+            return (tenantId.hashCode() & Integer.MAX_VALUE) % partitions;
+        }
+    }
+
+    /**
+     * Gets the event bus address of the service instance responsible for a tenant.
+     *
+     * @param baseAddress The address that the service listens on if it is not partitioned.
+     * @param tenantId The tenant (may be {@code null}).
+     * @param partitions The total number of partitions.
+     * @return The base address if partitions is 1. Otherwise the base address appended with a period
+     *         and the index of the {@linkplain #getPartition(String, int) partition} that the tenant is assigned to.
+     * @throws IllegalArgumentException if partitions is &lt; 1.
+     */
+    public static final String getEventBusAddress(final String baseAddress, final String tenantId, final int partitions) {
+        return getPartitionAddress(baseAddress, getPartition(tenantId, partitions), partitions);
+    }
+
+    /**
+     * Gets the event bus address that a particular partition of a service listens on.
+     *
+     * @param baseAddress The address that the service listens on if it is not partitioned.
+     * @param partition The index of the partition.
+     * @param partitions The total number of partitions.
+     * @return The base address if partitions is 1. Otherwise the base address appended with a period
+     *         and the partition index.
+     */
+    public static final String getPartitionAddress(final String baseAddress, final int partition, final int partitions) {
+        if (partitions <= 1) {
+            return baseAddress;
+        } else {
+            return baseAddress + "." + partition;
+        }
+    }
+
     /**
      * Build a Proton message as a reply for an endpoint from the json payload that e.g. is received from the vert.x eventbus
      * from the implementing service.
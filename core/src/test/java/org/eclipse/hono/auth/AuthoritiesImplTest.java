@@ -56,4 +56,43 @@ public class AuthoritiesImplTest {
         assertFalse(authorities.isAuthorized(ResourceIdentifier.fromString("other-endpoint/tenant"), "get"));
         assertTrue(authorities.isAuthorized(ResourceIdentifier.fromString("endpoint/tenant"), "get"));
     }
+
+    /**
+     * Verifies that authorities on resources are checked on all levels of the
+     * resource path.
+     */
+    @Test
+    public void testIsAuthorizedChecksAllPathLevels() {
+
+        Claims claims = Jwts.claims();
+        claims.put("r:registration/tenant/device", "R");
+        claims.put("r:event", "*");
+        claims.put("r:*", "R");
+        claims.put("o:registration/tenant/device:assert", "E");
+        claims.put("o:*:get", "E");
+        Authorities auth = AuthoritiesImpl.from(claims);
+        assertTrue(auth.isAuthorized(ResourceIdentifier.fromString("registration/tenant/device"), Activity.READ));
+        assertFalse(auth.isAuthorized(ResourceIdentifier.fromString("registration/tenant/device"), Activity.WRITE));
+        assertFalse(auth.isAuthorized(ResourceIdentifier.fromString("registration/tenant/other"), Activity.WRITE));
+        assertTrue(auth.isAuthorized(ResourceIdentifier.fromString("event/tenant"), Activity.WRITE));
+        assertTrue(auth.isAuthorized(ResourceIdentifier.fromString("telemetry/tenant"), Activity.READ));
+        assertFalse(auth.isAuthorized(ResourceIdentifier.fromString("telemetry/tenant"), Activity.WRITE));
+        assertTrue(auth.isAuthorized(ResourceIdentifier.fromString("registration/tenant/device"), "assert"));
+        assertFalse(auth.isAuthorized(ResourceIdentifier.fromString("registration/tenant/other"), "assert"));
+        assertTrue(auth.isAuthorized(ResourceIdentifier.fromString("registration/tenant/other"), "get"));
+    }
+
+    /**
+     * Verifies that authorities added later replace existing authorities
+     * for the same resource.
+     */
+    @Test
+    public void testAddAllReplacesExistingAuthorities() {
+
+        AuthoritiesImpl authorities = new AuthoritiesImpl()
+                .addResource("telemetry", "*", Activity.WRITE);
+        authorities.addAll(new AuthoritiesImpl().addResource("telemetry", "*", Activity.READ));
+        assertTrue(authorities.isAuthorized(ResourceIdentifier.fromString("telemetry/tenant"), Activity.READ));
+        assertFalse(authorities.isAuthorized(ResourceIdentifier.fromString("telemetry/tenant"), Activity.WRITE));
+    }
 }
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.config;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.net.NetServerOptions;
+
+/**
+ * Verifies behavior of {@link AbstractConfig}.
+ *
+ */
+public class AbstractConfigTest {
+
+    private AbstractConfig config;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        config = new AbstractConfig() {
+        };
+        config.setSecureProtocols(Arrays.asList("TLSv1.2"));
+        config.setSupportedCipherSuites(Arrays.asList("TLS_ECDHE_ECDSA_WITH_AES_128_GCM_SHA256", "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256"));
+    }
+
+    /**
+     * Verifies that the configured protocols and cipher suites are added to options
+     * that have TLS enabled.
+     */
+    @Test
+    public void testAddTlsEngineOptionsAddsProtocolsAndCipherSuites() {
+
+        final NetServerOptions options = new NetServerOptions().setSsl(true);
+        config.addTlsEngineOptions(options);
+        assertThat(options.getEnabledSecureTransportProtocols(), hasItems("TLSv1.2"));
+        assertThat(options.getEnabledCipherSuites(), hasItems(
+                "TLS_ECDHE_ECDSA_WITH_AES_128_GCM_SHA256", "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256"));
+    }
+
+    /**
+     * Verifies that no configuration is added to options that do not have TLS enabled.
+     */
+    @Test
+    public void testAddTlsEngineOptionsIgnoresNonTlsOptions() {
+
+        final NetServerOptions options = new NetServerOptions();
+        config.addTlsEngineOptions(options);
+        assertTrue(options.getEnabledCipherSuites().isEmpty());
+    }
+
+    /**
+     * Verifies that only explicitly configured socket options replace the values
+     * already set on the options.
+     */
+    @Test
+    public void testAddNetworkOptionsRetainsUnconfiguredValues() {
+
+        config.setReceiveBufferSize(65536);
+        config.setAcceptBacklog(4096);
+        final NetServerOptions options = new NetServerOptions().setSendBufferSize(16384).setReceiveBufferSize(16384);
+        config.addNetworkOptions(options);
+        assertEquals(16384, options.getSendBufferSize());
+        assertEquals(65536, options.getReceiveBufferSize());
+        assertEquals(4096, options.getAcceptBacklog());
+        assertTrue(options.isTcpNoDelay());
+    }
+}
@@ -11,15 +11,23 @@
  */
 package org.eclipse.hono.connection;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.ext.unit.Async;
@@ -27,6 +35,7 @@ import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.proton.ProtonClient;
 import io.vertx.proton.ProtonClientOptions;
+import io.vertx.proton.ProtonConnection;
 
 /**
  * Verifies behavior of {@code ConnectionFactoryImpl}.
@@ -123,4 +132,189 @@ public class ConnectionFactoryImplTest {
         verify(client).connect(optionsCaptor.capture(), anyString(), anyInt(), eq("user"), eq("pw"), any(Handler.class));
         assertTrue(optionsCaptor.getValue().getEnabledSaslMechanisms().contains("PLAIN"));
     }
+
+    /**
+     * Verifies that a connection attempt fails over to the next endpoint if an endpoint
+     * cannot be connected to and that the failed endpoint is put into quarantine.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testConnectFailsOverToNextEndpoint(final TestContext ctx) {
+
+        // GIVEN a factory configured with two endpoints of which the first one is unavailable
+        props.setEndpoints(Arrays.asList("host1:5671", "host2"));
+        final ProtonClient client = newClient("host2");
+        final ConnectionFactoryImpl factory = new ConnectionFactoryImpl(vertx, props);
+        factory.setProtonClient(client);
+
+        // WHEN connecting to the server
+        factory.connect(null, null, null, ctx.asyncAssertSuccess());
+
+        // THEN the connection is established to the second endpoint
+        assertThat(factory.getHost(), is("host2"));
+        assertThat(factory.getPort(), is(25673));
+        final Endpoint unavailable = factory.getEndpoints().get(0);
+        assertThat(unavailable.getConsecutiveFailures(), is(1));
+        assertFalse(unavailable.isAvailable(System.currentTimeMillis()));
+
+        // and the unavailable endpoint is not tried again while being in quarantine
+        factory.connect(null, null, null, ctx.asyncAssertSuccess());
+        verify(client, times(1)).connect(any(ProtonClientOptions.class), eq("host1"), anyInt(), any(), any(), any(Handler.class));
+        verify(client, times(2)).connect(any(ProtonClientOptions.class), eq("host2"), anyInt(), any(), any(), any(Handler.class));
+    }
+
+    /**
+     * Verifies that connection attempts fail if none of the endpoints can be connected to.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testConnectFailsIfAllEndpointsAreUnavailable(final TestContext ctx) {
+
+        // GIVEN a factory configured with two unavailable endpoints
+        props.setEndpoints(Arrays.asList("host1", "host2"));
+        final ProtonClient client = newClient();
+        final ConnectionFactoryImpl factory = new ConnectionFactoryImpl(vertx, props);
+        factory.setProtonClient(client);
+
+        // WHEN connecting to the server
+        // THEN the attempt fails after both endpoints have been tried
+        factory.connect(null, null, null, ctx.asyncAssertFailure());
+        verify(client).connect(any(ProtonClientOptions.class), eq("host1"), anyInt(), any(), any(), any(Handler.class));
+        verify(client).connect(any(ProtonClientOptions.class), eq("host2"), anyInt(), any(), any(), any(Handler.class));
+    }
+
+    /**
+     * Verifies that connections are spread among the endpoints with the smallest number of connections.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testLeastConnectionsSpreadsConnections(final TestContext ctx) {
+
+        // GIVEN a factory configured with three endpoints
+        props.setEndpoints(Arrays.asList("host1", "host2", "host3"));
+        props.setEndpointSelection(ClientConfigProperties.ENDPOINT_SELECTION_LEAST_CONNECTIONS);
+        final ConnectionFactoryImpl factory = new ConnectionFactoryImpl(vertx, props);
+        factory.setProtonClient(newClient("host1", "host2", "host3"));
+
+        // WHEN establishing six connections
+        for (int i = 0; i < 6; i++) {
+            factory.connect(null, null, null, ctx.asyncAssertSuccess());
+        }
+
+        // THEN each endpoint has two connections
+        for (Endpoint endpoint : factory.getEndpoints()) {
+            assertThat(endpoint.getOpenConnections(), is(2));
+        }
+    }
+
+    /**
+     * Verifies that an endpoint no longer keeps track of connections that have been closed
+     * or disconnected.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testEndpointReleasesClosedConnections(final TestContext ctx) {
+
+        // GIVEN a factory that has established three connections to its single endpoint
+        final ConnectionFactoryImpl factory = new ConnectionFactoryImpl(vertx, props);
+        factory.setProtonClient(newClient("127.0.0.1"));
+        final List<ProtonConnection> connections = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            factory.connect(null, null, null, ctx.asyncAssertSuccess(connections::add));
+        }
+        final Endpoint endpoint = factory.getEndpoints().get(0);
+        assertThat(endpoint.getOpenConnections(), is(3));
+
+        // WHEN the first connection is closed by the peer and the second one gets disconnected
+        final ArgumentCaptor<Handler> closeHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(connections.get(0)).closeHandler(closeHandler.capture());
+        closeHandler.getValue().handle(Future.succeededFuture(connections.get(0)));
+        final ArgumentCaptor<Handler> disconnectHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(connections.get(1)).disconnectHandler(disconnectHandler.capture());
+        disconnectHandler.getValue().handle(connections.get(1));
+
+        // THEN the endpoint only keeps track of the remaining connection
+        assertThat(endpoint.getOpenConnections(), is(1));
+    }
+
+    /**
+     * Verifies that a connection attempt that fails because of invalid credentials is
+     * neither retried on other endpoints nor puts the endpoint into quarantine.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testConnectDoesNotFailOverOnAuthenticationFailure(final TestContext ctx) {
+
+        // GIVEN a factory configured with two endpoints which both reject the client's credentials
+        props.setEndpoints(Arrays.asList("host1", "host2"));
+        final ProtonClient client = mock(ProtonClient.class);
+        doAnswer(invocation -> {
+            final Handler<AsyncResult<ProtonConnection>> handler = invocation.getArgumentAt(5, Handler.class);
+            handler.handle(Future.failedFuture(new SecurityException("Failed to authenticate")));
+            return null;
+        }).when(client).connect(any(ProtonClientOptions.class), anyString(), anyInt(), any(), any(), any(Handler.class));
+        final ConnectionFactoryImpl factory = new ConnectionFactoryImpl(vertx, props);
+        factory.setProtonClient(client);
+
+        // WHEN connecting to the server
+        factory.connect(null, "user", "wrong-password", null, null, ctx.asyncAssertFailure(t -> {
+            // THEN the authentication failure is reported to the caller
+            ctx.assertTrue(t instanceof SecurityException);
+        }));
+
+        // after a single attempt only
+        verify(client, times(1)).connect(any(ProtonClientOptions.class), anyString(), anyInt(), any(), any(), any(Handler.class));
+        // and none of the endpoints is put into quarantine
+        for (Endpoint endpoint : factory.getEndpoints()) {
+            assertTrue(endpoint.isAvailable(System.currentTimeMillis()));
+            assertThat(endpoint.getConsecutiveFailures(), is(0));
+            assertThat(endpoint.getOpenConnections(), is(0));
+        }
+    }
+
+    /**
+     * Verifies that endpoints are parsed correctly.
+     */
+    @Test
+    public void testEndpointFromString() {
+
+        assertThat(Endpoint.fromString("host:5672", 5671).getPort(), is(5672));
+        assertThat(Endpoint.fromString("host", 5671).getPort(), is(5671));
+        assertThat(Endpoint.fromString("[::1]:5672", 5671).getHost(), is("::1"));
+        assertThat(Endpoint.fromString("[::1]", 5671).getPort(), is(5671));
+        assertThat(Endpoint.fromString("::1", 5671).getHost(), is("::1"));
+    }
+
+    /**
+     * Creates a client that can only connect to the given hosts.
+     */
+    @SuppressWarnings("unchecked")
+    private static ProtonClient newClient(final String... availableHosts) {
+
+        final ProtonClient client = mock(ProtonClient.class);
+        doAnswer(invocation -> {
+            final Handler<AsyncResult<ProtonConnection>> handler = invocation.getArgumentAt(5, Handler.class);
+            if (Arrays.asList(availableHosts).contains(invocation.getArgumentAt(1, String.class))) {
+                final ProtonConnection con = mock(ProtonConnection.class);
+                when(con.setContainer(anyString())).thenReturn(con);
+                when(con.setHostname(anyString())).thenReturn(con);
+                when(con.openHandler(any(Handler.class))).thenAnswer(open -> {
+                    open.getArgumentAt(0, Handler.class).handle(Future.succeededFuture(con));
+                    return con;
+                });
+                handler.handle(Future.succeededFuture(con));
+            } else {
+                handler.handle(Future.failedFuture(new ConnectException("connection refused")));
+            }
+            return null;
+        }).when(client).connect(any(ProtonClientOptions.class), anyString(), anyInt(), any(), any(), any(Handler.class));
+        return client;
+    }
 }
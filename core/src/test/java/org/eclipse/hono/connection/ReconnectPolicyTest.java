@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.connection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Verifies behavior of {@link ReconnectPolicy}.
+ *
+ */
+public class ReconnectPolicyTest {
+
+    /**
+     * Verifies that the delays grow at most by a factor of three and never exceed the maximum delay.
+     */
+    @Test
+    public void testNextDelayIsBoundedByPreviousDelayAndCap() {
+
+        final ReconnectPolicy policy = new ReconnectPolicy().setMinDelay(100).setMaxDelay(5000).setFailureThreshold(1000);
+        long previousDelay = 100;
+        for (int i = 0; i < 100; i++) {
+            final long delay = policy.nextDelay();
+            policy.failed();
+            assertTrue(delay >= 100);
+            assertTrue(delay <= 5000);
+            assertTrue(delay <= previousDelay * 3);
+            previousDelay = delay;
+        }
+        assertThat(policy.getAttempts(), is(100L));
+    }
+
+    /**
+     * Verifies that the circuit breaker opens after the configured number of failures, is half-open
+     * during the next attempt and closes once an attempt succeeds.
+     */
+    @Test
+    public void testBreakerOpensAfterConsecutiveFailures() {
+
+        // GIVEN a policy that opens after three failures
+        final ReconnectPolicy policy = new ReconnectPolicy().setMinDelay(10).setMaxDelay(1000).setFailureThreshold(3);
+
+        // WHEN three attempts fail
+        for (int i = 0; i < 3; i++) {
+            assertThat(policy.getState(), is(ReconnectPolicy.State.CLOSED));
+            policy.nextDelay();
+            policy.failed();
+        }
+
+        // THEN the breaker is open
+        assertThat(policy.getState(), is(ReconnectPolicy.State.OPEN));
+        // and the next attempt is made after at least half of the maximum delay
+        assertTrue(policy.nextDelay() >= 500);
+        assertThat(policy.getState(), is(ReconnectPolicy.State.HALF_OPEN));
+
+        // and a failure of that attempt re-opens the breaker
+        policy.failed();
+        assertThat(policy.getState(), is(ReconnectPolicy.State.OPEN));
+
+        // while a successful attempt closes it
+        policy.nextDelay();
+        policy.succeeded();
+        assertThat(policy.getState(), is(ReconnectPolicy.State.CLOSED));
+        assertThat(policy.getConsecutiveFailures(), is(0));
+        assertTrue(policy.nextDelay() <= 30);
+        assertThat(policy.getStatus().getLong("failures"), is(4L));
+    }
+}
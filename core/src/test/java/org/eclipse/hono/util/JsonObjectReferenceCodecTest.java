@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ * Verifies behavior of {@link JsonObjectReferenceCodec}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class JsonObjectReferenceCodecTest {
+
+    private Vertx vertx;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+    }
+
+    /**
+     * Cleans up the fixture.
+     *
+     * @param ctx The vertx unit test context.
+     */
+    @After
+    public void tearDown(final TestContext ctx) {
+        vertx.close(ctx.asyncAssertSuccess());
+    }
+
+    /**
+     * Verifies that a JSON object sent to a local consumer is not copied.
+     *
+     * @param ctx The vertx unit test context.
+     */
+    @Test(timeout = 2000)
+    public void testLocalDeliveryPassesObjectByReference(final TestContext ctx) {
+
+        // GIVEN an event bus with the codec registered (more than once)
+        JsonObjectReferenceCodec.register(vertx.eventBus());
+        JsonObjectReferenceCodec.register(vertx.eventBus());
+
+        // WHEN sending a JSON object to a local consumer using the codec
+        final JsonObject request = new JsonObject().put("key", "value");
+        final Async delivery = ctx.async();
+        vertx.eventBus().<JsonObject>consumer("test", msg -> {
+            // THEN the consumer receives the very same object
+            ctx.assertTrue(msg.body() == request);
+            delivery.complete();
+        });
+        vertx.eventBus().send("test", request, JsonObjectReferenceCodec.deliveryOptions());
+    }
+
+    /**
+     * Verifies that a JSON object can be encoded to and decoded from the wire format.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testWireFormatRoundTrip() {
+
+        final EventBus eventBus = mock(EventBus.class);
+        JsonObjectReferenceCodec.register(eventBus);
+        final ArgumentCaptor<MessageCodec> captor = ArgumentCaptor.forClass(MessageCodec.class);
+        verify(eventBus).registerCodec(captor.capture());
+        final MessageCodec<JsonObject, JsonObject> codec = captor.getValue();
+
+        final JsonObject obj = new JsonObject().put("device-id", "4711").put("name", "Gerät");
+        final Buffer buffer = Buffer.buffer().appendByte((byte) 1);
+        codec.encodeToWire(buffer, obj);
+        assertThat(codec.decodeFromWire(1, buffer), is(obj));
+    }
+}
@@ -47,6 +47,9 @@ public class HonoSenderSampler extends HonoSampler implements ThreadListener {
     private static final String WAIT_FOR_CREDITS           = "waitForCredits";
     private static final String WAIT_FOR_RECEIVERS         = "waitForReceivers";
     private static final String WAIT_FOR_RECEIVERS_TIMEOUT = "waitForReceiversTimeout";
+    private static final String MESSAGE_RATE               = "messageRate";
+    private static final String DEVICES                    = "devices";
+    private static final String DEVICE_CHURN               = "deviceChurn";
 
     public String getRegistryTrustStorePath() {
         return getPropertyAsString(REGISTRY_TRUSTSTORE_PATH);
@@ -104,6 +107,48 @@ public class HonoSenderSampler extends HonoSampler implements ThreadListener {
         setProperty(WAIT_FOR_RECEIVERS_TIMEOUT, waitForReceiversTimeout);
     }
 
+    /**
+     * Gets the number of messages per second to send in open loop mode.
+     *
+     * @return The rate or an empty string (or 0) if messages should be sent in closed loop batches.
+     */
+    public String getMessageRate() {
+        return getPropertyAsString(MESSAGE_RATE);
+    }
+
+    public void setMessageRate(final String messageRate) {
+        setProperty(MESSAGE_RATE, messageRate);
+    }
+
+    /**
+     * Gets the number of simulated devices to send messages for.
+     * <p>
+     * If more than one device is configured, the devices' identifiers are derived from
+     * the device ID by appending the device's index.
+     *
+     * @return The number of devices.
+     */
+    public String getDevices() {
+        return getPropertyAsString(DEVICES);
+    }
+
+    public void setDevices(final String devices) {
+        setProperty(DEVICES, devices);
+    }
+
+    /**
+     * Gets the number of simulated devices to replace with newly registered devices per second.
+     *
+     * @return The number of devices or an empty string (or 0) if the devices should not change.
+     */
+    public String getDeviceChurn() {
+        return getPropertyAsString(DEVICE_CHURN);
+    }
+
+    public void setDeviceChurn(final String deviceChurn) {
+        setProperty(DEVICE_CHURN, deviceChurn);
+    }
+
     public String getDeviceId() {
         return getPropertyAsString(DEVICE_ID);
     }
@@ -153,7 +198,11 @@ public class HonoSenderSampler extends HonoSampler implements ThreadListener {
         res.setResponseCodeOK();
         res.setSampleLabel(getName());
         try {
-            honoSender.send(res, getDeviceId(), isWaitForCredits());
+            if (honoSender.isOpenLoop()) {
+                honoSender.sendOpenLoop(res);
+            } else {
+                honoSender.send(res, getDeviceId(), isWaitForCredits());
+            }
         } catch (InterruptedException e) {
             LOGGER.error("send", e);
         }
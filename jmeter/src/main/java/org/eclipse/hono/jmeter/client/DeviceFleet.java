@@ -0,0 +1,398 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.jmeter.client;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import org.eclipse.hono.client.RegistrationClient;
+import org.eclipse.hono.util.JwtHelper;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.RegistrationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A fleet of simulated devices that a sender cycles through.
+ * <p>
+ * The fleet registers all of its devices up front, using a bounded number of concurrent
+ * requests, and retrieves their registration assertions in bulk. The assertions are cached
+ * per device and are refreshed in the background shortly before they expire.
+ * <p>
+ * If churn is configured, the fleet continuously replaces its longest-standing devices with
+ * newly registered ones at the given rate while keeping its size constant.
+ * <p>
+ * All methods are thread safe. Interaction with the Device Registry happens on the
+ * Vert.x context the fleet has been created for.
+ */
+public final class DeviceFleet {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeviceFleet.class);
+    private static final int MAX_CONCURRENT_REQUESTS = 100;
+    private static final int MAX_DEVICES_PER_BULK_ASSERTION = 100;
+    private static final long PROVISIONING_TIMEOUT_MINUTES = 10;
+    private static final long ASSERTION_REFRESH_MARGIN_MILLIS = 30000;
+    private static final long DEFAULT_ASSERTION_LIFETIME_MILLIS = 60000;
+    private static final long CHURN_INTERVAL_MILLIS = 1000;
+
+    private final Vertx vertx;
+    private final Context context;
+    private final RegistrationClient registrationClient;
+    private final String deviceIdPrefix;
+    private final AtomicReferenceArray<String> devices;
+    private final Map<String, CachedAssertion> assertions = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> pendingRefreshes = new ConcurrentHashMap<>();
+    private final AtomicLong cursor = new AtomicLong();
+    private final LongAdder assertionRefreshes = new LongAdder();
+    private final LongAdder devicesReplaced = new LongAdder();
+    // confined to the context
+    private long nextDeviceIndex;
+    private int nextDeviceToReplace;
+    private double churnBalance;
+    private long churnTimerId = -1;
+
+    /**
+     * Creates a new fleet.
+     * <p>
+     * If the fleet consists of a single device, the device's identifier is the given
+     * prefix. Otherwise the devices' identifiers consist of the prefix followed by a dash
+     * and a consecutive number.
+     *
+     * @param vertx The Vert.x instance to run on.
+     * @param registrationClient The client for registering the devices and getting their assertions.
+     * @param deviceIdPrefix The prefix of the devices' identifiers.
+     * @param size The number of devices.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     * @throws IllegalArgumentException if size is smaller than one.
+     */
+    public DeviceFleet(final Vertx vertx, final RegistrationClient registrationClient, final String deviceIdPrefix,
+            final int size) {
+
+        if (size < 1) {
+            throw new IllegalArgumentException("fleet must contain at least one device");
+        }
+        this.vertx = Objects.requireNonNull(vertx);
+        this.context = vertx.getOrCreateContext();
+        this.registrationClient = Objects.requireNonNull(registrationClient);
+        this.deviceIdPrefix = Objects.requireNonNull(deviceIdPrefix);
+        this.devices = new AtomicReferenceArray<>(size);
+        if (size == 1) {
+            devices.set(0, deviceIdPrefix);
+        } else {
+            for (int i = 0; i < size; i++) {
+                devices.set(i, deviceIdPrefix + "-" + i);
+            }
+        }
+        this.nextDeviceIndex = size;
+    }
+
+    /**
+     * Gets the number of devices in this fleet.
+     *
+     * @return The number of devices.
+     */
+    public int size() {
+        return devices.length();
+    }
+
+    /**
+     * Gets the device to send the next message for.
+     *
+     * @return The device identifier.
+     */
+    public String next() {
+        return devices.get((int) (cursor.getAndIncrement() % devices.length()));
+    }
+
+    /**
+     * Gets the cached registration assertion for a device.
+     * <p>
+     * If the assertion is about to expire, a fresh assertion is requested in the
+     * background while the cached one is still being returned.
+     *
+     * @param deviceId The device.
+     * @return The assertion or {@code null} if no assertion could be retrieved for the device.
+     */
+    public String getAssertion(final String deviceId) {
+
+        final CachedAssertion assertion = assertions.get(deviceId);
+        if (assertion == null || assertion.refreshAt <= System.currentTimeMillis()) {
+            if (pendingRefreshes.putIfAbsent(deviceId, Boolean.TRUE) == null) {
+                context.runOnContext(refresh -> {
+                    assertionRefreshes.increment();
+                    assertRegistration(deviceId, done -> pendingRefreshes.remove(deviceId));
+                });
+            }
+        }
+        return assertion == null ? null : assertion.token;
+    }
+
+    /**
+     * Gets the number of assertions that have been refreshed since the fleet has been provisioned.
+     *
+     * @return The number of refreshes.
+     */
+    public long getAssertionRefreshes() {
+        return assertionRefreshes.sum();
+    }
+
+    /**
+     * Gets the number of devices that have been replaced because of churn.
+     *
+     * @return The number of devices.
+     */
+    public long getDevicesReplaced() {
+        return devicesReplaced.sum();
+    }
+
+    /**
+     * Registers all devices and retrieves their assertions.
+     * <p>
+     * This method blocks until all devices have been processed. Devices that are already
+     * registered are reused.
+     *
+     * @throws InterruptedException if the thread has been interrupted while waiting.
+     */
+    public void provision() throws InterruptedException {
+
+        final List<String> deviceIds = getDeviceIds();
+        final long start = System.currentTimeMillis();
+        final AtomicInteger failures = new AtomicInteger();
+        forEachBounded(deviceIds, MAX_CONCURRENT_REQUESTS, (deviceId, done) -> register(deviceId, registered -> {
+            if (!registered) {
+                failures.incrementAndGet();
+            }
+            done.handle(null);
+        }));
+
+        final List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < deviceIds.size(); i += MAX_DEVICES_PER_BULK_ASSERTION) {
+            chunks.add(deviceIds.subList(i, Math.min(deviceIds.size(), i + MAX_DEVICES_PER_BULK_ASSERTION)));
+        }
+        forEachBounded(chunks, MAX_CONCURRENT_REQUESTS / MAX_DEVICES_PER_BULK_ASSERTION + 1,
+                (chunk, done) -> assertRegistrations(chunk, done));
+
+        LOGGER.info("provisioned {} devices in {} ms ({} registrations failed, {} assertions missing)",
+                deviceIds.size(), System.currentTimeMillis() - start, failures.get(), deviceIds.size() - assertions.size());
+    }
+
+    /**
+     * Starts replacing devices at a given rate.
+     *
+     * @param newDevicesPerSecond The number of devices to replace per second.
+     */
+    public void startChurn(final double newDevicesPerSecond) {
+
+        if (newDevicesPerSecond <= 0) {
+            return;
+        }
+        context.runOnContext(start -> {
+            churnTimerId = vertx.setPeriodic(CHURN_INTERVAL_MILLIS, tick -> {
+                churnBalance += newDevicesPerSecond * CHURN_INTERVAL_MILLIS / 1000;
+                while (churnBalance >= 1) {
+                    churnBalance--;
+                    replaceDevice();
+                }
+            });
+        });
+    }
+
+    /**
+     * Stops replacing devices and deregisters all devices.
+     * <p>
+     * This method blocks until all devices have been processed.
+     *
+     * @throws InterruptedException if the thread has been interrupted while waiting.
+     */
+    public void deprovision() throws InterruptedException {
+
+        context.runOnContext(stop -> {
+            if (churnTimerId != -1) {
+                vertx.cancelTimer(churnTimerId);
+            }
+        });
+        forEachBounded(getDeviceIds(), MAX_CONCURRENT_REQUESTS, this::deregister);
+        assertions.clear();
+    }
+
+    private List<String> getDeviceIds() {
+        final List<String> result = new ArrayList<>(devices.length());
+        for (int i = 0; i < devices.length(); i++) {
+            result.add(devices.get(i));
+        }
+        return result;
+    }
+
+    private void replaceDevice() {
+
+        final int slot = nextDeviceToReplace;
+        nextDeviceToReplace = (nextDeviceToReplace + 1) % devices.length();
+        final String newDeviceId = deviceIdPrefix + "-" + nextDeviceIndex++;
+        register(newDeviceId, registered -> {
+            if (registered) {
+                assertRegistration(newDeviceId, asserted -> {
+                    if (assertions.containsKey(newDeviceId)) {
+                        final String oldDeviceId = devices.getAndSet(slot, newDeviceId);
+                        devicesReplaced.increment();
+                        deregister(oldDeviceId, null);
+                    } else {
+                        deregister(newDeviceId, null);
+                    }
+                });
+            }
+        });
+    }
+
+    private void register(final String deviceId, final Handler<Boolean> resultHandler) {
+
+        final JsonObject data = new JsonObject().put("type", "jmeter test device");
+        registrationClient.register(deviceId, data, registration -> {
+            if (registration.failed()) {
+                LOGGER.error("RegistrationClient.register() failed", registration.cause());
+                resultHandler.handle(Boolean.FALSE);
+            } else {
+                final int status = registration.result().getStatus();
+                resultHandler.handle(status == HttpURLConnection.HTTP_CREATED || status == HttpURLConnection.HTTP_CONFLICT);
+            }
+        });
+    }
+
+    private void deregister(final String deviceId, final Handler<Void> doneHandler) {
+
+        assertions.remove(deviceId);
+        registrationClient.deregister(deviceId, deregistration -> {
+            if (deregistration.failed()) {
+                LOGGER.error("RegistrationClient.deregister() failed", deregistration.cause());
+            }
+            if (doneHandler != null) {
+                doneHandler.handle(null);
+            }
+        });
+    }
+
+    private void assertRegistration(final String deviceId, final Handler<Void> doneHandler) {
+
+        registrationClient.assertRegistration(deviceId, assertion -> {
+            if (assertion.failed()) {
+                LOGGER.error("RegistrationClient.assertRegistration() failed", assertion.cause());
+            } else {
+                cacheAssertion(deviceId, assertion.result());
+            }
+            doneHandler.handle(null);
+        });
+    }
+
+    private void assertRegistrations(final List<String> deviceIds, final Handler<Void> doneHandler) {
+
+        registrationClient.assertRegistrations(deviceIds, bulkAssertion -> {
+            if (bulkAssertion.failed()) {
+                LOGGER.error("RegistrationClient.assertRegistrations() failed", bulkAssertion.cause());
+                doneHandler.handle(null);
+            } else {
+                final List<String> missing = new ArrayList<>();
+                for (String deviceId : deviceIds) {
+                    final RegistrationResult result = bulkAssertion.result().get(deviceId);
+                    if (result == null || !cacheAssertion(deviceId, result)) {
+                        missing.add(deviceId);
+                    }
+                }
+                if (missing.isEmpty()) {
+                    doneHandler.handle(null);
+                } else {
+                    // e.g. the registry does not support bulk assertions
+                    final AtomicInteger remaining = new AtomicInteger(missing.size());
+                    missing.forEach(deviceId -> assertRegistration(deviceId, done -> {
+                        if (remaining.decrementAndGet() == 0) {
+                            doneHandler.handle(null);
+                        }
+                    }));
+                }
+            }
+        });
+    }
+
+    private boolean cacheAssertion(final String deviceId, final RegistrationResult result) {
+
+        if (result.getStatus() != HttpURLConnection.HTTP_OK || result.getPayload() == null) {
+            return false;
+        }
+        final String token = result.getPayload().getString(RegistrationConstants.FIELD_ASSERTION);
+        if (token == null) {
+            return false;
+        }
+        long expiration;
+        try {
+            expiration = JwtHelper.getExpiration(token).getTime();
+        } catch (final IllegalArgumentException e) {
+            expiration = System.currentTimeMillis() + DEFAULT_ASSERTION_LIFETIME_MILLIS;
+        }
+        assertions.put(deviceId, new CachedAssertion(token, expiration - ASSERTION_REFRESH_MARGIN_MILLIS));
+        return true;
+    }
+
+    private <T> void forEachBounded(final List<T> items, final int maxConcurrentRequests,
+            final BiConsumer<T, Handler<Void>> operation) throws InterruptedException {
+
+        final CountDownLatch latch = new CountDownLatch(items.size());
+        final AtomicInteger next = new AtomicInteger();
+        final Handler<Void> worker = new Handler<Void>() {
+            @Override
+            public void handle(final Void event) {
+                final int index = next.getAndIncrement();
+                if (index < items.size()) {
+                    operation.accept(items.get(index), done -> {
+                        latch.countDown();
+                        handle(null);
+                    });
+                }
+            }
+        };
+        context.runOnContext(go -> {
+            for (int i = 0; i < Math.min(maxConcurrentRequests, items.size()); i++) {
+                worker.handle(null);
+            }
+        });
+        if (!latch.await(PROVISIONING_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            LOGGER.warn("timed out waiting for {} devices to be processed", latch.getCount());
+        }
+    }
+
+    /**
+     * A registration assertion along with the time it should be refreshed at.
+     */
+    private static final class CachedAssertion {
+
+        private final String token;
+        private final long refreshAt;
+
+        CachedAssertion(final String token, final long refreshAt) {
+            this.token = token;
+            this.refreshAt = refreshAt;
+        }
+    }
+}
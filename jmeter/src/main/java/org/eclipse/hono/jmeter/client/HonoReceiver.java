@@ -13,19 +13,19 @@
 package org.eclipse.hono.jmeter.client;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.jmeter.samplers.SampleResult;
-import org.apache.qpid.proton.amqp.messaging.AmqpValue;
-import org.apache.qpid.proton.amqp.messaging.Data;
-import org.apache.qpid.proton.amqp.messaging.Section;
-import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.HonoClient;
+import org.eclipse.hono.client.MessageView;
 import org.eclipse.hono.client.impl.HonoClientImpl;
 import org.eclipse.hono.connection.ConnectionFactory;
 import org.eclipse.hono.connection.ConnectionFactoryImpl;
@@ -34,12 +34,20 @@ import org.eclipse.hono.jmeter.HonoSampler;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 
 /**
  * Receiver, which connects to the AMQP network; asynchronous API needs to be used synchronous for JMeters threading
  * model
+ * <p>
+ * If the sender time is used, the latency of each message is recorded in a histogram. Each sample reports
+ * the latency percentiles of the messages received since the previous sample in its response message and
+ * as a JSON object in its response data. Senders working in open loop mode set the sender time to the time a
+ * message has been <em>intended</em> to be sent at so that the percentiles also cover the time messages have
+ * been held back by the sender.
  */
 public class HonoReceiver extends AbstractClient {
 
@@ -48,15 +56,14 @@ public class HonoReceiver extends AbstractClient {
     private ConnectionFactory amqpNetworkConnectionFactory;
     private HonoClient amqpNetworkClient;
 
-    private long sampleStart;
-    private long sampleEnd;
-    private int messageCount;
-    private long messageSize;
+    private final AtomicLong sampleStart = new AtomicLong();
+    private volatile long sampleEnd;
+    private final LongAdder messageCount = new LongAdder();
+    private final LongAdder messageSize = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
     private HonoReceiverSampler sampler;
     private Vertx vertx = vertx();
 
-    private final transient Object lock = new Object();
-
     public HonoReceiver(final HonoReceiverSampler sampler) throws InterruptedException {
         this.sampler = sampler;
 
@@ -102,14 +109,14 @@ public class HonoReceiver extends AbstractClient {
             connect();
         }
         if (sampler.getEndpoint().equals(HonoSampler.Endpoint.telemetry.toString())) {
-            amqpNetworkClient.createTelemetryConsumer(sampler.getTenant(), Integer.parseInt(sampler.getPrefetch()), this::messageReceived, creationHandler -> {
+            amqpNetworkClient.createTelemetryConsumer(sampler.getTenant(), Integer.parseInt(sampler.getPrefetch()), MessageView.consumer(this::messageReceived), creationHandler -> {
                 if (creationHandler.failed()) {
                     LOGGER.error("HonoClient.createTelemetryConsumer() failed", creationHandler.cause());
                 }
                 receiverLatch.countDown();
             });
         } else {
-            amqpNetworkClient.createEventConsumer(sampler.getTenant(), Integer.parseInt(sampler.getPrefetch()), this::messageReceived, creationHandler -> {
+            amqpNetworkClient.createEventConsumer(sampler.getTenant(), Integer.parseInt(sampler.getPrefetch()), MessageView.consumer(this::messageReceived), creationHandler -> {
                 if (creationHandler.failed()) {
                     LOGGER.error("HonoClient.createEventConsumer() failed", creationHandler.cause());
                 }
@@ -120,33 +127,51 @@ public class HonoReceiver extends AbstractClient {
     }
 
     public void sample(final SampleResult result) {
-        synchronized (lock) {
-            long elapsed = 0;
-            result.setResponseCodeOK();
-            result.setSuccessful(true);
-            result.setSampleCount(messageCount);
-            result.setBytes(messageSize);
+        long elapsed = 0;
+        // the counters are reset while messages are being received,
+        // a message may thus be counted in either this or the next sample
+        final int count = (int) messageCount.sumThenReset();
+        final long bytes = messageSize.sumThenReset();
+        final long start = sampleStart.getAndSet(0);
+        final LatencyHistogram intervalLatency = latency.drain();
+        result.setResponseCodeOK();
+        result.setSuccessful(true);
+        result.setSampleCount(count);
+        result.setBytes(bytes);
+        if (sampler.isUseSenderTime() && count > 0) {
+            elapsed = sampleEnd - start;
+            result.setStampAndTime(start, elapsed);
+        } else if (start != 0 && count > 0) { // sampling is started only when a message with a
+                                              // timestamp is received.
+            elapsed = System.currentTimeMillis() - start;
+            result.setStampAndTime(start, elapsed);
+            result.setIdleTime(elapsed);
+        } else {
+            noMessagesReceived(result);
+        }
+        if (sampler.isUseSenderTime()) {
             result.setResponseMessage(
-                    MessageFormat.format("count: {0}, bytes received: {1}, period: {2}", messageCount,
-                            messageSize, elapsed));
-            if (sampler.isUseSenderTime() && messageCount > 0) {
-                    elapsed = sampleEnd - sampleStart;
-                    result.setStampAndTime(sampleStart, elapsed);
-            } else if (sampleStart != 0 && messageCount > 0) { // sampling is started only when a message with a
-                                                               // timestamp is received.
-                elapsed = System.currentTimeMillis() - sampleStart;
-                result.setStampAndTime(sampleStart, elapsed);
-                result.setIdleTime(elapsed);
-            } else {
-                noMessagesReceived(result);
-            }
-            LOGGER.info("{}: received batch of {} messages in {} milliseconds", sampler.getThreadName(), messageCount,
-                    elapsed);
-            // reset all counters
-            messageSize = 0;
-            messageCount = 0;
-            sampleStart = 0;
+                    MessageFormat.format("count: {0}, bytes received: {1}, period: {2}, latency p50: {3}, p90: {4}, p99: {5}, p99.9: {6}, max: {7}",
+                            count, bytes, elapsed, intervalLatency.getValueAtPercentile(50),
+                            intervalLatency.getValueAtPercentile(90), intervalLatency.getValueAtPercentile(99),
+                            intervalLatency.getValueAtPercentile(99.9), intervalLatency.getMax()));
+            result.setResponseData(new JsonObject()
+                    .put("count", count)
+                    .put("bytes", bytes)
+                    .put("latency", new JsonObject()
+                            .put("count", intervalLatency.getCount())
+                            .put("p50", intervalLatency.getValueAtPercentile(50))
+                            .put("p90", intervalLatency.getValueAtPercentile(90))
+                            .put("p99", intervalLatency.getValueAtPercentile(99))
+                            .put("p99.9", intervalLatency.getValueAtPercentile(99.9))
+                            .put("max", intervalLatency.getMax()))
+                    .encode(), StandardCharsets.UTF_8.name());
+        } else {
+            result.setResponseMessage(
+                    MessageFormat.format("count: {0}, bytes received: {1}, period: {2}", count, bytes, elapsed));
         }
+        LOGGER.info("{}: received batch of {} messages in {} milliseconds", sampler.getThreadName(), count,
+                elapsed);
     }
 
     private void noMessagesReceived(final SampleResult result) {
@@ -154,21 +179,28 @@ public class HonoReceiver extends AbstractClient {
         result.setIdleTime(0);
     }
 
-    private void verifySenderTimeAndSetSamplingTime(final Long time, boolean senderTimeInPayload) {
+    private void verifySenderTimeAndRecordLatency(final Long time, final long receivedTime) {
         if (time != null) {
-            sampleStart = time;
-            LOGGER.debug("Message sent time : {}", sampleStart);
+            sampleStart.set(time);
+            sampleEnd = receivedTime;
+            latency.record(receivedTime - time);
+            LOGGER.debug("Message sent time : {}", time);
         } else {
             throw new IllegalArgumentException("No Timestamp variable found in message");
         }
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, Object> getJSONValue(final Section message) {
+    private Map<String, Object> getJSONValue(final MessageView message) {
+        final ByteBuffer payload = message.getPayload();
+        if (payload == null) {
+            return Collections.emptyMap();
+        }
         ObjectMapper objectMapper = new ObjectMapper();
         Map<String, Object> result;
         try {
-            result = objectMapper.readValue(getValue(message),
+            // the buffer only covers the payload, regardless of the underlying array's offset
+            result = objectMapper.readValue(new ByteBufferBackedInputStream(payload),
                     HashMap.class);
             if (result == null) {
                 result = Collections.emptyMap();
@@ -180,39 +212,24 @@ public class HonoReceiver extends AbstractClient {
         return result;
     }
 
-    private byte[] getValue(final Section body) {
-        if (body instanceof Data) {
-            return ((Data) body).getValue().getArray();
-        } else if (body instanceof AmqpValue) {
-            return ((AmqpValue) body).getValue().toString().getBytes(StandardCharsets.UTF_8);
-        } else {
-            return new byte[0];
-        }
-    }
-
-    private void messageReceived(final Message message) {
-        synchronized (lock) {
-            messageCount++;
-            LOGGER.trace("Received message. count : {}", messageCount);
-            byte[] messageBody = getValue(message.getBody());
-            messageSize += messageBody.length;
-
-            if (sampler.isUseSenderTime()) {
-                sampleEnd = System.currentTimeMillis();
-                LOGGER.debug("Message received time : {}", sampleEnd);
-                if (sampler.isSenderTimeInPayload()) {
-                    final Long time = (Long) getJSONValue(message.getBody())
-                            .get(sampler.getSenderTimeVariableName());
-                    verifySenderTimeAndSetSamplingTime(time, sampler.isSenderTimeInPayload());
-                } else {
-                    final Long time = (Long) message.getApplicationProperties().getValue().get("timeStamp");
-                    verifySenderTimeAndSetSamplingTime(time, sampler.isSenderTimeInPayload());
-                }
+    private void messageReceived(final MessageView view) {
+        messageCount.increment();
+        LOGGER.trace("Received message. count : {}", messageCount);
+        messageSize.add(Math.max(0, view.getPayloadSize()));
+
+        if (sampler.isUseSenderTime()) {
+            final long receivedTime = System.currentTimeMillis();
+            LOGGER.debug("Message received time : {}", receivedTime);
+            if (sampler.isSenderTimeInPayload()) {
+                final Long time = (Long) getJSONValue(view)
+                        .get(sampler.getSenderTimeVariableName());
+                verifySenderTimeAndRecordLatency(time, receivedTime);
             } else {
-                if (sampleStart == 0) {
-                    sampleStart = System.currentTimeMillis();
-                }
+                final Long time = view.getProperty("timeStamp", Long.class);
+                verifySenderTimeAndRecordLatency(time, receivedTime);
             }
+        } else {
+            sampleStart.compareAndSet(0, System.currentTimeMillis());
         }
     }
 
@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.jmeter.samplers.SampleResult;
 import org.eclipse.hono.client.HonoClient;
@@ -31,23 +32,37 @@ import org.eclipse.hono.connection.ConnectionFactory;
 import org.eclipse.hono.connection.ConnectionFactoryImpl;
 import org.eclipse.hono.jmeter.HonoSampler;
 import org.eclipse.hono.jmeter.HonoSenderSampler;
-import org.eclipse.hono.util.RegistrationConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
 
 /**
  * A wrapper around a {@code HonoClient} mapping the client's asynchronous API to the blocking
  * threading model used by JMeter.
+ * <p>
+ * If a message rate is configured, the sender works in <em>open loop</em> mode: messages are sent
+ * from a schedule with a fixed rate, independently of the JMeter thread and of the time it takes Hono
+ * to accept them. Each message carries the time it was
+ * <em>intended</em> to be sent at according to the schedule, so that a receiver measuring the latency
+ * based on the sender time also accounts for the time messages have been held back because of missing
+ * credit (i.e. the latency is not subject to <em>coordinated omission</em>). Each sample then covers
+ * the messages sent during a fixed interval.
+ * <p>
+ * If the sampler is configured with more than one device, the sender simulates a {@link DeviceFleet}
+ * and sends each message for the fleet's next device, in both modes.
  */
 public class HonoSender extends AbstractClient {
 
     private static final int MAX_RECONNECT_ATTEMPTS      = 0;
     private static final Logger LOGGER = LoggerFactory.getLogger(HonoSender.class);
     private static final int MAX_MESSAGES_PER_BATCH_SEND = 300;
+    private static final long OPEN_LOOP_SAMPLE_INTERVAL_MILLIS = 1000;
+    private static final long OPEN_LOOP_TICK_MILLIS = 5;
 
     private final AtomicBoolean  running = new AtomicBoolean(false);
 
@@ -58,13 +73,28 @@ public class HonoSender extends AbstractClient {
     private HonoClient         registrationHonoClient;
     private RegistrationClient registrationClient;
 
-    private String             token;
+    private DeviceFleet        fleet;
     private MessageSender      messageSender;
     private Vertx              vertx = vertx();
     private HonoSenderSampler  sampler;
 
+    // open loop mode
+    private final double       messageRate;
+    private final LongAdder    openLoopMessagesSent = new LongAdder();
+    private final LongAdder    openLoopBytesSent = new LongAdder();
+    private final LatencyHistogram sendDelay = new LatencyHistogram();
+    private Context            openLoopContext;
+    private long               openLoopTimerId;
+    private long               scheduleStartNanos;
+    private long               scheduleStartMillis;
+    private volatile long      messagesScheduled;
+    private long               nextSampleMillis;
+    private String             openLoopPayload;
+    private JsonObject         openLoopPayloadTemplate;
+
     public HonoSender(final HonoSenderSampler sampler) throws InterruptedException {
         this.sampler = sampler;
+        this.messageRate = parseMessageRate(sampler.getMessageRate());
 
         // hono config
         honoConnectionFactory = ConnectionFactoryImpl.ConnectionFactoryBuilder.newBuilder()
@@ -94,10 +124,9 @@ public class HonoSender extends AbstractClient {
 
         connectRegistry();
         createRegistrationClient();
-        createDevice();
+        createFleet();
 
         connect();
-        updateAssertion();
         createSender();
         running.compareAndSet(false, true);
         LOGGER.debug("sender active: {}/{} ({})",sampler.getEndpoint(),sampler.getTenant(),Thread.currentThread().getName());
@@ -169,6 +198,188 @@ public class HonoSender extends AbstractClient {
         senderLatch.await();
     }
 
+    private static double parseMessageRate(final String messageRate) {
+        if (messageRate == null || messageRate.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Double.parseDouble(messageRate));
+        } catch (NumberFormatException e) {
+            LOGGER.error("message rate value is not a number - use closed loop mode");
+            return 0;
+        }
+    }
+
+    private static int parseInt(final String value, final String name, final int defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            LOGGER.error("{} value is not an integer - use {}", name, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private static double parseChurn(final String churn) {
+        if (churn == null || churn.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Double.parseDouble(churn);
+        } catch (NumberFormatException e) {
+            LOGGER.error("device churn value is not a number - use 0");
+            return 0;
+        }
+    }
+
+    /**
+     * Checks if this sender sends messages from a fixed rate schedule.
+     *
+     * @return {@code true} if a message rate has been configured.
+     */
+    public boolean isOpenLoop() {
+        return messageRate > 0;
+    }
+
+    /**
+     * Reports the messages sent in open loop mode during the next sample interval.
+     * <p>
+     * The schedule is started on the first invocation. This method blocks until the
+     * end of the sample interval. The sample's response message contains the
+     * percentiles of the delay between the time messages were intended to be sent at
+     * and the time they have actually been sent, in milliseconds, and the number
+     * of messages being overdue because of missing credit.
+     *
+     * @param sampleResult The result to report to.
+     * @throws InterruptedException if the thread has been interrupted while waiting for
+     *                              the end of the interval.
+     */
+    public void sendOpenLoop(final SampleResult sampleResult) throws InterruptedException {
+
+        if (messageSender == null) {
+            LOGGER.warn("messsage sender is null, trying to create it lazily ...");
+            createSender();
+        }
+        if (messageSender == null || fleet == null) {
+            final String error = "sender link could not be established";
+            sampleResult.setResponseMessage(error);
+            sampleResult.setSuccessful(false);
+            LOGGER.error(error);
+            return;
+        }
+
+        if (openLoopContext == null) {
+            startSchedule();
+        }
+        final long intervalStart = nextSampleMillis;
+        nextSampleMillis += OPEN_LOOP_SAMPLE_INTERVAL_MILLIS;
+        final long wait = nextSampleMillis - System.currentTimeMillis();
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+
+        final long messagesSent = openLoopMessagesSent.sumThenReset();
+        final LatencyHistogram delay = sendDelay.drain();
+        final long due = (long) ((System.nanoTime() - scheduleStartNanos) / 1e9 * messageRate);
+        final long overdue = Math.max(0, due - messagesScheduled);
+
+        sampleResult.setStampAndTime(intervalStart, nextSampleMillis - intervalStart);
+        sampleResult.setSampleCount((int) messagesSent);
+        sampleResult.setSentBytes(openLoopBytesSent.sumThenReset());
+        sampleResult.setResponseMessage(MessageFormat.format(
+                "{0}/{1}: sent {2} messages, send delay p50: {3}, p99: {4}, p99.9: {5}, max: {6}, overdue: {7}",
+                sampler.getEndpoint(), sampler.getTenant(), messagesSent, delay.getValueAtPercentile(50),
+                delay.getValueAtPercentile(99), delay.getValueAtPercentile(99.9), delay.getMax(), overdue));
+        LOGGER.info("{}: sent {} messages in open loop mode ({} overdue)", sampler.getThreadName(), messagesSent, overdue);
+    }
+
+    private void startSchedule() {
+
+        openLoopPayload = sampler.getData();
+        openLoopPayloadTemplate = getPayloadTemplate(openLoopPayload);
+        openLoopContext = vertx.getOrCreateContext();
+        nextSampleMillis = System.currentTimeMillis();
+        final CountDownLatch started = new CountDownLatch(1);
+        openLoopContext.runOnContext(start -> {
+            scheduleStartNanos = System.nanoTime();
+            scheduleStartMillis = System.currentTimeMillis();
+            openLoopTimerId = vertx.setPeriodic(OPEN_LOOP_TICK_MILLIS, tick -> sendScheduledMessages());
+            started.countDown();
+        });
+        try {
+            started.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("{}: started sending {} messages/s for {} devices", sampler.getThreadName(), messageRate, fleet.size());
+    }
+
+    /**
+     * Gets the template for payloads carrying the sender time.
+     * <p>
+     * The payload configured for the sampler is evaluated once only in open loop mode.
+     * A sender time contained in the payload would therefore be the same for all messages.
+     * If the sender time is to be set and the payload is a JSON object containing a
+     * <em>timeStamp</em> member, that member is replaced with the time each
+     * message was intended to be sent at instead.
+     *
+     * @param payload The configured payload.
+     * @return The template or {@code null} if the payload does not carry the sender time.
+     */
+    private JsonObject getPayloadTemplate(final String payload) {
+
+        if (sampler.isSetSenderTime() && payload != null && payload.trim().startsWith("{")) {
+            try {
+                final JsonObject template = new JsonObject(payload);
+                if (template.containsKey(TIME_STAMP_VARIABLE)) {
+                    LOGGER.info("{}: setting sender time in payload member [{}]", sampler.getThreadName(), TIME_STAMP_VARIABLE);
+                    return template;
+                }
+            } catch (DecodeException e) {
+                LOGGER.debug("payload is not a JSON object, sending it unchanged");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sends all messages that are due according to the schedule.
+     * <p>
+     * Messages which cannot be sent because of missing credit stay due and
+     * are sent as soon as credit has been replenished, still carrying the
+     * time they have been intended to be sent at.
+     */
+    private void sendScheduledMessages() {
+
+        if (!running.get()) {
+            return;
+        }
+        final long due = (long) ((System.nanoTime() - scheduleStartNanos) / 1e9 * messageRate);
+        long scheduled = messagesScheduled;
+        while (scheduled < due) {
+            if (messageSender.sendQueueFull()) {
+                messageSender.sendQueueDrainHandler(replenished -> sendScheduledMessages());
+                break;
+            }
+            final long intendedTime = scheduleStartMillis + (long) (scheduled * 1000 / messageRate);
+            final String deviceId = fleet.next();
+            final Map<String, Object> properties = new HashMap<>();
+            if (sampler.isSetSenderTime()) {
+                properties.put(TIME_STAMP_VARIABLE, intendedTime);
+            }
+            final String payload = openLoopPayloadTemplate == null ? openLoopPayload
+                    : openLoopPayloadTemplate.copy().put(TIME_STAMP_VARIABLE, intendedTime).encode();
+            messageSender.send(deviceId, properties, payload, sampler.getContentType(), fleet.getAssertion(deviceId));
+            scheduled++;
+            openLoopMessagesSent.increment();
+            openLoopBytesSent.add(payload.getBytes(StandardCharsets.UTF_8).length);
+            sendDelay.record(System.currentTimeMillis() - intendedTime);
+        }
+        messagesScheduled = scheduled;
+    }
+
     public void send(final SampleResult sampleResult, final String deviceId, final boolean waitOnCredits) throws InterruptedException {
 
         if (messageSender == null) {
@@ -177,7 +388,7 @@ public class HonoSender extends AbstractClient {
         }
 
         try {
-            if (messageSender != null) {
+            if (messageSender != null && fleet != null) {
 
                 final AtomicInteger messagesSent = new AtomicInteger(0);
                 final AtomicLong bytesSent = new AtomicLong(0);
@@ -199,7 +410,9 @@ public class HonoSender extends AbstractClient {
                             if (sampler.isSetSenderTime()) {
                                 properties.put(TIME_STAMP_VARIABLE, System.currentTimeMillis());
                             }
-                            messageSender.send(deviceId, properties, sampler.getData(), sampler.getContentType(), token, (Handler<Void>) null);
+                            final String messageDeviceId = nextDeviceId(deviceId);
+                            messageSender.send(messageDeviceId, properties, sampler.getData(), sampler.getContentType(),
+                                    fleet.getAssertion(messageDeviceId), (Handler<Void>) null);
                             bytesSent.addAndGet(messageLength);
                             messagesSent.incrementAndGet();
                             if (LOGGER.isDebugEnabled()) {
@@ -231,8 +444,9 @@ public class HonoSender extends AbstractClient {
                     }
 
                     // mark send as error when we have no credits
-                    boolean messageAccepted = messageSender.send(deviceId, properties, sampler.getData(),
-                            sampler.getContentType(), token);
+                    final String messageDeviceId = nextDeviceId(deviceId);
+                    boolean messageAccepted = messageSender.send(messageDeviceId, properties, sampler.getData(),
+                            sampler.getContentType(), fleet.getAssertion(messageDeviceId));
 
                     if (messageAccepted) {
                         bytesSent.addAndGet(messageLength);
@@ -266,54 +480,26 @@ public class HonoSender extends AbstractClient {
         }
     }
 
-    private void createDevice() throws InterruptedException {
-        if (registrationClient != null) {
-            CountDownLatch latch = new CountDownLatch(1);
-            JsonObject data = new JsonObject("{ \"type\": \"jmeter test device\" }");
-            registrationClient.register(sampler.getDeviceId(), data, assertHandler -> {
-                if (assertHandler.failed()) {
-                    LOGGER.error("RegistrationClient.register() failed", assertHandler.cause());
-                }
-                latch.countDown();
-            });
-            latch.await();
-            LOGGER.debug("created device: {}",sampler.getDeviceId());
-        } else {
-            LOGGER.debug("device could not be created - registrationClient is NULL: {}",sampler.getDeviceId());
-        }
-    }
-
-    private void removeDevice() throws InterruptedException {
-        if (registrationClient != null) {
-            CountDownLatch latch = new CountDownLatch(1);
-            registrationClient.deregister(sampler.getDeviceId(), assertHandler -> {
-                if (assertHandler.failed()) {
-                    LOGGER.error("RegistrationClient.deregister() failed", assertHandler.cause());
-                }
-                latch.countDown();
-            });
-            latch.await();
-            LOGGER.debug("removed device: {}",sampler.getDeviceId());
-        } else {
-            LOGGER.debug("device could not be removed - registrationClient is NULL: {}",sampler.getDeviceId());
-        }
+    /**
+     * Gets the device to send the next message in closed loop mode for.
+     *
+     * @param deviceId The device ID configured for the sample.
+     * @return The given device ID if the fleet consists of a single device only,
+     *         otherwise the fleet's next device.
+     */
+    private String nextDeviceId(final String deviceId) {
+        return fleet.size() == 1 ? deviceId : fleet.next();
     }
 
-    private void updateAssertion() throws InterruptedException {
+    private void createFleet() throws InterruptedException {
         if (registrationClient != null) {
-            CountDownLatch latch = new CountDownLatch(1);
-            registrationClient.assertRegistration(sampler.getDeviceId(), assertHandler -> {
-                if (assertHandler.failed()) {
-                    LOGGER.error("RegistrationClient.assertRegistration() failed", assertHandler.cause());
-                } else {
-                    token = assertHandler.result().getPayload().getString(RegistrationConstants.FIELD_ASSERTION);
-                }
-                latch.countDown();
-            });
-            latch.await();
-            LOGGER.debug("updated assertion: {} for device: {}",token,sampler.getDeviceId());
+            fleet = new DeviceFleet(vertx, registrationClient, sampler.getDeviceId(),
+                    Math.max(1, parseInt(sampler.getDevices(), "devices", 1)));
+            fleet.provision();
+            fleet.startChurn(parseChurn(sampler.getDeviceChurn()));
+            LOGGER.debug("created fleet of {} devices: {}", fleet.size(), sampler.getDeviceId());
         } else {
-            LOGGER.debug("assertion could not be updated - registrationClient is NULL: {}",sampler.getDeviceId());
+            LOGGER.debug("devices could not be created - registrationClient is NULL: {}", sampler.getDeviceId());
         }
     }
 
@@ -321,6 +507,9 @@ public class HonoSender extends AbstractClient {
 
         if (running.compareAndSet(true, false)) {
             try {
+                if (openLoopContext != null) {
+                    openLoopContext.runOnContext(stop -> vertx.cancelTimer(openLoopTimerId));
+                }
                 final CountDownLatch closeLatch = new CountDownLatch(1);
                 messageSender.close(closeAttempt -> {
                     if (closeAttempt.succeeded()) {
@@ -330,7 +519,11 @@ public class HonoSender extends AbstractClient {
                 if (!closeLatch.await(5, TimeUnit.SECONDS)) {
                     LOGGER.warn("could not close sender properly, shutting down connection ...");
                 }
-                removeDevice();
+                if (fleet != null) {
+                    LOGGER.info("{}: removing {} devices ({} assertions refreshed, {} devices replaced)",
+                            sampler.getThreadName(), fleet.size(), fleet.getAssertionRefreshes(), fleet.getDevicesReplaced());
+                    fleet.deprovision();
+                }
                 registrationHonoClient.shutdown();
                 honoClient.shutdown();
                 vertx.close();
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.jmeter.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies that can be updated concurrently without locking.
+ * <p>
+ * Values are counted in buckets whose width grows with the magnitude of the values
+ * so that every value is recorded with a relative error of less than 2%, similar to an
+ * <em>HdrHistogram</em> with two significant digits. Values of up to 2<sup>47</sup>
+ * (e.g. more than a day in nanoseconds) can be recorded, larger values are counted in the
+ * highest bucket. The unit of the recorded values is up to the caller.
+ * <p>
+ * The values recorded during an interval can be retrieved using {@link #drain()}
+ * which moves them to a new histogram while recording continues.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+    private static final int MAX_SHIFT = 40;
+    private static final int BUCKETS = LINEAR_BUCKETS + MAX_SHIFT * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param value The latency. Negative values (e.g. caused by clock skew between
+     *              sender and receiver) are recorded as zero.
+     */
+    public void record(final long value) {
+
+        final long latency = Math.max(0, value);
+        counts.incrementAndGet(indexOf(latency));
+        long currentMax = max.get();
+        while (latency > currentMax && !max.compareAndSet(currentMax, latency)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Moves all values recorded so far to a new histogram.
+     * <p>
+     * Values being recorded concurrently end up either in the returned histogram
+     * or in this one but are never lost.
+     *
+     * @return The histogram containing the values recorded since the last invocation.
+     */
+    public LatencyHistogram drain() {
+
+        final LatencyHistogram interval = new LatencyHistogram();
+        for (int i = 0; i < BUCKETS; i++) {
+            final long count = counts.getAndSet(i, 0);
+            if (count > 0) {
+                interval.counts.set(i, count);
+            }
+        }
+        interval.max.set(max.getAndSet(0));
+        return interval;
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return The number of values.
+     */
+    public long getCount() {
+
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return The value.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the value at a given percentile.
+     * <p>
+     * The returned value is the upper bound of the bucket containing the percentile.
+     *
+     * @param percentile The percentile, e.g. 99.9.
+     * @return The value or 0 if no values have been recorded.
+     * @throws IllegalArgumentException if the percentile is not within [0, 100].
+     */
+    public long getValueAtPercentile(final double percentile) {
+
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be within [0, 100]");
+        }
+        final long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                // the highest bucket also contains all values exceeding its range
+                return i == BUCKETS - 1 ? max.get() : Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private static int indexOf(final long value) {
+
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        if (shift > MAX_SHIFT) {
+            return BUCKETS - 1;
+        }
+        final int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueOf(final int index) {
+
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        final int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        final long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
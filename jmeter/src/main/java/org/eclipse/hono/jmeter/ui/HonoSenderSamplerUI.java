@@ -29,6 +29,12 @@ public class HonoSenderSamplerUI extends HonoSamplerUI {
     private final JCheckBox              waitForCredits          = new JCheckBox("Wait for credits");
     private final JLabeledTextField      contentType             = new JLabeledTextField("Content type");
     private final JLabeledTextArea       data                    = new JLabeledTextArea("Message data");
+    private final JLabeledTextField      messageRate             = new JLabeledTextField(
+            "Open loop: messages per second (empty or 0 for closed loop batches)");
+    private final JLabeledTextField      devices                 = new JLabeledTextField(
+            "Number of simulated devices");
+    private final JLabeledTextField      deviceChurn             = new JLabeledTextField(
+            "New devices per second (churn)");
     private final JLabeledTextField      waitForReceivers        = new JLabeledTextField(
             "Wait on n active receivers in VM (e.g. from other threads)");
     private final JLabeledTextField      waitForReceiversTimeout = new JLabeledTextField(
@@ -44,6 +50,9 @@ public class HonoSenderSamplerUI extends HonoSamplerUI {
         addOption(setSenderTime);
         addOption(waitForReceivers);
         addOption(waitForReceiversTimeout);
+        addOption(messageRate);
+        addOption(devices);
+        addOption(deviceChurn);
         addOption(contentType);
         addOption(data);
     }
@@ -69,6 +78,9 @@ public class HonoSenderSamplerUI extends HonoSamplerUI {
         sampler.setWaitForCredits(waitForCredits.isSelected());
         sampler.setWaitForReceivers(waitForReceivers.getText());
         sampler.setWaitForReceiversTimeout(waitForReceiversTimeout.getText());
+        sampler.setMessageRate(messageRate.getText());
+        sampler.setDevices(devices.getText());
+        sampler.setDeviceChurn(deviceChurn.getText());
         sampler.setContentType(contentType.getText());
         sampler.setData(data.getText());
         // registry server
@@ -86,6 +98,9 @@ public class HonoSenderSamplerUI extends HonoSamplerUI {
         deviceId.setText(sampler.getDeviceId());
         waitForReceivers.setText(sampler.getWaitForReceivers());
         waitForReceiversTimeout.setText(sampler.getWaitForReceiversTimeout());
+        messageRate.setText(sampler.getMessageRate());
+        devices.setText(sampler.getDevices());
+        deviceChurn.setText(sampler.getDeviceChurn());
         setSenderTime.setSelected(sampler.isSetSenderTime());
         waitForCredits.setSelected(sampler.isWaitForCredits());
         contentType.setText(sampler.getContentType());
@@ -108,6 +123,9 @@ public class HonoSenderSamplerUI extends HonoSamplerUI {
         waitForCredits.setSelected(true);
         waitForReceivers.setText("0");
         waitForReceiversTimeout.setText("5000");
+        messageRate.setText("");
+        devices.setText("1");
+        deviceChurn.setText("0");
         // registry server
         registryServerOptions.clearGui();
     }
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.jmeter.client;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests verifying behavior of {@link LatencyHistogram}.
+ *
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Verifies that small values are recorded exactly.
+     */
+    @Test
+    public void testSmallValuesAreRecordedExactly() {
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 128; i++) {
+            histogram.record(i);
+        }
+        assertThat(histogram.getCount(), is(128L));
+        assertThat(histogram.getValueAtPercentile(0), is(0L));
+        assertThat(histogram.getValueAtPercentile(50), is(63L));
+        assertThat(histogram.getValueAtPercentile(100), is(127L));
+        assertThat(histogram.getMax(), is(127L));
+    }
+
+    /**
+     * Verifies that values at and around the bucket boundaries are reported with
+     * a relative error of less than 2%.
+     */
+    @Test
+    public void testValuesAroundBucketBoundariesAreRecordedPrecisely() {
+
+        for (int shift = 7; shift < 47; shift++) {
+            final long boundary = 1L << shift;
+            for (long value : new long[] { boundary - 1, boundary, boundary + 1, boundary + boundary / 2 }) {
+                final LatencyHistogram histogram = new LatencyHistogram();
+                histogram.record(value);
+                // add a larger value so that the result is not capped by the maximum
+                histogram.record(value * 4);
+                final long reported = histogram.getValueAtPercentile(50);
+                assertTrue("reported value " + reported + " is smaller than " + value, reported >= value);
+                assertTrue("reported value " + reported + " is not within 2% of " + value,
+                        reported - value < value / 50);
+            }
+        }
+    }
+
+    /**
+     * Verifies that values exceeding the range of the histogram are counted
+     * in the highest bucket and are reported as the maximum value.
+     */
+    @Test
+    public void testLargeValuesAreCountedInHighestBucket() {
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        assertThat(histogram.getCount(), is(1L));
+        assertThat(histogram.getValueAtPercentile(99.9), is(Long.MAX_VALUE));
+    }
+
+    /**
+     * Verifies that negative values are recorded as zero.
+     */
+    @Test
+    public void testNegativeValuesAreRecordedAsZero() {
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertThat(histogram.getValueAtPercentile(100), is(0L));
+        assertThat(histogram.getMax(), is(0L));
+    }
+
+    /**
+     * Verifies that percentiles are computed based on the rank of the values.
+     */
+    @Test
+    public void testGetValueAtPercentile() {
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getValueAtPercentile(99), is(0L));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertWithinTwoPercent(500, histogram.getValueAtPercentile(50));
+        assertWithinTwoPercent(990, histogram.getValueAtPercentile(99));
+        assertWithinTwoPercent(999, histogram.getValueAtPercentile(99.9));
+        assertThat(histogram.getValueAtPercentile(100), is(1000L));
+    }
+
+    /**
+     * Verifies that percentiles outside of [0, 100] are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetValueAtPercentileRejectsInvalidPercentile() {
+        new LatencyHistogram().getValueAtPercentile(100.1);
+    }
+
+    /**
+     * Verifies that draining the histogram moves all recorded values to the
+     * returned histogram.
+     */
+    @Test
+    public void testDrainMovesRecordedValues() {
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(20);
+
+        final LatencyHistogram interval = histogram.drain();
+        assertThat(interval.getCount(), is(2L));
+        assertThat(interval.getMax(), is(20L));
+        assertThat(histogram.getCount(), is(0L));
+        assertThat(histogram.getMax(), is(0L));
+
+        histogram.record(5);
+        assertThat(histogram.drain().getValueAtPercentile(100), is(5L));
+    }
+
+    private static void assertWithinTwoPercent(final long expected, final long actual) {
+        assertTrue("expected " + expected + " but was " + actual,
+                actual >= expected && actual - expected <= expected / 50);
+    }
+}
@@ -19,6 +19,7 @@ import org.eclipse.hono.client.impl.HonoClientImpl;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.connection.ConnectionFactory;
 import org.eclipse.hono.connection.ConnectionFactoryImpl;
+import org.eclipse.hono.connection.ReconnectPolicy;
 import org.eclipse.hono.service.metric.MetricConfig;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.CredentialsConstants;
@@ -126,7 +127,7 @@ public abstract class AbstractAdapterConfig {
     @Bean
     @Scope("prototype")
     public HonoClient messagingClient() {
-        return new HonoClientImpl(vertx(), messagingConnectionFactory());
+        return newClient(messagingConnectionFactory());
     }
 
     /**
@@ -182,7 +183,7 @@ public abstract class AbstractAdapterConfig {
     @Qualifier(RegistrationConstants.REGISTRATION_ENDPOINT)
     @Scope("prototype")
     public HonoClient registrationServiceClient() {
-        return new HonoClientImpl(vertx(), registrationServiceConnectionFactory());
+        return newClient(registrationServiceConnectionFactory());
     }
 
     /**
@@ -243,6 +244,35 @@ public abstract class AbstractAdapterConfig {
     @Scope("prototype")
     @ConditionalOnProperty(prefix = "hono.credentials", name = "host")
     public HonoClient credentialsServiceClient() {
-        return new HonoClientImpl(vertx(), credentialsServiceConnectionFactory());
+        return newClient(credentialsServiceConnectionFactory());
+    }
+
+    /**
+     * Creates a client for a connection factory.
+     * <p>
+     * Each client uses its own policy for re-establishing its connection so that
+     * the backoff and circuit breaker state of one connection does not affect
+     * the other connections.
+     *
+     * @param connectionFactory The factory to use for connecting to the service.
+     * @return The client.
+     */
+    private HonoClient newClient(final ConnectionFactory connectionFactory) {
+        final HonoClientImpl client = new HonoClientImpl(vertx(), connectionFactory);
+        client.setReconnectPolicy(newReconnectPolicy());
+        return client;
+    }
+
+    /**
+     * Creates the policy to use by a client for re-establishing its connection.
+     * <p>
+     * This method is invoked once for each client. The default implementation returns
+     * a policy using default values. Subclasses may override this method to customize
+     * the policy.
+     *
+     * @return A new policy instance.
+     */
+    protected ReconnectPolicy newReconnectPolicy() {
+        return new ReconnectPolicy();
     }
 }
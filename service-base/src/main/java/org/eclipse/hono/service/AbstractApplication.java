@@ -97,6 +97,15 @@ public class AbstractApplication implements ApplicationRunner {
         this.config = Objects.requireNonNull(config);
     }
 
+    /**
+     * Gets the application configuration properties used for this service.
+     *
+     * @return The properties.
+     */
+    protected final ApplicationConfigProperties getApplicationConfiguration() {
+        return config;
+    }
+
     /**
      * Starts up this application.
      * <p>
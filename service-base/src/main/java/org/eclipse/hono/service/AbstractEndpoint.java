@@ -13,6 +13,7 @@ package org.eclipse.hono.service;
 
 import java.util.Objects;
 
+import org.eclipse.hono.util.RequestResponseApiConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +35,8 @@ public abstract class AbstractEndpoint implements Endpoint {
      */
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
+    private int servicePartitions = 1;
+
     /**
      * Creates an endpoint for a Vertx instance.
      * 
@@ -44,6 +47,44 @@ public abstract class AbstractEndpoint implements Endpoint {
         this.vertx = Objects.requireNonNull(vertx);
     }
 
+    /**
+     * Sets the number of partitions that the service implementation
+     * this endpoint forwards requests to is split into.
+     * <p>
+     * The default value of this property is 1.
+     *
+     * @param partitions The number of partitions.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setServicePartitions(final int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("number of partitions must be > 0");
+        }
+        this.servicePartitions = partitions;
+    }
+
+    /**
+     * Gets the number of partitions that the service implementation
+     * this endpoint forwards requests to is split into.
+     *
+     * @return The number of partitions.
+     */
+    public final int getServicePartitions() {
+        return servicePartitions;
+    }
+
+    /**
+     * Gets the event bus address of the service instance that is responsible
+     * for processing requests regarding a tenant.
+     *
+     * @param baseAddress The address the service listens on if it is not partitioned.
+     * @param tenantId The tenant.
+     * @return The address.
+     */
+    protected final String getServiceAddress(final String baseAddress, final String tenantId) {
+        return RequestResponseApiConstants.getEventBusAddress(baseAddress, tenantId, servicePartitions);
+    }
+
     @Override
     public final void start(final Future<Void> startFuture) {
         if (vertx == null) {
@@ -12,12 +12,15 @@
 package org.eclipse.hono.service;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.hono.client.HonoClient;
 import org.eclipse.hono.client.MessageSender;
 import org.eclipse.hono.client.RegistrationClient;
-import org.eclipse.hono.config.ServiceConfigProperties;
+import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.auth.device.HonoClientBasedAuthProvider;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.RegistrationConstants;
@@ -30,6 +33,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.healthchecks.HealthCheckHandler;
 import io.vertx.ext.healthchecks.Status;
 import io.vertx.proton.ProtonClientOptions;
@@ -39,14 +43,19 @@ import io.vertx.proton.ProtonConnection;
  * A base class for implementing protocol adapters.
  * <p>
  * Provides connections to device registration and telemetry and event service endpoints.
+ * <p>
+ * Once connected, the clients for the {@linkplain ProtocolAdapterProperties#setWarmUpTenants(List) warm-up tenants}
+ * are opened. The adapter does not report itself as being ready before this warm-up has completed.
  * 
  * @param <T> The type of configuration properties used by this service.
  */
-public abstract class AbstractProtocolAdapterBase<T extends ServiceConfigProperties> extends AbstractServiceBase<T> {
+public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterProperties> extends AbstractServiceBase<T> {
 
     private HonoClient messaging;
     private HonoClient registration;
     private HonoClientBasedAuthProvider credentialsAuthProvider;
+    private final AtomicBoolean warmUpStarted = new AtomicBoolean();
+    private volatile boolean warmUpCompleted;
 
     /**
      * Sets the configuration by means of Spring dependency injection.
@@ -133,6 +142,7 @@ public abstract class AbstractProtocolAdapterBase<T extends ServiceConfigPropert
         } else if (credentialsAuthProvider == null) {
             result.fail(new IllegalStateException("Credentials Authentication Provider must be set"));
         } else {
+            warmUpCompleted = getConfig().getWarmUpTenants().isEmpty();
             doStart(result);
         }
         return result;
@@ -187,6 +197,7 @@ public abstract class AbstractProtocolAdapterBase<T extends ServiceConfigPropert
             if (connectHandler != null) {
                 connectHandler.handle(Future.succeededFuture(messaging));
             }
+            warmUp();
         } else {
             messaging.connect(createClientOptions(), connectAttempt -> {
                 if (connectHandler != null) {
@@ -194,28 +205,31 @@ public abstract class AbstractProtocolAdapterBase<T extends ServiceConfigPropert
                 } else {
                     LOG.debug("connected to Hono Messaging");
                 }
+                if (connectAttempt.succeeded()) {
+                    warmUp();
+                }
             }, this::onDisconnectMessaging
             );
         }
     }
 
     /**
-     * Attempts a reconnect for the Hono Messaging client after {@link Constants#DEFAULT_RECONNECT_INTERVAL_MILLIS} milliseconds.
+     * Attempts a reconnect for the Hono Messaging client.
+     * <p>
+     * Failed attempts are retried by the client according to its reconnect policy.
      *
      * @param con The connection that was disonnected.
      */
     private void onDisconnectMessaging(final ProtonConnection con) {
 
-        vertx.setTimer(Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS, reconnect -> {
-            LOG.info("attempting to reconnect to Hono Messaging");
-            messaging.connect(createClientOptions(), connectAttempt -> {
-                if (connectAttempt.succeeded()) {
-                    LOG.debug("reconnected to Hono Messaging");
-                } else {
-                    LOG.debug("cannot reconnect to Hono Messaging");
-                }
-            }, this::onDisconnectMessaging);
-        });
+        LOG.info("attempting to reconnect to Hono Messaging");
+        messaging.connect(createClientOptions(), connectAttempt -> {
+            if (connectAttempt.succeeded()) {
+                LOG.debug("reconnected to Hono Messaging");
+            } else {
+                LOG.debug("cannot reconnect to Hono Messaging");
+            }
+        }, this::onDisconnectMessaging);
     }
 
     /**
@@ -236,6 +250,7 @@ public abstract class AbstractProtocolAdapterBase<T extends ServiceConfigPropert
             if (connectHandler != null) {
                 connectHandler.handle(Future.succeededFuture(registration));
             }
+            warmUp();
         } else {
             registration.connect(createClientOptions(), connectAttempt -> {
                 if (connectHandler != null) {
@@ -243,27 +258,30 @@ public abstract class AbstractProtocolAdapterBase<T extends ServiceConfigPropert
                 } else {
                     LOG.debug("connected to Device Registration service");
                 }
+                if (connectAttempt.succeeded()) {
+                    warmUp();
+                }
             }, this::onDisconnectDeviceRegistry);
         }
     }
 
     /**
-     * Attempts a reconnect for the Hono Device Registration client after {@link Constants#DEFAULT_RECONNECT_INTERVAL_MILLIS} milliseconds.
+     * Attempts a reconnect for the Hono Device Registration client.
+     * <p>
+     * Failed attempts are retried by the client according to its reconnect policy.
      *
      * @param con The connection that was disonnected.
      */
     private void onDisconnectDeviceRegistry(final ProtonConnection con) {
 
-        vertx.setTimer(Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS, reconnect -> {
-            LOG.info("attempting to reconnect to Device Registration service");
-            registration.connect(createClientOptions(), connectAttempt -> {
-                if (connectAttempt.succeeded()) {
-                    LOG.debug("reconnected to Device Registration service");
-                } else {
-                    LOG.debug("cannot reconnect to Device Registration service");
-                }
-            }, this::onDisconnectDeviceRegistry);
-        });
+        LOG.info("attempting to reconnect to Device Registration service");
+        registration.connect(createClientOptions(), connectAttempt -> {
+            if (connectAttempt.succeeded()) {
+                LOG.debug("reconnected to Device Registration service");
+            } else {
+                LOG.debug("cannot reconnect to Device Registration service");
+            }
+        }, this::onDisconnectDeviceRegistry);
     }
 
     private ProtonClientOptions createClientOptions() {
@@ -284,6 +302,79 @@ public abstract class AbstractProtocolAdapterBase<T extends ServiceConfigPropert
                 registration != null && registration.isConnected();
     }
 
+    /**
+     * Checks if the clients for the {@linkplain ProtocolAdapterProperties#setWarmUpTenants(List) warm-up tenants}
+     * have been opened.
+     * 
+     * @return {@code true} if no warm-up tenants are configured or if the clients have been opened
+     *         or the warm-up timeout has expired.
+     */
+    protected final boolean isWarmUpCompleted() {
+        return warmUpCompleted;
+    }
+
+    /**
+     * Opens the senders and clients for the warm-up tenants once this adapter is connected
+     * to Hono Messaging and the Device Registration service.
+     * <p>
+     * The warm-up is done only once. Clients that cannot be opened are created on demand later on.
+     */
+    private void warmUp() {
+
+        final List<String> tenants = getConfig().getWarmUpTenants();
+        if (tenants.isEmpty() || !isConnected() || !warmUpStarted.compareAndSet(false, true)) {
+            return;
+        }
+
+        LOG.info("opening clients for {} warm-up tenant(s)", tenants.size());
+        final long timeout = getConfig().getWarmUpTimeout();
+        final Long timerId;
+        if (timeout > 0) {
+            timerId = vertx.setTimer(timeout, expired -> {
+                if (!warmUpCompleted) {
+                    LOG.warn("clients for warm-up tenants have not been opened within {}ms", timeout);
+                    warmUpCompleted = true;
+                }
+            });
+        } else {
+            timerId = null;
+            warmUpCompleted = true;
+        }
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> attempts = new ArrayList<>();
+        for (String tenantId : tenants) {
+            attempts.add(warmUp("telemetry sender", tenantId, getTelemetrySender(tenantId)));
+            attempts.add(warmUp("event sender", tenantId, getEventSender(tenantId)));
+            attempts.add(warmUp("registration client", tenantId, getRegistrationClient(tenantId)));
+            final Future<Void> credentialsTracker = Future.future();
+            credentialsAuthProvider.warmUp(tenantId, credentialsTracker.completer());
+            attempts.add(warmUp("credentials client", tenantId, credentialsTracker));
+        }
+        CompositeFuture.all(attempts).setHandler(done -> {
+            if (timerId != null) {
+                vertx.cancelTimer(timerId);
+            }
+            LOG.info("warm-up completed");
+            warmUpCompleted = true;
+        });
+    }
+
+    private Future<Void> warmUp(final String client, final String tenantId, final Future<?> attempt) {
+
+        final Future<Void> result = Future.future();
+        attempt.setHandler(outcome -> {
+            if (outcome.failed()) {
+                LOG.info("cannot open {} for warm-up tenant [{}]: {}", client, tenantId, outcome.cause().getMessage());
+            } else {
+                LOG.debug("opened {} for warm-up tenant [{}]", client, tenantId);
+            }
+            // failures do not prevent the warm-up from completing
+            result.complete();
+        });
+        return result;
+    }
+
     /**
      * Closes the connections to the Hono Messaging component and the Device Registration service.
      * 
@@ -379,15 +470,25 @@ public abstract class AbstractProtocolAdapterBase<T extends ServiceConfigPropert
 
     /**
      * Registers a check that succeeds if this component is connected to Hono Messaging,
-     * the Device Registration and the Credentials service.
+     * the Device Registration and the Credentials service and has completed the warm-up.
+     * <p>
+     * The check's data contains the status of the connections to Hono Messaging and
+     * the Device Registration service as reported by the clients.
      */
     @Override
     public void registerReadinessChecks(final HealthCheckHandler handler) {
         handler.register("connection-to-services", status -> {
-            if (isConnected()) {
-                status.tryComplete(Status.OK());
+            final JsonObject data = new JsonObject();
+            if (messaging != null) {
+                data.put("messaging", new JsonObject(messaging.getConnectionStatus()));
+            }
+            if (registration != null) {
+                data.put("registration", new JsonObject(registration.getConnectionStatus()));
+            }
+            if (isConnected() && isWarmUpCompleted()) {
+                status.tryComplete(Status.OK(data));
             } else {
-                status.tryComplete(Status.KO());
+                status.tryComplete(Status.KO(data));
             }
         });
         if (credentialsAuthProvider != null) {
@@ -316,6 +316,7 @@ public abstract class AbstractServiceBase<T extends ServiceConfigProperties> ext
      * <p>
      * If <em>config</em> contains key &amp; certificate configuration it is added to
      * the given server options and the <em>ssl</em> flag is set to {@code true}.
+     * The TLS engine, protocol and cipher suite configuration is added as well.
      * 
      * @param serverOptions The options to add configuration to.
      */
@@ -325,6 +326,7 @@ public abstract class AbstractServiceBase<T extends ServiceConfigProperties> ext
 
         if (keyCertOptions != null) {
             serverOptions.setSsl(true).setKeyCertOptions(keyCertOptions);
+            getConfig().addTlsEngineOptions(serverOptions);
         }
     }
 }
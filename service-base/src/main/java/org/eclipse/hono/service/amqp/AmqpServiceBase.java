@@ -18,20 +18,32 @@ import io.vertx.core.AsyncResult;
 import io.vertx.proton.*;
 import org.apache.qpid.proton.amqp.transport.AmqpError;
 import org.apache.qpid.proton.amqp.transport.Source;
+import org.apache.qpid.proton.engine.Sasl;
+import org.apache.qpid.proton.engine.Transport;
 import org.eclipse.hono.auth.Activity;
 import org.eclipse.hono.auth.HonoUser;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.service.AbstractServiceBase;
 import org.eclipse.hono.service.auth.AuthorizationService;
 import org.eclipse.hono.service.auth.ClaimsBasedAuthorizationService;
+import org.eclipse.hono.service.auth.HonoSaslAuthenticator;
+import org.eclipse.hono.service.limiting.AdmissionController;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.ResourceIdentifier;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.net.SocketAddress;
 import io.vertx.ext.healthchecks.HealthCheckHandler;
+import io.vertx.proton.impl.ProtonSaslServerAuthenticatorImpl;
+import io.vertx.proton.sasl.ProtonSaslAuthenticator;
 import io.vertx.proton.sasl.ProtonSaslAuthenticatorFactory;
 
 /**
@@ -45,12 +57,19 @@ import io.vertx.proton.sasl.ProtonSaslAuthenticatorFactory;
  */
 public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends AbstractServiceBase<T> {
 
+    private static final String KEY_ADMITTED = "ADMITTED";
+    private static final String KEY_REMOTE_ADDRESS = "REMOTE_ADDRESS";
+
     // <name, node implementation>
     private final Map<String, AmqpEndpoint> endpoints = new HashMap<>();
     private ProtonServer server;
     private ProtonServer insecureServer;
     private ProtonSaslAuthenticatorFactory saslAuthenticatorFactory;
     private AuthorizationService authorizationService;
+    private AdmissionController admissionController;
+    private MetricRegistry metricRegistry = new MetricRegistry();
+    private Counter rejectedConnections;
+    private Counter rejectedLinks;
 
     /**
      * Gets the name of the service, that may be used for the container name on amqp connections e.g.
@@ -58,6 +77,18 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
      */
     protected abstract String getServiceName();
 
+    /**
+     * Gets the prefix of the names of the metrics reported by this service.
+     * <p>
+     * This default implementation returns the lower case service name.
+     * Subclasses should override this method to return the prefix used for the service's other metrics.
+     *
+     * @return The prefix.
+     */
+    protected String getMetricsPrefix() {
+        return getServiceName().toLowerCase(Locale.ROOT);
+    }
+
     @Autowired
     @Qualifier(Constants.QUALIFIER_AMQP)
     @Override
@@ -153,6 +184,19 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
         this.saslAuthenticatorFactory = Objects.requireNonNull(factory);
     }
 
+    /**
+     * Sets the Dropwizard registry to report the number of rejected connections and links to.
+     * <p>
+     * If not set, the numbers are recorded in a registry that is not reported.
+     *
+     * @param metricRegistry The registry.
+     * @throws NullPointerException if registry is {@code null}.
+     */
+    @Autowired(required = false)
+    public final void setMetricRegistry(final MetricRegistry metricRegistry) {
+        this.metricRegistry = Objects.requireNonNull(metricRegistry);
+    }
+
     /**
      * Sets the object to use for authorizing access to resources and operations.
      * 
@@ -172,12 +216,27 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
         return authorizationService;
     }
 
+    /**
+     * Gets the object used for deciding whether new connections and links are admitted.
+     * <p>
+     * The controller is shared by all instances of this service and keeps track of the
+     * number of rejected connections and links. The numbers are also reported as counters
+     * <em>counter.${prefix}.connections.rejected</em> and <em>counter.${prefix}.links.rejected</em>,
+     * see {@link #getMetricsPrefix()}.
+     *
+     * @return The controller or {@code null} if neither connections nor links are limited.
+     */
+    public final AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
     @Override
     public Future<Void> startInternal() {
 
         if (authorizationService == null) {
             authorizationService = new ClaimsBasedAuthorizationService();
         }
+        initAdmissionController();
         return preStartServers()
             .compose(s -> checkPortConfiguration())
             .compose(s -> startEndpoints())
@@ -185,6 +244,19 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
             .compose(s -> startInsecureServer());
     }
 
+    /**
+     * Creates the controller for admitting connections and links if any of the limits is configured.
+     */
+    final void initAdmissionController() {
+
+        if (getConfig().getMaxConnections() > 0 || getConfig().getMaxConnectionsPerAddress() > 0
+                || getConfig().getMaxConnectionsPerSecond() > 0 || getConfig().getMaxLinksPerSecond() > 0) {
+            admissionController = AdmissionController.getOrCreate(vertx, getServiceName(), getConfig());
+            rejectedConnections = metricRegistry.counter(MetricRegistry.name("counter", getMetricsPrefix(), "connections", "rejected"));
+            rejectedLinks = metricRegistry.counter(MetricRegistry.name("counter", getMetricsPrefix(), "links", "rejected"));
+        }
+    }
+
     /**
      * Invoked before binding listeners to the configured socket addresses.
      * <p>
@@ -277,8 +349,30 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
     }
 
     private ProtonServer createProtonServer(final ProtonServerOptions options) {
-        return ProtonServer.create(vertx, options)
-                .saslAuthenticatorFactory(saslAuthenticatorFactory);
+        final ProtonServer protonServer = ProtonServer.create(vertx, options);
+        protonServer.saslAuthenticatorFactory(createSaslAuthenticatorFactory());
+        return protonServer;
+    }
+
+    /**
+     * Creates the factory for the SASL authenticators of the proton servers.
+     * <p>
+     * If connections are limited, the authenticators created by the configured factory (or
+     * vertx-proton's default authenticators) are wrapped so that excess connections are rejected
+     * before spending any effort on authenticating them. This is also the only place where
+     * the client's remote address is available for limiting the connections per host.
+     *
+     * @return The factory or {@code null} if vertx-proton's default factory should be used.
+     */
+    final ProtonSaslAuthenticatorFactory createSaslAuthenticatorFactory() {
+
+        if (admissionController == null) {
+            return saslAuthenticatorFactory;
+        } else if (saslAuthenticatorFactory == null) {
+            return () -> new AdmittingSaslAuthenticator(new ProtonSaslServerAuthenticatorImpl());
+        } else {
+            return () -> new AdmittingSaslAuthenticator(saslAuthenticatorFactory.create());
+        }
     }
 
     /**
@@ -309,6 +403,7 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
         options.setHeartbeat(60000); // // close idle connections after two minutes of inactivity
         options.setReceiveBufferSize(16 * 1024); // 16kb
         options.setSendBufferSize(16 * 1024); // 16kb
+        getConfig().addNetworkOptions(options);
         options.setLogActivity(getConfig().isNetworkDebugLoggingEnabled());
 
         return options;
@@ -483,11 +578,39 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
     }
 
     private void setRemoteConnectionOpenHandler(final ProtonConnection connection) {
+
+        if (!admitConnection(connection)) {
+            LOG.debug("rejecting connection from client [{}], connection limit exceeded",
+                    Constants.getClientPrincipal(connection).getName());
+            HonoSaslAuthenticator.cancelExpiryTimer(connection);
+            connection.disconnectHandler(ProtonConnection::disconnect);
+            connection.closeHandler(remoteClose -> connection.disconnect());
+            connection.openHandler(remoteOpen -> {
+                connection.setCondition(ProtonHelper.condition(AmqpError.RESOURCE_LIMIT_EXCEEDED, "connection limit exceeded"));
+                connection.open();
+                connection.close();
+            });
+            return;
+        }
         connection.sessionOpenHandler(remoteOpenSession -> handleSessionOpen(connection, remoteOpenSession));
-        connection.receiverOpenHandler(remoteOpenReceiver -> handleReceiverOpen(connection, remoteOpenReceiver));
-        connection.senderOpenHandler(remoteOpenSender -> handleSenderOpen(connection, remoteOpenSender));
-        connection.disconnectHandler(this::handleRemoteDisconnect);
-        connection.closeHandler(remoteClose -> handleRemoteConnectionClose(connection, remoteClose));
+        connection.receiverOpenHandler(remoteOpenReceiver -> {
+            if (admitLink(connection, remoteOpenReceiver)) {
+                handleReceiverOpen(connection, remoteOpenReceiver);
+            }
+        });
+        connection.senderOpenHandler(remoteOpenSender -> {
+            if (admitLink(connection, remoteOpenSender)) {
+                handleSenderOpen(connection, remoteOpenSender);
+            }
+        });
+        connection.disconnectHandler(con -> {
+            releaseConnection(con);
+            handleRemoteDisconnect(con);
+        });
+        connection.closeHandler(remoteClose -> {
+            releaseConnection(connection);
+            handleRemoteConnectionClose(connection, remoteClose);
+        });
         connection.openHandler(remoteOpen -> {
             LOG.debug("client [container: {}, user: {}] connected", connection.getRemoteContainer(), Constants.getClientPrincipal(connection).getName());
             connection.open();
@@ -496,6 +619,70 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
         });
     }
 
+    /**
+     * Checks if a connection is admitted by the admission controller.
+     * <p>
+     * Connections that have already been admitted during the SASL handshake are not checked again.
+     *
+     * @param con The connection.
+     * @return {@code true} if the connection is admitted.
+     */
+    private boolean admitConnection(final ProtonConnection con) {
+
+        if (admissionController == null || con.attachments().get(KEY_ADMITTED, Boolean.class) != null) {
+            return true;
+        } else if (admissionController.tryAdmitConnection(con.attachments().get(KEY_REMOTE_ADDRESS, String.class))) {
+            con.attachments().set(KEY_ADMITTED, Boolean.class, Boolean.TRUE);
+            return true;
+        } else {
+            rejectedConnections.inc();
+            return false;
+        }
+    }
+
+    /**
+     * Releases a connection admitted by the admission controller
+     * and cancels the timer for closing the connection when the client's token expires.
+     * <p>
+     * This method may safely be invoked multiple times for the same connection.
+     *
+     * @param con The connection.
+     */
+    private void releaseConnection(final ProtonConnection con) {
+
+        HonoSaslAuthenticator.cancelExpiryTimer(con);
+        if (admissionController != null && Boolean.TRUE.equals(con.attachments().get(KEY_ADMITTED, Boolean.class))) {
+            con.attachments().set(KEY_ADMITTED, Boolean.class, Boolean.FALSE);
+            admissionController.releaseConnection(con.attachments().get(KEY_REMOTE_ADDRESS, String.class));
+        }
+    }
+
+    /**
+     * Checks if a link is admitted by the admission controller.
+     * <p>
+     * The link is closed with AMQP error code <em>amqp:resource-limit-exceeded</em> if it is not admitted.
+     *
+     * @param con The connection that the link belongs to.
+     * @param link The link.
+     * @return {@code true} if the link is admitted.
+     */
+    private boolean admitLink(final ProtonConnection con, final ProtonLink<?> link) {
+
+        if (admissionController == null) {
+            return true;
+        }
+        final String principal = Constants.getClientPrincipal(con).getName();
+        if (admissionController.tryAdmitLink(principal)) {
+            return true;
+        } else {
+            LOG.debug("rejecting link for client [{}, principal: {}], link rate exceeded", con.getRemoteContainer(), principal);
+            rejectedLinks.inc();
+            link.setCondition(ProtonHelper.condition(AmqpError.RESOURCE_LIMIT_EXCEEDED, "link rate exceeded"));
+            link.close();
+            return false;
+        }
+    }
+
     /**
      * Invoked when a client initiates a session (which is then opened in this method).
      * <p>
@@ -587,4 +774,56 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
             ep.registerLivenessChecks(handler);
         }
     }
+
+    /**
+     * A SASL authenticator that rejects connections not admitted by the admission controller
+     * without verifying the client's credentials.
+     * <p>
+     * Rejected clients receive a SASL outcome of <em>sys-temp</em>, indicating that they may retry
+     * the connection attempt later on.
+     */
+    private final class AdmittingSaslAuthenticator implements ProtonSaslAuthenticator {
+
+        private final ProtonSaslAuthenticator delegate;
+        private Sasl sasl;
+        private boolean admitted;
+
+        AdmittingSaslAuthenticator(final ProtonSaslAuthenticator delegate) {
+            this.delegate = Objects.requireNonNull(delegate);
+        }
+
+        @Override
+        public void init(final NetSocket socket, final ProtonConnection protonConnection, final Transport transport) {
+            delegate.init(socket, protonConnection, transport);
+            sasl = transport.sasl();
+            final SocketAddress remoteAddress = socket.remoteAddress();
+            if (remoteAddress != null) {
+                protonConnection.attachments().set(KEY_REMOTE_ADDRESS, String.class, remoteAddress.host());
+            }
+            admitted = admitConnection(protonConnection);
+            if (admitted) {
+                // release connections that get disconnected during authentication
+                protonConnection.disconnectHandler(AmqpServiceBase.this::releaseConnection);
+            } else {
+                LOG.debug("rejecting connection from [{}], connection limit exceeded", socket.remoteAddress());
+            }
+        }
+
+        @Override
+        public void process(final Handler<Boolean> completionHandler) {
+            if (admitted) {
+                delegate.process(completionHandler);
+            } else if (sasl.getRemoteMechanisms().length > 0) {
+                sasl.done(Sasl.SaslOutcome.PN_SASL_TEMP);
+                completionHandler.handle(Boolean.TRUE);
+            } else {
+                completionHandler.handle(Boolean.FALSE);
+            }
+        }
+
+        @Override
+        public boolean succeeded() {
+            return admitted && delegate.succeeded();
+        }
+    }
 }
@@ -23,6 +23,7 @@ import org.eclipse.hono.service.auth.AuthorizationService;
 import org.eclipse.hono.service.auth.ClaimsBasedAuthorizationService;
 import org.eclipse.hono.util.AmqpErrorException;
 import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.JsonObjectReferenceCodec;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.ResourceIdentifier;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -63,6 +64,18 @@ public abstract class RequestResponseEndpoint<T extends ServiceConfigProperties>
         super(Objects.requireNonNull(vertx));
     }
 
+    /**
+     * Registers the {@link JsonObjectReferenceCodec} with the event bus so that subclasses
+     * can use it for exchanging requests and responses with the service implementation.
+     * 
+     * @param startFuture Completes if startup succeeded.
+     */
+    @Override
+    protected void doStart(final Future<Void> startFuture) {
+        JsonObjectReferenceCodec.register(vertx.eventBus());
+        startFuture.complete();
+    }
+
     /**
      * Processes an AMQP message received from a client.
      *
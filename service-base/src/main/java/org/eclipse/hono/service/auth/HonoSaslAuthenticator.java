@@ -26,6 +26,8 @@ import org.apache.qpid.proton.engine.Sasl;
 import org.apache.qpid.proton.engine.Sasl.SaslOutcome;
 import org.apache.qpid.proton.engine.Transport;
 import org.eclipse.hono.auth.HonoUser;
+import org.eclipse.hono.service.auth.HonoSaslAuthenticatorFactory.HonoUserImpl;
+import org.eclipse.hono.service.timer.HashedTimerWheel;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.JwtHelper;
 import org.slf4j.Logger;
@@ -58,8 +60,10 @@ import io.vertx.proton.sasl.ProtonSaslAuthenticator;
 public final class HonoSaslAuthenticator implements ProtonSaslAuthenticator {
 
     private static final Logger   LOG = LoggerFactory.getLogger(HonoSaslAuthenticator.class);
+    private static final String   KEY_EXPIRY_TIMEOUT = "EXPIRY_TIMEOUT";
     private final Vertx           vertx;
     private final AuthenticationService authenticationService;
+    private final HashedTimerWheel expiryTimer;
     private Sasl                  sasl;
     private boolean               succeeded;
     private ProtonConnection      protonConnection;
@@ -73,8 +77,21 @@ public final class HonoSaslAuthenticator implements ProtonSaslAuthenticator {
      * @throws NullPointerException if any of the parameters is {@code null}.
      */
     public HonoSaslAuthenticator(final Vertx vertx, final AuthenticationService authService) {
+        this(vertx, authService, new HashedTimerWheel(vertx));
+    }
+
+    /**
+     * Creates a new authenticator.
+     * 
+     * @param vertx the Vertx environment to run on.
+     * @param authService The service to use for authenticating client.
+     * @param expiryTimer The timer to use for closing connections when the client's token expires.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public HonoSaslAuthenticator(final Vertx vertx, final AuthenticationService authService, final HashedTimerWheel expiryTimer) {
         this.vertx = Objects.requireNonNull(vertx);
         this.authenticationService = Objects.requireNonNull(authService);
+        this.expiryTimer = Objects.requireNonNull(expiryTimer);
     }
 
     @Override
@@ -116,11 +133,15 @@ public final class HonoSaslAuthenticator implements ProtonSaslAuthenticator {
                 if (s.succeeded()) {
 
                     HonoUser user = s.result();
-                    LOG.debug("authentication of client [authorization ID: {}] succeeded", user.getName());
-                    Constants.setClientPrincipal(protonConnection, user);
-                    succeeded = true;
-                    registerTimerForHandlingExpiredToken(user, protonConnection);
-                    sasl.done(SaslOutcome.PN_SASL_OK);
+                    if (registerTimerForHandlingExpiredToken(user, protonConnection)) {
+                        LOG.debug("authentication of client [authorization ID: {}] succeeded", user.getName());
+                        Constants.setClientPrincipal(protonConnection, user);
+                        succeeded = true;
+                        sasl.done(SaslOutcome.PN_SASL_OK);
+                    } else {
+                        LOG.debug("authentication of client [authorization ID: {}] failed, token has already expired", user.getName());
+                        sasl.done(SaslOutcome.PN_SASL_AUTH);
+                    }
 
                 } else {
 
@@ -144,11 +165,25 @@ public final class HonoSaslAuthenticator implements ProtonSaslAuthenticator {
     // Once we are able to refresh tokens using vertx-proton API we will get rid
     // of this ugly hack.
     // TODO refresh tokens properly
-    private void registerTimerForHandlingExpiredToken(final HonoUser user, final ProtonConnection con) {
+    // The connection is closed at a random point in time within the last tenth of the
+    // token's remaining lifetime in order to spread the reconnects of clients that
+    // have been issued tokens at the same time.
+    // Returns false if the token has already expired.
+    private boolean registerTimerForHandlingExpiredToken(final HonoUser user, final ProtonConnection con) {
 
         if (user.getToken() != null) {
-            Duration expiration = Duration.between(Instant.now(), JwtHelper.getExpiration(user.getToken()).toInstant());
-            vertx.setTimer(expiration.toMillis(), tid -> {
+            final Instant expirationTime;
+            if (user instanceof HonoUserImpl) {
+                // no need to parse the token again
+                expirationTime = ((HonoUserImpl) user).getExpirationTime();
+            } else {
+                expirationTime = JwtHelper.getExpiration(user.getToken()).toInstant();
+            }
+            final Duration expiration = Duration.between(Instant.now(), expirationTime);
+            if (expiration.isNegative() || expiration.isZero()) {
+                return false;
+            }
+            final HashedTimerWheel.Timeout timeout = expiryTimer.schedule(expiration, expiration.dividedBy(10), expired -> {
                 LOG.debug("client's [{}] access token has expired, closing connection", user.getName());
                 con.setCondition(ProtonHelper.condition(AmqpError.UNAUTHORIZED_ACCESS, "access token expired")).close();
                 String conId = con.attachments().get(Constants.KEY_CONNECTION_ID, String.class);
@@ -158,6 +193,26 @@ public final class HonoSaslAuthenticator implements ProtonSaslAuthenticator {
                             conId);
                 }
             });
+            con.attachments().set(KEY_EXPIRY_TIMEOUT, HashedTimerWheel.Timeout.class, timeout);
+        }
+        return true;
+    }
+
+    /**
+     * Cancels the timer for closing a connection when the client's token expires.
+     * <p>
+     * This method should be invoked once the connection has been closed in order to
+     * release the resources held by the timer.
+     *
+     * @param con The connection.
+     * @throws NullPointerException if connection is {@code null}.
+     */
+    public static void cancelExpiryTimer(final ProtonConnection con) {
+
+        final HashedTimerWheel.Timeout timeout = Objects.requireNonNull(con).attachments().get(KEY_EXPIRY_TIMEOUT, HashedTimerWheel.Timeout.class);
+        if (timeout != null) {
+            timeout.cancel();
+            con.attachments().set(KEY_EXPIRY_TIMEOUT, HashedTimerWheel.Timeout.class, null);
         }
     }
 
@@ -14,10 +14,13 @@ package org.eclipse.hono.service.auth;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.hono.auth.Authorities;
 import org.eclipse.hono.auth.AuthoritiesImpl;
 import org.eclipse.hono.auth.HonoUser;
+import org.eclipse.hono.service.timer.HashedTimerWheel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,6 +47,7 @@ public final class HonoSaslAuthenticatorFactory implements ProtonSaslAuthenticat
 
     private final AuthenticationService authenticationService;
     private final Vertx vertx;
+    private final HashedTimerWheel expiryTimer;
 
     /**
      * Creates a new factory for a Vertx environment.
@@ -71,26 +75,38 @@ public final class HonoSaslAuthenticatorFactory implements ProtonSaslAuthenticat
     public HonoSaslAuthenticatorFactory(final Vertx vertx, final AuthenticationService authService) {
         this.vertx = Objects.requireNonNull(vertx);
         this.authenticationService = Objects.requireNonNull(authService);
+        this.expiryTimer = new HashedTimerWheel(vertx);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All authenticators created by this factory share a single timer for
+     * closing connections when the client's token expires.
+     */
     @Override
     public ProtonSaslAuthenticator create() {
-        return new HonoSaslAuthenticator(vertx, authenticationService);
+        return new HonoSaslAuthenticator(vertx, authenticationService, expiryTimer);
     }
 
     /**
      * An authentication service that verifies credentials by means of sending authentication
      * requests to address {@link AuthenticationConstants#EVENT_BUS_ADDRESS_AUTHENTICATION_IN}
      * on the Vert.x Event Bus.
-     *
+     * <p>
+     * The tokens contained in the replies are expanded only once. The resulting users are
+     * cached until the tokens expire so that subsequent authentication requests resulting in the
+     * same token do not need to verify the token's signature again.
      */
     public static final class EventBusAuthenticationService implements AuthenticationService {
 
         private static final int AUTH_REQUEST_TIMEOUT_MILLIS = 3000;
+        private static final int MAX_CACHED_TOKENS = 1000;
 
         private final Logger log = LoggerFactory.getLogger(EventBusAuthenticationService.class);
         private final Vertx vertx;
         private final AuthTokenHelper tokenValidator;
+        private final ConcurrentMap<String, HonoUserImpl> expandedTokens = new ConcurrentHashMap<>();
 
         /**
          * Creates a new auth service for a Vertx environment.
@@ -116,9 +132,8 @@ public final class HonoSaslAuthenticatorFactory implements ProtonSaslAuthenticat
                     String token = result.getString(AuthenticationConstants.FIELD_TOKEN);
                     log.debug("received token [length: {}] in response to authentication request", token.length());
                     try {
-                        Jws<Claims> expandedToken = tokenValidator.expand(result.getString(AuthenticationConstants.FIELD_TOKEN));
-                        authenticationResultHandler.handle(Future.succeededFuture(new HonoUserImpl(expandedToken, token)));
-                    } catch (JwtException e) {
+                        authenticationResultHandler.handle(Future.succeededFuture(getUser(token)));
+                    } catch (JwtException | IllegalArgumentException e) {
                         authenticationResultHandler.handle(Future.failedFuture(e));
                     }
                 } else {
@@ -127,33 +142,71 @@ public final class HonoSaslAuthenticatorFactory implements ProtonSaslAuthenticat
             });
 
         }
+
+        /**
+         * Gets the user represented by a token.
+         * 
+         * @param token The compact encoding of the token.
+         * @return The user.
+         * @throws JwtException if the token cannot be expanded.
+         * @throws IllegalArgumentException if the token contains no claims or expiration time.
+         */
+        HonoUserImpl getUser(final String token) {
+
+            final Instant now = Instant.now();
+            final HonoUserImpl cachedUser = expandedTokens.get(token);
+            if (cachedUser != null) {
+                if (now.isBefore(cachedUser.getExpirationTime())) {
+                    log.trace("using cached expanded token");
+                    return cachedUser;
+                } else {
+                    expandedTokens.remove(token, cachedUser);
+                }
+            }
+
+            final HonoUserImpl user = new HonoUserImpl(tokenValidator.expand(token), token);
+            if (expandedTokens.size() >= MAX_CACHED_TOKENS) {
+                expandedTokens.values().removeIf(u -> !now.isBefore(u.getExpirationTime()));
+            }
+            if (expandedTokens.size() < MAX_CACHED_TOKENS) {
+                expandedTokens.put(token, user);
+            }
+            return user;
+        }
     }
 
     /**
      * A Hono user wrapping a JSON Web Token.
-     *
+     * <p>
+     * The user's name, authorities and expiration time are extracted from the
+     * token's claims when the user is created.
      */
     public static final class HonoUserImpl implements HonoUser {
 
         private static Duration expirationLeeway = Duration.ofMinutes(2);
-        private String token;
-        private Jws<Claims> expandedToken;
-        private Authorities authorities;
+        private final String token;
+        private final String name;
+        private final Instant expirationTime;
+        private final Authorities authorities;
 
         private HonoUserImpl(final Jws<Claims> expandedToken, final String token) {
             Objects.requireNonNull(expandedToken);
             Objects.requireNonNull(token);
-            if (expandedToken.getBody() == null) {
+            final Claims claims = expandedToken.getBody();
+            if (claims == null) {
                 throw new IllegalArgumentException("token has no claims");
+            } else if (claims.getExpiration() == null) {
+                throw new IllegalArgumentException("token has no expiration time");
             }
             this.token = token;
-            this.expandedToken = expandedToken;
-            this.authorities = AuthoritiesImpl.from(expandedToken.getBody());
+            this.name = claims.getSubject();
+            this.expirationTime = claims.getExpiration().toInstant();
+            this.authorities = AuthoritiesImpl.from(claims);
         }
 
         @Override
         public String getName() {
-            return expandedToken.getBody().getSubject();
+            return name;
         }
 
         @Override
@@ -166,11 +219,20 @@ public final class HonoSaslAuthenticatorFactory implements ProtonSaslAuthenticat
             return token;
         }
 
+        /**
+         * Gets the point in time at which this user's token expires.
+         * 
+         * @return The expiration time.
+         */
+        public Instant getExpirationTime() {
+            return expirationTime;
+        }
+
         @Override
         public boolean isExpired() {
             // we add some leeway to the token's expiration time to account for system clocks not being
             // perfectly in sync
-            return !Instant.now().isBefore(expandedToken.getBody().getExpiration().toInstant().plus(expirationLeeway));
+            return !Instant.now().isBefore(expirationTime.plus(expirationLeeway));
         }
     }
 }
@@ -12,7 +12,23 @@
 
 package org.eclipse.hono.service.auth.delegating;
 
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
 import org.apache.qpid.proton.amqp.messaging.AmqpValue;
 import org.apache.qpid.proton.amqp.messaging.Section;
@@ -20,6 +36,7 @@ import org.eclipse.hono.auth.Authorities;
 import org.eclipse.hono.auth.HonoUser;
 import org.eclipse.hono.connection.ConnectionFactory;
 import org.eclipse.hono.service.auth.AuthenticationConstants;
+import org.eclipse.hono.util.JwtHelper;
 import org.eclipse.hono.util.MessageHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,13 +54,31 @@ import io.vertx.proton.ProtonReceiver;
 
 /**
  * A client for retrieving a token from an authentication service via AMQP 1.0.
- *
+ * <p>
+ * The authentication server authenticates the connection that a token is requested on.
+ * A new connection is therefore required for verifying a set of credentials. In order to
+ * prevent a large number of connections from being established when many clients using the same
+ * credentials connect at the same time, the client
+ * <ul>
+ * <li>caches tokens retrieved for a set of credentials until they enter the last tenth of their lifetime and</li>
+ * <li>shares a pending request for a set of credentials with all other requests for the same credentials.</li>
+ * </ul>
+ * Credentials are identified by means of an HMAC keyed with a random key created for every instance,
+ * i.e. passwords are not kept in memory and cannot be recovered from the cache keys without that key.
  */
 public final class AuthenticationServerClient {
 
     private static final Logger LOG = LoggerFactory.getLogger(AuthenticationServerClient.class);
+    private static final int PURGE_THRESHOLD = 1000;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
     private final ConnectionFactory factory;
     private final Vertx vertx;
+    private final ConcurrentMap<String, CachedUser> tokenCache = new ConcurrentHashMap<>();
+    private final Map<String, List<Handler<AsyncResult<HonoUser>>>> pendingRequests = new HashMap<>();
+    private final byte[] cacheKeySecret = new byte[32];
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::createMac);
+    private volatile Instant lastConnected;
 
     /**
      * Creates a client for a remote authentication server.
@@ -59,6 +94,7 @@ public final class AuthenticationServerClient {
 
         this.vertx = Objects.requireNonNull(vertx);
         this.factory = Objects.requireNonNull(connectionFactory);
+        new SecureRandom().nextBytes(cacheKeySecret);
     }
 
     /**
@@ -79,6 +115,9 @@ public final class AuthenticationServerClient {
 
     /**
      * Verifies username/password credentials with a remote authentication server using SASL PLAIN.
+     * <p>
+     * If a non-expired token has already been retrieved for the same credentials, the cached token
+     * is returned without contacting the authentication server.
      * 
      * @param authzid The identity to act as.
      * @param authcid The username.
@@ -89,6 +128,102 @@ public final class AuthenticationServerClient {
     public void verifyPlain(final String authzid, final String authcid, final String password,
             final Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
 
+        final String key = getCacheKey(authzid, authcid, password);
+        final CachedUser cachedUser = tokenCache.get(key);
+        if (cachedUser != null) {
+            if (cachedUser.isValid(Instant.now())) {
+                LOG.debug("using cached token [authcid: {}]", authcid);
+                authenticationResultHandler.handle(Future.succeededFuture(cachedUser.user));
+                return;
+            } else {
+                tokenCache.remove(key, cachedUser);
+            }
+        }
+
+        synchronized (pendingRequests) {
+            final List<Handler<AsyncResult<HonoUser>>> pendingHandlers = pendingRequests.get(key);
+            if (pendingHandlers != null) {
+                LOG.debug("joining pending request for token [authcid: {}]", authcid);
+                pendingHandlers.add(authenticationResultHandler);
+                return;
+            } else {
+                final List<Handler<AsyncResult<HonoUser>>> handlers = new ArrayList<>();
+                handlers.add(authenticationResultHandler);
+                pendingRequests.put(key, handlers);
+            }
+        }
+
+        requestToken(authcid, password, result -> {
+            if (result.succeeded()) {
+                cacheToken(key, result.result());
+            }
+            final List<Handler<AsyncResult<HonoUser>>> handlers;
+            synchronized (pendingRequests) {
+                handlers = pendingRequests.remove(key);
+            }
+            handlers.forEach(handler -> handler.handle(result));
+        });
+    }
+
+    /**
+     * Checks if a connection to the authentication server has been established recently.
+     * <p>
+     * Connections are established when verifying credentials that are not in the cache.
+     *
+     * @param period The period of time to check.
+     * @return {@code true} if a connection has been established successfully within the given period of time.
+     */
+    public boolean hasConnectedWithin(final Duration period) {
+        final Instant connected = lastConnected;
+        return connected != null && connected.plus(period).isAfter(Instant.now());
+    }
+
+    private void cacheToken(final String key, final HonoUser user) {
+
+        final Instant expiration;
+        try {
+            expiration = JwtHelper.getExpiration(user.getToken()).toInstant();
+        } catch (IllegalArgumentException e) {
+            LOG.debug("cannot determine expiration of token, not caching token");
+            return;
+        }
+        final Instant now = Instant.now();
+        // stop using the token during the last tenth of its remaining lifetime
+        final Instant validUntil = expiration.minus(Duration.between(now, expiration).dividedBy(10));
+        if (validUntil.isAfter(now)) {
+            if (tokenCache.size() >= PURGE_THRESHOLD) {
+                tokenCache.values().removeIf(cachedUser -> !cachedUser.isValid(now));
+            }
+            tokenCache.put(key, new CachedUser(user, validUntil));
+        }
+    }
+
+    private String getCacheKey(final String authzid, final String authcid, final String password) {
+
+        final Mac mac = macs.get();
+        if (authzid != null) {
+            mac.update(authzid.getBytes(StandardCharsets.UTF_8));
+        }
+        mac.update((byte) 0);
+        mac.update(authcid.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac createMac() {
+        try {
+            final Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(cacheKeySecret, MAC_ALGORITHM));
+            return mac;
+        } catch (final NoSuchAlgorithmException | InvalidKeyException e) {
+            // every Java platform is required to support HmacSHA256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void requestToken(final String authcid, final String password,
+            final Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
+
         ProtonClientOptions options = new ProtonClientOptions();
         options.setReconnectAttempts(3).setReconnectInterval(50);
         options.addEnabledSaslMechanism(AuthenticationConstants.MECHANISM_PLAIN);
@@ -96,6 +231,7 @@ public final class AuthenticationServerClient {
             if (conAttempt.failed()) {
                 authenticationResultHandler.handle(Future.failedFuture("cannot connect to authentication server"));
             } else {
+                lastConnected = Instant.now();
                 final ProtonConnection openCon = conAttempt.result();
 
                 final Future<HonoUser> userTracker = Future.future();
@@ -175,6 +311,25 @@ public final class AuthenticationServerClient {
         }, authResult);
     }
 
+    /**
+     * A user that has been authenticated by the authentication server
+     * along with the instant of time until which it may be taken from the cache.
+     */
+    private static final class CachedUser {
+
+        private final HonoUser user;
+        private final Instant validUntil;
+
+        CachedUser(final HonoUser user, final Instant validUntil) {
+            this.user = user;
+            this.validUntil = validUntil;
+        }
+
+        boolean isValid(final Instant now) {
+            return now.isBefore(validUntil);
+        }
+    }
+
     private static Future<ProtonReceiver> openReceiver(final ProtonConnection openConnection, final ProtonMessageHandler messageHandler) {
         Future<ProtonReceiver> result = Future.future();
         openConnection.createReceiver(AuthenticationConstants.ENDPOINT_NAME_AUTHENTICATION).openHandler(result.completer()).handler(messageHandler).open();
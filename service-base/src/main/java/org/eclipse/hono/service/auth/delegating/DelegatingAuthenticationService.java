@@ -12,6 +12,10 @@
 
 package org.eclipse.hono.service.auth.delegating;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import org.eclipse.hono.auth.HonoUser;
@@ -41,8 +45,18 @@ import io.vertx.ext.healthchecks.Status;
 @Profile("!authentication-impl")
 public class DelegatingAuthenticationService extends AbstractHonoAuthenticationService<AuthenticationServerClientConfigProperties> implements HealthCheckProvider {
 
+    /**
+     * The period of time within which a successful connection to the authentication server
+     * makes this service ready without probing the server again.
+     */
+    static final Duration READINESS_PERIOD = Duration.ofSeconds(30);
+
     private AuthenticationServerClient client;
     private ConnectionFactory factory;
+    // the following are guarded by probeWaiters
+    private final List<Future<Status>> probeWaiters = new ArrayList<>();
+    private Instant lastProbe;
+    private Boolean lastProbeSucceeded;
 
     @Autowired
     @Override
@@ -71,6 +85,12 @@ public class DelegatingAuthenticationService extends AbstractHonoAuthenticationS
 
     /**
      * Registers a check which succeeds if a connection with the configured <em>Authentication</em> service can be established.
+     * <p>
+     * In order to not put any load on the Authentication service, the check succeeds without contacting the
+     * service if a connection has been established successfully for authenticating a client within the last
+     * {@link #READINESS_PERIOD}. Otherwise the check tries to connect to the service and reuses the outcome
+     * for subsequent checks within the period. Checks performed while the connection attempt is still
+     * in progress report its outcome once it is known.
      *
      * @param readinessHandler The health check handler to register the checks with.
      */
@@ -79,20 +99,53 @@ public class DelegatingAuthenticationService extends AbstractHonoAuthenticationS
         readinessHandler.register("authentication-service-connection", status -> {
             if (factory == null) {
                 status.tryComplete(Status.KO(new JsonObject().put("error", "no connection factory set for Authentication service")));
+            } else if (client != null && client.hasConnectedWithin(READINESS_PERIOD)) {
+                status.tryComplete(Status.OK());
             } else {
-                log.debug("checking connection to Authentication service");
-                factory.connect(null, null, null, s -> {
-                    if (s.succeeded()) {
-                        s.result().close();
-                        status.tryComplete(Status.OK());
-                    } else {
-                        status.tryComplete(Status.KO(new JsonObject().put("error", "cannot connect to Authentication service")));
-                    }
-                });
+                probe(status);
+            }
+        });
+    }
+
+    private void probe(final Future<Status> status) {
+
+        synchronized (probeWaiters) {
+            if (lastProbe != null && lastProbe.plus(READINESS_PERIOD).isAfter(Instant.now())) {
+                if (lastProbeSucceeded == null) {
+                    // probe is still in progress
+                    probeWaiters.add(status);
+                } else {
+                    completeWithProbeResult(status, lastProbeSucceeded);
+                }
+                return;
             }
+            lastProbe = Instant.now();
+            lastProbeSucceeded = null;
+            probeWaiters.add(status);
+        }
+        log.debug("checking connection to Authentication service");
+        factory.connect(null, null, null, s -> {
+            if (s.succeeded()) {
+                s.result().close();
+            }
+            final List<Future<Status>> waiters;
+            synchronized (probeWaiters) {
+                lastProbeSucceeded = s.succeeded();
+                waiters = new ArrayList<>(probeWaiters);
+                probeWaiters.clear();
+            }
+            waiters.forEach(waiter -> completeWithProbeResult(waiter, s.succeeded()));
         });
     }
 
+    private void completeWithProbeResult(final Future<Status> status, final boolean probeSucceeded) {
+        if (probeSucceeded) {
+            status.tryComplete(Status.OK());
+        } else {
+            status.tryComplete(Status.KO(new JsonObject().put("error", "cannot connect to Authentication service")));
+        }
+    }
+
     @Override
     protected void doStart(final Future<Void> startFuture) {
         if (factory == null) {
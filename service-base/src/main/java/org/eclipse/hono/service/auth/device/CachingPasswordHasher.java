@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.service.auth.device;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * A hasher that remembers successfully verified passwords.
+ * <p>
+ * This hasher is intended to be wrapped around hashers that use an expensive key derivation
+ * function, e.g. PBKDF2 with many iterations. A password that has successfully been verified
+ * against a hashed password is not hashed again using the wrapped hasher when the same
+ * credentials are verified again. Instead, an HMAC of the password and the secret, keyed with
+ * a random key created for every instance, is looked up in the cache. Cached entries expire
+ * after a configurable time to live.
+ * <p>
+ * Note that this trades some of the protection provided by the expensive hash function for
+ * throughput: an attacker who is able to read this process' memory can check password guesses
+ * against the cached entries at the cost of a single HMAC.
+ */
+public final class CachingPasswordHasher implements PasswordHasher {
+
+    /**
+     * The default maximum number of entries in the cache.
+     */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    /**
+     * The default time after which cache entries expire.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final PasswordHasher hasher;
+    private final int maxSize;
+    private final long timeToLiveMillis;
+    private final byte[] key = new byte[32];
+    // maps cache keys to the point in time (millis) when the entry expires
+    private final Map<String, Long> verified = new ConcurrentHashMap<>();
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::createMac);
+
+    /**
+     * Creates a cache for a hasher using the default time to live.
+     *
+     * @param hasher The hasher to use for verifying passwords that are not in the cache.
+     * @param maxSize The maximum number of verified passwords to keep. The cache is cleared when
+     *                the maximum size has been reached.
+     * @throws NullPointerException if hasher is {@code null}.
+     * @throws IllegalArgumentException if max size is not positive.
+     */
+    public CachingPasswordHasher(final PasswordHasher hasher, final int maxSize) {
+        this(hasher, maxSize, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Creates a cache for a hasher.
+     *
+     * @param hasher The hasher to use for verifying passwords that are not in the cache.
+     * @param maxSize The maximum number of verified passwords to keep. The cache is cleared when
+     *                the maximum size has been reached.
+     * @param timeToLive The time after which a verified password needs to be verified again
+     *                   using the wrapped hasher.
+     * @throws NullPointerException if hasher or time to live are {@code null}.
+     * @throws IllegalArgumentException if max size or time to live are not positive.
+     */
+    public CachingPasswordHasher(final PasswordHasher hasher, final int maxSize, final Duration timeToLive) {
+        this.hasher = Objects.requireNonNull(hasher);
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("max size must be > 0");
+        } else if (Objects.requireNonNull(timeToLive).toMillis() < 1) {
+            throw new IllegalArgumentException("time to live must be > 0");
+        }
+        this.maxSize = maxSize;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        new SecureRandom().nextBytes(key);
+    }
+
+    @Override
+    public boolean supports(final String hashFunction) {
+        return hasher.supports(hashFunction);
+    }
+
+    @Override
+    public boolean matches(final String hashFunction, final String password, final byte[] salt,
+            final byte[] hashedPasswordOnRecord, final Map<String, String> secret) {
+
+        final String cacheKey = getCacheKey(hashFunction, password, salt, hashedPasswordOnRecord, secret);
+        final long now = System.currentTimeMillis();
+        final Long expiration = verified.get(cacheKey);
+        if (expiration != null && expiration > now) {
+            return true;
+        } else if (hasher.matches(hashFunction, password, salt, hashedPasswordOnRecord, secret)) {
+            if (verified.size() >= maxSize) {
+                verified.clear();
+            }
+            verified.put(cacheKey, now + timeToLiveMillis);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private String getCacheKey(final String hashFunction, final String password, final byte[] salt,
+            final byte[] hashedPasswordOnRecord, final Map<String, String> secret) {
+
+        final Mac mac = macs.get();
+        mac.update(hashFunction.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        if (salt != null) {
+            mac.update(salt);
+        }
+        mac.update((byte) 0);
+        mac.update(hashedPasswordOnRecord);
+        mac.update((byte) 0);
+        // include all other parameters, e.g. the number of iterations
+        secret.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            mac.update(String.valueOf(entry.getKey()).getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(String.valueOf(entry.getValue()).getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+        });
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac createMac() {
+        try {
+            final Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, MAC_ALGORITHM));
+            return mac;
+        } catch (final NoSuchAlgorithmException | InvalidKeyException e) {
+            // every Java platform is required to support HmacSHA256
+            throw new IllegalStateException(e);
+        }
+    }
+}
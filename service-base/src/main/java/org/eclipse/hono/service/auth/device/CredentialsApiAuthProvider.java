@@ -13,6 +13,8 @@
 package org.eclipse.hono.service.auth.device;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import javax.annotation.PostConstruct;
@@ -53,11 +55,13 @@ public abstract class CredentialsApiAuthProvider implements HonoClientBasedAuthP
     protected final Logger log = LoggerFactory.getLogger(getClass());
     private final Vertx vertx;
     private HonoClient credentialsClient;
+    // guarded by itself
+    private final List<Handler<Void>> warmUpsAwaitingConnection = new ArrayList<>();
 
     /**
      * Creates a new authentication provider for a vert.x instance.
      * 
-     * @param vertx The vert.x instance to use for scheduling re-connection attempts.
+     * @param vertx The vert.x instance to run on.
      * @throws NullPointerException if vertx is {@code null}
      */
     protected CredentialsApiAuthProvider(final Vertx vertx) {
@@ -79,14 +83,21 @@ public abstract class CredentialsApiAuthProvider implements HonoClientBasedAuthP
     /**
      * Registers a check that verifies connection to Hono's <em>Credentials</em>
      * service.
+     * <p>
+     * The check's data contains the status of the connection as reported by the client.
      */
     @Override
     public void registerReadinessChecks(final HealthCheckHandler readinessHandler) {
         readinessHandler.register("connected-to-credentials-service", status -> {
-            if (credentialsClient != null && credentialsClient.isConnected()) {
-                status.tryComplete(Status.OK());
-            } else {
+            if (credentialsClient == null) {
                 status.tryComplete(Status.KO());
+                return;
+            }
+            final JsonObject data = new JsonObject(credentialsClient.getConnectionStatus());
+            if (credentialsClient.isConnected()) {
+                status.tryComplete(Status.OK(data));
+            } else {
+                status.tryComplete(Status.KO(data));
             }
         });
     }
@@ -112,28 +123,49 @@ public abstract class CredentialsApiAuthProvider implements HonoClientBasedAuthP
         } else {
             credentialsClient.connect(
                     createClientOptions(),
-                    connectAttempt -> log.debug("connected to Credentials service"),
+                    connectAttempt -> {
+                        if (connectAttempt.succeeded()) {
+                            log.debug("connected to Credentials service");
+                            onConnected();
+                        } else {
+                            log.debug("cannot connect to Credentials service");
+                        }
+                    },
                     this::onDisconnectCredentialsService);
         }
     }
 
     /**
-     * Attempts a reconnect for the Hono Credentials client after {@link Constants#DEFAULT_RECONNECT_INTERVAL_MILLIS} milliseconds.
+     * Attempts a reconnect for the Hono Credentials client.
+     * <p>
+     * Failed attempts are retried by the client according to its reconnect policy.
      *
      * @param con The connection that was disonnected.
      */
     private void onDisconnectCredentialsService(final ProtonConnection con) {
 
-        vertx.setTimer(Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS, reconnect -> {
-            log.debug("attempting to reconnect to Credentials service");
-            credentialsClient.connect(createClientOptions(), connectAttempt -> {
-                if (connectAttempt.succeeded()) {
-                    log.debug("reconnected to Credentials service");
-                } else {
-                    log.debug("cannot reconnect to Credentials service");
-                }
-            }, this::onDisconnectCredentialsService);
-        });
+        log.debug("attempting to reconnect to Credentials service");
+        credentialsClient.connect(createClientOptions(), connectAttempt -> {
+            if (connectAttempt.succeeded()) {
+                log.debug("reconnected to Credentials service");
+                onConnected();
+            } else {
+                log.debug("cannot reconnect to Credentials service");
+            }
+        }, this::onDisconnectCredentialsService);
+    }
+
+    /**
+     * Runs the warm-ups that have been waiting for the connection to the Credentials service.
+     */
+    private void onConnected() {
+
+        final List<Handler<Void>> warmUps;
+        synchronized (warmUpsAwaitingConnection) {
+            warmUps = new ArrayList<>(warmUpsAwaitingConnection);
+            warmUpsAwaitingConnection.clear();
+        }
+        warmUps.forEach(warmUp -> warmUp.handle(null));
     }
 
     private ProtonClientOptions createClientOptions() {
@@ -155,6 +187,39 @@ public abstract class CredentialsApiAuthProvider implements HonoClientBasedAuthP
         return result;
     }
 
+    /**
+     * Opens the client for retrieving credentials of devices belonging to a tenant.
+     * <p>
+     * If the connection to the Credentials service has not been established yet, the client
+     * is opened once the connection has been established. The attempt fails if no client for
+     * the Credentials service has been set.
+     */
+    @Override
+    public final void warmUp(final String tenantId, final Handler<AsyncResult<Void>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(resultHandler);
+        if (credentialsClient == null) {
+            resultHandler.handle(Future.failedFuture("Credentials service client is not set"));
+            return;
+        }
+        final Handler<Void> warmUp = go -> getCredentialsServiceClient(tenantId).setHandler(attempt -> {
+            if (attempt.succeeded()) {
+                resultHandler.handle(Future.succeededFuture());
+            } else {
+                resultHandler.handle(Future.failedFuture(attempt.cause()));
+            }
+        });
+        synchronized (warmUpsAwaitingConnection) {
+            if (!credentialsClient.isConnected()) {
+                log.debug("deferring warm-up for tenant [{}] until connected to Credentials service", tenantId);
+                warmUpsAwaitingConnection.add(warmUp);
+                return;
+            }
+        }
+        warmUp.handle(null);
+    }
+
     /**
      * Retrieves credentials from the Credentials service.
      * 
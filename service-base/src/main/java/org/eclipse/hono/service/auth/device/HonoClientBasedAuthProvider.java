@@ -15,6 +15,7 @@ package org.eclipse.hono.service.auth.device;
 import org.eclipse.hono.service.HealthCheckProvider;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.ext.auth.AuthProvider;
 
@@ -39,4 +40,20 @@ public interface HonoClientBasedAuthProvider extends AuthProvider, HealthCheckPr
      * @throws NullPointerException if credentials or result handler are {@code null}.
      */
     void authenticate(DeviceCredentials credentials, Handler<AsyncResult<Device>> resultHandler);
+
+    /**
+     * Opens the client(s) required for validating the credentials of devices belonging to a tenant.
+     * <p>
+     * Protocol adapters invoke this method during startup so that the first devices connecting
+     * to the adapter do not have to wait for the clients being opened.
+     * <p>
+     * This default implementation does nothing.
+     *
+     * @param tenantId The tenant to open the clients for.
+     * @param resultHandler The handler to notify about the outcome.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    default void warmUp(final String tenantId, final Handler<AsyncResult<Void>> resultHandler) {
+        resultHandler.handle(Future.succeededFuture());
+    }
 }
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.service.auth.device;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A hasher for passwords that have been hashed using a single pass of a {@code MessageDigest},
+ * e.g. <em>sha-256</em> or <em>sha-512</em>.
+ * <p>
+ * The digests are cached per thread in order to avoid a provider lookup for every password
+ * being verified.
+ */
+public final class MessageDigestPasswordHasher implements PasswordHasher {
+
+    private static final ThreadLocal<Map<String, MessageDigest>> DIGESTS = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code true} if the JVM supports a message digest of the given name.
+     */
+    @Override
+    public boolean supports(final String hashFunction) {
+        return getDigest(hashFunction) != null;
+    }
+
+    @Override
+    public boolean matches(final String hashFunction, final String password, final byte[] salt,
+            final byte[] hashedPasswordOnRecord, final Map<String, String> secret) {
+
+        final MessageDigest messageDigest = getDigest(hashFunction);
+        if (messageDigest == null) {
+            return false;
+        }
+        messageDigest.reset();
+        if (salt != null) {
+            messageDigest.update(salt);
+        }
+        final byte[] hashedPassword = messageDigest.digest(password.getBytes(StandardCharsets.UTF_8));
+        return MessageDigest.isEqual(hashedPassword, hashedPasswordOnRecord);
+    }
+
+    private static MessageDigest getDigest(final String hashFunction) {
+
+        final Map<String, MessageDigest> digests = DIGESTS.get();
+        MessageDigest digest = digests.get(hashFunction);
+        if (digest == null) {
+            try {
+                digest = MessageDigest.getInstance(hashFunction);
+                digests.put(hashFunction, digest);
+            } catch (final NoSuchAlgorithmException e) {
+                return null;
+            }
+        }
+        return digest;
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.service.auth.device;
+
+import java.util.Map;
+
+/**
+ * A strategy for verifying a password against a <em>hashed-password</em> secret.
+ * <p>
+ * Additional implementations can be provided by means of Java's {@code ServiceLoader} mechanism.
+ * They are consulted before the implementations provided by Hono.
+ */
+public interface PasswordHasher {
+
+    /**
+     * Checks if this hasher supports a hash function.
+     *
+     * @param hashFunction The name of the hash function as specified by the secret.
+     * @return {@code true} if passwords hashed using the function can be verified by this hasher.
+     */
+    boolean supports(String hashFunction);
+
+    /**
+     * Checks if a password matches a hashed password.
+     * <p>
+     * Implementations should compare the hashes in constant time.
+     *
+     * @param hashFunction The name of the hash function as specified by the secret.
+     * @param password The clear text password to check.
+     * @param salt The salt to use for hashing the password or {@code null} if no salt has been used.
+     * @param hashedPasswordOnRecord The hashed password contained in the secret.
+     * @param secret The secret containing the hashed password. Implementations may retrieve
+     *               additional parameters from the secret, e.g. the number of iterations to use.
+     * @return {@code true} if the password matches the hashed password.
+     */
+    boolean matches(String hashFunction, String password, byte[] salt, byte[] hashedPasswordOnRecord,
+            Map<String, String> secret);
+}
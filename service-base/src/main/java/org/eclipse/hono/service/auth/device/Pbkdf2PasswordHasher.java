@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.service.auth.device;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+import org.eclipse.hono.util.CredentialsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hasher for passwords that have been hashed using <em>PBKDF2</em>.
+ * <p>
+ * Supports hash functions <em>pbkdf2-sha1</em>, <em>pbkdf2-sha256</em> and <em>pbkdf2-sha512</em>.
+ * The number of iterations is read from the secret's {@link CredentialsConstants#FIELD_SECRETS_ITERATIONS}
+ * property, the length of the derived key is the length of the hashed password on record.
+ * Secrets specifying a number of iterations that is not a positive decimal integer are rejected.
+ */
+public final class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Pbkdf2PasswordHasher.class);
+
+    /**
+     * The prefix of the hash functions supported by this hasher.
+     */
+    public static final String HASH_FUNCTION_PREFIX = "pbkdf2-";
+    /**
+     * The number of iterations used if the secret does not specify it explicitly.
+     */
+    public static final int DEFAULT_ITERATIONS = 10000;
+
+    @Override
+    public boolean supports(final String hashFunction) {
+        return hashFunction.toLowerCase(Locale.ROOT).startsWith(HASH_FUNCTION_PREFIX);
+    }
+
+    @Override
+    public boolean matches(final String hashFunction, final String password, final byte[] salt,
+            final byte[] hashedPasswordOnRecord, final Map<String, String> secret) {
+
+        if (salt == null || hashedPasswordOnRecord.length == 0) {
+            return false;
+        }
+        final String algorithm = getAlgorithm(hashFunction);
+        final int iterations = getIterations(secret.get(CredentialsConstants.FIELD_SECRETS_ITERATIONS));
+        if (algorithm == null || iterations < 1) {
+            return false;
+        }
+
+        final PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, hashedPasswordOnRecord.length * 8);
+        try {
+            final byte[] hashedPassword = SecretKeyFactory.getInstance(algorithm).generateSecret(spec).getEncoded();
+            return MessageDigest.isEqual(hashedPassword, hashedPasswordOnRecord);
+        } catch (final NoSuchAlgorithmException | InvalidKeySpecException e) {
+            return false;
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * Gets the number of iterations specified for a secret.
+     *
+     * @param value The value of the secret's iterations property.
+     * @return The number of iterations, {@link #DEFAULT_ITERATIONS} if the value is {@code null}
+     *         or -1 if the value is not a decimal integer.
+     */
+    private static int getIterations(final String value) {
+
+        if (value == null) {
+            return DEFAULT_ITERATIONS;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                LOG.debug("secret contains non-numeric number of iterations [{}]", value);
+                return -1;
+            }
+        }
+        try {
+            return value.isEmpty() ? -1 : Integer.parseInt(value);
+        } catch (final NumberFormatException e) {
+            LOG.debug("secret contains invalid number of iterations [{}]", value);
+            return -1;
+        }
+    }
+
+    private static String getAlgorithm(final String hashFunction) {
+
+        switch (hashFunction.toLowerCase(Locale.ROOT).substring(HASH_FUNCTION_PREFIX.length())) {
+        case "sha1":
+            return "PBKDF2WithHmacSHA1";
+        case "sha256":
+        case "sha-256":
+            return "PBKDF2WithHmacSHA256";
+        case "sha512":
+        case "sha-512":
+            return "PBKDF2WithHmacSHA512";
+        default:
+            return null;
+        }
+    }
+}
@@ -12,8 +12,10 @@
 
 package org.eclipse.hono.service.auth.device;
 
+import java.util.List;
 import java.util.Objects;
 
+import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -29,9 +31,13 @@ import io.vertx.core.json.JsonObject;
 public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvider {
 
     private final ServiceConfigProperties config;
+    private final List<PasswordHasher> hashers;
 
     /**
      * Creates a new provider for a given configuration.
+     * <p>
+     * If the configuration is a {@link ProtocolAdapterProperties} instance, its password cache
+     * properties are used for verifying passwords. Otherwise the default settings are used.
      * 
      * @param vertx The vertx instance to use.
      * @param config The configuration.
@@ -41,6 +47,11 @@ public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvid
     public UsernamePasswordAuthProvider(final Vertx vertx, final ServiceConfigProperties config) {
         super(vertx);
         this.config = Objects.requireNonNull(config);
+        if (config instanceof ProtocolAdapterProperties) {
+            this.hashers = UsernamePasswordCredentials.createPasswordHashers((ProtocolAdapterProperties) config);
+        } else {
+            this.hashers = UsernamePasswordCredentials.createPasswordHashers(new ProtocolAdapterProperties());
+        }
     }
 
     /**
@@ -59,7 +70,7 @@ public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvid
     protected DeviceCredentials getCredentials(JsonObject authInfo) {
         String username = authInfo.getString("username");
         String password = authInfo.getString("password");
-        return UsernamePasswordCredentials.create(username, password, config.isSingleTenant());
+        return UsernamePasswordCredentials.create(username, password, config.isSingleTenant(), hashers);
     }
 
 }
@@ -11,13 +11,16 @@
  */
 package org.eclipse.hono.service.auth.device;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
 
+import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.CredentialsConstants;
 import org.slf4j.Logger;
@@ -40,10 +43,39 @@ import org.slf4j.LoggerFactory;
 public class UsernamePasswordCredentials extends AbstractDeviceCredentials {
 
     private static final Logger LOG  = LoggerFactory.getLogger(UsernamePasswordCredentials.class);
+    private static final List<PasswordHasher> HASHERS = createPasswordHashers(new ProtocolAdapterProperties());
 
     private String authId;
     private String password;
     private String tenantId;
+    private List<PasswordHasher> hashers = HASHERS;
+
+    /**
+     * Creates the hashers to use for verifying passwords.
+     * <p>
+     * The returned list contains the hashers registered via Java's {@code ServiceLoader} mechanism,
+     * followed by a {@link Pbkdf2PasswordHasher} and a {@link MessageDigestPasswordHasher}.
+     * The PBKDF2 hasher is wrapped in a {@link CachingPasswordHasher} if the configuration's
+     * password cache is enabled.
+     *
+     * @param config The configuration to use for the password cache.
+     * @return The hashers.
+     * @throws NullPointerException if config is {@code null}.
+     */
+    public static List<PasswordHasher> createPasswordHashers(final ProtocolAdapterProperties config) {
+
+        Objects.requireNonNull(config);
+        final List<PasswordHasher> hashers = new ArrayList<>();
+        ServiceLoader.load(PasswordHasher.class).forEach(hashers::add);
+        if (config.isPasswordCacheEnabled()) {
+            hashers.add(new CachingPasswordHasher(new Pbkdf2PasswordHasher(), config.getPasswordCacheMaxSize(),
+                    Duration.ofSeconds(config.getPasswordCacheTimeToLive())));
+        } else {
+            hashers.add(new Pbkdf2PasswordHasher());
+        }
+        hashers.add(new MessageDigestPasswordHasher());
+        return Collections.unmodifiableList(hashers);
+    }
 
     /**
      * Creates a new instance for a set of credentials.
@@ -57,6 +89,26 @@ public class UsernamePasswordCredentials extends AbstractDeviceCredentials {
      */
     public static final UsernamePasswordCredentials create(final String username, final String password,
             final boolean singleTenant) {
+        return create(username, password, singleTenant, HASHERS);
+    }
+
+    /**
+     * Creates a new instance for a set of credentials using specific password hashers.
+     *
+     * @param username The username provided by the device.
+     * @param password The password provided by the device.
+     * @param singleTenant If {@code true}, the <em>tenantId</em> is set to {@link Constants#DEFAULT_TENANT},
+     *                     otherwise it is parsed from the username.
+     * @param hashers The hashers to use for verifying the password, e.g. as created by
+     *                {@link #createPasswordHashers(ProtocolAdapterProperties)}.
+     * @return The instance of the created object. Will be null if the userName is null, or the
+     *             username does not comply to the structure userName@tenantId.
+     * @throws NullPointerException if hashers is {@code null}.
+     */
+    public static final UsernamePasswordCredentials create(final String username, final String password,
+            final boolean singleTenant, final List<PasswordHasher> hashers) {
+
+        Objects.requireNonNull(hashers);
 
         if (username == null) {
             LOG.trace("username must not be null");
@@ -82,6 +134,7 @@ public class UsernamePasswordCredentials extends AbstractDeviceCredentials {
             }
         }
         credentials.password = password;
+        credentials.hashers = hashers;
         return credentials;
     }
 
@@ -135,6 +188,10 @@ public class UsernamePasswordCredentials extends AbstractDeviceCredentials {
      * <p>
      * The secret is expected to be of type <em>hashed-password</em> as defined by
      * <a href="https://www.eclipse.org/hono/api/Credentials-API/">Hono's Credentials API</a>.
+     * <p>
+     * The password is hashed using the first {@link PasswordHasher} supporting the secret's hash function.
+     * The hashers are the ones passed in on creation or, by default, the ones created by
+     * {@link #createPasswordHashers(ProtocolAdapterProperties)} for the default configuration.
      * 
      * @param candidateSecret The secret to match against.
      * @return {@code true} if the credentials match the secret.
@@ -160,19 +217,12 @@ public class UsernamePasswordCredentials extends AbstractDeviceCredentials {
                 CredentialsConstants.FIELD_SECRETS_HASH_FUNCTION,
                 CredentialsConstants.DEFAULT_HASH_FUNCTION);
 
-        return checkPassword(hashFunction, salt, hashedPasswordOnRecord);
-    }
-
-    private boolean checkPassword(final String hashFunction, final byte[] salt, final byte[] hashedPasswordOnRecord) {
-        try {
-            MessageDigest messageDigest = MessageDigest.getInstance(hashFunction);
-            if (salt != null) {
-                messageDigest.update(salt);
+        for (PasswordHasher hasher : hashers) {
+            if (hasher.supports(hashFunction)) {
+                return hasher.matches(hashFunction, getPassword(), salt, hashedPasswordOnRecord, candidateSecret);
             }
-            byte[] hashedPassword = messageDigest.digest(getPassword().getBytes(StandardCharsets.UTF_8));
-            return Arrays.equals(hashedPassword, hashedPasswordOnRecord);
-        } catch (final NoSuchAlgorithmException e) {
-            return false;
         }
+        LOG.debug("unsupported hash function [{}]", hashFunction);
+        return false;
     }
 }
@@ -39,6 +39,11 @@ import io.vertx.core.json.JsonObject;
  * In particular, this base class provides support for parsing credentials request messages
  * received via the event bus and route them to specific methods corresponding to the <em>subject</em>
  * indicated in the message.
+ * <p>
+ * The service can be deployed as one of several partitions by means of the
+ * {@link RequestResponseApiConstants#CONFIG_KEY_PARTITION} and {@link RequestResponseApiConstants#CONFIG_KEY_PARTITIONS}
+ * properties of the verticle's configuration. In that case the service instance only listens for requests regarding
+ * the tenants that are assigned to its partition.
  * 
  * @param <T> The type of configuration class this service supports.
  */
@@ -49,17 +54,57 @@ public abstract class BaseCredentialsService<T> extends ConfigurationSupportingV
      */
     protected final Logger log = LoggerFactory.getLogger(getClass());
     private MessageConsumer<JsonObject> credentialsConsumer;
+    private int partition = 0;
+    private int partitions = 1;
 
     /**
      * Registers a Vert.x event consumer for address {@link CredentialsConstants#EVENT_BUS_ADDRESS_CREDENTIALS_IN}
+     * (appended with the partition index if the service is partitioned)
      * and then invokes {@link #doStart(Future)}.
      *
      * @param startFuture future to invoke once start up is complete.
      */
     @Override
     public final void start(final Future<Void> startFuture) throws Exception {
-        credentialsConsumer();
-        doStart(startFuture);
+        final JsonObject verticleConfig = config();
+        if (verticleConfig != null) {
+            partitions = verticleConfig.getInteger(RequestResponseApiConstants.CONFIG_KEY_PARTITIONS, 1);
+            partition = verticleConfig.getInteger(RequestResponseApiConstants.CONFIG_KEY_PARTITION, 0);
+        }
+        if (partitions < 1 || partition < 0 || partition >= partitions) {
+            startFuture.fail(String.format("invalid partition [%d of %d]", partition, partitions));
+        } else {
+            credentialsConsumer();
+            doStart(startFuture);
+        }
+    }
+
+    /**
+     * Gets the index of the partition this service instance is responsible for.
+     *
+     * @return The index (starting at 0).
+     */
+    protected final int getPartition() {
+        return partition;
+    }
+
+    /**
+     * Gets the total number of partitions the service is split into.
+     *
+     * @return The number of partitions.
+     */
+    protected final int getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * Checks if this service instance is responsible for processing requests regarding a tenant.
+     *
+     * @param tenantId The tenant.
+     * @return {@code true} if the tenant is assigned to this instance's partition.
+     */
+    protected final boolean isResponsibleFor(final String tenantId) {
+        return RequestResponseApiConstants.getPartition(tenantId, partitions) == partition;
     }
 
     /**
@@ -77,10 +122,11 @@ public abstract class BaseCredentialsService<T> extends ConfigurationSupportingV
     }
 
     private void credentialsConsumer() {
-        credentialsConsumer = vertx.eventBus().consumer(CredentialsConstants.EVENT_BUS_ADDRESS_CREDENTIALS_IN);
+        final String address = RequestResponseApiConstants.getPartitionAddress(
+                CredentialsConstants.EVENT_BUS_ADDRESS_CREDENTIALS_IN, partition, partitions);
+        credentialsConsumer = vertx.eventBus().consumer(address);
         credentialsConsumer.handler(this::processCredentialsMessage);
-        log.info("listening on event bus [address: {}] for incoming credentials messages",
-                CredentialsConstants.EVENT_BUS_ADDRESS_CREDENTIALS_IN);
+        log.info("listening on event bus [address: {}] for incoming credentials messages", address);
     }
 
     /**
@@ -57,7 +57,9 @@ public final class CredentialsAmqpEndpoint extends RequestResponseEndpoint<Servi
 
         final JsonObject credentialsMsg = CredentialsConstants.getCredentialsMsg(msg);
 
-        vertx.eventBus().send(CredentialsConstants.EVENT_BUS_ADDRESS_CREDENTIALS_IN, credentialsMsg,
+        final String address = getServiceAddress(CredentialsConstants.EVENT_BUS_ADDRESS_CREDENTIALS_IN,
+                credentialsMsg.getString(CredentialsConstants.FIELD_TENANT_ID));
+        vertx.eventBus().send(address, credentialsMsg,
                 result -> {
                     JsonObject response = null;
                     if (result.succeeded()) {
@@ -305,7 +305,9 @@ public final class CredentialsHttpEndpoint extends AbstractHttpEndpoint<ServiceC
 
     private void doCredentialsAction(final RoutingContext ctx, final JsonObject requestMsg, final BiConsumer<Integer, JsonObject> responseHandler) {
 
-        vertx.eventBus().send(CredentialsConstants.EVENT_BUS_ADDRESS_CREDENTIALS_IN, requestMsg, invocation -> {
+        final String address = getServiceAddress(CredentialsConstants.EVENT_BUS_ADDRESS_CREDENTIALS_IN,
+                requestMsg.getString(CredentialsConstants.FIELD_TENANT_ID));
+        vertx.eventBus().send(address, requestMsg, invocation -> {
 
             final HttpServerResponse response = ctx.response();
             if (invocation.failed()) {
@@ -207,6 +207,7 @@ public abstract class HttpServiceBase<T extends ServiceConfigProperties> extends
         HttpServerOptions options = new HttpServerOptions();
         options.setHost(getConfig().getBindAddress()).setPort(getConfig().getPort(getPortDefaultValue()))
                 .setMaxChunkSize(4096);
+        getConfig().addNetworkOptions(options);
         addTlsKeyCertOptions(options);
         addTlsTrustOptions(options);
         return options;
@@ -227,6 +228,7 @@ public abstract class HttpServiceBase<T extends ServiceConfigProperties> extends
         HttpServerOptions options = new HttpServerOptions();
         options.setHost(getConfig().getInsecurePortBindAddress())
                 .setPort(getConfig().getInsecurePort(getInsecurePortDefaultValue())).setMaxChunkSize(4096);
+        getConfig().addNetworkOptions(options);
         return options;
     }
 
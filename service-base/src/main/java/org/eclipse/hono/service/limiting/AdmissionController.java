@@ -0,0 +1,238 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.service.limiting;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hono.config.ServiceConfigProperties;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+/**
+ * Decides whether new connections and links are admitted to a service.
+ * <p>
+ * A connection is admitted if neither the maximum number of concurrent connections, nor the
+ * maximum number of concurrent connections from the client's remote host, nor the rate at
+ * which new connections are accepted has been exceeded. The rate is enforced
+ * using a {@link TokenBucket} which permits bursts of up to one second's worth of connections.
+ * A link is admitted if the principal that requests the link has not exceeded the rate at which
+ * it may attach links. The latter is enforced using a separate bucket per principal.
+ * <p>
+ * A limit of zero (the default) disables the corresponding check.
+ * <p>
+ * Instances of this class are thread safe and are supposed to be shared by all instances of a
+ * service running in the same JVM, see {@link #getOrCreate(Vertx, String, ServiceConfigProperties)}.
+ */
+public final class AdmissionController implements Shareable {
+
+    private static final String SHARED_MAP_NAME = AdmissionController.class.getName();
+    /**
+     * The number of principal buckets at which full buckets are purged.
+     */
+    private static final int MAX_IDLE_PRINCIPAL_BUCKETS = 1000;
+
+    private final int maxConnections;
+    private final int maxConnectionsPerAddress;
+    private final TokenBucket connectionRate;
+    private final int maxLinksPerSecond;
+    private final ConcurrentMap<String, TokenBucket> linkRates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> connectionsPerAddress = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong rejectedConnections = new AtomicLong();
+    private final AtomicLong rejectedLinks = new AtomicLong();
+
+    /**
+     * Creates a new controller.
+     *
+     * @param maxConnections The maximum number of concurrent connections.
+     * @param maxConnectionsPerAddress The maximum number of concurrent connections from a single remote host.
+     * @param maxConnectionsPerSecond The maximum number of new connections per second.
+     * @param maxLinksPerSecond The maximum number of links a single principal may attach per second.
+     * @throws IllegalArgumentException if any of the limits is negative.
+     */
+    public AdmissionController(final int maxConnections, final int maxConnectionsPerAddress,
+            final int maxConnectionsPerSecond, final int maxLinksPerSecond) {
+        if (maxConnections < 0 || maxConnectionsPerAddress < 0 || maxConnectionsPerSecond < 0 || maxLinksPerSecond < 0) {
+            throw new IllegalArgumentException("limits must not be negative");
+        }
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerAddress = maxConnectionsPerAddress;
+        this.connectionRate = maxConnectionsPerSecond > 0 ? new TokenBucket(maxConnectionsPerSecond, maxConnectionsPerSecond) : null;
+        this.maxLinksPerSecond = maxLinksPerSecond;
+    }
+
+    /**
+     * Gets the controller shared by all instances of a service.
+     * <p>
+     * The controller is created from the given configuration if it does not exist yet.
+     *
+     * @param vertx The Vert.x instance that the service instances are running on.
+     * @param serviceName The name of the service.
+     * @param config The service's configuration properties.
+     * @return The controller.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static AdmissionController getOrCreate(final Vertx vertx, final String serviceName, final ServiceConfigProperties config) {
+
+        Objects.requireNonNull(vertx);
+        Objects.requireNonNull(serviceName);
+        Objects.requireNonNull(config);
+
+        final LocalMap<String, AdmissionController> controllers = vertx.sharedData().getLocalMap(SHARED_MAP_NAME);
+        final AdmissionController newController = new AdmissionController(
+                config.getMaxConnections(), config.getMaxConnectionsPerAddress(),
+                config.getMaxConnectionsPerSecond(), config.getMaxLinksPerSecond());
+        final AdmissionController existingController = controllers.putIfAbsent(serviceName, newController);
+        return existingController == null ? newController : existingController;
+    }
+
+    /**
+     * Checks if a new connection may be established.
+     * <p>
+     * If this method returns {@code true}, the connection is counted as established
+     * and {@link #releaseConnection(String)} must be invoked with the same remote address
+     * once it has been closed.
+     *
+     * @param remoteAddress The address of the client's host or {@code null} if unknown.
+     *                      The number of connections per address is not limited for
+     *                      connections from unknown hosts.
+     * @return {@code true} if the connection is admitted.
+     */
+    public boolean tryAdmitConnection(final String remoteAddress) {
+
+        final int count = connections.incrementAndGet();
+        if (maxConnections > 0 && count > maxConnections) {
+            connections.decrementAndGet();
+            rejectedConnections.incrementAndGet();
+            return false;
+        } else if (!tryAcquireAddress(remoteAddress)) {
+            connections.decrementAndGet();
+            rejectedConnections.incrementAndGet();
+            return false;
+        } else if (connectionRate != null && !connectionRate.tryAcquire()) {
+            releaseAddress(remoteAddress);
+            connections.decrementAndGet();
+            rejectedConnections.incrementAndGet();
+            return false;
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * Releases a connection that has been admitted before.
+     *
+     * @param remoteAddress The address of the client's host that has been used for admitting
+     *                      the connection.
+     */
+    public void releaseConnection(final String remoteAddress) {
+        releaseAddress(remoteAddress);
+        connections.decrementAndGet();
+    }
+
+    private boolean tryAcquireAddress(final String remoteAddress) {
+
+        if (maxConnectionsPerAddress == 0 || remoteAddress == null) {
+            return true;
+        }
+        final boolean[] acquired = new boolean[1];
+        connectionsPerAddress.compute(remoteAddress, (address, count) -> {
+            final int current = count == null ? 0 : count;
+            if (current < maxConnectionsPerAddress) {
+                acquired[0] = true;
+                return current + 1;
+            } else {
+                return count;
+            }
+        });
+        return acquired[0];
+    }
+
+    private void releaseAddress(final String remoteAddress) {
+
+        if (maxConnectionsPerAddress > 0 && remoteAddress != null) {
+            // remove entries of hosts without connections so that the map does not grow unbounded
+            connectionsPerAddress.computeIfPresent(remoteAddress, (address, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * Checks if a principal may attach a new link.
+     *
+     * @param principal The name of the principal.
+     * @return {@code true} if the link is admitted.
+     * @throws NullPointerException if principal is {@code null}.
+     */
+    public boolean tryAdmitLink(final String principal) {
+
+        Objects.requireNonNull(principal);
+        if (maxLinksPerSecond == 0) {
+            return true;
+        }
+        if (linkRates.size() >= MAX_IDLE_PRINCIPAL_BUCKETS) {
+            linkRates.values().removeIf(TokenBucket::isFull);
+        }
+        final TokenBucket bucket = linkRates.computeIfAbsent(principal, key -> new TokenBucket(maxLinksPerSecond, maxLinksPerSecond));
+        if (bucket.tryAcquire()) {
+            return true;
+        } else {
+            rejectedLinks.incrementAndGet();
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of currently established connections.
+     *
+     * @return The number of connections.
+     */
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Gets the number of currently established connections from a remote host.
+     * <p>
+     * Connections are only counted per host if the number of connections per host is limited.
+     *
+     * @param remoteAddress The address of the host.
+     * @return The number of connections.
+     * @throws NullPointerException if address is {@code null}.
+     */
+    public int getConnectionCount(final String remoteAddress) {
+        return connectionsPerAddress.getOrDefault(Objects.requireNonNull(remoteAddress), 0);
+    }
+
+    /**
+     * Gets the number of connections that have been rejected.
+     *
+     * @return The number of connections.
+     */
+    public long getRejectedConnections() {
+        return rejectedConnections.get();
+    }
+
+    /**
+     * Gets the number of links that have been rejected.
+     *
+     * @return The number of links.
+     */
+    public long getRejectedLinks() {
+        return rejectedLinks.get();
+    }
+}
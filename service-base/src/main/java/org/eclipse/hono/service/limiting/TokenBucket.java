@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.service.limiting;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * A rate limiter based on the <em>token bucket</em> algorithm.
+ * <p>
+ * The bucket holds at most a fixed number of tokens and is continuously refilled
+ * at a fixed rate. Each permitted operation takes one token out of the bucket.
+ * An operation is rejected if the bucket is empty. The bucket's capacity therefore
+ * determines the size of the bursts that are permitted on top of the sustained rate.
+ * <p>
+ * Instances of this class are thread safe.
+ */
+public final class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final LongSupplier clock;
+    // all of the following are guarded by this
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Creates a new bucket that is initially full.
+     *
+     * @param tokensPerSecond The rate at which the bucket is refilled.
+     * @param capacity The maximum number of tokens the bucket can hold.
+     * @throws IllegalArgumentException if any of the parameters is not positive.
+     */
+    public TokenBucket(final int tokensPerSecond, final int capacity) {
+        this(tokensPerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(final int tokensPerSecond, final int capacity, final LongSupplier clock) {
+        if (tokensPerSecond < 1) {
+            throw new IllegalArgumentException("rate must be > 0");
+        } else if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = (double) tokensPerSecond / NANOS_PER_SECOND;
+        this.clock = Objects.requireNonNull(clock);
+        this.tokens = capacity;
+        this.lastRefill = clock.getAsLong();
+    }
+
+    /**
+     * Takes a token out of the bucket.
+     *
+     * @return {@code true} if a token has been taken or {@code false} if the bucket is empty.
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens--;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the bucket has been refilled completely.
+     * <p>
+     * A full bucket is in the same state as a newly created one and can therefore
+     * be discarded without affecting the rate limit.
+     *
+     * @return {@code true} if the bucket is full.
+     */
+    public synchronized boolean isFull() {
+        refill();
+        return tokens >= capacity;
+    }
+
+    private void refill() {
+        final long now = clock.getAsLong();
+        if (now > lastRefill) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.service.metric;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * A cache of metric handles, e.g. Dropwizard counters or meters, keyed by a string like an address or tenant.
+ * <p>
+ * A handle is created by means of the factory only once per key and reused afterwards. Looking up an
+ * existing handle does neither build any metric names nor allocate any objects.
+ *
+ * @param <M> The type of handle.
+ */
+public final class MetricHandles<M> {
+
+    private final ConcurrentMap<String, M> handles = new ConcurrentHashMap<>();
+    private final Function<String, M> factory;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param factory The factory to invoke for creating the handle for a key.
+     * @throws NullPointerException if factory is {@code null}.
+     */
+    public MetricHandles(final Function<String, M> factory) {
+        this.factory = Objects.requireNonNull(factory);
+    }
+
+    /**
+     * Gets the handle for a key.
+     *
+     * @param key The key.
+     * @return The handle, created on first access.
+     * @throws NullPointerException if key is {@code null}.
+     */
+    public M get(final String key) {
+        final M handle = handles.get(key);
+        if (handle != null) {
+            return handle;
+        } else {
+            return handles.computeIfAbsent(key, factory);
+        }
+    }
+}
@@ -19,6 +19,18 @@ import org.springframework.stereotype.Component;
 
 import java.util.Objects;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * Base class for the metrics of a service.
+ * <p>
+ * Metrics that are updated while processing messages should be resolved only once into
+ * Dropwizard handles, e.g. using {@link MetricHandles}, instead of being looked up by name
+ * via the {@code CounterService} or {@code GaugeService} on each update.
+ */
 @Component
 abstract public class Metrics {
 
@@ -30,14 +42,27 @@ abstract public class Metrics {
     protected static String TIMER_PREFIX     = "timer.";
     protected static String HISTOGRAM_PREFIX = "histogram.";
 
+    /**
+     * prefixes used by spring boot actuator for counters and gauges in the dropwizard registry
+     */
+    protected static final String COUNTER_PREFIX = "counter.";
+    protected static final String GAUGE_PREFIX   = "gauge.";
+
     /** metric parts for messages - useable for AMQP, MQTT, etc. */
     protected static final String MESSAGES      = ".messages.";
     protected static final String PROCESSED     = ".processed";
     protected static final String DISCARDED     = ".discarded";
     protected static final String UNDELIVERABLE = ".undeliverable";
 
+    /** metric parts for the latency of message processing stages */
+    protected static final String LATENCY         = ".latency";
+    protected static final String STAGE_UPLOAD    = "upload";
+    protected static final String STAGE_ASSERTION = "assertion";
+    protected static final String STAGE_DELIVERY  = "delivery";
+
     protected GaugeService   gaugeService   = NullGaugeService.getInstance();
     protected CounterService counterService = NullCounterService.getInstance();
+    protected MetricRegistry metricRegistry = new MetricRegistry();
 
     /**
      * It is needed to set the specific service prefix; if no config is given it is not needed and will never be used
@@ -76,6 +101,78 @@ abstract public class Metrics {
         this.counterService = counterService;
     }
 
+    /**
+     * Sets the Dropwizard registry to create metric handles in.
+     * <p>
+     * If not set, handles are created in a registry that is not reported.
+     *
+     * @param metricRegistry The registry.
+     */
+    @Autowired(required = false)
+    public final void setMetricRegistry(final MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    /**
+     * Gets the counter for a name from the Dropwizard registry.
+     * <p>
+     * The counter is registered under the same name that the {@code CounterService} would use.
+     *
+     * @param name The name of the counter.
+     * @return The counter.
+     */
+    protected final Counter counter(final String name) {
+        return metricRegistry.counter(COUNTER_PREFIX + name);
+    }
+
+    /**
+     * Gets the meter for a name from the Dropwizard registry.
+     * <p>
+     * The meter is registered under the same name that the {@code CounterService} would use.
+     *
+     * @param name The name of the meter.
+     * @return The meter.
+     */
+    protected final Meter meter(final String name) {
+        return metricRegistry.meter(METER_PREFIX + name);
+    }
+
+    /**
+     * Gets the timer for a name from the Dropwizard registry.
+     *
+     * @param name The name of the timer.
+     * @return The timer.
+     */
+    protected final Timer timer(final String name) {
+        return metricRegistry.timer(TIMER_PREFIX + name);
+    }
+
+    /**
+     * Creates a timer for a stage of processing messages.
+     * <p>
+     * The durations are recorded by Dropwizard timers named
+     * <em>timer.${prefix}.latency.${endpoint}.${stage}</em> and
+     * <em>timer.${prefix}.latency.${endpoint}.${tenant}.${stage}</em>.
+     *
+     * @param stage The name of the stage.
+     * @return The timer.
+     */
+    protected final StageTimer stageTimer(final String stage) {
+        return new StageTimer(getPrefix() + LATENCY, stage, this::timer);
+    }
+
+    /**
+     * Gets the gauge for a name from the Dropwizard registry.
+     * <p>
+     * The gauge is registered under the same name that the {@code GaugeService} would use.
+     *
+     * @param name The name of the gauge.
+     * @return The gauge.
+     */
+    protected final SettableGauge gauge(final String name) {
+        return (SettableGauge) metricRegistry.gauge(GAUGE_PREFIX + name, SettableGauge::new);
+    }
+
     protected String normalizeAddress(final String address) {
         Objects.requireNonNull(address);
         return address.replace('/', '.');
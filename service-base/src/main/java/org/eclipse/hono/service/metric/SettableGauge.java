@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.service.metric;
+
+import com.codahale.metrics.Gauge;
+
+/**
+ * A Dropwizard gauge reporting the value that has last been set on it.
+ */
+public final class SettableGauge implements Gauge<Double> {
+
+    private volatile double value;
+
+    /**
+     * Sets the value to report.
+     *
+     * @param value The value.
+     */
+    public void setValue(final double value) {
+        this.value = value;
+    }
+
+    @Override
+    public Double getValue() {
+        return value;
+    }
+}
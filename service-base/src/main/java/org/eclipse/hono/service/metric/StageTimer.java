@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.service.metric;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.codahale.metrics.Timer;
+
+/**
+ * Records the time spent in a particular stage of processing a message.
+ * <p>
+ * Each duration is recorded by a Dropwizard timer for the endpoint as well as by a timer for
+ * the endpoint and tenant. The timers are backed by Dropwizard's default reservoir so that
+ * percentiles can be reported per endpoint without the need to aggregate the timers of
+ * individual tenants.
+ */
+public final class StageTimer {
+
+    private final MetricHandles<Timer> endpointTimers;
+    private final MetricHandles<MetricHandles<Timer>> tenantTimers;
+
+    /**
+     * Creates a new timer for a stage.
+     *
+     * @param prefix The prefix of the timers' names (without the Dropwizard timer prefix).
+     * @param stage The name of the stage.
+     * @param factory The factory to use for creating the Dropwizard timers by name.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    StageTimer(final String prefix, final String stage, final Function<String, Timer> factory) {
+
+        Objects.requireNonNull(prefix);
+        Objects.requireNonNull(stage);
+        Objects.requireNonNull(factory);
+        endpointTimers = new MetricHandles<>(endpoint -> factory.apply(String.join(".", prefix, endpoint, stage)));
+        tenantTimers = new MetricHandles<>(endpoint -> new MetricHandles<>(
+                tenant -> factory.apply(String.join(".", prefix, endpoint, tenant, stage))));
+    }
+
+    /**
+     * Records the time that has elapsed since the processing stage has been entered.
+     *
+     * @param endpoint The endpoint that the message has been processed for.
+     * @param tenant The tenant that the message has been processed for.
+     * @param startNanos The value of {@link System#nanoTime()} when the stage has been entered.
+     */
+    public void update(final String endpoint, final String tenant, final long startNanos) {
+
+        final long duration = System.nanoTime() - startNanos;
+        endpointTimers.get(endpoint).update(duration, TimeUnit.NANOSECONDS);
+        tenantTimers.get(endpoint).get(tenant).update(duration, TimeUnit.NANOSECONDS);
+    }
+}
@@ -14,9 +14,13 @@ package org.eclipse.hono.service.registration;
 import static java.net.HttpURLConnection.*;
 import static org.eclipse.hono.util.RegistrationConstants.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.hono.util.ConfigurationSupportingVerticle;
+import org.eclipse.hono.util.JsonObjectReferenceCodec;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
@@ -31,6 +35,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 /**
@@ -39,17 +44,30 @@ import io.vertx.core.json.JsonObject;
  * In particular, this base class provides support for parsing registration request messages
  * received via the event bus and route them to specific methods corresponding to the <em>action</em>
  * indicated in the message.
+ * <p>
+ * The service can be deployed as one of several partitions by means of the
+ * {@link RequestResponseApiConstants#CONFIG_KEY_PARTITION} and {@link RequestResponseApiConstants#CONFIG_KEY_PARTITIONS}
+ * properties of the verticle's configuration. In that case the service instance only listens for requests regarding
+ * the tenants that are assigned to its partition.
  * 
  * @param <T> The type of configuration properties this service requires.
  */
 public abstract class BaseRegistrationService<T> extends ConfigurationSupportingVerticle<T> implements RegistrationService {
 
+    /**
+     * The default maximum number of devices that can be asserted in a single bulk request.
+     */
+    public static final int DEFAULT_MAX_BULK_ASSERTION_SIZE = 1000;
+
     /**
      * A logger to be shared by subclasses.
      */
     protected final Logger log = LoggerFactory.getLogger(getClass());
     private MessageConsumer<JsonObject> registrationConsumer;
     private RegistrationAssertionHelper assertionFactory;
+    private int partition = 0;
+    private int partitions = 1;
+    private int maxBulkAssertionSize = DEFAULT_MAX_BULK_ASSERTION_SIZE;
 
     /**
      * Sets the factory to use for creating tokens asserting a device's registration status.
@@ -63,12 +81,30 @@ public abstract class BaseRegistrationService<T> extends ConfigurationSupporting
         this.assertionFactory = Objects.requireNonNull(assertionFactory);
     }
 
+    /**
+     * Sets the maximum number of devices that can be asserted in a single bulk request.
+     * <p>
+     * Bulk requests containing more device IDs are rejected.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_BULK_ASSERTION_SIZE}.
+     * 
+     * @param maxBulkAssertionSize The maximum number of devices.
+     * @throws IllegalArgumentException if the number is &lt;= 0.
+     */
+    public final void setMaxBulkAssertionSize(final int maxBulkAssertionSize) {
+        if (maxBulkAssertionSize <= 0) {
+            throw new IllegalArgumentException("max bulk assertion size must be > 0");
+        }
+        this.maxBulkAssertionSize = maxBulkAssertionSize;
+    }
+
     /**
      * Starts up this service.
      * <ol>
      * <li>Checks if <em>registrationAssertionFactory</em>is set. If not, startup fails.</li>
+     * <li>Determines the partition this instance is responsible for from the verticle's configuration.</li>
      * <li>Registers an event bus consumer for address {@link RegistrationConstants#EVENT_BUS_ADDRESS_REGISTRATION_IN}
-     * listening for registration requests.</li>
+     * (appended with the partition index if the service is partitioned) listening for registration requests.</li>
      * <li>Invokes {@link #doStart(Future)}.</li>
      * </ol>
      *
@@ -80,11 +116,48 @@ public abstract class BaseRegistrationService<T> extends ConfigurationSupporting
         if (assertionFactory == null) {
             startFuture.fail("registration assertion factory must be set");
         } else {
-            registerConsumer();
-            doStart(startFuture);
+            final JsonObject verticleConfig = config();
+            if (verticleConfig != null) {
+                partitions = verticleConfig.getInteger(CONFIG_KEY_PARTITIONS, 1);
+                partition = verticleConfig.getInteger(CONFIG_KEY_PARTITION, 0);
+            }
+            if (partitions < 1 || partition < 0 || partition >= partitions) {
+                startFuture.fail(String.format("invalid partition [%d of %d]", partition, partitions));
+            } else {
+                registerConsumer();
+                doStart(startFuture);
+            }
         }
     }
 
+    /**
+     * Gets the index of the partition this service instance is responsible for.
+     *
+     * @return The index (starting at 0).
+     */
+    protected final int getPartition() {
+        return partition;
+    }
+
+    /**
+     * Gets the total number of partitions the service is split into.
+     *
+     * @return The number of partitions.
+     */
+    protected final int getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * Checks if this service instance is responsible for processing requests regarding a tenant.
+     *
+     * @param tenantId The tenant.
+     * @return {@code true} if the tenant is assigned to this instance's partition.
+     */
+    protected final boolean isResponsibleFor(final String tenantId) {
+        return RequestResponseApiConstants.getPartition(tenantId, partitions) == partition;
+    }
+
     /**
      * Subclasses should override this method to perform any work required on start-up of this verticle.
      * <p>
@@ -99,10 +172,11 @@ public abstract class BaseRegistrationService<T> extends ConfigurationSupporting
     }
 
     private void registerConsumer() {
-        registrationConsumer = vertx.eventBus().consumer(EVENT_BUS_ADDRESS_REGISTRATION_IN);
+        JsonObjectReferenceCodec.register(vertx.eventBus());
+        final String address = getPartitionAddress(EVENT_BUS_ADDRESS_REGISTRATION_IN, partition, partitions);
+        registrationConsumer = vertx.eventBus().consumer(address);
         registrationConsumer.handler(this::processRegistrationMessage);
-        log.info("listening on event bus [address: {}] for incoming registration messages",
-                EVENT_BUS_ADDRESS_REGISTRATION_IN);
+        log.info("listening on event bus [address: {}] for incoming registration messages", address);
     }
 
     /**
@@ -149,6 +223,23 @@ public abstract class BaseRegistrationService<T> extends ConfigurationSupporting
                 log.debug("asserting registration of device [{}] with tenant [{}]", deviceId, tenantId);
                 assertRegistration(tenantId, deviceId, result -> reply(regMsg, result));
                 break;
+            case ACTION_ASSERT_BULK:
+                final JsonArray deviceIdArray = getDeviceIdArray(body);
+                if (deviceIdArray != null && deviceIdArray.size() > maxBulkAssertionSize) {
+                    log.debug("bulk assertion request for tenant [{}] contains {} device IDs, max {} allowed",
+                            tenantId, deviceIdArray.size(), maxBulkAssertionSize);
+                    reply(regMsg, RegistrationResult.from(HTTP_BAD_REQUEST));
+                    break;
+                }
+                final List<String> deviceIds = getDeviceIds(deviceIdArray);
+                if (deviceIds == null) {
+                    log.debug("bulk assertion request for tenant [{}] does not contain a list of device IDs", tenantId);
+                    reply(regMsg, RegistrationResult.from(HTTP_BAD_REQUEST));
+                } else {
+                    log.debug("asserting registration of {} devices with tenant [{}]", deviceIds.size(), tenantId);
+                    assertRegistrations(tenantId, deviceIds, result -> reply(regMsg, result));
+                }
+                break;
             case ACTION_GET:
                 log.debug("retrieving device [{}] of tenant [{}]", deviceId, tenantId);
                 getDevice(tenantId, deviceId, result -> reply(regMsg, result));
@@ -209,6 +300,95 @@ public abstract class BaseRegistrationService<T> extends ConfigurationSupporting
         });
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This default implementation invokes {@link #assertRegistration(String, String, Handler)} for each of
+     * the devices and collects the outcomes. Individual assertions that fail are reported with status
+     * {@link java.net.HttpURLConnection#HTTP_INTERNAL_ERROR}.
+     * <p>
+     * Subclasses may override this method in order to look up the registration status of all devices
+     * at once.
+     */
+    @Override
+    public void assertRegistrations(final String tenantId, final List<String> deviceIds,
+            final Handler<AsyncResult<RegistrationResult>> resultHandler) {
+
+        final JsonArray results = new JsonArray();
+        if (deviceIds.isEmpty()) {
+            resultHandler.handle(Future.succeededFuture(getBulkAssertionResult(results)));
+            return;
+        }
+        final JsonObject[] outcomes = new JsonObject[deviceIds.size()];
+        final AtomicInteger pending = new AtomicInteger(deviceIds.size());
+        for (int i = 0; i < outcomes.length; i++) {
+            final int index = i;
+            final String deviceId = deviceIds.get(i);
+            assertRegistration(tenantId, deviceId, assertion -> {
+                if (assertion.succeeded()) {
+                    outcomes[index] = getBulkAssertionEntry(deviceId, assertion.result());
+                } else {
+                    outcomes[index] = getBulkAssertionEntry(deviceId, RegistrationResult.from(HTTP_INTERNAL_ERROR));
+                }
+                if (pending.decrementAndGet() == 0) {
+                    for (JsonObject outcome : outcomes) {
+                        results.add(outcome);
+                    }
+                    resultHandler.handle(Future.succeededFuture(getBulkAssertionResult(results)));
+                }
+            });
+        }
+    }
+
+    private static JsonObject getBulkAssertionEntry(final String deviceId, final RegistrationResult result) {
+
+        final JsonObject entry = new JsonObject()
+                .put(FIELD_DEVICE_ID, deviceId)
+                .put(FIELD_STATUS, result.getStatus());
+        if (result.getPayload() != null) {
+            entry.put(FIELD_PAYLOAD, result.getPayload());
+        }
+        return entry;
+    }
+
+    private static RegistrationResult getBulkAssertionResult(final JsonArray results) {
+        return RegistrationResult.from(HTTP_OK, new JsonObject().put(FIELD_RESULTS, results));
+    }
+
+    private static JsonArray getDeviceIdArray(final JsonObject requestBody) {
+
+        final Object payload = requestBody.getValue(FIELD_PAYLOAD);
+        if (payload instanceof JsonObject) {
+            final Object deviceIds = ((JsonObject) payload).getValue(FIELD_DEVICES);
+            if (deviceIds instanceof JsonArray) {
+                return (JsonArray) deviceIds;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the device IDs contained in a bulk assertion request.
+     * 
+     * @param deviceIds The array of device IDs from the request.
+     * @return The device IDs or {@code null} if the array is {@code null} or contains
+     *         an entry that is not a non-empty string.
+     */
+    private static List<String> getDeviceIds(final JsonArray deviceIds) {
+
+        if (deviceIds == null) {
+            return null;
+        }
+        final List<String> result = new ArrayList<>(deviceIds.size());
+        for (Object deviceId : deviceIds) {
+            if (!(deviceId instanceof String) || ((String) deviceId).isEmpty()) {
+                return null;
+            }
+            result.add((String) deviceId);
+        }
+        return result;
+    }
+
     private boolean isDeviceEnabled(final JsonObject registrationData) {
         return registrationData.getBoolean(FIELD_ENABLED, Boolean.TRUE);
     }
@@ -263,6 +443,8 @@ public abstract class BaseRegistrationService<T> extends ConfigurationSupporting
 
     /**
      * Sends a response to a registration request over the Vertx event bus.
+     * <p>
+     * The response is passed to the requester by reference using the {@link JsonObjectReferenceCodec}.
      * 
      * @param request The message to respond to.
      * @param result The registration result that should be conveyed in the response.
@@ -273,7 +455,8 @@ public abstract class BaseRegistrationService<T> extends ConfigurationSupporting
         final String tenantId = body.getString(RequestResponseApiConstants.FIELD_TENANT_ID);
         final String deviceId = body.getString(RequestResponseApiConstants.FIELD_DEVICE_ID);
 
-        request.reply(RegistrationConstants.getServiceReplyAsJson(tenantId, deviceId, result));
+        request.reply(RegistrationConstants.getServiceReplyAsJson(tenantId, deviceId, result),
+                JsonObjectReferenceCodec.deliveryOptions());
     }
 
     private JsonObject getRequestPayload(final JsonObject request) {
@@ -18,6 +18,7 @@ import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.auth.HonoUser;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.service.amqp.RequestResponseEndpoint;
+import org.eclipse.hono.util.JsonObjectReferenceCodec;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.ResourceIdentifier;
@@ -32,6 +33,10 @@ import io.vertx.core.json.JsonObject;
  * This endpoint implements Hono's <a href="https://www.eclipse.org/hono/api/Device-Registration-API/">Device Registration API</a>.
  * It receives AMQP 1.0 messages representing requests and sends them to an address on the vertx
  * event bus for processing. The outcome is then returned to the peer in a response message.
+ * <p>
+ * Requests and responses are passed to and from the service implementation by reference using the
+ * {@link JsonObjectReferenceCodec} in order to prevent the JSON objects from being copied
+ * on each hop.
  */
 public final class RegistrationAmqpEndpoint extends RequestResponseEndpoint<ServiceConfigProperties> {
 
@@ -55,7 +60,9 @@ public final class RegistrationAmqpEndpoint extends RequestResponseEndpoint<Serv
 
         final JsonObject registrationMsg = RegistrationConstants.getRegistrationMsg(msg);
 
-        vertx.eventBus().send(RegistrationConstants.EVENT_BUS_ADDRESS_REGISTRATION_IN, registrationMsg,
+        final String address = getServiceAddress(RegistrationConstants.EVENT_BUS_ADDRESS_REGISTRATION_IN,
+                registrationMsg.getString(RegistrationConstants.FIELD_TENANT_ID));
+        vertx.eventBus().send(address, registrationMsg, JsonObjectReferenceCodec.deliveryOptions(),
                 result -> {
                     JsonObject response = null;
                     if (result.succeeded()) {
@@ -71,7 +78,7 @@ public final class RegistrationAmqpEndpoint extends RequestResponseEndpoint<Serv
                                 null);
                     }
                     addHeadersToResponse(msg, response);
-                    vertx.eventBus().send(msg.getReplyTo(), response);
+                    vertx.eventBus().send(msg.getReplyTo(), response, JsonObjectReferenceCodec.deliveryOptions());
                 });
     }
 
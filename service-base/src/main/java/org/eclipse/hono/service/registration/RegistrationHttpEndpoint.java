@@ -220,7 +220,9 @@ public final class RegistrationHttpEndpoint extends AbstractHttpEndpoint<Service
 
     private void doRegistrationAction(final RoutingContext ctx, final JsonObject requestMsg, final BiConsumer<Integer, JsonObject> responseHandler) {
 
-        vertx.eventBus().send(RegistrationConstants.EVENT_BUS_ADDRESS_REGISTRATION_IN, requestMsg,
+        final String address = getServiceAddress(RegistrationConstants.EVENT_BUS_ADDRESS_REGISTRATION_IN,
+                requestMsg.getString(RegistrationConstants.FIELD_TENANT_ID));
+        vertx.eventBus().send(address, requestMsg,
                 invocation -> {
                     HttpServerResponse response = ctx.response();
                     if (invocation.failed()) {
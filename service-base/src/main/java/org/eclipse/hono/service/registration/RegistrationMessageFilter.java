@@ -14,6 +14,7 @@ package org.eclipse.hono.service.registration;
 import org.apache.qpid.proton.amqp.messaging.AmqpValue;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.util.BaseMessageFilter;
+import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.ResourceIdentifier;
 import org.slf4j.Logger;
@@ -39,7 +40,9 @@ public final class RegistrationMessageFilter extends BaseMessageFilter {
      */
      public static boolean verify(final ResourceIdentifier linkTarget, final Message msg) {
 
-         if (!verifyStandardProperties(linkTarget, msg)) {
+         if (RegistrationConstants.ACTION_ASSERT_BULK.equals(msg.getSubject())) {
+             return verifyBulkAssertion(linkTarget, msg);
+         } else if (!verifyStandardProperties(linkTarget, msg)) {
              return false;
          } else if (msg.getMessageId() == null && msg.getCorrelationId() == null) {
              LOG.trace("message has neither a message-id nor correlation-id");
@@ -61,4 +64,35 @@ public final class RegistrationMessageFilter extends BaseMessageFilter {
              return true;
          }
     }
+
+    /**
+     * Checks whether a given bulk assertion message contains all required properties.
+     * <p>
+     * Bulk assertion requests do not refer to a single device and must therefore
+     * be sent via a tenant scoped link. The IDs of the devices to assert are conveyed
+     * in the message body.
+     * 
+     * @param linkTarget The resource path to check the message's properties against for consistency.
+     * @param msg The AMQP 1.0 message to perform the checks on.
+     * @return {@code true} if the message passes all checks.
+     */
+    private static boolean verifyBulkAssertion(final ResourceIdentifier linkTarget, final Message msg) {
+
+        if (linkTarget.getResourceId() != null) {
+            LOG.trace("bulk assertion message [{}] has been sent via a device scoped link", msg.getMessageId());
+            return false;
+        } else if (msg.getMessageId() == null && msg.getCorrelationId() == null) {
+            LOG.trace("message has neither a message-id nor correlation-id");
+            return false;
+        } else if (msg.getReplyTo() == null) {
+            LOG.trace("message [{}] contains no reply-to address", msg.getMessageId());
+            return false;
+        } else if (!(msg.getBody() instanceof AmqpValue)) {
+            LOG.trace("bulk assertion message [{}] contains no AmqpValue section payload", msg.getMessageId());
+            return false;
+        } else {
+            MessageHelper.annotate(msg, ResourceIdentifier.from(linkTarget.getEndpoint(), linkTarget.getTenantId(), null));
+            return true;
+        }
+    }
 }
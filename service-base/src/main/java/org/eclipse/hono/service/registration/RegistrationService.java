@@ -13,6 +13,7 @@
 package org.eclipse.hono.service.registration;
 
 import java.net.HttpURLConnection;
+import java.util.List;
 
 import org.eclipse.hono.util.RegistrationResult;
 
@@ -52,6 +53,17 @@ public interface RegistrationService extends Verticle {
      */
     void assertRegistration(String tenantId, String deviceId, Handler<AsyncResult<RegistrationResult>> resultHandler);
 
+    /**
+     * Asserts the registration status of multiple devices of a given tenant.
+     * 
+     * @param tenantId The tenant the devices belong to.
+     * @param deviceIds The IDs of the devices to get assertions for.
+     * @param resultHandler The handler to invoke with the result of the operation. The <em>status</em> will be
+     *         {@link HttpURLConnection#HTTP_OK} and the <em>payload</em> will contain a <em>results</em> array containing
+     *         the outcome of {@link #assertRegistration(String, String, Handler)} for each of the devices.
+     */
+    void assertRegistrations(String tenantId, List<String> deviceIds, Handler<AsyncResult<RegistrationResult>> resultHandler);
+
     /**
      * Registers a device.
      * 
@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.service.timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * A coarse grained timer for scheduling tasks that need to be run when a deadline has been reached,
+ * e.g. closing a connection when the client's token expires.
+ * <p>
+ * Scheduled tasks are kept in a fixed number of buckets (the <em>wheel</em>) based on their deadline.
+ * A single Vert.x timer advances the wheel by one bucket per <em>tick</em> and runs the expired
+ * tasks of the current bucket. Scheduling and cancelling a task therefore take constant time,
+ * regardless of the number of scheduled tasks. Tasks are run within one tick duration of their deadline
+ * on the Vert.x context they have been scheduled from.
+ * <p>
+ * The Vert.x timer is only active while there are tasks scheduled. It is run on the context the wheel
+ * has been created on. If that context belongs to a verticle that gets undeployed, the timer is
+ * restarted on the context of one of the remaining tasks or of the next task being scheduled.
+ * Wheels that outlive the verticles using them should therefore be created outside of any verticle.
+ * <p>
+ * Instances of this class are thread safe and can be shared by multiple verticles.
+ */
+public final class HashedTimerWheel {
+
+    /**
+     * The default duration of a tick.
+     */
+    public static final Duration DEFAULT_TICK_DURATION = Duration.ofSeconds(1);
+    /**
+     * The default number of buckets.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final Vertx vertx;
+    private final long tickMillis;
+    private final List<Set<Timeout>> wheel;
+    // all of the following are guarded by this
+    private long currentTick = 0;
+    private long timerId = -1;
+    private boolean starting = false;
+    private Context tickContext;
+    private int size = 0;
+
+    /**
+     * Creates a new timer wheel using default tick duration and number of buckets.
+     *
+     * @param vertx The Vert.x instance to use for advancing the wheel.
+     * @throws NullPointerException if vertx is {@code null}.
+     */
+    public HashedTimerWheel(final Vertx vertx) {
+        this(vertx, DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Creates a new timer wheel.
+     *
+     * @param vertx The Vert.x instance to use for advancing the wheel.
+     * @param tickDuration The duration of a tick, i.e. the precision of the timer.
+     * @param wheelSize The number of buckets.
+     * @throws NullPointerException if vertx or tick duration are {@code null}.
+     * @throws IllegalArgumentException if tick duration is less than one millisecond or wheel size is not positive.
+     */
+    public HashedTimerWheel(final Vertx vertx, final Duration tickDuration, final int wheelSize) {
+        this.vertx = Objects.requireNonNull(vertx);
+        this.tickMillis = Objects.requireNonNull(tickDuration).toMillis();
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("tick duration must be at least 1ms");
+        } else if (wheelSize < 1) {
+            throw new IllegalArgumentException("wheel size must be > 0");
+        }
+        this.wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(new HashSet<>());
+        }
+        setTickContext(vertx.getOrCreateContext());
+    }
+
+    /**
+     * Schedules a task to be run after a delay.
+     *
+     * @param delay The delay after which the task should be run.
+     * @param task The task to run.
+     * @return The handle for cancelling the task.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public Timeout schedule(final Duration delay, final Handler<Void> task) {
+        return schedule(delay, Duration.ZERO, task);
+    }
+
+    /**
+     * Schedules a task to be run after a randomly shortened delay.
+     * <p>
+     * The task is run after the given delay minus a random amount of time which is at most
+     * the given maximum jitter. This helps to spread the execution of tasks that have been
+     * scheduled for the same deadline, e.g. the expiration of tokens that have been issued
+     * to many clients at the same time.
+     *
+     * @param delay The delay after which the task should be run at the latest.
+     * @param maxJitter The maximum amount of time by which the delay may be shortened.
+     * @param task The task to run.
+     * @return The handle for cancelling the task.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public Timeout schedule(final Duration delay, final Duration maxJitter, final Handler<Void> task) {
+
+        Objects.requireNonNull(delay);
+        Objects.requireNonNull(maxJitter);
+        Objects.requireNonNull(task);
+
+        long delayMillis = delay.toMillis();
+        if (maxJitter.toMillis() > 0) {
+            delayMillis -= ThreadLocalRandom.current().nextLong(maxJitter.toMillis() + 1);
+        }
+        final long ticks = Math.max(1, (Math.max(0, delayMillis) + tickMillis - 1) / tickMillis);
+        final Context context = vertx.getOrCreateContext();
+
+        synchronized (this) {
+            final Timeout timeout = new Timeout(context, task, currentTick + ticks);
+            timeout.bucket.add(timeout);
+            size++;
+            if (timerId == -1 && !starting) {
+                startTicking(context);
+            }
+            return timeout;
+        }
+    }
+
+    /**
+     * Gets the number of scheduled tasks.
+     *
+     * @return The number of tasks.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    // must be invoked while holding the lock
+    private void startTicking(final Context schedulingContext) {
+
+        if (tickContext == null) {
+            // the context the timer has been running on has been closed
+            setTickContext(schedulingContext);
+        }
+        final Context context = tickContext;
+        starting = true;
+        // Vert.x timers run on the context they have been created on
+        context.runOnContext(go -> {
+            synchronized (this) {
+                starting = false;
+                if (size > 0 && timerId == -1 && tickContext == context) {
+                    timerId = vertx.setPeriodic(tickMillis, tid -> tick());
+                }
+            }
+        });
+    }
+
+    // must be invoked while holding the lock or from the constructor
+    private void setTickContext(final Context context) {
+
+        tickContext = context;
+        if (context.deploymentID() != null) {
+            // Vert.x cancels the verticle's timers when it gets undeployed
+            context.addCloseHook(completion -> {
+                synchronized (this) {
+                    if (tickContext == context) {
+                        tickContext = null;
+                        timerId = -1;
+                        starting = false;
+                        final Context remaining = findTaskContext(context);
+                        if (remaining != null) {
+                            startTicking(remaining);
+                        }
+                    }
+                }
+                completion.handle(Future.succeededFuture());
+            });
+        }
+    }
+
+    // must be invoked while holding the lock
+    private Context findTaskContext(final Context excluded) {
+
+        for (Set<Timeout> bucket : wheel) {
+            for (Timeout timeout : bucket) {
+                if (timeout.context != excluded) {
+                    return timeout.context;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void tick() {
+
+        final List<Timeout> expired = new ArrayList<>();
+        synchronized (this) {
+            currentTick++;
+            final Iterator<Timeout> bucket = getBucket(currentTick).iterator();
+            while (bucket.hasNext()) {
+                final Timeout timeout = bucket.next();
+                if (timeout.deadline <= currentTick) {
+                    bucket.remove();
+                    expired.add(timeout);
+                }
+            }
+            size -= expired.size();
+            if (size == 0) {
+                vertx.cancelTimer(timerId);
+                timerId = -1;
+            }
+        }
+        expired.forEach(timeout -> timeout.context.runOnContext(go -> timeout.task.handle(null)));
+    }
+
+    private Set<Timeout> getBucket(final long tick) {
+        return wheel.get((int) (tick % wheel.size()));
+    }
+
+    /**
+     * A handle for a scheduled task.
+     */
+    public final class Timeout {
+
+        private final Context context;
+        private final Handler<Void> task;
+        private final long deadline;
+        private final Set<Timeout> bucket;
+
+        private Timeout(final Context context, final Handler<Void> task, final long deadline) {
+            this.context = context;
+            this.task = task;
+            this.deadline = deadline;
+            this.bucket = getBucket(deadline);
+        }
+
+        /**
+         * Cancels the task.
+         *
+         * @return {@code true} if the task has been cancelled or {@code false} if the task
+         *         has already been run or cancelled.
+         */
+        public boolean cancel() {
+            synchronized (HashedTimerWheel.this) {
+                if (bucket.remove(this)) {
+                    size--;
+                    return true;
+                } else {
+                    return false;
+                }
+            }
+        }
+    }
+}
@@ -17,10 +17,20 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.SharedData;
 import io.vertx.proton.ProtonConnection;
 import io.vertx.proton.ProtonReceiver;
+import io.vertx.proton.sasl.ProtonSaslAuthenticator;
+import io.vertx.proton.sasl.ProtonSaslAuthenticatorFactory;
+import org.apache.qpid.proton.amqp.transport.AmqpError;
+import org.apache.qpid.proton.amqp.transport.ErrorCondition;
 import org.apache.qpid.proton.amqp.transport.Target;
 import org.apache.qpid.proton.engine.Record;
+import org.apache.qpid.proton.engine.Sasl;
+import org.apache.qpid.proton.engine.Transport;
 import org.apache.qpid.proton.engine.impl.RecordImpl;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.auth.Activity;
@@ -37,12 +47,21 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.codahale.metrics.MetricRegistry;
+
 /**
  * Tests verifying behavior of {@link AmqpServiceBase}.
  */
@@ -59,14 +78,22 @@ public class AmqpServiceBaseTest {
     /**
      * Sets up common mock objects used by the test cases.
      */
+    @SuppressWarnings("unchecked")
     @Before
     public void initMocks() {
         eventBus = mock(EventBus.class);
         vertx = mock(Vertx.class);
         when(vertx.eventBus()).thenReturn(eventBus);
+        final SharedData sharedData = mock(SharedData.class);
+        when(sharedData.getLocalMap(anyString())).thenReturn(mock(LocalMap.class));
+        when(vertx.sharedData()).thenReturn(sharedData);
     }
 
     private AmqpServiceBase<ServiceConfigProperties> createServer(final AmqpEndpoint amqpEndpoint) {
+        return createServer(amqpEndpoint, new ServiceConfigProperties());
+    }
+
+    private AmqpServiceBase<ServiceConfigProperties> createServer(final AmqpEndpoint amqpEndpoint, final ServiceConfigProperties config) {
         publishCalled = false;
 
         AmqpServiceBase<ServiceConfigProperties> server = new AmqpServiceBase<ServiceConfigProperties>() {
@@ -86,7 +113,7 @@ public class AmqpServiceBaseTest {
                 publishCalled = true;
             }
         };
-        server.setConfig(new ServiceConfigProperties());
+        server.setConfig(config);
         if (amqpEndpoint != null) {
             server.addEndpoint(amqpEndpoint);
         }
@@ -182,6 +209,133 @@ public class AmqpServiceBaseTest {
         assertTrue(publishCalled);
     }
 
+    /**
+     * Verifies that connections from a host that has reached its connection limit are
+     * rejected during the SASL handshake without authenticating the client and that
+     * the rejections are counted.
+     */
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void testSaslAuthenticatorRejectsExcessConnectionsFromSameHost() {
+
+        // GIVEN a server that accepts a single connection per host
+        final ProtonSaslAuthenticator delegate = mock(ProtonSaslAuthenticator.class);
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final AmqpServiceBase<ServiceConfigProperties> server = createServer(null,
+                new ServiceConfigProperties().setMaxConnectionsPerAddress(1));
+        server.setSaslAuthenticatorFactory(() -> delegate);
+        server.setMetricRegistry(metricRegistry);
+        server.initAdmissionController();
+        final ProtonSaslAuthenticatorFactory factory = server.createSaslAuthenticatorFactory();
+
+        // and a client that has already connected from a host
+        final ProtonConnection firstCon = newConnection(Constants.PRINCIPAL_ANONYMOUS);
+        final ArgumentCaptor<Handler> disconnectHandler = ArgumentCaptor.forClass(Handler.class);
+        when(firstCon.disconnectHandler(disconnectHandler.capture())).thenReturn(firstCon);
+        final ProtonSaslAuthenticator firstAuthenticator = factory.create();
+        firstAuthenticator.init(newSocket("10.0.0.1"), firstCon, newTransport(mock(Sasl.class)));
+        firstAuthenticator.process(done -> {});
+        verify(delegate).process(any(Handler.class));
+
+        // WHEN another client connects from the same host
+        final Sasl sasl = mock(Sasl.class);
+        final AtomicBoolean completed = new AtomicBoolean();
+        final ProtonSaslAuthenticator secondAuthenticator = factory.create();
+        secondAuthenticator.init(newSocket("10.0.0.1"), newConnection(Constants.PRINCIPAL_ANONYMOUS), newTransport(sasl));
+        secondAuthenticator.process(completed::set);
+
+        // THEN the connection is rejected with a temporary error without authenticating the client
+        assertTrue(completed.get());
+        assertFalse(secondAuthenticator.succeeded());
+        verify(sasl).done(Sasl.SaslOutcome.PN_SASL_TEMP);
+        verify(delegate).process(any(Handler.class));
+        // and the rejection is counted
+        assertEquals(1, metricRegistry.counter("counter.amqpservicebase.connections.rejected").getCount());
+
+        // and a client connecting from another host is admitted
+        final ProtonSaslAuthenticator otherHostAuthenticator = factory.create();
+        otherHostAuthenticator.init(newSocket("10.0.0.2"), newConnection(Constants.PRINCIPAL_ANONYMOUS), newTransport(mock(Sasl.class)));
+        otherHostAuthenticator.process(done -> {});
+        verify(delegate, times(2)).process(any(Handler.class));
+
+        // and a client connecting from the first host is admitted again once the first client has disconnected
+        disconnectHandler.getValue().handle(firstCon);
+        final ProtonSaslAuthenticator thirdAuthenticator = factory.create();
+        thirdAuthenticator.init(newSocket("10.0.0.1"), newConnection(Constants.PRINCIPAL_ANONYMOUS), newTransport(mock(Sasl.class)));
+        thirdAuthenticator.process(done -> {});
+        verify(delegate, times(3)).process(any(Handler.class));
+    }
+
+    /**
+     * Verifies that links exceeding the rate at which a client may open links are closed
+     * and that the rejections are counted.
+     */
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void testServerRejectsLinksExceedingRate() {
+
+        // GIVEN a server that permits a single link per second and client
+        final ResourceIdentifier targetAddress = ResourceIdentifier.from(ENDPOINT, Constants.DEFAULT_TENANT, null);
+        final AmqpEndpoint endpoint = mock(AmqpEndpoint.class);
+        when(endpoint.getName()).thenReturn(ENDPOINT);
+        final AuthorizationService authService = mock(AuthorizationService.class);
+        when(authService.isAuthorized(Constants.PRINCIPAL_ANONYMOUS, targetAddress, Activity.WRITE)).thenReturn(Future.succeededFuture(Boolean.TRUE));
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final AmqpServiceBase<ServiceConfigProperties> server = createServer(endpoint,
+                new ServiceConfigProperties().setMaxLinksPerSecond(1));
+        server.setAuthorizationService(authService);
+        server.setMetricRegistry(metricRegistry);
+        server.initAdmissionController();
+
+        // and a client that has connected to the server
+        final ProtonConnection con = newConnection(Constants.PRINCIPAL_ANONYMOUS);
+        final ArgumentCaptor<Handler> receiverOpenHandler = ArgumentCaptor.forClass(Handler.class);
+        when(con.receiverOpenHandler(receiverOpenHandler.capture())).thenReturn(con);
+        server.onRemoteConnectionOpen(con);
+
+        // WHEN the client opens two links in quick succession
+        final ProtonReceiver firstReceiver = newReceiver(targetAddress);
+        receiverOpenHandler.getValue().handle(firstReceiver);
+        final ProtonReceiver secondReceiver = newReceiver(targetAddress);
+        receiverOpenHandler.getValue().handle(secondReceiver);
+
+        // THEN the first link is established
+        verify(endpoint).onLinkAttach(con, firstReceiver, targetAddress);
+        verify(firstReceiver, never()).close();
+        // but the second link is closed with a resource limit error
+        final ArgumentCaptor<ErrorCondition> condition = ArgumentCaptor.forClass(ErrorCondition.class);
+        verify(secondReceiver).setCondition(condition.capture());
+        assertEquals(AmqpError.RESOURCE_LIMIT_EXCEEDED, condition.getValue().getCondition());
+        verify(secondReceiver).close();
+        verify(endpoint, never()).onLinkAttach(con, secondReceiver, targetAddress);
+        // and the rejection is counted
+        assertEquals(1, metricRegistry.counter("counter.amqpservicebase.links.rejected").getCount());
+    }
+
+    private static NetSocket newSocket(final String host) {
+        final SocketAddress address = mock(SocketAddress.class);
+        when(address.host()).thenReturn(host);
+        final NetSocket socket = mock(NetSocket.class);
+        when(socket.remoteAddress()).thenReturn(address);
+        return socket;
+    }
+
+    private static Transport newTransport(final Sasl sasl) {
+        when(sasl.getRemoteMechanisms()).thenReturn(new String[] { "PLAIN" });
+        final Transport transport = mock(Transport.class);
+        when(transport.sasl()).thenReturn(sasl);
+        return transport;
+    }
+
+    private static ProtonReceiver newReceiver(final ResourceIdentifier targetAddress) {
+        final Target target = getTarget(targetAddress);
+        final ProtonReceiver receiver = mock(ProtonReceiver.class);
+        when(receiver.getRemoteTarget()).thenReturn(target);
+        when(receiver.attachments()).thenReturn(mock(Record.class));
+        when(receiver.setCondition(any())).thenReturn(receiver);
+        return receiver;
+    }
+
     private static Target getTarget(final ResourceIdentifier targetAddress) {
         Target result = mock(Target.class);
         when(result.getAddress()).thenReturn(targetAddress.toString());
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.service.auth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.eclipse.hono.auth.Activity;
+import org.eclipse.hono.auth.AuthoritiesImpl;
+import org.eclipse.hono.auth.HonoUser;
+import org.eclipse.hono.service.auth.HonoSaslAuthenticatorFactory.EventBusAuthenticationService;
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.Vertx;
+
+
+/**
+ * Verifies behavior of {@link EventBusAuthenticationService}.
+ *
+ */
+public class EventBusAuthenticationServiceTest {
+
+    private AuthTokenHelper helper;
+    private EventBusAuthenticationService authService;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        helper = spy(AuthTokenHelperImpl.forSharedSecret("suzfgsuzdfgadsjfjfaksgfkadfgduzsafdsfsaf", 60));
+        authService = new EventBusAuthenticationService(mock(Vertx.class), helper);
+    }
+
+    /**
+     * Verifies that a token is expanded only once.
+     */
+    @Test
+    public void testGetUserExpandsTokenOnlyOnce() {
+
+        final String token = helper.createToken("userA", new AuthoritiesImpl().addResource("telemetry", "*", Activity.WRITE));
+
+        final HonoUser user = authService.getUser(token);
+        assertEquals("userA", user.getName());
+        assertEquals(token, user.getToken());
+        assertTrue(user.getAuthorities().isAuthorized(ResourceIdentifier.fromString("telemetry/tenant"), Activity.WRITE));
+
+        assertSame(user, authService.getUser(token));
+        verify(helper, times(1)).expand(token);
+    }
+}
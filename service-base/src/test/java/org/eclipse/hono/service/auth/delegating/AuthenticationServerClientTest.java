@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.service.auth.delegating;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.qpid.proton.amqp.messaging.AmqpValue;
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.auth.HonoUser;
+import org.eclipse.hono.connection.ConnectionFactory;
+import org.eclipse.hono.service.auth.AuthTokenHelperImpl;
+import org.eclipse.hono.service.auth.AuthenticationConstants;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.proton.ProtonClientOptions;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonMessageHandler;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Verifies behavior of {@link AuthenticationServerClient}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class AuthenticationServerClientTest {
+
+    private static final String SECRET = "hsdfuhsdfuiashufaiuhfaisudhfasidufahfsiahfsdjf";
+
+    private ConnectionFactory factory;
+    private ProtonConnection con;
+    private ProtonReceiver receiver;
+    private AuthenticationServerClient client;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+
+        receiver = mock(ProtonReceiver.class);
+        when(receiver.openHandler(any(Handler.class))).thenReturn(receiver);
+        when(receiver.handler(any(ProtonMessageHandler.class))).thenReturn(receiver);
+        con = mock(ProtonConnection.class);
+        when(con.createReceiver(anyString())).thenReturn(receiver);
+        factory = mock(ConnectionFactory.class);
+        client = new AuthenticationServerClient(mock(Vertx.class), factory);
+    }
+
+    /**
+     * Verifies that concurrent requests for the same credentials are served by
+     * a single connection to the authentication server and that subsequent requests
+     * are served from the cache.
+     *
+     * @param ctx The vertx unit test context.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testVerifyPlainSharesPendingRequestAndCachesToken(final TestContext ctx) {
+
+        final String token = AuthTokenHelperImpl.forSharedSecret(SECRET, 60).createToken("user", null);
+
+        // WHEN verifying the same credentials twice before the server has issued a token
+        final Async results = ctx.async(3);
+        final Handler<AsyncResult<HonoUser>> resultHandler = result -> {
+            ctx.assertTrue(result.succeeded());
+            ctx.assertEquals(token, result.result().getToken());
+            results.countDown();
+        };
+        client.verifyPlain(null, "user", "pwd", resultHandler);
+        client.verifyPlain(null, "user", "pwd", resultHandler);
+
+        // THEN only a single connection is established
+        final ArgumentCaptor<Handler> conHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(factory).connect(any(ProtonClientOptions.class), eq("user"), eq("pwd"), any(Handler.class),
+                any(Handler.class), conHandler.capture());
+        conHandler.getValue().handle(Future.succeededFuture(con));
+
+        // and both requests are completed with the token issued by the server
+        final ArgumentCaptor<ProtonMessageHandler> messageHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        verify(receiver).handler(messageHandler.capture());
+        messageHandler.getValue().handle(null, newTokenMessage(token));
+
+        // and a subsequent request is served from the cache
+        client.verifyPlain(null, "user", "pwd", resultHandler);
+        verify(factory, times(1)).connect(any(ProtonClientOptions.class), anyString(), anyString(),
+                any(Handler.class), any(Handler.class), any(Handler.class));
+    }
+
+    /**
+     * Verifies that the client keeps track of successful connection attempts.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testHasConnectedWithinReflectsSuccessfulConnection() {
+
+        assertFalse(client.hasConnectedWithin(Duration.ofMinutes(1)));
+
+        // WHEN a connection to the server fails
+        client.verifyPlain(null, "user", "pwd", r -> {});
+        final ArgumentCaptor<Handler> conHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(factory).connect(any(ProtonClientOptions.class), eq("user"), eq("pwd"), any(Handler.class),
+                any(Handler.class), conHandler.capture());
+        conHandler.getValue().handle(Future.failedFuture("unauthorized"));
+
+        // THEN the client has not been connected
+        assertFalse(client.hasConnectedWithin(Duration.ofMinutes(1)));
+
+        // WHEN a connection to the server succeeds
+        client.verifyPlain(null, "user", "pwd", r -> {});
+        verify(factory, times(2)).connect(any(ProtonClientOptions.class), eq("user"), eq("pwd"), any(Handler.class),
+                any(Handler.class), conHandler.capture());
+        conHandler.getValue().handle(Future.succeededFuture(con));
+
+        // THEN the client has been connected recently
+        assertTrue(client.hasConnectedWithin(Duration.ofMinutes(1)));
+    }
+
+    /**
+     * Verifies that a request using a different password is not served from the cache.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testVerifyPlainDoesNotUseCachedTokenForOtherPassword() {
+
+        final String token = AuthTokenHelperImpl.forSharedSecret(SECRET, 60).createToken("user", null);
+
+        // GIVEN a token that has been retrieved for a user
+        client.verifyPlain(null, "user", "pwd", r -> {});
+        final ArgumentCaptor<Handler> conHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(factory).connect(any(ProtonClientOptions.class), eq("user"), eq("pwd"), any(Handler.class),
+                any(Handler.class), conHandler.capture());
+        conHandler.getValue().handle(Future.succeededFuture(con));
+        final ArgumentCaptor<ProtonMessageHandler> messageHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        verify(receiver).handler(messageHandler.capture());
+        messageHandler.getValue().handle(null, newTokenMessage(token));
+
+        // WHEN verifying the same user with another password
+        client.verifyPlain(null, "user", "other", r -> {});
+
+        // THEN the authentication server is contacted again
+        verify(factory).connect(any(ProtonClientOptions.class), eq("user"), eq("other"), any(Handler.class),
+                any(Handler.class), any(Handler.class));
+    }
+
+    /**
+     * Verifies that a token with a short lifetime is taken from the cache as well.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testVerifyPlainCachesShortLivedToken() {
+
+        final String token = AuthTokenHelperImpl.forSharedSecret(SECRET, 10).createToken("user", null);
+
+        // GIVEN a token with a lifetime of ten seconds that has been retrieved for a user
+        client.verifyPlain(null, "user", "pwd", r -> {});
+        final ArgumentCaptor<Handler> conHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(factory).connect(any(ProtonClientOptions.class), eq("user"), eq("pwd"), any(Handler.class),
+                any(Handler.class), conHandler.capture());
+        conHandler.getValue().handle(Future.succeededFuture(con));
+        final ArgumentCaptor<ProtonMessageHandler> messageHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        verify(receiver).handler(messageHandler.capture());
+        messageHandler.getValue().handle(null, newTokenMessage(token));
+
+        // WHEN verifying the same credentials again
+        client.verifyPlain(null, "user", "pwd", r -> {});
+
+        // THEN the token is taken from the cache
+        verify(factory, times(1)).connect(any(ProtonClientOptions.class), anyString(), anyString(),
+                any(Handler.class), any(Handler.class), any(Handler.class));
+    }
+
+    private static Message newTokenMessage(final String token) {
+        final Message msg = ProtonHelper.message();
+        final Map<String, Object> props = new HashMap<>();
+        props.put(AuthenticationConstants.APPLICATION_PROPERTY_TYPE, AuthenticationConstants.TYPE_AMQP_JWT);
+        msg.setApplicationProperties(new ApplicationProperties(props));
+        msg.setBody(new AmqpValue(token));
+        return msg;
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+
+package org.eclipse.hono.service.auth.delegating;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.eclipse.hono.connection.ConnectionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.ext.healthchecks.HealthCheckHandler;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.proton.ProtonClientOptions;
+import io.vertx.proton.ProtonConnection;
+
+/**
+ * Verifies behavior of {@link DelegatingAuthenticationService}.
+ *
+ */
+public class DelegatingAuthenticationServiceTest {
+
+    private ConnectionFactory factory;
+    private Handler<Future<Status>> readinessCheck;
+
+    /**
+     * Sets up the fixture.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Before
+    public void setUp() {
+
+        factory = mock(ConnectionFactory.class);
+        final DelegatingAuthenticationService service = new DelegatingAuthenticationService();
+        service.setConnectionFactory(factory);
+        final HealthCheckHandler handler = mock(HealthCheckHandler.class);
+        service.registerReadinessChecks(handler);
+        final ArgumentCaptor<Handler> check = ArgumentCaptor.forClass(Handler.class);
+        verify(handler).register(eq("authentication-service-connection"), check.capture());
+        readinessCheck = check.getValue();
+    }
+
+    /**
+     * Verifies that the readiness check succeeds if the Authentication service can be connected to.
+     */
+    @Test
+    public void testReadinessCheckSucceedsIfProbeSucceeds() {
+
+        // WHEN checking readiness
+        final Future<Status> status = Future.future();
+        readinessCheck.handle(status);
+
+        // and the connection attempt succeeds
+        getProbeHandler(1).handle(Future.succeededFuture(mock(ProtonConnection.class)));
+
+        // THEN the check succeeds
+        assertTrue(status.isComplete());
+        assertTrue(status.result().isOk());
+    }
+
+    /**
+     * Verifies that the readiness check fails if the Authentication service cannot be connected to
+     * and that the outcome is reused for subsequent checks.
+     */
+    @Test
+    public void testReadinessCheckFailsIfProbeFails() {
+
+        // WHEN checking readiness
+        final Future<Status> status = Future.future();
+        readinessCheck.handle(status);
+
+        // and the connection attempt fails
+        getProbeHandler(1).handle(Future.failedFuture("cannot connect"));
+
+        // THEN the check fails
+        assertTrue(status.isComplete());
+        assertFalse(status.result().isOk());
+
+        // and subsequent checks fail without probing the service again
+        final Future<Status> nextStatus = Future.future();
+        readinessCheck.handle(nextStatus);
+        assertTrue(nextStatus.isComplete());
+        assertFalse(nextStatus.result().isOk());
+        getProbeHandler(1);
+    }
+
+    /**
+     * Verifies that checks performed while a connection attempt is in progress report
+     * the outcome of that attempt.
+     */
+    @Test
+    public void testReadinessCheckReportsOutcomeOfProbeInProgress() {
+
+        // GIVEN a readiness check waiting for the outcome of a connection attempt
+        final Future<Status> status = Future.future();
+        readinessCheck.handle(status);
+
+        // WHEN checking readiness again before the attempt has completed
+        final Future<Status> concurrentStatus = Future.future();
+        readinessCheck.handle(concurrentStatus);
+
+        // THEN the service is not probed again and the check does not report a result yet
+        final Handler<AsyncResult<ProtonConnection>> probeHandler = getProbeHandler(1);
+        assertFalse(concurrentStatus.isComplete());
+
+        // and both checks succeed once the attempt succeeds
+        probeHandler.handle(Future.succeededFuture(mock(ProtonConnection.class)));
+        assertTrue(status.result().isOk());
+        assertTrue(concurrentStatus.result().isOk());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Handler<AsyncResult<ProtonConnection>> getProbeHandler(final int expectedAttempts) {
+
+        final ArgumentCaptor<Handler> resultHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(factory, times(expectedAttempts)).connect(
+                any(ProtonClientOptions.class), any(Handler.class), any(Handler.class), resultHandler.capture());
+        return resultHandler.getValue();
+    }
+}
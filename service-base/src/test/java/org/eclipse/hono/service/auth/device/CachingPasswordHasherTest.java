@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.service.auth.device;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.hono.config.ProtocolAdapterProperties;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests verifying behavior of {@link CachingPasswordHasher}.
+ *
+ */
+public class CachingPasswordHasherTest {
+
+    private static final byte[] HASH = "hash".getBytes(StandardCharsets.UTF_8);
+    private static final Map<String, String> SECRET = Collections.emptyMap();
+
+    private PasswordHasher wrappedHasher;
+
+    /**
+     * Sets up the fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+
+        wrappedHasher = mock(PasswordHasher.class);
+        when(wrappedHasher.matches(anyString(), anyString(), any(byte[].class), any(byte[].class), any(Map.class)))
+            .thenReturn(Boolean.TRUE);
+    }
+
+    /**
+     * Verifies that a verified password is served from the cache.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testMatchesUsesCachedResult() {
+
+        // GIVEN a hasher that has already verified a password
+        final CachingPasswordHasher hasher = new CachingPasswordHasher(wrappedHasher, 10, Duration.ofMinutes(1));
+        assertTrue(hasher.matches("pbkdf2-sha256", "secret", null, HASH, SECRET));
+
+        // WHEN verifying the same password again
+        assertTrue(hasher.matches("pbkdf2-sha256", "secret", null, HASH, SECRET));
+
+        // THEN the wrapped hasher has been invoked only once
+        verify(wrappedHasher, times(1)).matches(anyString(), anyString(), any(byte[].class), any(byte[].class), any(Map.class));
+    }
+
+    /**
+     * Verifies that a password is verified again using the wrapped hasher once
+     * the cached entry has expired.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting for the entry to expire.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testMatchesVerifiesPasswordAgainAfterEntryHasExpired() throws InterruptedException {
+
+        // GIVEN a hasher with a short time to live that has already verified a password
+        final CachingPasswordHasher hasher = new CachingPasswordHasher(wrappedHasher, 10, Duration.ofMillis(50));
+        assertTrue(hasher.matches("pbkdf2-sha256", "secret", null, HASH, SECRET));
+
+        // WHEN verifying the same password again after the entry has expired
+        Thread.sleep(100);
+        assertTrue(hasher.matches("pbkdf2-sha256", "secret", null, HASH, SECRET));
+
+        // THEN the wrapped hasher has been invoked again
+        verify(wrappedHasher, times(2)).matches(anyString(), anyString(), any(byte[].class), any(byte[].class), any(Map.class));
+    }
+
+    /**
+     * Verifies that a failed verification is not cached.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testMatchesDoesNotCacheFailedVerification() {
+
+        // GIVEN a hasher wrapping a hasher that rejects the password
+        when(wrappedHasher.matches(anyString(), anyString(), any(byte[].class), any(byte[].class), any(Map.class)))
+            .thenReturn(Boolean.FALSE);
+        final CachingPasswordHasher hasher = new CachingPasswordHasher(wrappedHasher, 10, Duration.ofMinutes(1));
+
+        // WHEN verifying the password twice
+        assertFalse(hasher.matches("pbkdf2-sha256", "wrong", null, HASH, SECRET));
+        assertFalse(hasher.matches("pbkdf2-sha256", "wrong", null, HASH, SECRET));
+
+        // THEN the wrapped hasher has been invoked both times
+        verify(wrappedHasher, times(2)).matches(anyString(), anyString(), any(byte[].class), any(byte[].class), any(Map.class));
+    }
+
+    /**
+     * Verifies that the PBKDF2 hasher is not wrapped in a cache if the password cache is disabled.
+     */
+    @Test
+    public void testCreatePasswordHashersHonorsDisabledCache() {
+
+        final ProtocolAdapterProperties config = new ProtocolAdapterProperties();
+        assertTrue(containsCachingHasher(UsernamePasswordCredentials.createPasswordHashers(config)));
+
+        config.setPasswordCacheEnabled(false);
+        assertFalse(containsCachingHasher(UsernamePasswordCredentials.createPasswordHashers(config)));
+    }
+
+    private static boolean containsCachingHasher(final List<PasswordHasher> hashers) {
+        return hashers.stream().anyMatch(hasher -> hasher instanceof CachingPasswordHasher);
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.service.auth.device;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.eclipse.hono.client.CredentialsClient;
+import org.eclipse.hono.client.HonoClient;
+import org.eclipse.hono.config.ServiceConfigProperties;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.proton.ProtonClientOptions;
+
+/**
+ * Tests verifying behavior of {@link CredentialsApiAuthProvider}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class CredentialsApiAuthProviderTest {
+
+    private HonoClient credentialsClient;
+    private CredentialsApiAuthProvider provider;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+
+        credentialsClient = mock(HonoClient.class);
+        provider = new UsernamePasswordAuthProvider(mock(Vertx.class), new ServiceConfigProperties());
+        provider.setCredentialsServiceClient(credentialsClient);
+    }
+
+    /**
+     * Verifies that the warm-up for a tenant is deferred until the connection to the
+     * Credentials service has been established.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testWarmUpOpensClientOnceConnected(final TestContext ctx) {
+
+        // GIVEN a provider that is not yet connected to the Credentials service
+        when(credentialsClient.isConnected()).thenReturn(Boolean.FALSE);
+        doAnswer(invocation -> {
+            final Handler<AsyncResult<CredentialsClient>> resultHandler = invocation.getArgumentAt(1, Handler.class);
+            resultHandler.handle(Future.succeededFuture(mock(CredentialsClient.class)));
+            return credentialsClient;
+        }).when(credentialsClient).getOrCreateCredentialsClient(eq("tenant"), any(Handler.class));
+        provider.connectToCredentialsService();
+        @SuppressWarnings("rawtypes")
+        final ArgumentCaptor<Handler> connectHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(credentialsClient).connect(any(ProtonClientOptions.class), connectHandler.capture(), any(Handler.class));
+
+        // WHEN warming up the provider for a tenant
+        final Async warmUp = ctx.async();
+        provider.warmUp("tenant", ctx.asyncAssertSuccess(ok -> warmUp.complete()));
+
+        // THEN the client for the tenant is not opened before the connection has been established
+        verify(credentialsClient, never()).getOrCreateCredentialsClient(eq("tenant"), any(Handler.class));
+        ctx.assertFalse(warmUp.isCompleted());
+
+        // but is opened once the connection has been established
+        when(credentialsClient.isConnected()).thenReturn(Boolean.TRUE);
+        connectHandler.getValue().handle(Future.succeededFuture(credentialsClient));
+        verify(credentialsClient).getOrCreateCredentialsClient(eq("tenant"), any(Handler.class));
+        warmUp.await(1000);
+    }
+}
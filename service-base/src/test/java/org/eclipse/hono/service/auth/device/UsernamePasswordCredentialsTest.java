@@ -19,12 +19,16 @@ import org.junit.Test;
 import static org.junit.Assert.*;
 
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
 /**
   * Tests verifying behavior of {@link UsernamePasswordCredentials}.
  */
@@ -157,6 +161,60 @@ public class UsernamePasswordCredentialsTest {
         assertFalse(credentials.matchesCredentials(candidateSecret));
     }
 
+    /**
+     * Verifies that credentials can be successfully verified against a password hash
+     * that has been derived using PBKDF2 with the number of iterations specified for the secret.
+     * 
+     * @throws GeneralSecurityException if the JVM does not support PBKDF2WithHmacSHA256.
+     */
+    @Test
+    public void testMatchesCredentialsSupportsPbkdf2() throws GeneralSecurityException {
+
+        // GIVEN a secret on record that uses PBKDF2 as the hash function
+        final byte[] salt = "TheSalt".getBytes(StandardCharsets.UTF_8);
+        final PBEKeySpec spec = new PBEKeySpec(TEST_PASSWORD.toCharArray(), salt, 1000, 256);
+        final byte[] hash = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        Map<String, String> candidateSecret = new HashMap<>();
+        candidateSecret.put(CredentialsConstants.FIELD_SECRETS_PWD_HASH, Base64.getEncoder().encodeToString(hash));
+        candidateSecret.put(CredentialsConstants.FIELD_SECRETS_SALT, Base64.getEncoder().encodeToString(salt));
+        candidateSecret.put(CredentialsConstants.FIELD_SECRETS_HASH_FUNCTION, "pbkdf2-sha256");
+        candidateSecret.put(CredentialsConstants.FIELD_SECRETS_ITERATIONS, "1000");
+
+        // THEN verification of matching credentials succeeds (also when served from the cache)
+        assertTrue(UsernamePasswordCredentials.create(TEST_USER_OTHER_TENANT, TEST_PASSWORD, false).matchesCredentials(candidateSecret));
+        assertTrue(UsernamePasswordCredentials.create(TEST_USER_OTHER_TENANT, TEST_PASSWORD, false).matchesCredentials(candidateSecret));
+        // and verification of non-matching credentials fails
+        assertFalse(UsernamePasswordCredentials.create(TEST_USER_OTHER_TENANT, "wrongpassword", false).matchesCredentials(candidateSecret));
+        // and verification fails if the number of iterations does not match
+        candidateSecret.put(CredentialsConstants.FIELD_SECRETS_ITERATIONS, "1001");
+        assertFalse(UsernamePasswordCredentials.create(TEST_USER_OTHER_TENANT, TEST_PASSWORD, false).matchesCredentials(candidateSecret));
+    }
+
+    /**
+     * Verifies that credentials cannot be verified against a PBKDF2 password hash
+     * if the number of iterations specified for the secret is not a decimal integer.
+     * 
+     * @throws GeneralSecurityException if the JVM does not support PBKDF2WithHmacSHA256.
+     */
+    @Test
+    public void testMatchesCredentialsRejectsNonNumericPbkdf2Iterations() throws GeneralSecurityException {
+
+        // GIVEN a secret on record that uses PBKDF2 as the hash function
+        final byte[] salt = "TheSalt".getBytes(StandardCharsets.UTF_8);
+        final PBEKeySpec spec = new PBEKeySpec(TEST_PASSWORD.toCharArray(), salt, 1000, 256);
+        final byte[] hash = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        Map<String, String> candidateSecret = new HashMap<>();
+        candidateSecret.put(CredentialsConstants.FIELD_SECRETS_PWD_HASH, Base64.getEncoder().encodeToString(hash));
+        candidateSecret.put(CredentialsConstants.FIELD_SECRETS_SALT, Base64.getEncoder().encodeToString(salt));
+        candidateSecret.put(CredentialsConstants.FIELD_SECRETS_HASH_FUNCTION, "pbkdf2-sha256");
+
+        // THEN verification of matching credentials fails if the number of iterations is not numeric
+        for (String iterations : new String[] { "+1000", "1000.0", "one thousand", "", "99999999999" }) {
+            candidateSecret.put(CredentialsConstants.FIELD_SECRETS_ITERATIONS, iterations);
+            assertFalse(UsernamePasswordCredentials.create(TEST_USER_OTHER_TENANT, TEST_PASSWORD, false).matchesCredentials(candidateSecret));
+        }
+    }
+
     private String getHashedPassword(final String hashFunction, final byte[] salt, final String password) throws NoSuchAlgorithmException {
         MessageDigest digest = MessageDigest.getInstance(hashFunction);
         if (salt != null) {
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.service.limiting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * Verifies behavior of {@link AdmissionController} and {@link TokenBucket}.
+ *
+ */
+public class AdmissionControllerTest {
+
+    /**
+     * Verifies that connections are rejected while the maximum number of concurrent
+     * connections is reached.
+     */
+    @Test
+    public void testTryAdmitConnectionEnforcesMaxConnections() {
+
+        final AdmissionController controller = new AdmissionController(2, 0, 0, 0);
+        assertTrue(controller.tryAdmitConnection("10.0.0.1"));
+        assertTrue(controller.tryAdmitConnection("10.0.0.1"));
+        assertFalse(controller.tryAdmitConnection("10.0.0.1"));
+        assertEquals(2, controller.getConnectionCount());
+        assertEquals(1, controller.getRejectedConnections());
+
+        controller.releaseConnection("10.0.0.1");
+        assertTrue(controller.tryAdmitConnection("10.0.0.1"));
+    }
+
+    /**
+     * Verifies that connections from a remote host are rejected while the maximum number of
+     * concurrent connections from that host is reached.
+     */
+    @Test
+    public void testTryAdmitConnectionEnforcesMaxConnectionsPerAddress() {
+
+        final AdmissionController controller = new AdmissionController(0, 2, 0, 0);
+        assertTrue(controller.tryAdmitConnection("10.0.0.1"));
+        assertTrue(controller.tryAdmitConnection("10.0.0.1"));
+        assertFalse(controller.tryAdmitConnection("10.0.0.1"));
+        // other hosts are not affected
+        assertTrue(controller.tryAdmitConnection("10.0.0.2"));
+        // nor are connections from unknown hosts
+        assertTrue(controller.tryAdmitConnection(null));
+        assertEquals(2, controller.getConnectionCount("10.0.0.1"));
+        assertEquals(4, controller.getConnectionCount());
+        assertEquals(1, controller.getRejectedConnections());
+
+        controller.releaseConnection("10.0.0.1");
+        assertTrue(controller.tryAdmitConnection("10.0.0.1"));
+
+        // hosts without connections are no longer tracked
+        controller.releaseConnection("10.0.0.2");
+        assertEquals(0, controller.getConnectionCount("10.0.0.2"));
+    }
+
+    /**
+     * Verifies that the link rate is limited per principal.
+     */
+    @Test
+    public void testTryAdmitLinkLimitsRatePerPrincipal() {
+
+        final AdmissionController controller = new AdmissionController(0, 0, 0, 2);
+        assertTrue(controller.tryAdmitLink("userA"));
+        assertTrue(controller.tryAdmitLink("userA"));
+        assertFalse(controller.tryAdmitLink("userA"));
+        assertTrue(controller.tryAdmitLink("userB"));
+        assertEquals(1, controller.getRejectedLinks());
+    }
+
+    /**
+     * Verifies that an empty bucket is refilled at the configured rate.
+     */
+    @Test
+    public void testTokenBucketRefillsAtConfiguredRate() {
+
+        final AtomicLong now = new AtomicLong();
+        final TokenBucket bucket = new TokenBucket(10, 2, now::get);
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        // one token is added every 100ms
+        now.addAndGet(50_000_000L);
+        assertFalse(bucket.tryAcquire());
+        now.addAndGet(50_000_000L);
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.isFull());
+
+        // the bucket does not hold more than its capacity
+        now.addAndGet(10_000_000_000L);
+        assertTrue(bucket.isFull());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+}
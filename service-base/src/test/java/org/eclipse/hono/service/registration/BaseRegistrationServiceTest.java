@@ -12,9 +12,17 @@
 
 package org.eclipse.hono.service.registration;
 
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
 import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
 import static java.net.HttpURLConnection.HTTP_OK;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.config.SignatureSupportingConfigProperties;
@@ -24,11 +32,18 @@ import org.eclipse.hono.util.RegistrationResult;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
@@ -79,6 +94,39 @@ public class BaseRegistrationServiceTest {
         startupFailure.await(1000);
     }
 
+    /**
+     * Verifies that a service instance deployed as one of several partitions listens
+     * on the partition specific event bus address.
+     * 
+     * @param ctx The vertx unit test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test(timeout = 2000)
+    public void testStartupRegistersConsumerForPartition(final TestContext ctx) {
+
+        // GIVEN a registry that is deployed as the third of four partitions
+        final EventBus eventBus = mock(EventBus.class);
+        final MessageConsumer<JsonObject> consumer = mock(MessageConsumer.class);
+        when(eventBus.<JsonObject>consumer(any(String.class))).thenReturn(consumer);
+        when(vertx.eventBus()).thenReturn(eventBus);
+        final Context context = mock(Context.class);
+        when(context.config()).thenReturn(new JsonObject()
+                .put(RegistrationConstants.CONFIG_KEY_PARTITION, 2)
+                .put(RegistrationConstants.CONFIG_KEY_PARTITIONS, 4));
+        BaseRegistrationService<ServiceConfigProperties> registrationService = getRegistrationService(HTTP_OK,
+                BaseRegistrationService.getResultPayload("4711", new JsonObject()));
+        registrationService.setRegistrationAssertionFactory(RegistrationAssertionHelperImpl.forSigning(vertx, props));
+        registrationService.init(vertx, context);
+
+        // WHEN starting the service
+        Future<Void> startFuture = Future.future();
+        startFuture.setHandler(ctx.asyncAssertSuccess(s -> {
+            // THEN the service only listens for requests of its partition
+            verify(eventBus).consumer(RegistrationConstants.EVENT_BUS_ADDRESS_REGISTRATION_IN + ".2");
+        }));
+        registrationService.start(startFuture);
+    }
+
     /**
      * Verifies that an enabled device's status can be asserted successfully.
      * 
@@ -144,6 +192,131 @@ public class BaseRegistrationServiceTest {
         }));
     }
 
+    /**
+     * Verifies that a bulk assertion request is answered with the outcome of the
+     * assertion of each of the requested devices.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testProcessBulkAssertionRequestReturnsResultPerDevice() {
+
+        // GIVEN a registry that contains enabled devices
+        BaseRegistrationService<ServiceConfigProperties> registrationService = getRegistrationService(HTTP_OK,
+                BaseRegistrationService.getResultPayload("4711", new JsonObject()));
+        registrationService.setRegistrationAssertionFactory(RegistrationAssertionHelperImpl.forSigning(vertx, props));
+
+        // WHEN processing a bulk assertion request for two devices
+        final JsonObject request = RegistrationConstants.getServiceRequestAsJson(
+                RegistrationConstants.ACTION_ASSERT_BULK, Constants.DEFAULT_TENANT, null, null,
+                new JsonObject().put(RegistrationConstants.FIELD_DEVICES, new JsonArray().add("4711").add("4712")));
+        final Message<JsonObject> msg = mock(Message.class);
+        when(msg.body()).thenReturn(request);
+        registrationService.processRegistrationMessage(msg);
+
+        // THEN the response contains an assertion for each of the devices in the order of the request
+        final ArgumentCaptor<JsonObject> response = ArgumentCaptor.forClass(JsonObject.class);
+        verify(msg).reply(response.capture(), any(DeliveryOptions.class));
+        assertTrue(RegistrationConstants.hasStatus(response.getValue(), HTTP_OK));
+        final JsonArray results = response.getValue()
+                .getJsonObject(RegistrationConstants.FIELD_PAYLOAD)
+                .getJsonArray(RegistrationConstants.FIELD_RESULTS);
+        assertThat(results.size(), is(2));
+        assertThat(results.getJsonObject(0).getString(RegistrationConstants.FIELD_DEVICE_ID), is("4711"));
+        assertThat(results.getJsonObject(1).getString(RegistrationConstants.FIELD_DEVICE_ID), is("4712"));
+        for (int i = 0; i < results.size(); i++) {
+            final JsonObject result = results.getJsonObject(i);
+            assertThat(result.getInteger(RegistrationConstants.FIELD_STATUS), is(HTTP_OK));
+            assertNotNull(result.getJsonObject(RegistrationConstants.FIELD_PAYLOAD).getString(RegistrationConstants.FIELD_ASSERTION));
+        }
+    }
+
+    /**
+     * Verifies that a bulk assertion request that does not contain any device IDs is rejected.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testProcessBulkAssertionRequestFailsForMissingDeviceIds() {
+
+        // GIVEN a registry
+        BaseRegistrationService<ServiceConfigProperties> registrationService = getRegistrationService(HTTP_OK,
+                BaseRegistrationService.getResultPayload("4711", new JsonObject()));
+        registrationService.setRegistrationAssertionFactory(RegistrationAssertionHelperImpl.forSigning(vertx, props));
+
+        // WHEN processing a bulk assertion request without any device IDs
+        final JsonObject request = RegistrationConstants.getServiceRequestAsJson(
+                RegistrationConstants.ACTION_ASSERT_BULK, Constants.DEFAULT_TENANT, null);
+        final Message<JsonObject> msg = mock(Message.class);
+        when(msg.body()).thenReturn(request);
+        registrationService.processRegistrationMessage(msg);
+
+        // THEN the request is rejected
+        final ArgumentCaptor<JsonObject> response = ArgumentCaptor.forClass(JsonObject.class);
+        verify(msg).reply(response.capture(), any(DeliveryOptions.class));
+        assertTrue(RegistrationConstants.hasStatus(response.getValue(), HTTP_BAD_REQUEST));
+    }
+
+    /**
+     * Verifies that a bulk assertion request is rejected if its payload is not a JSON object
+     * or if its list of device IDs contains entries that are not strings.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testProcessBulkAssertionRequestFailsForMalformedRequest() {
+
+        // GIVEN a registry
+        BaseRegistrationService<ServiceConfigProperties> registrationService = getRegistrationService(HTTP_OK,
+                BaseRegistrationService.getResultPayload("4711", new JsonObject()));
+        registrationService.setRegistrationAssertionFactory(RegistrationAssertionHelperImpl.forSigning(vertx, props));
+
+        // WHEN processing bulk assertion requests with a malformed payload
+        final JsonObject payloadNotAnObject = RegistrationConstants.getServiceRequestAsJson(
+                RegistrationConstants.ACTION_ASSERT_BULK, Constants.DEFAULT_TENANT, null)
+                .put(RegistrationConstants.FIELD_PAYLOAD, "4711");
+        final JsonObject deviceIdNotAString = RegistrationConstants.getServiceRequestAsJson(
+                RegistrationConstants.ACTION_ASSERT_BULK, Constants.DEFAULT_TENANT, null, null,
+                new JsonObject().put(RegistrationConstants.FIELD_DEVICES, new JsonArray().add("4711").add(4712)));
+        final JsonObject deviceIdNull = RegistrationConstants.getServiceRequestAsJson(
+                RegistrationConstants.ACTION_ASSERT_BULK, Constants.DEFAULT_TENANT, null, null,
+                new JsonObject().put(RegistrationConstants.FIELD_DEVICES, new JsonArray().add("4711").addNull()));
+
+        // THEN all requests are rejected
+        for (JsonObject request : new JsonObject[] { payloadNotAnObject, deviceIdNotAString, deviceIdNull }) {
+            final Message<JsonObject> msg = mock(Message.class);
+            when(msg.body()).thenReturn(request);
+            registrationService.processRegistrationMessage(msg);
+            final ArgumentCaptor<JsonObject> response = ArgumentCaptor.forClass(JsonObject.class);
+            verify(msg).reply(response.capture(), any(DeliveryOptions.class));
+            assertTrue(RegistrationConstants.hasStatus(response.getValue(), HTTP_BAD_REQUEST));
+        }
+    }
+
+    /**
+     * Verifies that a bulk assertion request containing more device IDs than configured is rejected.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testProcessBulkAssertionRequestFailsForTooManyDeviceIds() {
+
+        // GIVEN a registry that accepts bulk requests for two devices at most
+        BaseRegistrationService<ServiceConfigProperties> registrationService = getRegistrationService(HTTP_OK,
+                BaseRegistrationService.getResultPayload("4711", new JsonObject()));
+        registrationService.setRegistrationAssertionFactory(RegistrationAssertionHelperImpl.forSigning(vertx, props));
+        registrationService.setMaxBulkAssertionSize(2);
+
+        // WHEN processing a bulk assertion request for three devices
+        final JsonObject request = RegistrationConstants.getServiceRequestAsJson(
+                RegistrationConstants.ACTION_ASSERT_BULK, Constants.DEFAULT_TENANT, null, null,
+                new JsonObject().put(RegistrationConstants.FIELD_DEVICES, new JsonArray().add("4711").add("4712").add("4713")));
+        final Message<JsonObject> msg = mock(Message.class);
+        when(msg.body()).thenReturn(request);
+        registrationService.processRegistrationMessage(msg);
+
+        // THEN the request is rejected
+        final ArgumentCaptor<JsonObject> response = ArgumentCaptor.forClass(JsonObject.class);
+        verify(msg).reply(response.capture(), any(DeliveryOptions.class));
+        assertTrue(RegistrationConstants.hasStatus(response.getValue(), HTTP_BAD_REQUEST));
+    }
+
     private BaseRegistrationService<ServiceConfigProperties> getRegistrationService(final int status, final JsonObject data) {
 
         return new BaseRegistrationService<ServiceConfigProperties>() {
@@ -12,6 +12,7 @@
 package org.eclipse.hono.service.registration;
 
 import static org.eclipse.hono.util.MessageHelper.APP_PROPERTY_RESOURCE;
+import static org.eclipse.hono.util.RegistrationConstants.ACTION_ASSERT_BULK;
 import static org.eclipse.hono.util.RegistrationConstants.ACTION_GET;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertFalse;
@@ -19,8 +20,10 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.apache.qpid.proton.amqp.Symbol;
+import org.apache.qpid.proton.amqp.messaging.AmqpValue;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RegistrationConstants;
@@ -100,6 +103,55 @@ public class RegistrationMessageFilterTest {
         assertMessageAnnotationsContainProperties(msg, MY_TENANT, MY_DEVICE);
     }
 
+    /**
+     * Verifies that a bulk assertion message does not need to contain a device ID.
+     */
+    @Test
+    public void testVerifySucceedsForBulkAssertionWithoutDeviceId() {
+        // GIVEN a bulk assertion message lacking a device id
+        final Message msg = givenAMessageHavingProperties(null, ACTION_ASSERT_BULK);
+        msg.setBody(new AmqpValue(new JsonObject().put(RegistrationConstants.FIELD_DEVICES, new JsonArray().add(MY_DEVICE)).encode()));
+
+        // WHEN receiving the message via a link with tenant-level target address
+        final ResourceIdentifier linkTarget = getResourceIdentifier(MY_TENANT);
+
+        // THEN message validation succeeds
+        assertTrue(RegistrationMessageFilter.verify(linkTarget, msg));
+        assertThat(msg.getMessageAnnotations().getValue().get(Symbol.valueOf(MessageHelper.APP_PROPERTY_TENANT_ID)),
+                is(MY_TENANT));
+    }
+
+    /**
+     * Verifies that a bulk assertion message sent via a device scoped link is rejected.
+     */
+    @Test
+    public void testVerifyDetectsBulkAssertionForDeviceScopedLink() {
+        // GIVEN a bulk assertion message
+        final Message msg = givenAMessageHavingProperties(null, ACTION_ASSERT_BULK);
+        msg.setBody(new AmqpValue(new JsonObject().put(RegistrationConstants.FIELD_DEVICES, new JsonArray().add(MY_DEVICE)).encode()));
+
+        // WHEN receiving the message via a link with device-level address
+        final ResourceIdentifier linkTarget = getResourceIdentifier(MY_TENANT, MY_DEVICE);
+
+        // THEN message validation fails
+        assertFalse(RegistrationMessageFilter.verify(linkTarget, msg));
+    }
+
+    /**
+     * Verifies that a bulk assertion message without a body is rejected.
+     */
+    @Test
+    public void testVerifyDetectsBulkAssertionWithoutBody() {
+        // GIVEN a bulk assertion message lacking the device ids
+        final Message msg = givenAMessageHavingProperties(null, ACTION_ASSERT_BULK);
+
+        // WHEN receiving the message via a link with tenant-level target address
+        final ResourceIdentifier linkTarget = getResourceIdentifier(MY_TENANT);
+
+        // THEN message validation fails
+        assertFalse(RegistrationMessageFilter.verify(linkTarget, msg));
+    }
+
     @Test
     public void testRegistrationMessageForEventBus() {
 
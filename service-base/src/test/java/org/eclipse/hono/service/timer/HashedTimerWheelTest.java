@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.service.timer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ * Verifies behavior of {@link HashedTimerWheel}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class HashedTimerWheelTest {
+
+    private Vertx vertx;
+    private HashedTimerWheel timer;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        timer = new HashedTimerWheel(vertx, Duration.ofMillis(10), 8);
+    }
+
+    /**
+     * Cleans up the fixture.
+     *
+     * @param ctx The vertx unit test context.
+     */
+    @After
+    public void tearDown(final TestContext ctx) {
+        vertx.close(ctx.asyncAssertSuccess());
+    }
+
+    /**
+     * Verifies that tasks are run on the context they have been scheduled from, including
+     * tasks with a delay exceeding a full revolution of the wheel.
+     *
+     * @param ctx The vertx unit test context.
+     */
+    @Test(timeout = 2000)
+    public void testScheduledTasksAreRunOnSchedulingContext(final TestContext ctx) {
+
+        final Async run = ctx.async(2);
+        final Context context = vertx.getOrCreateContext();
+        context.runOnContext(go -> {
+            final long start = System.currentTimeMillis();
+            timer.schedule(Duration.ofMillis(30), expired -> {
+                ctx.assertEquals(context, Vertx.currentContext());
+                run.countDown();
+            });
+            timer.schedule(Duration.ofMillis(200), Duration.ofMillis(50), expired -> {
+                ctx.assertTrue(System.currentTimeMillis() - start >= 140);
+                run.countDown();
+            });
+        });
+        run.await();
+        ctx.assertEquals(0, timer.size());
+    }
+
+    /**
+     * Verifies that cancelled tasks are not run.
+     *
+     * @param ctx The vertx unit test context.
+     */
+    @Test(timeout = 2000)
+    public void testCancelledTaskIsNotRun(final TestContext ctx) {
+
+        final Async run = ctx.async();
+        final HashedTimerWheel.Timeout timeout = timer.schedule(Duration.ofMillis(200), expired -> ctx.fail("cancelled task has been run"));
+        timer.schedule(Duration.ofMillis(300), expired -> run.complete());
+        ctx.assertTrue(timeout.cancel());
+        ctx.assertFalse(timeout.cancel());
+        ctx.assertEquals(1, timer.size());
+    }
+
+    /**
+     * Verifies that the wheel keeps running tasks after the verticle it has been created
+     * and first used from has been undeployed.
+     *
+     * @param ctx The vertx unit test context.
+     */
+    @Test(timeout = 2000)
+    public void testWheelRunsTasksAfterCreatingVerticleHasBeenUndeployed(final TestContext ctx) {
+
+        // GIVEN a wheel that has been created from within a verticle
+        // which has also scheduled a task
+        final AtomicReference<HashedTimerWheel> wheel = new AtomicReference<>();
+        final Async deployment = ctx.async();
+        final AtomicReference<String> deploymentId = new AtomicReference<>();
+        vertx.deployVerticle(new AbstractVerticle() {
+            @Override
+            public void start() {
+                wheel.set(new HashedTimerWheel(vertx, Duration.ofMillis(10), 8));
+                wheel.get().schedule(Duration.ofSeconds(10), expired -> {});
+            }
+        }, ctx.asyncAssertSuccess(id -> {
+            deploymentId.set(id);
+            deployment.complete();
+        }));
+        deployment.await();
+
+        // WHEN the verticle is undeployed
+        final Async undeployment = ctx.async();
+        vertx.undeploy(deploymentId.get(), ctx.asyncAssertSuccess(ok -> undeployment.complete()));
+        undeployment.await();
+
+        // THEN tasks scheduled from another context afterwards are still run
+        final Async run = ctx.async();
+        vertx.runOnContext(go -> {
+            wheel.get().schedule(Duration.ofMillis(50), expired -> run.complete());
+        });
+        run.await();
+    }
+}
@@ -12,15 +12,19 @@
 
 package org.eclipse.hono.service.auth.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import org.eclipse.hono.service.AbstractApplication;
+import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 
 /**
@@ -33,34 +37,41 @@ import io.vertx.core.Future;
 @EnableAutoConfiguration
 public class Application extends AbstractApplication {
 
-    private FileBasedAuthenticationService authenticationService;
+    private ObjectFactory<FileBasedAuthenticationService> authenticationServiceFactory;
 
     /**
-     * Sets the authentication service implementation this server is based on.
+     * Sets the factory for creating instances of the authentication service implementation this server is based on.
      * 
-     * @param authService The service implementation.
-     * @throws NullPointerException if service is {@code null}.
+     * @param factory The factory.
+     * @throws NullPointerException if factory is {@code null}.
      */
     @Autowired
-    public void setAuthenticationService(final FileBasedAuthenticationService authService) {
-        this.authenticationService = Objects.requireNonNull(authService);
+    public void setAuthenticationServiceFactory(final ObjectFactory<FileBasedAuthenticationService> factory) {
+        this.authenticationServiceFactory = Objects.requireNonNull(factory);
     }
 
     /**
      * Deploys the (file-based) authentication service implementation.
      * 
-     * @param maxInstances Ignored. This application always deploys a single instance of
-     *                     the authentication service.
+     * @param maxInstances The number of authentication service instances to deploy.
      */
     @Override
     protected Future<Void> deployRequiredVerticles(final int maxInstances) {
 
         Future<Void> result = Future.future();
-        if (authenticationService == null) {
+        if (authenticationServiceFactory == null) {
             result.fail("no authentication service implementation configured");
         } else {
-            log.debug("deploying {}", authenticationService);
-            getVertx().deployVerticle(authenticationService, s -> {
+            @SuppressWarnings("rawtypes")
+            final List<Future> deploymentTracker = new ArrayList<>();
+            for (int i = 0; i < maxInstances; i++) {
+                final FileBasedAuthenticationService authenticationService = authenticationServiceFactory.getObject();
+                log.debug("deploying {}", authenticationService);
+                final Future<String> tracker = Future.future();
+                getVertx().deployVerticle(authenticationService, tracker.completer());
+                deploymentTracker.add(tracker);
+            }
+            CompositeFuture.all(deploymentTracker).setHandler(s -> {
                 if (s.succeeded()) {
                     result.complete();
                 } else {
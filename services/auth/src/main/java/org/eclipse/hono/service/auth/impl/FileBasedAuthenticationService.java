@@ -11,55 +11,44 @@
  */
 package org.eclipse.hono.service.auth.impl;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
-import org.eclipse.hono.auth.Activity;
-import org.eclipse.hono.auth.Authorities;
-import org.eclipse.hono.auth.AuthoritiesImpl;
 import org.eclipse.hono.auth.HonoUser;
 import org.eclipse.hono.service.auth.AbstractHonoAuthenticationService;
 import org.eclipse.hono.service.auth.AuthTokenHelper;
 import org.eclipse.hono.service.auth.AuthenticationConstants;
+import org.eclipse.hono.service.auth.impl.FileBasedPermissions.IssuedToken;
+import org.eclipse.hono.service.auth.impl.FileBasedPermissions.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
-import org.springframework.core.io.Resource;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Service;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
-import io.vertx.core.json.JsonArray;
-import io.vertx.core.json.JsonObject;
 
 /**
  * An authentication service based on authorities read from a JSON file.
+ * <p>
+ * The users and their authorities are loaded once into {@link FileBasedPermissions} which are
+ * shared by all instances of this service, so that multiple instances can be deployed in order
+ * to process authentication requests in parallel.
+ * <p>
+ * The token issued for an authorization id is reused for subsequent authentication requests resulting
+ * in the same authorization id until the token is close to expiry, regardless of the instance
+ * processing the request.
  */
 @Service
+@Scope("prototype")
 @Profile("authentication-impl")
 public final class FileBasedAuthenticationService extends AbstractHonoAuthenticationService<AuthenticationServerConfigProperties> {
 
-    private static final String FIELD_USERS = "users";
-    private static final String FIELD_ROLES = "roles";
-    private static final String FIELD_OPERATION = "operation";
-    private static final String FIELD_RESOURCE = "resource";
-    private static final String FIELD_ACTIVITIES = "activities";
-    private static final String FIELD_AUTHORITIES = "authorities";
-    private static final String FIELD_MECHANISM = "mechanism";
-
-    private static final Map<String, Authorities> roles = new HashMap<>();
-    private static final Map<String, JsonObject> users = new HashMap<>();
+    private FileBasedPermissions permissions;
     private AuthTokenHelper tokenFactory;
 
     @Autowired
@@ -68,6 +57,17 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
         setSpecificConfig(configuration);
     }
 
+    /**
+     * Sets the permissions shared by all instances of this service.
+     * 
+     * @param permissions The permissions.
+     * @throws NullPointerException if permissions is {@code null}.
+     */
+    @Autowired
+    public final void setPermissions(final FileBasedPermissions permissions) {
+        this.permissions = Objects.requireNonNull(permissions);
+    }
+
     /**
      * Sets the factory to use for creating tokens asserting a client's identity and authorities.
      * 
@@ -84,6 +84,8 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
     protected void doStart(final Future<Void> startFuture) {
         if (tokenFactory == null) {
             startFuture.fail("token factory must be set");
+        } else if (permissions == null) {
+            startFuture.fail("permissions must be set");
         } else {
             try {
                 loadPermissions();
@@ -96,125 +98,25 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
     }
 
     /**
-     * Loads permissions from <em>permissionsPath</em>.
+     * Loads permissions from <em>permissionsPath</em> unless they have already been
+     * loaded by another instance of this service.
      * 
      * @throws IOException if the permissions cannot be read.
      * @throws IllegalStateException if no permissions resource path is set.
      */
     void loadPermissions() throws IOException {
-        if (getConfig().getPermissionsPath() == null) {
-            throw new IllegalStateException("permissions resource is not set");
-        }
-        if (getConfig().getPermissionsPath().isReadable()) {
-            log.info("loading permissions from resource {}", getConfig().getPermissionsPath().getURI().toString());
-            StringBuilder json = new StringBuilder();
-            load(getConfig().getPermissionsPath(), json);
-            parsePermissions(new JsonObject(json.toString()));
-        } else {
-            throw new FileNotFoundException("permissions resource does not exist");
-        }
-    }
-
-    private void load(final Resource source, final StringBuilder target) throws IOException {
-
-        char[] buffer = new char[4096];
-        int bytesRead = 0;
-        try (Reader reader = new InputStreamReader(source.getInputStream(), UTF_8)) {
-            while ((bytesRead = reader.read(buffer)) > 0) {
-                target.append(buffer, 0, bytesRead);
-            }
-        }
-    }
-
-    private void parsePermissions(final JsonObject permissionsObject) {
-
-        Objects.requireNonNull(permissionsObject);
-        parseRoles(permissionsObject.getJsonObject(FIELD_ROLES, new JsonObject()));
-        parseUsers(permissionsObject.getJsonObject(FIELD_USERS, new JsonObject()));
-    }
-
-    private void parseRoles(final JsonObject rolesObject) {
-        rolesObject.stream().filter(entry -> entry.getValue() instanceof JsonArray)
-            .forEach(entry -> {
-                final String roleName = entry.getKey();
-                final JsonArray authSpecs = (JsonArray) entry.getValue();
-                log.debug("adding role [{}] with {} authorities", roleName, authSpecs.size());
-                roles.put(roleName, toAuthorities(authSpecs));
-            });
+        permissions.load(getConfig().getPermissionsPath());
     }
 
-    private void parseUsers(final JsonObject usersObject) {
-        usersObject.stream().filter(entry -> entry.getValue() instanceof JsonObject)
-            .forEach(entry -> {
-                final String authenticationId = entry.getKey();
-                final JsonObject userSpec = (JsonObject) entry.getValue();
-                log.debug("adding user [{}]", authenticationId);
-                users.put(authenticationId, userSpec);
-            });
-    }
-
-    private JsonObject getUser(final String authenticationId, final String mechanism) {
-        JsonObject result = users.get(authenticationId);
-        if (result != null && mechanism.equals(result.getString(FIELD_MECHANISM))) {
+    private User getUser(final String authenticationId, final String mechanism) {
+        final User result = permissions.getUser(authenticationId);
+        if (result != null && mechanism.equals(result.getMechanism())) {
             return result;
         } else {
             return null;
         }
     }
 
-    private Authorities getAuthorities(final JsonObject user) {
-        AuthoritiesImpl result = new AuthoritiesImpl();
-        user.getJsonArray(FIELD_AUTHORITIES).forEach(obj -> {
-            final String authority = (String) obj;
-            Authorities roleAuthorities = roles.get(authority);
-            if (roleAuthorities != null) {
-                result.addAll(roleAuthorities);
-            }
-        });
-        return result;
-    }
-
-    private Authorities toAuthorities(final JsonArray authorities) {
-
-        AuthoritiesImpl result = new AuthoritiesImpl();
-        Objects.requireNonNull(authorities).stream()
-          .filter(obj -> obj instanceof JsonObject)
-          .forEach(obj -> {
-              final JsonObject authSpec = (JsonObject) obj;
-              final JsonArray activities = authSpec.getJsonArray(FIELD_ACTIVITIES, new JsonArray());
-              final String resource = authSpec.getString(FIELD_RESOURCE);
-              final String operation = authSpec.getString(FIELD_OPERATION);
-              if (resource != null) {
-                  List<Activity> activityList = new ArrayList<>();
-                  activities.forEach(s -> {
-                      Activity act = Activity.valueOf((String) s);
-                      if (act != null) {
-                          activityList.add(act);
-                      }
-                  });
-                  result.addResource(resource, activityList.toArray(new Activity[activityList.size()]));
-              } else if (operation != null) {
-                  String[] parts = operation.split(":", 2);
-                  if (parts.length == 2) {
-                      result.addOperation(parts[0], parts[1]);
-                  } else {
-                      log.debug("ignoring malformed operation spec [{}], operation name missing", operation);
-                  }
-              } else {
-                  throw new IllegalArgumentException("malformed authorities");
-                  }
-              });
-        return result;
-    }
-
-    private boolean hasAuthority(final JsonObject user, final String role) {
-        return user.getJsonArray(FIELD_AUTHORITIES, new JsonArray()).contains(role);
-    }
-
-    private boolean isAuthorizedToImpersonate(final JsonObject user) {
-        return hasAuthority(user, "hono-component");
-    }
-
     @Override
     public void verifyPlain(final String authzid, final String username, final String password,
             Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
@@ -224,11 +126,11 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
         } else if (password == null || password.isEmpty()) {
             authenticationResultHandler.handle(Future.failedFuture("missing password"));
         } else {
-            JsonObject user = getUser(username, AuthenticationConstants.MECHANISM_PLAIN);
+            final User user = getUser(username, AuthenticationConstants.MECHANISM_PLAIN);
             if (user == null) {
                 log.debug("no such user [{}]", username);
                 authenticationResultHandler.handle(Future.failedFuture("unauthorized"));
-            } else if (password.equals(user.getString("password"))) {
+            } else if (user.hasPassword(password)) {
                 verify(username, user, authzid, authenticationResultHandler);
             } else {
                 log.debug("password mismatch");
@@ -247,7 +149,7 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
             if (commonName == null) {
                 authenticationResultHandler.handle(Future.failedFuture("could not determine authorization ID for subject DN"));
             } else {
-                JsonObject user = getUser(commonName, AuthenticationConstants.MECHANISM_EXTERNAL);
+                final User user = getUser(commonName, AuthenticationConstants.MECHANISM_EXTERNAL);
                 if (user == null) {
                     authenticationResultHandler.handle(Future.failedFuture("unauthorized"));
                 } else {
@@ -257,12 +159,12 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
         }
     }
 
-    private void verify(final String authenticationId, final JsonObject user, final String authorizationId, final Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
+    private void verify(final String authenticationId, final User user, final String authorizationId, final Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
 
-        JsonObject effectiveUser = user;
+        User effectiveUser = user;
         String effectiveAuthorizationId = authenticationId;
-        if (authorizationId != null && !authorizationId.isEmpty() && isAuthorizedToImpersonate(user)) {
-            JsonObject impersonatedUser = users.get(authorizationId);
+        if (authorizationId != null && !authorizationId.isEmpty() && user.mayImpersonate()) {
+            final User impersonatedUser = permissions.getUser(authorizationId);
             if (impersonatedUser != null) {
                 effectiveUser = impersonatedUser;
                 effectiveAuthorizationId = authorizationId;
@@ -271,32 +173,27 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
                 log.debug("no user found for authorization id provided by client, granting authentication id instead");
             }
         }
-        final Authorities grantedAuthorities = getAuthorities(effectiveUser);
-        final String grantedAuthorizationId = effectiveAuthorizationId;
-        final Instant tokenExpirationTime = Instant.now().plus(tokenFactory.getTokenLifetime());
-        final String token = tokenFactory.createToken(grantedAuthorizationId, grantedAuthorities);
-        HonoUser honoUser = new HonoUser() {
-
-            @Override
-            public String getName() {
-                return grantedAuthorizationId;
-            }
-
-            @Override
-            public String getToken() {
-                return token;
-            }
+        authenticationResultHandler.handle(Future.succeededFuture(getToken(effectiveAuthorizationId, effectiveUser)));
+    }
 
-            @Override
-            public Authorities getAuthorities() {
-                return grantedAuthorities;
-            }
+    private IssuedToken getToken(final String authorizationId, final User user) {
 
-            @Override
-            public boolean isExpired() {
-                return !Instant.now().isBefore(tokenExpirationTime);
-            }
-        };
-        authenticationResultHandler.handle(Future.succeededFuture(honoUser));
+        final Instant now = Instant.now();
+        final IssuedToken issuedToken = permissions.getIssuedTokens().get(authorizationId);
+        if (issuedToken != null && issuedToken.mayBeReusedAt(now)) {
+            log.debug("reusing token issued for [{}]", authorizationId);
+            return issuedToken;
+        }
+        final Duration lifetime = tokenFactory.getTokenLifetime();
+        final Instant expirationTime = now.plus(lifetime);
+        final IssuedToken newToken = new IssuedToken(
+                authorizationId,
+                tokenFactory.createToken(authorizationId, user.getAuthorities()),
+                user.getAuthorities(),
+                expirationTime,
+                // stop reusing the token during the last tenth of its lifetime
+                expirationTime.minus(lifetime.dividedBy(10)));
+        permissions.getIssuedTokens().put(authorizationId, newToken);
+        return newToken;
     }
 }
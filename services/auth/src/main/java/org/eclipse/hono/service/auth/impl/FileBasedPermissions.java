@@ -0,0 +1,290 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.service.auth.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.hono.auth.Activity;
+import org.eclipse.hono.auth.Authorities;
+import org.eclipse.hono.auth.AuthoritiesImpl;
+import org.eclipse.hono.auth.HonoUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The users and authorities read from a JSON file, shared by all instances of the
+ * {@link FileBasedAuthenticationService}.
+ * <p>
+ * The authorities granted to each user are determined from the user's roles when the
+ * permissions are loaded. The permissions are not changed afterwards so that they can be
+ * read concurrently by all service instances without any locking.
+ * <p>
+ * This object also holds the tokens issued for authorization ids so that the same token
+ * is reused regardless of the service instance that processes an authentication request.
+ */
+@Component
+@Profile("authentication-impl")
+public final class FileBasedPermissions {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileBasedPermissions.class);
+
+    private static final String FIELD_USERS = "users";
+    private static final String FIELD_ROLES = "roles";
+    private static final String FIELD_OPERATION = "operation";
+    private static final String FIELD_RESOURCE = "resource";
+    private static final String FIELD_ACTIVITIES = "activities";
+    private static final String FIELD_AUTHORITIES = "authorities";
+    private static final String FIELD_MECHANISM = "mechanism";
+
+    private static final String FIELD_PASSWORD = "password";
+    private static final String ROLE_HONO_COMPONENT = "hono-component";
+
+    private final ConcurrentMap<String, IssuedToken> issuedTokens = new ConcurrentHashMap<>();
+    // the permissions are replaced as a whole when loaded and are never modified afterwards
+    private volatile Map<String, User> users;
+
+    /**
+     * Loads the permissions from a resource unless they have already been loaded.
+     *
+     * @param source The resource to read the permissions from.
+     * @throws IOException if the permissions cannot be read.
+     * @throws IllegalStateException if the resource is {@code null}.
+     */
+    public synchronized void load(final Resource source) throws IOException {
+
+        if (users != null) {
+            return;
+        } else if (source == null) {
+            throw new IllegalStateException("permissions resource is not set");
+        } else if (source.isReadable()) {
+            LOG.info("loading permissions from resource {}", source.getURI().toString());
+            final StringBuilder json = new StringBuilder();
+            load(source, json);
+            parsePermissions(new JsonObject(json.toString()));
+        } else {
+            throw new FileNotFoundException("permissions resource does not exist");
+        }
+    }
+
+    /**
+     * Gets a user by name.
+     *
+     * @param name The name of the user.
+     * @return The user or {@code null} if no such user exists.
+     * @throws IllegalStateException if the permissions have not been loaded yet.
+     */
+    User getUser(final String name) {
+        final Map<String, User> loadedUsers = users;
+        if (loadedUsers == null) {
+            throw new IllegalStateException("permissions have not been loaded");
+        }
+        return loadedUsers.get(name);
+    }
+
+    /**
+     * Gets the tokens issued for authorization ids.
+     *
+     * @return The tokens.
+     */
+    ConcurrentMap<String, IssuedToken> getIssuedTokens() {
+        return issuedTokens;
+    }
+
+    private void load(final Resource source, final StringBuilder target) throws IOException {
+
+        char[] buffer = new char[4096];
+        int bytesRead = 0;
+        try (Reader reader = new InputStreamReader(source.getInputStream(), UTF_8)) {
+            while ((bytesRead = reader.read(buffer)) > 0) {
+                target.append(buffer, 0, bytesRead);
+            }
+        }
+    }
+
+    private void parsePermissions(final JsonObject permissionsObject) {
+
+        Objects.requireNonNull(permissionsObject);
+        final Map<String, Authorities> roles = parseRoles(permissionsObject.getJsonObject(FIELD_ROLES, new JsonObject()));
+        users = parseUsers(permissionsObject.getJsonObject(FIELD_USERS, new JsonObject()), roles);
+        issuedTokens.clear();
+    }
+
+    private Map<String, Authorities> parseRoles(final JsonObject rolesObject) {
+        final Map<String, Authorities> roles = new HashMap<>();
+        rolesObject.stream().filter(entry -> entry.getValue() instanceof JsonArray)
+            .forEach(entry -> {
+                final String roleName = entry.getKey();
+                final JsonArray authSpecs = (JsonArray) entry.getValue();
+                LOG.debug("adding role [{}] with {} authorities", roleName, authSpecs.size());
+                roles.put(roleName, toAuthorities(authSpecs));
+            });
+        return roles;
+    }
+
+    private Map<String, User> parseUsers(final JsonObject usersObject, final Map<String, Authorities> roles) {
+        final Map<String, User> result = new HashMap<>();
+        usersObject.stream().filter(entry -> entry.getValue() instanceof JsonObject)
+            .forEach(entry -> {
+                final String authenticationId = entry.getKey();
+                final JsonObject userSpec = (JsonObject) entry.getValue();
+                LOG.debug("adding user [{}]", authenticationId);
+                result.put(authenticationId, new User(userSpec, getAuthorities(userSpec, roles)));
+            });
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static Authorities getAuthorities(final JsonObject user, final Map<String, Authorities> roles) {
+        AuthoritiesImpl result = new AuthoritiesImpl();
+        user.getJsonArray(FIELD_AUTHORITIES, new JsonArray()).forEach(obj -> {
+            final String authority = (String) obj;
+            Authorities roleAuthorities = roles.get(authority);
+            if (roleAuthorities != null) {
+                result.addAll(roleAuthorities);
+            }
+        });
+        return result;
+    }
+
+    private static Authorities toAuthorities(final JsonArray authorities) {
+
+        AuthoritiesImpl result = new AuthoritiesImpl();
+        Objects.requireNonNull(authorities).stream()
+          .filter(obj -> obj instanceof JsonObject)
+          .forEach(obj -> {
+              final JsonObject authSpec = (JsonObject) obj;
+              final JsonArray activities = authSpec.getJsonArray(FIELD_ACTIVITIES, new JsonArray());
+              final String resource = authSpec.getString(FIELD_RESOURCE);
+              final String operation = authSpec.getString(FIELD_OPERATION);
+              if (resource != null) {
+                  List<Activity> activityList = new ArrayList<>();
+                  activities.forEach(s -> {
+                      Activity act = Activity.valueOf((String) s);
+                      if (act != null) {
+                          activityList.add(act);
+                      }
+                  });
+                  result.addResource(resource, activityList.toArray(new Activity[activityList.size()]));
+              } else if (operation != null) {
+                  String[] parts = operation.split(":", 2);
+                  if (parts.length == 2) {
+                      result.addOperation(parts[0], parts[1]);
+                  } else {
+                      LOG.debug("ignoring malformed operation spec [{}], operation name missing", operation);
+                  }
+              } else {
+                  throw new IllegalArgumentException("malformed authorities");
+                  }
+              });
+        return result;
+    }
+
+    /**
+     * A user as defined in the permissions file.
+     */
+    static final class User {
+
+        private final String mechanism;
+        private final byte[] password;
+        private final Authorities authorities;
+        private final boolean mayImpersonate;
+
+        private User(final JsonObject spec, final Authorities authorities) {
+            this.mechanism = spec.getString(FIELD_MECHANISM);
+            final String pwd = spec.getString(FIELD_PASSWORD);
+            this.password = pwd == null ? null : pwd.getBytes(UTF_8);
+            this.authorities = authorities;
+            this.mayImpersonate = spec.getJsonArray(FIELD_AUTHORITIES, new JsonArray()).contains(ROLE_HONO_COMPONENT);
+        }
+
+        String getMechanism() {
+            return mechanism;
+        }
+
+        Authorities getAuthorities() {
+            return authorities;
+        }
+
+        boolean mayImpersonate() {
+            return mayImpersonate;
+        }
+
+        boolean hasPassword(final String candidate) {
+            return password != null && MessageDigest.isEqual(password, candidate.getBytes(UTF_8));
+        }
+    }
+
+    /**
+     * A token issued for an authorization id.
+     */
+    static final class IssuedToken implements HonoUser {
+
+        private final String authorizationId;
+        private final String token;
+        private final Authorities authorities;
+        private final Instant expirationTime;
+        private final Instant reuseUntil;
+
+        IssuedToken(final String authorizationId, final String token, final Authorities authorities,
+                final Instant expirationTime, final Instant reuseUntil) {
+            this.authorizationId = authorizationId;
+            this.token = token;
+            this.authorities = authorities;
+            this.expirationTime = expirationTime;
+            this.reuseUntil = reuseUntil;
+        }
+
+        boolean mayBeReusedAt(final Instant instant) {
+            return instant.isBefore(reuseUntil);
+        }
+
+        @Override
+        public String getName() {
+            return authorizationId;
+        }
+
+        @Override
+        public String getToken() {
+            return token;
+        }
+
+        @Override
+        public Authorities getAuthorities() {
+            return authorities;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return !Instant.now().isBefore(expirationTime);
+        }
+    }
+}
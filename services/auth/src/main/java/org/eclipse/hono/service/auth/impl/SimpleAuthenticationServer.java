@@ -45,6 +45,11 @@ public final class SimpleAuthenticationServer extends AmqpServiceBase<ServiceCon
         return "Hono-Auth";
     }
 
+    @Override
+    protected String getMetricsPrefix() {
+        return "hono.auth";
+    }
+
     @Override
     protected void handleReceiverOpen(ProtonConnection con, ProtonReceiver receiver) {
         receiver.setCondition(ProtonHelper.condition(AmqpError.NOT_ALLOWED, "cannot write to node")).close();
@@ -16,7 +16,11 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -29,6 +33,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -61,6 +66,7 @@ public class FileBasedAuthenticationServiceTest {
 
         authService = new FileBasedAuthenticationService();
         authService.setConfig(props);
+        authService.setPermissions(new FileBasedPermissions());
         authService.setTokenFactory(tokenFactory);
         authService.loadPermissions();
     }
@@ -164,4 +170,82 @@ public class FileBasedAuthenticationServiceTest {
             assertTrue(res.getAuthorities().isAuthorized(registration, "add"));
         }));
     }
+
+    /**
+     * Verifies that protocol adapters are authorized to assert the registration status
+     * of multiple devices at once.
+     * 
+     * @param ctx The vertx unit test context.
+     */
+    @Test
+    public void testVerifyExternalGrantsBulkAssertionToProtocolAdapter(final TestContext ctx) {
+
+        final ResourceIdentifier registration = ResourceIdentifier.fromString("registration/tenant");
+        authService.verifyExternal(null, "CN=mqtt-adapter", ctx.asyncAssertSuccess(res -> {
+            assertTrue(res.getAuthorities().isAuthorized(registration, "assert"));
+            assertTrue(res.getAuthorities().isAuthorized(registration, "assert-bulk"));
+        }));
+    }
+
+    /**
+     * Verifies that the token issued for an authorization id is reused for subsequent
+     * authentication requests, regardless of the service instance processing the request.
+     * 
+     * @param ctx The vertx unit test context.
+     * @throws IOException if the permissions cannot be loaded.
+     */
+    @Test
+    public void testVerifyPlainReusesTokenIssuedByOtherInstance(final TestContext ctx) throws IOException {
+
+        // GIVEN two service instances sharing the same permissions
+        final AuthTokenHelper tokenFactory = mock(AuthTokenHelper.class);
+        when(tokenFactory.createToken(anyString(), any(Authorities.class))).thenReturn(TOKEN);
+        when(tokenFactory.getTokenLifetime()).thenReturn(TOKEN_LIFETIME);
+        final FileBasedPermissions permissions = new FileBasedPermissions();
+        final FileBasedAuthenticationService firstService = newService(permissions, tokenFactory);
+        final FileBasedAuthenticationService secondService = newService(permissions, tokenFactory);
+
+        // WHEN the same client is authenticated by both instances
+        firstService.verifyPlain(null, "hono-client@HONO", "secret", ctx.asyncAssertSuccess(first -> {
+            secondService.verifyPlain(null, "hono-client@HONO", "secret", ctx.asyncAssertSuccess(second -> {
+                // THEN both instances return the same token
+                assertThat(second, is(first));
+                verify(tokenFactory, times(1)).createToken(eq("hono-client@HONO"), any(Authorities.class));
+            }));
+        }));
+    }
+
+    /**
+     * Verifies that the permissions are loaded only once for all service instances.
+     * 
+     * @throws IOException if the permissions cannot be loaded.
+     */
+    @Test
+    public void testLoadPermissionsLoadsSharedPermissionsOnce() throws IOException {
+
+        final Resource permissionsResource = spy(new ClassPathResource("authentication-service-test-permissions.json"));
+        final AuthenticationServerConfigProperties props = new AuthenticationServerConfigProperties();
+        props.setPermissionsPath(permissionsResource);
+        final FileBasedPermissions permissions = new FileBasedPermissions();
+        for (int i = 0; i < 3; i++) {
+            final FileBasedAuthenticationService service = new FileBasedAuthenticationService();
+            service.setConfig(props);
+            service.setPermissions(permissions);
+            service.loadPermissions();
+        }
+        verify(permissionsResource, times(1)).getInputStream();
+    }
+
+    private static FileBasedAuthenticationService newService(final FileBasedPermissions permissions,
+            final AuthTokenHelper tokenFactory) throws IOException {
+
+        final AuthenticationServerConfigProperties props = new AuthenticationServerConfigProperties();
+        props.setPermissionsPath(new ClassPathResource("authentication-service-test-permissions.json"));
+        final FileBasedAuthenticationService service = new FileBasedAuthenticationService();
+        service.setConfig(props);
+        service.setPermissions(permissions);
+        service.setTokenFactory(tokenFactory);
+        service.loadPermissions();
+        return service;
+    }
 }
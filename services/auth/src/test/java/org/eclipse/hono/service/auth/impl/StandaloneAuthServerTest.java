@@ -70,6 +70,7 @@ public class StandaloneAuthServerTest {
         serviceProps.setPermissionsPath(new ClassPathResource("authentication-service-test-permissions.json"));
         FileBasedAuthenticationService authServiceImpl = new FileBasedAuthenticationService();
         authServiceImpl.setConfig(serviceProps);
+        authServiceImpl.setPermissions(new FileBasedPermissions());
         authServiceImpl.setTokenFactory(tokenHelper);
 
         Async startup = ctx.async();
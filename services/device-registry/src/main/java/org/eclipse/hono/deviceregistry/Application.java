@@ -12,16 +12,23 @@
 
 package org.eclipse.hono.deviceregistry;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import io.vertx.core.CompositeFuture;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Verticle;
+import io.vertx.core.json.JsonObject;
 
 import org.eclipse.hono.service.AbstractApplication;
 import org.eclipse.hono.service.HealthCheckProvider;
 import org.eclipse.hono.service.auth.AuthenticationService;
 import org.eclipse.hono.service.credentials.CredentialsService;
 import org.eclipse.hono.service.registration.RegistrationService;
+import org.eclipse.hono.util.RequestResponseApiConstants;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -36,36 +43,43 @@ import io.vertx.core.Future;
  * The application implements Hono's <a href="https://www.eclipse.org/hono/api/Device-Registration-API/">Device Registration API</a>
  * and <a href="https://www.eclipse.org/hono/api/Credentials-API/">Credentials API</a>.
  * </p>
+ * <p>
+ * The registration and credentials services are deployed as one instance per
+ * {@linkplain org.eclipse.hono.config.ApplicationConfigProperties#getServicePartitions() partition}.
+ * </p>
  */
 @ComponentScan(basePackages = { "org.eclipse.hono.service", "org.eclipse.hono.deviceregistry" })
 @Configuration
 @EnableAutoConfiguration
 public class Application extends AbstractApplication {
 
+    private final List<Verticle> serviceInstances = new ArrayList<>();
     private AuthenticationService authenticationService;
-    private CredentialsService credentialsService;
-    private RegistrationService registrationService;
+    private ObjectProvider<CredentialsService> credentialsServiceFactory;
+    private ObjectFactory<RegistrationService> registrationServiceFactory;
 
     /**
-     * Sets the credentials service implementation this server is based on.
+     * Sets the factory for creating instances of the credentials service implementation this server is based on.
+     * <p>
+     * No credentials service is deployed if the factory does not provide an instance.
      * 
-     * @param credentialsService The service implementation.
-     * @throws NullPointerException if service is {@code null}.
+     * @param factory The factory.
+     * @throws NullPointerException if factory is {@code null}.
      */
-    @Autowired(required = false)
-    public final void setCredentialsService(final CredentialsService credentialsService) {
-        this.credentialsService = Objects.requireNonNull(credentialsService);
+    @Autowired
+    public final void setCredentialsServiceFactory(final ObjectProvider<CredentialsService> factory) {
+        this.credentialsServiceFactory = Objects.requireNonNull(factory);
     }
 
     /**
-     * Sets the registration service implementation this server is based on.
+     * Sets the factory for creating instances of the registration service implementation this server is based on.
      *
-     * @param registrationService the registrationService to set
-     * @throws NullPointerException if service is {@code null}.
+     * @param factory The factory.
+     * @throws NullPointerException if factory is {@code null}.
      */
     @Autowired
-    public final void setRegistrationService(final RegistrationService registrationService) {
-        this.registrationService = Objects.requireNonNull(registrationService);
+    public final void setRegistrationServiceFactory(final ObjectFactory<RegistrationService> factory) {
+        this.registrationServiceFactory = Objects.requireNonNull(factory);
     }
 
     /**
@@ -96,15 +110,13 @@ public class Application extends AbstractApplication {
         return result;
     }
 
-    private Future<String> deployCredentialsService() {
-        Future<String> result = Future.future();
-        if (credentialsService != null) {
-            log.info("Starting credentials service {}", credentialsService);
-            getVertx().deployVerticle(credentialsService, result.completer());
+    private Future<Void> deployCredentialsService() {
+        final CredentialsService firstInstance = credentialsServiceFactory.getIfAvailable();
+        if (firstInstance == null) {
+            return Future.succeededFuture();
         } else {
-            result.complete();
+            return deployPartitions(firstInstance, credentialsServiceFactory);
         }
-        return result;
     }
 
     private Future<String> deployAuthenticationService() {
@@ -118,10 +130,36 @@ public class Application extends AbstractApplication {
         return result;
     }
 
-    private Future<String> deployRegistrationService() {
-        log.info("Starting registration service {}", registrationService);
-        Future<String> result = Future.future();
-        getVertx().deployVerticle(registrationService, result.completer());
+    private Future<Void> deployRegistrationService() {
+        return deployPartitions(registrationServiceFactory.getObject(), registrationServiceFactory);
+    }
+
+    private Future<Void> deployPartitions(final Verticle firstInstance, final ObjectFactory<? extends Verticle> serviceFactory) {
+
+        final int partitions = getApplicationConfiguration().getServicePartitions();
+        @SuppressWarnings("rawtypes")
+        final List<Future> deploymentTracker = new ArrayList<>();
+
+        for (int partition = 0; partition < partitions; partition++) {
+            final Verticle service = partition == 0 ? firstInstance : serviceFactory.getObject();
+            final DeploymentOptions options = new DeploymentOptions().setConfig(new JsonObject()
+                    .put(RequestResponseApiConstants.CONFIG_KEY_PARTITION, partition)
+                    .put(RequestResponseApiConstants.CONFIG_KEY_PARTITIONS, partitions));
+            log.info("Starting service {} [partition {} of {}]", service, partition + 1, partitions);
+            final Future<String> tracker = Future.future();
+            getVertx().deployVerticle(service, options, tracker.completer());
+            deploymentTracker.add(tracker);
+            serviceInstances.add(service);
+        }
+
+        final Future<Void> result = Future.future();
+        CompositeFuture.all(deploymentTracker).setHandler(ar -> {
+            if (ar.succeeded()) {
+                result.complete();
+            } else {
+                result.fail(ar.cause());
+            }
+        });
         return result;
     }
 
@@ -135,11 +173,10 @@ public class Application extends AbstractApplication {
         if (HealthCheckProvider.class.isInstance(authenticationService)) {
             registerHealthchecks((HealthCheckProvider) authenticationService);
         }
-        if (HealthCheckProvider.class.isInstance(credentialsService)) {
-            registerHealthchecks((HealthCheckProvider) credentialsService);
-        }
-        if (HealthCheckProvider.class.isInstance(registrationService)) {
-            registerHealthchecks((HealthCheckProvider) registrationService);
+        for (Verticle service : serviceInstances) {
+            if (HealthCheckProvider.class.isInstance(service)) {
+                registerHealthchecks((HealthCheckProvider) service);
+            }
         }
         return Future.succeededFuture();
     }
@@ -85,13 +85,18 @@ public class ApplicationConfig {
 
     /**
      * Creates a new instance of an AMQP 1.0 protocol handler for Hono's <em>Device Registration</em> API.
+     * <p>
+     * The handler routes requests to the service instance responsible for the tenant
+     * given in the request.
      * 
      * @return The handler.
      */
     @Bean
     @Scope("prototype")
     public RegistrationAmqpEndpoint registrationAmqpEndpoint() {
-        return new RegistrationAmqpEndpoint(vertx());
+        final RegistrationAmqpEndpoint endpoint = new RegistrationAmqpEndpoint(vertx());
+        endpoint.setServicePartitions(applicationConfigProperties().getServicePartitions());
+        return endpoint;
     }
 
     /**
@@ -102,7 +107,9 @@ public class ApplicationConfig {
     @Bean
     @Scope("prototype")
     public CredentialsAmqpEndpoint credentialsAmqpEndpoint() {
-        return new CredentialsAmqpEndpoint(vertx());
+        final CredentialsAmqpEndpoint endpoint = new CredentialsAmqpEndpoint(vertx());
+        endpoint.setServicePartitions(applicationConfigProperties().getServicePartitions());
+        return endpoint;
     }
 
     /**
@@ -151,7 +158,9 @@ public class ApplicationConfig {
     @Bean
     @Scope("prototype")
     public RegistrationHttpEndpoint registrationHttpEndpoint() {
-        return new RegistrationHttpEndpoint(vertx());
+        final RegistrationHttpEndpoint endpoint = new RegistrationHttpEndpoint(vertx());
+        endpoint.setServicePartitions(applicationConfigProperties().getServicePartitions());
+        return endpoint;
     }
 
     /**
@@ -162,7 +171,9 @@ public class ApplicationConfig {
     @Bean
     @Scope("prototype")
     public CredentialsHttpEndpoint credentialsHttpEndpoint() {
-        return new CredentialsHttpEndpoint(vertx());
+        final CredentialsHttpEndpoint endpoint = new CredentialsHttpEndpoint(vertx());
+        endpoint.setServicePartitions(applicationConfigProperties().getServicePartitions());
+        return endpoint;
     }
 
     /**
@@ -25,4 +25,9 @@ public final class DeviceRegistryAmqpServer extends AmqpServiceBase<ServiceConfi
     protected String getServiceName() {
         return "Hono-DeviceRegistry";
     }
+
+    @Override
+    protected String getMetricsPrefix() {
+        return "hono.registry";
+    }
 }
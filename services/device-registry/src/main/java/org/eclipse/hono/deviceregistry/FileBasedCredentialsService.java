@@ -24,6 +24,7 @@ import org.eclipse.hono.service.credentials.BaseCredentialsService;
 import org.eclipse.hono.util.CredentialsConstants;
 import org.eclipse.hono.util.CredentialsResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Repository;
 
 import io.vertx.core.AsyncResult;
@@ -41,8 +42,13 @@ import io.vertx.core.json.JsonObject;
  * <p>
  * On startup this adapter loads all added credentials from a file. On shutdown all
  * credentials kept in memory are written to the file.
+ * <p>
+ * If the service is deployed as multiple partitions, each instance only loads the credentials of
+ * the tenants assigned to its partition and persists them to its own file. The number of
+ * partitions therefore must not be changed once the partition files have been created.
  */
 @Repository
+@Scope("prototype")
 public final class FileBasedCredentialsService extends BaseCredentialsService<FileBasedCredentialsConfigProperties> {
 
     private static final String ARRAY_CREDENTIALS = "credentials";
@@ -90,28 +96,55 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
             result.fail(new IllegalStateException("credentials filename is not set"));
         } else {
             final FileSystem fs = vertx.fileSystem();
-            log.debug("trying to load credentials information from file {}", getConfig().getCredentialsFilename());
+            final String filename = getFilenameToLoadFrom(fs);
+            log.debug("trying to load credentials information from file {}", filename);
 
-            if (fs.existsBlocking(getConfig().getCredentialsFilename())) {
-                log.info("loading credentials from file [{}]", getConfig().getCredentialsFilename());
-                fs.readFile(getConfig().getCredentialsFilename(), readAttempt -> {
+            if (fs.existsBlocking(filename)) {
+                log.info("loading credentials from file [{}]", filename);
+                fs.readFile(filename, readAttempt -> {
                     if (readAttempt.succeeded()) {
                         JsonArray allObjects = readAttempt.result().toJsonArray();
-                        parseCredentials(allObjects);
+                        parseCredentials(allObjects, filename);
                         result.complete();
                     } else {
                         result.fail(readAttempt.cause());
                     }
                 });
             } else {
-                log.debug("credentials file [{}] does not exist (yet)", getConfig().getCredentialsFilename());
+                log.debug("credentials file [{}] does not exist (yet)", filename);
                 result.complete();
             }
         }
         return result;
     }
 
-    private void parseCredentials(final JsonArray credentialsObject) {
+    /**
+     * Gets the name of the file that this service instance persists its credentials to.
+     * <p>
+     * If the service is partitioned, the configured file name is appended with a period
+     * and the index of the partition.
+     * 
+     * @return The file name.
+     */
+    String getPartitionFilename() {
+        if (getPartitions() > 1) {
+            return String.format("%s.%d", getConfig().getCredentialsFilename(), getPartition());
+        } else {
+            return getConfig().getCredentialsFilename();
+        }
+    }
+
+    private String getFilenameToLoadFrom(final FileSystem fs) {
+        final String partitionFilename = getPartitionFilename();
+        if (fs.existsBlocking(partitionFilename)) {
+            return partitionFilename;
+        } else {
+            // initial start of a partitioned registry, use the credentials from the shared file
+            return getConfig().getCredentialsFilename();
+        }
+    }
+
+    private void parseCredentials(final JsonArray credentialsObject, final String filename) {
 
         int credentialsCount = 0;
 
@@ -119,6 +152,10 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
         for (Object obj : credentialsObject) {
             JsonObject tenant = (JsonObject) obj;
             String tenantId = tenant.getString(FIELD_TENANT);
+            if (!isResponsibleFor(tenantId)) {
+                log.debug("skipping credentials of tenant [{}] belonging to other partition", tenantId);
+                continue;
+            }
             Map<String, JsonArray> credentialsMap = new HashMap<>();
             for (Object credentialsObj : tenant.getJsonArray(ARRAY_CREDENTIALS)) {
                 JsonObject credentials = (JsonObject) credentialsObj;
@@ -134,7 +171,7 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
             }
             credentials.put(tenantId, credentialsMap);
         }
-        log.info("successfully loaded {} credentials from file [{}]", credentialsCount, getConfig().getCredentialsFilename());
+        log.info("successfully loaded {} credentials from file [{}]", credentialsCount, filename);
     }
 
     @Override
@@ -165,7 +202,7 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
         }
 
         final FileSystem fs = vertx.fileSystem();
-        String filename = getConfig().getCredentialsFilename();
+        final String filename = getPartitionFilename();
 
         if (!fs.existsBlocking(filename)) {
             fs.createFileBlocking(filename);
@@ -184,7 +221,7 @@ public final class FileBasedCredentialsService extends BaseCredentialsService<Fi
                             .put(FIELD_TENANT, entry.getKey())
                             .put(ARRAY_CREDENTIALS, credentialsArray));
         }
-        fs.writeFile(getConfig().getCredentialsFilename(), Buffer.factory.buffer(tenants.encodePrettily()), writeAttempt -> {
+        fs.writeFile(filename, Buffer.factory.buffer(tenants.encodePrettily()), writeAttempt -> {
             if (writeAttempt.succeeded()) {
                 dirty = false;
                 log.trace("successfully wrote {} credentials to file {}", idCount.get(), filename);
@@ -13,6 +13,7 @@
 package org.eclipse.hono.deviceregistry;
 
 import org.eclipse.hono.config.SignatureSupportingConfigProperties;
+import org.eclipse.hono.service.registration.BaseRegistrationService;
 import org.eclipse.hono.service.registration.RegistrationService;
 
 import io.vertx.core.Handler;
@@ -37,6 +38,7 @@ public final class FileBasedRegistrationConfigProperties {
     private boolean saveToFile = false;
     private boolean modificationEnabled = true;
     private int maxDevicesPerTenant = DEFAULT_MAX_DEVICES_PER_TENANT;
+    private int maxBulkAssertionSize = BaseRegistrationService.DEFAULT_MAX_BULK_ASSERTION_SIZE;
 
     /**
      * Gets the path to the file that the content of the device registry should be persisted to
@@ -141,6 +143,32 @@ public final class FileBasedRegistrationConfigProperties {
         this.maxDevicesPerTenant = maxDevices;
     }
 
+    /**
+     * Gets the maximum number of devices that can be asserted in a single bulk request.
+     * <p>
+     * The default value of this property is {@link BaseRegistrationService#DEFAULT_MAX_BULK_ASSERTION_SIZE}.
+     * 
+     * @return The maximum number of devices.
+     */
+    public int getMaxBulkAssertionSize() {
+        return maxBulkAssertionSize;
+    }
+
+    /**
+     * Sets the maximum number of devices that can be asserted in a single bulk request.
+     * <p>
+     * The default value of this property is {@link BaseRegistrationService#DEFAULT_MAX_BULK_ASSERTION_SIZE}.
+     * 
+     * @param maxDevices The maximum number of devices.
+     * @throws IllegalArgumentException if the number of devices is &lt;= 0.
+     */
+    public void setMaxBulkAssertionSize(final int maxDevices) {
+        if (maxDevices <= 0) {
+            throw new IllegalArgumentException("max bulk assertion size must be > 0");
+        }
+        this.maxBulkAssertionSize = maxDevices;
+    }
+
     /**
      * Gets the properties for determining key material for creating registration assertion tokens.
      *
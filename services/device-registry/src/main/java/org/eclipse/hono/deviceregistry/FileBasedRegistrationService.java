@@ -26,6 +26,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.hono.service.registration.BaseRegistrationService;
 import org.eclipse.hono.util.RegistrationResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Repository;
 
 import io.vertx.core.AsyncResult;
@@ -41,8 +42,13 @@ import io.vertx.core.json.JsonObject;
  * <p>
  * On startup this adapter loads all registered devices from a file. On shutdown all
  * devices kept in memory are written to the file.
+ * <p>
+ * If the service is deployed as multiple partitions, each instance only loads the devices of
+ * the tenants assigned to its partition and persists them to its own file. The number of
+ * partitions therefore must not be changed once the partition files have been created.
  */
 @Repository
+@Scope("prototype")
 public final class FileBasedRegistrationService extends BaseRegistrationService<FileBasedRegistrationConfigProperties> {
 
     private static final String ARRAY_DEVICES = "devices";
@@ -57,6 +63,7 @@ public final class FileBasedRegistrationService extends BaseRegistrationService<
     @Override
     public void setConfig(final FileBasedRegistrationConfigProperties configuration) {
         setSpecificConfig(configuration);
+        setMaxBulkAssertionSize(configuration.getMaxBulkAssertionSize());
     }
 
     @Override
@@ -95,15 +102,20 @@ public final class FileBasedRegistrationService extends BaseRegistrationService<
         } else {
 
             final FileSystem fs = vertx.fileSystem();
-            log.debug("trying to load device registration information from file {}", getConfig().getFilename());
-            if (fs.existsBlocking(getConfig().getFilename())) {
+            final String filename = getFilenameToLoadFrom(fs);
+            log.debug("trying to load device registration information from file {}", filename);
+            if (fs.existsBlocking(filename)) {
                 final AtomicInteger deviceCount = new AtomicInteger();
-                fs.readFile(getConfig().getFilename(), readAttempt -> {
+                fs.readFile(filename, readAttempt -> {
                    if (readAttempt.succeeded()) {
                        JsonArray allObjects = new JsonArray(new String(readAttempt.result().getBytes()));
                        for (Object obj : allObjects) {
                            JsonObject tenant = (JsonObject) obj;
                            String tenantId = tenant.getString(FIELD_TENANT);
+                           if (!isResponsibleFor(tenantId)) {
+                               log.debug("skipping devices of tenant [{}] belonging to other partition", tenantId);
+                               continue;
+                           }
                            log.debug("loading devices for tenant [{}]", tenantId);
                            Map<String, JsonObject> deviceMap = new HashMap<>();
                            for (Object deviceObj : tenant.getJsonArray(ARRAY_DEVICES)) {
@@ -115,21 +127,47 @@ public final class FileBasedRegistrationService extends BaseRegistrationService<
                            }
                            identities.put(tenantId, deviceMap);
                        }
-                       log.info("successfully loaded {} device identities from file [{}]", deviceCount.get(), getConfig().getFilename());
+                       log.info("successfully loaded {} device identities from file [{}]", deviceCount.get(), filename);
                        result.complete();
                    } else {
-                       log.warn("could not load device identities from file [{}]", getConfig().getFilename());
+                       log.warn("could not load device identities from file [{}]", filename);
                        result.fail(readAttempt.cause());
                    }
                 });
             } else {
-                log.debug("device identity file [{}] does not exist (yet)", getConfig().getFilename());
+                log.debug("device identity file [{}] does not exist (yet)", filename);
                 result.complete();
             }
         }
         return result;
     }
 
+    /**
+     * Gets the name of the file that this service instance persists its devices to.
+     * <p>
+     * If the service is partitioned, the configured file name is appended with a period
+     * and the index of the partition.
+     * 
+     * @return The file name.
+     */
+    String getPartitionFilename() {
+        if (getPartitions() > 1) {
+            return String.format("%s.%d", getConfig().getFilename(), getPartition());
+        } else {
+            return getConfig().getFilename();
+        }
+    }
+
+    private String getFilenameToLoadFrom(final FileSystem fs) {
+        final String partitionFilename = getPartitionFilename();
+        if (fs.existsBlocking(partitionFilename)) {
+            return partitionFilename;
+        } else {
+            // initial start of a partitioned registry, use the devices from the shared file
+            return getConfig().getFilename();
+        }
+    }
+
     @Override
     protected void doStop(final Future<Void> stopFuture) {
 
@@ -158,8 +196,9 @@ public final class FileBasedRegistrationService extends BaseRegistrationService<
         }
 
         final FileSystem fs = vertx.fileSystem();
-        if (!fs.existsBlocking(getConfig().getFilename())) {
-            fs.createFileBlocking(getConfig().getFilename());
+        final String filename = getPartitionFilename();
+        if (!fs.existsBlocking(filename)) {
+            fs.createFileBlocking(filename);
         }
         final AtomicInteger idCount = new AtomicInteger();
         JsonArray tenants = new JsonArray();
@@ -177,13 +216,13 @@ public final class FileBasedRegistrationService extends BaseRegistrationService<
                         .put(FIELD_TENANT, entry.getKey())
                         .put(ARRAY_DEVICES, devices));
         }
-        fs.writeFile(getConfig().getFilename(), Buffer.factory.buffer(tenants.encodePrettily()), writeAttempt -> {
+        fs.writeFile(filename, Buffer.factory.buffer(tenants.encodePrettily()), writeAttempt -> {
             if (writeAttempt.succeeded()) {
                 dirty = false;
-                log.trace("successfully wrote {} device identities to file {}", idCount.get(), getConfig().getFilename());
+                log.trace("successfully wrote {} device identities to file {}", idCount.get(), filename);
                 writeResult.complete();
             } else {
-                log.warn("could not write device identities to file {}", getConfig().getFilename(), writeAttempt.cause());
+                log.warn("could not write device identities to file {}", filename, writeAttempt.cause());
                 writeResult.fail(writeAttempt.cause());
             }
         });
@@ -11,17 +11,23 @@
  */
 package org.eclipse.hono.deviceregistry;
 
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.file.FileSystem;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.eclipse.hono.service.registration.RegistrationAssertionHelper;
 import org.eclipse.hono.util.RegistrationResult;
+import org.eclipse.hono.util.RequestResponseApiConstants;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -196,6 +202,62 @@ public class FileBasedRegistrationServiceTest
        }, shutdownTracker);
    }
 
+   /**
+    * Verifies that a service instance deployed as one of several partitions only loads the devices
+    * of the tenants assigned to its partition.
+    * 
+    * @param ctx The vertx unit test context.
+    */
+   @SuppressWarnings("unchecked")
+   @Test
+   public void testLoadRegistrationDataOnlyLoadsTenantsOfPartition(final TestContext ctx) {
+
+       // GIVEN a registry that is deployed as one of two partitions
+       // and a file containing devices of two tenants assigned to different partitions
+       final String ownTenant = findTenantForPartition(0, 2);
+       final String otherTenant = findTenantForPartition(1, 2);
+       final JsonArray content = new JsonArray()
+               .add(new JsonObject().put("tenant", ownTenant).put("devices", new JsonArray()
+                       .add(new JsonObject().put(FIELD_DEVICE_ID, DEVICE).put(FIELD_DATA, new JsonObject()))))
+               .add(new JsonObject().put("tenant", otherTenant).put("devices", new JsonArray()
+                       .add(new JsonObject().put(FIELD_DEVICE_ID, DEVICE).put(FIELD_DATA, new JsonObject()))));
+       final FileSystem fs = mock(FileSystem.class);
+       when(fs.existsBlocking(props.getFilename())).thenReturn(Boolean.TRUE);
+       doAnswer(invocation -> {
+           final Handler<AsyncResult<Buffer>> handler = invocation.getArgumentAt(1, Handler.class);
+           handler.handle(Future.succeededFuture(Buffer.buffer(content.encode())));
+           return fs;
+       }).when(fs).readFile(eq(props.getFilename()), any(Handler.class));
+       when(vertx.fileSystem()).thenReturn(fs);
+       when(eventBus.consumer(anyString())).thenReturn(mock(io.vertx.core.eventbus.MessageConsumer.class));
+
+       final Context context = mock(Context.class);
+       when(context.config()).thenReturn(new JsonObject()
+               .put(RequestResponseApiConstants.CONFIG_KEY_PARTITION, 0)
+               .put(RequestResponseApiConstants.CONFIG_KEY_PARTITIONS, 2));
+       registrationService.init(vertx, context);
+       registrationService.setRegistrationAssertionFactory(mock(RegistrationAssertionHelper.class));
+
+       // WHEN starting the service
+       final Future<Void> startupTracker = Future.future();
+       startupTracker.setHandler(ctx.asyncAssertSuccess(started -> {
+           // THEN only the devices of the tenant assigned to the partition have been loaded
+           ctx.assertEquals(HTTP_OK, registrationService.getDevice(ownTenant, DEVICE).getStatus());
+           ctx.assertEquals(HTTP_NOT_FOUND, registrationService.getDevice(otherTenant, DEVICE).getStatus());
+           // and the partition will be persisted to its own file
+           ctx.assertEquals(props.getFilename() + ".0", registrationService.getPartitionFilename());
+       }));
+       registrationService.start(startupTracker);
+   }
+
+   private static String findTenantForPartition(final int partition, final int partitions) {
+       int i = 0;
+       while (RequestResponseApiConstants.getPartition("tenant" + i, partitions) != partition) {
+           i++;
+       }
+       return "tenant" + i;
+   }
+
    private static JsonObject expectedMessage(final String id) {
        return new JsonObject()
                .put(FIELD_DEVICE_ID, id)
@@ -216,6 +278,6 @@ public class FileBasedRegistrationServiceTest
 
    private void processMessageAndExpectResponse(final Message<JsonObject> request, final JsonObject expectedResponse) {
        registrationService.processRegistrationMessage(request);
-       verify(request).reply(expectedResponse);
+       verify(request).reply(eq(expectedResponse), any(DeliveryOptions.class));
    }
 }
@@ -47,7 +47,11 @@ public final class ForwardingEventDownstreamAdapter extends ForwardingDownstream
     }
 
     protected void forwardMessage(final ProtonSender sender, final Message msg, final ProtonDelivery delivery) {
-        sender.send(msg, updatedDelivery -> delivery.disposition(updatedDelivery.getRemoteState(), updatedDelivery.remotelySettled()));
+        final long startNanos = System.nanoTime();
+        sender.send(msg, updatedDelivery -> {
+            delivery.disposition(updatedDelivery.getRemoteState(), updatedDelivery.remotelySettled());
+            updateDeliveryTime(sender, startNanos);
+        });
     }
 
     @Override
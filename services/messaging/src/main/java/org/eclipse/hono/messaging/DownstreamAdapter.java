@@ -17,6 +17,7 @@ import org.apache.qpid.proton.message.Message;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonDelivery;
 
 /**
@@ -111,4 +112,15 @@ public interface DownstreamAdapter {
      * @return {@code true} if this adapter has a usable connection to the container.
      */
     boolean isConnected();
+
+    /**
+     * Gets information about this adapter's connection to the downstream AMQP container.
+     * <p>
+     * This default implementation reports whether the adapter is connected only.
+     *
+     * @return The connection status.
+     */
+    default JsonObject getConnectionStatus() {
+        return new JsonObject().put("connected", isConnected());
+    }
 }
@@ -20,6 +20,7 @@ import java.util.Objects;
 
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.connection.ConnectionFactory;
+import org.eclipse.hono.connection.ReconnectPolicy;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.ResourceIdentifier;
 import org.slf4j.Logger;
@@ -32,6 +33,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonClientOptions;
 import io.vertx.proton.ProtonConnection;
 import io.vertx.proton.ProtonDelivery;
@@ -66,6 +68,7 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
     private ProtonConnection  downstreamConnection;
     private SenderFactory     senderFactory;
     private ConnectionFactory downstreamConnectionFactory;
+    private ReconnectPolicy   reconnectPolicy             = new ReconnectPolicy();
 
     /**
      * Creates a new adapter instance for a sender factory.
@@ -112,6 +115,23 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
         }
     }
 
+    /**
+     * Sets the policy for spacing out attempts to re-establish the connection to the downstream container.
+     * <p>
+     * If not set, a policy using default values is used.
+     * 
+     * @param policy The policy.
+     * @throws NullPointerException if the policy is {@code null}.
+     * @throws IllegalStateException if this adapter is already running.
+     */
+    public final void setReconnectPolicy(final ReconnectPolicy policy) {
+        if (running) {
+            throw new IllegalStateException("reconnect policy can not be set on running adapter");
+        } else {
+            this.reconnectPolicy = Objects.requireNonNull(policy);
+        }
+    }
+
     /**
      * Sets the metrics for this service
      *
@@ -208,6 +228,7 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
                 this::onDisconnectFromDownstreamContainer,
                 connectAttempt -> {
                     if (connectAttempt.succeeded()) {
+                        reconnectPolicy.succeeded();
                         this.downstreamConnection = connectAttempt.result();
                         metrics.incrementDownStreamConnections();
                         if (connectResultHandler != null) {
@@ -215,6 +236,7 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
                         }
                     } else {
                         logger.info("failed to connect to downstream container: {}", connectAttempt.cause().getMessage());
+                        reconnectPolicy.failed();
                         if (retryOnFailedConnectAttempt) {
                             reconnect(connectResultHandler);
                         } else if (connectResultHandler != null) {
@@ -285,7 +307,7 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
         } else {
             final ProtonClientOptions clientOptions = createClientOptions();
             if (clientOptions.getReconnectAttempts() != 0) {
-                vertx.setTimer(Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS, reconnect -> {
+                reconnectPolicy.schedule(vertx, reconnect -> {
                     logger.info("attempting to re-connect to downstream container");
                     connectToDownstream(clientOptions, resultHandler);
                 });
@@ -501,6 +523,19 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
         return downstreamConnection != null && !downstreamConnection.isDisconnected();
     }
 
+    /**
+     * Gets information about the connection to the downstream container.
+     *
+     * @return Whether the connection is open and the status of the policy
+     *         used for re-establishing the connection.
+     */
+    @Override
+    public final JsonObject getConnectionStatus() {
+        return new JsonObject()
+                .put("connected", isConnected())
+                .put("reconnect", reconnectPolicy.getStatus());
+    }
+
     final void disableRetryOnFailedConnectAttempt() {
         retryOnFailedConnectAttempt = false;
     }
@@ -523,6 +558,16 @@ public abstract class ForwardingDownstreamAdapter implements DownstreamAdapter {
         return receiversPerConnection != null && receiversPerConnection.isEmpty();
     }
 
+    /**
+     * Records the time it took the downstream container to settle a message.
+     * 
+     * @param sender The link that the message has been sent on.
+     * @param startNanos The value of {@link System#nanoTime()} when the message has been sent.
+     */
+    protected final void updateDeliveryTime(final ProtonSender sender, final long startNanos) {
+        metrics.updateDeliveryTime(sender.getTarget().getAddress(), startNanos);
+    }
+
     /**
      * Forwards the message to the downstream container.
      * <p>
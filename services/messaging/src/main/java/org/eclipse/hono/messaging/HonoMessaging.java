@@ -43,6 +43,11 @@ public final class HonoMessaging extends AmqpServiceBase<HonoMessagingConfigProp
         return "Hono";
     }
 
+    @Override
+    protected String getMetricsPrefix() {
+        return "hono.messaging";
+    }
+
     @Autowired
     @Override
     public void setConfig(final HonoMessagingConfigProperties configuration) {
@@ -194,7 +194,10 @@ public abstract class MessageForwardingEndpoint<T extends ServiceConfigPropertie
         final ResourceIdentifier messageAddress = ResourceIdentifier.fromString(getAnnotation(msg, MessageHelper.APP_PROPERTY_RESOURCE, String.class));
         final String token = MessageHelper.getAndRemoveRegistrationAssertion(msg);
 
-        if (assertRegistration(token, messageAddress)) {
+        final long startNanos = System.nanoTime();
+        final boolean registrationAsserted = assertRegistration(token, messageAddress);
+        metrics.updateAssertionTime(messageAddress, startNanos);
+        if (registrationAsserted) {
             downstreamAdapter.processMessage(link, delivery, msg);
         } else {
             logger.debug("failed to validate device registration status");
@@ -230,6 +233,8 @@ public abstract class MessageForwardingEndpoint<T extends ServiceConfigPropertie
     /**
      * Registers a check that succeeds if this endpoint has a usable connection to its
      * downstream container.
+     * <p>
+     * The check's data contains the adapter's connection status.
      */
     @Override
     public void registerReadinessChecks(final HealthCheckHandler handler) {
@@ -237,9 +242,9 @@ public abstract class MessageForwardingEndpoint<T extends ServiceConfigPropertie
             if (downstreamAdapter == null) {
                 status.complete(Status.KO());
             } else if (downstreamAdapter.isConnected()) {
-                status.complete(Status.OK());
+                status.complete(Status.OK(downstreamAdapter.getConnectionStatus()));
             } else {
-                status.complete(Status.KO());
+                status.complete(Status.KO(downstreamAdapter.getConnectionStatus()));
             }
         });
     }
@@ -12,9 +12,16 @@
 
 package org.eclipse.hono.messaging;
 
+import org.eclipse.hono.service.metric.MetricHandles;
 import org.eclipse.hono.service.metric.Metrics;
+import org.eclipse.hono.service.metric.SettableGauge;
+import org.eclipse.hono.service.metric.StageTimer;
+import org.eclipse.hono.util.ResourceIdentifier;
 import org.springframework.stereotype.Component;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+
 /**
  * Metrics for Hono Messaging
  */
@@ -28,45 +35,82 @@ public class MessagingMetrics extends Metrics {
     private static final String SENDERS_DOWNSTREAM       = ".senders.downstream.";
     private static final String RECEIVERS_UPSTREAM_LINKS = ".receivers.upstream.links.";
 
+    private final MetricHandles<SettableGauge> downstreamLinkCredits = new MetricHandles<>(
+            address -> gauge(SERVICE_PREFIX + LINK_DOWNSTREAM_CREDITS + normalizeAddress(address)));
+    private final MetricHandles<Counter> downstreamSenders = new MetricHandles<>(
+            address -> counter(SERVICE_PREFIX + SENDERS_DOWNSTREAM + normalizeAddress(address)));
+    private final MetricHandles<Counter> upstreamLinks = new MetricHandles<>(
+            address -> counter(SERVICE_PREFIX + RECEIVERS_UPSTREAM_LINKS + normalizeAddress(address)));
+    private final MetricHandles<Meter> processedMessages = new MetricHandles<>(
+            address -> meter(SERVICE_PREFIX + MESSAGES + normalizeAddress(address) + PROCESSED));
+    private final MetricHandles<Counter> discardedMessages = new MetricHandles<>(
+            address -> counter(SERVICE_PREFIX + MESSAGES + normalizeAddress(address) + DISCARDED));
+    private final MetricHandles<Counter> undeliverableMessages = new MetricHandles<>(
+            address -> counter(SERVICE_PREFIX + MESSAGES + normalizeAddress(address) + UNDELIVERABLE));
+    private final StageTimer assertionTimer = stageTimer(STAGE_ASSERTION);
+    private final StageTimer deliveryTimer = stageTimer(STAGE_DELIVERY);
+    private final MetricHandles<ResourceIdentifier> addresses = new MetricHandles<>(ResourceIdentifier::fromString);
+    // resolved on first use because the registry is injected after construction
+    private volatile Counter downstreamConnections;
+
     @Override
     protected String getPrefix() {
         return SERVICE_PREFIX;
     }
 
     void incrementDownStreamConnections() {
-        counterService.increment(SERVICE_PREFIX + CONNECTIONS_DOWNSTREAM);
+        downstreamConnections().inc();
     }
 
     void decrementDownStreamConnections() {
-        counterService.decrement(SERVICE_PREFIX + CONNECTIONS_DOWNSTREAM);
+        downstreamConnections().dec();
+    }
+
+    private Counter downstreamConnections() {
+        Counter result = downstreamConnections;
+        if (result == null) {
+            // the registry returns the same counter to concurrent callers
+            result = counter(SERVICE_PREFIX + CONNECTIONS_DOWNSTREAM);
+            downstreamConnections = result;
+        }
+        return result;
     }
 
     void submitDownstreamLinkCredits(final String address, final double credits) {
-        gaugeService.submit(SERVICE_PREFIX + LINK_DOWNSTREAM_CREDITS + normalizeAddress(address), credits);
+        downstreamLinkCredits.get(address).setValue(credits);
     }
 
     void incrementDownstreamSenders(final String address) {
-        counterService.increment(SERVICE_PREFIX + SENDERS_DOWNSTREAM + normalizeAddress(address));
+        downstreamSenders.get(address).inc();
     }
 
     void decrementDownstreamSenders(final String address) {
-        counterService.decrement(SERVICE_PREFIX + SENDERS_DOWNSTREAM + normalizeAddress(address));
+        downstreamSenders.get(address).dec();
     }
 
     void incrementUpstreamLinks(final String address) {
-        counterService.increment(SERVICE_PREFIX + RECEIVERS_UPSTREAM_LINKS + normalizeAddress(address));
+        upstreamLinks.get(address).inc();
     }
     void decrementUpstreamLinks(final String address) {
-        counterService.decrement(SERVICE_PREFIX + RECEIVERS_UPSTREAM_LINKS + normalizeAddress(address));
+        upstreamLinks.get(address).dec();
     }
 
     void incrementProcessedMessages(final String address) {
-        counterService.increment(METER_PREFIX + SERVICE_PREFIX + MESSAGES + normalizeAddress(address) + PROCESSED);
+        processedMessages.get(address).mark();
     }
     void incrementDiscardedMessages(final String address) {
-        counterService.increment(SERVICE_PREFIX + MESSAGES + normalizeAddress(address) + DISCARDED);
+        discardedMessages.get(address).inc();
     }
     void incrementUndeliverableMessages(final String address) {
-        counterService.increment(SERVICE_PREFIX + MESSAGES + normalizeAddress(address) + UNDELIVERABLE);
+        undeliverableMessages.get(address).inc();
+    }
+
+    void updateAssertionTime(final ResourceIdentifier address, final long startNanos) {
+        assertionTimer.update(address.getEndpoint(), address.getTenantId(), startNanos);
+    }
+
+    void updateDeliveryTime(final String address, final long startNanos) {
+        final ResourceIdentifier resource = addresses.get(address);
+        deliveryTimer.update(resource.getEndpoint(), resource.getTenantId(), startNanos);
     }
 }
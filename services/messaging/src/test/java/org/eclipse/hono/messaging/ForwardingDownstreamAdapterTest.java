@@ -24,6 +24,7 @@ import org.apache.qpid.proton.amqp.transport.ErrorCondition;
 import org.apache.qpid.proton.engine.Record;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.connection.ConnectionFactory;
+import org.eclipse.hono.connection.ReconnectPolicy;
 import org.eclipse.hono.util.TelemetryConstants;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.ResourceIdentifier;
@@ -323,6 +324,9 @@ public class ForwardingDownstreamAdapterTest {
 
         // THEN the adapter continuously tries to connect to the downstream container
         assertTrue(factory.await(4 * Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS));
+        // and reports the failed attempts in its connection status
+        assertFalse(adapter.getConnectionStatus().getBoolean("connected"));
+        assertTrue(adapter.getConnectionStatus().getJsonObject("reconnect").getLong("failures") >= 2);
     }
 
     private void givenADownstreamAdapter() {
@@ -348,6 +352,7 @@ public class ForwardingDownstreamAdapterTest {
             }
         };
         adapter.setMetrics(mock(MessagingMetrics.class));
+        adapter.setReconnectPolicy(new ReconnectPolicy().setMaxDelay(Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS));
     }
 
     private class HandlerCapturingConnectionFactory implements ConnectionFactory {
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2017 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Bosch Software Innovations GmbH - initial creation
+ */
+package org.eclipse.hono.messaging;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Verifies behavior of {@link MessagingMetrics}.
+ *
+ */
+public class MessagingMetricsTest {
+
+    private MetricRegistry registry;
+    private MessagingMetrics metrics;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        registry = new MetricRegistry();
+        metrics = new MessagingMetrics();
+        metrics.setMetricRegistry(registry);
+    }
+
+    /**
+     * Verifies that message metrics are registered under the names used by Spring Boot's
+     * Dropwizard based counter service.
+     */
+    @Test
+    public void testMessageMetricsUseCounterServiceNames() {
+
+        metrics.incrementProcessedMessages("telemetry/DEFAULT_TENANT");
+        metrics.incrementProcessedMessages("telemetry/DEFAULT_TENANT");
+        metrics.incrementUndeliverableMessages("telemetry/DEFAULT_TENANT");
+
+        assertThat(registry.meter("meter.hono.messaging.messages.telemetry.DEFAULT_TENANT.processed").getCount(), is(2L));
+        assertThat(registry.counter("counter.hono.messaging.messages.telemetry.DEFAULT_TENANT.undeliverable").getCount(), is(1L));
+    }
+
+    /**
+     * Verifies that the time it takes to settle a message downstream is recorded per endpoint
+     * as well as per endpoint and tenant.
+     */
+    @Test
+    public void testUpdateDeliveryTimeRecordsTimerPerEndpointAndTenant() {
+
+        metrics.updateDeliveryTime("event/DEFAULT_TENANT", System.nanoTime());
+        metrics.updateDeliveryTime("event/other", System.nanoTime());
+
+        assertThat(registry.timer("timer.hono.messaging.latency.event.delivery").getCount(), is(2L));
+        assertThat(registry.timer("timer.hono.messaging.latency.event.DEFAULT_TENANT.delivery").getCount(), is(1L));
+        assertThat(registry.timer("timer.hono.messaging.latency.event.other.delivery").getCount(), is(1L));
+    }
+
+    /**
+     * Verifies that the downstream link credits are reported by a gauge.
+     */
+    @Test
+    public void testSubmitDownstreamLinkCreditsUpdatesGauge() {
+
+        metrics.submitDownstreamLinkCredits("telemetry/DEFAULT_TENANT", 10);
+        metrics.submitDownstreamLinkCredits("telemetry/DEFAULT_TENANT", 5);
+
+        assertThat(registry.getGauges().get("gauge.hono.messaging.link.downstream.credits.telemetry.DEFAULT_TENANT").getValue(),
+                is((Object) 5.0));
+    }
+
+    /**
+     * Verifies that the number of downstream connections is tracked by a single counter.
+     */
+    @Test
+    public void testDownstreamConnectionsUpdateCounter() {
+
+        metrics.incrementDownStreamConnections();
+        metrics.incrementDownStreamConnections();
+        metrics.decrementDownStreamConnections();
+
+        assertThat(registry.counter("counter.hono.messaging.connections.downstream").getCount(), is(1L));
+    }
+}